@@ -14,6 +14,7 @@
 
 #include "connector/binlog_connector.h"
 
+#include "gutil/strings/substitute.h"
 #include "runtime/descriptors.h"
 #include "storage/chunk_helper.h"
 #include "storage/storage_engine.h"
@@ -123,6 +124,25 @@ Status BinlogDataSource::_prepare_non_stream_pipeline() {
     _start_seq_id.store(binlog_range.start_seq_id());
     _max_version_exclusive.store(binlog_range.end_version() + 1);
 
+    // The offset is set if FE only wants the changes after some version, e.g. incremental refresh of MV
+    if (_scan_range.__isset.offset && _scan_range.offset.version >= 0) {
+        int64_t offset_version = _scan_range.offset.version;
+        if (offset_version < binlog_range.start_version()) {
+            return Status::NotFound(strings::Substitute(
+                    "Binlog of version $0 has been deleted, tablet: $1, current binlog range: $2", offset_version,
+                    _tablet->full_name(), binlog_range.debug_string()));
+        }
+        if (offset_version > binlog_range.end_version()) {
+            VLOG(3) << "There is no binlog after version " << offset_version << ", tablet: " << _tablet->full_name()
+                    << ", binlog reader id: " << _binlog_reader->reader_id();
+            return Status::EndOfFile("There is no binlog");
+        }
+        if (offset_version > binlog_range.start_version()) {
+            _start_version.store(offset_version);
+            _start_seq_id.store(0);
+        }
+    }
+
     VLOG(3) << "Prepare to scan binlog, tablet: " << _tablet->full_name()
             << ", binlog reader id: " << _binlog_reader->reader_id() << ", " << binlog_range.debug_string();
 
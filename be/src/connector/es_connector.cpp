@@ -207,6 +207,19 @@ Status ESDataSource::_create_scanner() {
     if (_conjunct_ctxs.size() == 0 && _read_limit != -1 && _read_limit <= _runtime_state->chunk_size()) {
         _properties[ESScanReader::KEY_TERMINATE_AFTER] = std::to_string(_read_limit);
     }
+    if (es_scan_range.__isset.slice_max && es_scan_range.slice_max > 1) {
+        if (_properties.find(ESScanReader::KEY_TERMINATE_AFTER) != _properties.end()) {
+            // the limit is pushed down by a normal search which can not be sliced,
+            // so the first slice reads the whole shard and the other slices of the shard read nothing.
+            if (es_scan_range.slice_id != 0) {
+                _no_data = true;
+                return Status::OK();
+            }
+        } else {
+            _properties[ESScanReader::KEY_SLICE_ID] = std::to_string(es_scan_range.slice_id);
+            _properties[ESScanReader::KEY_SLICE_MAX] = std::to_string(es_scan_range.slice_max);
+        }
+    }
 
     bool doc_value_mode = false;
     _properties[ESScanReader::KEY_QUERY] =
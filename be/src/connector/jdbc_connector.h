@@ -76,6 +76,8 @@ private:
     ObjectPool* _pool = &_obj_pool;
     RuntimeState* _runtime_state = nullptr;
     JDBCScanner* _scanner = nullptr;
+    // the filter of the scan range if the scan of the table is split into ranges
+    std::string _range_filter;
     int64_t _rows_read = 0;
     int64_t _bytes_read = 0;
 };
@@ -51,6 +51,7 @@ private:
     const std::vector<ExprContext*> _output_expr_ctxs;
     std::unique_ptr<FileBuilder> _file_builder;
     FragmentContext* _fragment_ctx;
+    int32_t _file_number = 0;
 };
 
 void ExportSinkIOBuffer::close(RuntimeState* state) {
@@ -75,6 +76,19 @@ void ExportSinkIOBuffer::_add_chunk(const ChunkPtr& chunk) {
         _fragment_ctx->cancel(status);
         return;
     }
+
+    // roll to a new file, the next file is opened when the next chunk comes
+    if (_t_export_sink.__isset.max_file_size_bytes && _t_export_sink.max_file_size_bytes > 0 &&
+        static_cast<int64_t>(_file_builder->file_size()) >= _t_export_sink.max_file_size_bytes) {
+        Status status = _file_builder->finish();
+        _file_builder.reset();
+        _file_number++;
+        if (!status.ok()) {
+            LOG(WARNING) << "finish file builder failed, error: " << status.to_string();
+            _fragment_ctx->cancel(status);
+            return;
+        }
+    }
 }
 
 Status ExportSinkIOBuffer::_open_file_writer() {
@@ -123,9 +137,8 @@ Status ExportSinkIOBuffer::_gen_file_name(std::string* file_name) {
         return Status::InternalError("file name prefix is not set");
     }
     std::stringstream file_name_ss;
-    // now file-number is 0.
     // <file-name-prefix>_<file-number>.csv.<timestamp>
-    file_name_ss << _t_export_sink.file_name_prefix << "0.csv." << UnixMillis();
+    file_name_ss << _t_export_sink.file_name_prefix << _file_number << ".csv." << UnixMillis();
     *file_name = file_name_ss.str();
     return Status::OK();
 }
@@ -94,8 +94,8 @@ Status ExportSink::open(RuntimeState* state) {
     RETURN_IF_ERROR(Expr::open(_output_expr_ctxs, state));
     // open broker
     int query_timeout = state->query_options().query_timeout;
-    int timeout_ms = query_timeout > 3600 ? 3600000 : query_timeout * 1000;
-    RETURN_IF_ERROR(open_file_writer(timeout_ms));
+    _timeout_ms = query_timeout > 3600 ? 3600000 : query_timeout * 1000;
+    RETURN_IF_ERROR(open_file_writer(_timeout_ms));
     return Status::OK();
 }
 
@@ -163,18 +163,27 @@ Status ExportSink::gen_file_name(std::string* file_name) {
     }
 
     std::stringstream file_name_ss;
-    // now file-number is 0.
     // <file-name-prefix>_<file-number>.csv.<timestamp>
-    file_name_ss << _t_export_sink.file_name_prefix << "0.csv." << UnixMillis();
+    file_name_ss << _t_export_sink.file_name_prefix << _file_number << ".csv." << UnixMillis();
     *file_name = file_name_ss.str();
     return Status::OK();
 }
 
 Status ExportSink::send_chunk(RuntimeState* state, Chunk* chunk) {
+    if (_file_builder == nullptr) {
+        RETURN_IF_ERROR(open_file_writer(_timeout_ms));
+    }
     Status status = _file_builder->add_chunk(chunk);
     if (!status.ok()) {
-        Status status;
-        (void)close(state, status);
+        (void)close(state, Status::OK());
+        return status;
+    }
+    // roll to a new file, the next file is opened when the next chunk comes
+    if (_t_export_sink.__isset.max_file_size_bytes && _t_export_sink.max_file_size_bytes > 0 &&
+        static_cast<int64_t>(_file_builder->file_size()) >= _t_export_sink.max_file_size_bytes) {
+        status = _file_builder->finish();
+        _file_builder.reset();
+        _file_number++;
     }
     return status;
 }
@@ -97,6 +97,8 @@ private:
 
     std::unique_ptr<FileBuilder> _file_builder;
     bool _closed = false;
+    int _timeout_ms = 0;
+    int32_t _file_number = 0;
 };
 
 } // end namespace starrocks
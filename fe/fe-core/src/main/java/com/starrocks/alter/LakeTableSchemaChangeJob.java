@@ -58,6 +58,7 @@ import com.starrocks.persist.EditLog;
 import com.starrocks.persist.gson.GsonUtils;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.server.WarehouseManager;
+import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
 import com.starrocks.sql.optimizer.statistics.IDictManager;
 import com.starrocks.system.ComputeNode;
 import com.starrocks.task.AgentBatchTask;
@@ -680,6 +681,7 @@ public class LakeTableSchemaChangeJob extends AlterJobV2 {
     }
 
     private void inactiveRelatedMv(Set<String> modifiedColumns, @NotNull LakeTable tbl) {
+        CachingMvPlanContextBuilder.getInstance().invalidateRelatedMvsFromCache(tbl);
         if (modifiedColumns.isEmpty()) {
             return;
         }
@@ -21,6 +21,7 @@ import com.google.common.collect.Sets;
 import com.starrocks.analysis.DescriptorTable;
 import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.connector.delta.DeltaLakeSnapshot;
 import com.starrocks.connector.delta.DeltaUtils;
 import com.starrocks.server.CatalogMgr;
 import com.starrocks.thrift.TColumn;
@@ -30,6 +31,7 @@ import com.starrocks.thrift.THdfsPartitionLocation;
 import com.starrocks.thrift.TTableDescriptor;
 import com.starrocks.thrift.TTableType;
 import io.delta.standalone.DeltaLog;
+import io.delta.standalone.Snapshot;
 import io.delta.standalone.actions.Metadata;
 
 import java.util.List;
@@ -42,6 +44,8 @@ public class DeltaLakeTable extends Table {
     private String tableName;
     private List<String> partColumnNames;
     private DeltaLog deltaLog;
+    // the version of the table used by the query, null if the latest version is read from the delta log
+    private DeltaLakeSnapshot deltaLakeSnapshot;
     public static final String PARTITION_NULL_VALUE = "null";
 
     public DeltaLakeTable() {
@@ -59,6 +63,12 @@ public class DeltaLakeTable extends Table {
         this.createTime = createTime;
     }
 
+    public DeltaLakeTable(long id, String catalogName, String dbName, String tableName, List<Column> schema,
+                          List<String> partitionNames, DeltaLakeSnapshot deltaLakeSnapshot, long createTime) {
+        this(id, catalogName, dbName, tableName, schema, partitionNames, deltaLakeSnapshot.getDeltaLog(), createTime);
+        this.deltaLakeSnapshot = deltaLakeSnapshot;
+    }
+
     @Override
     public boolean isSupported() {
         return true;
@@ -68,6 +78,14 @@ public class DeltaLakeTable extends Table {
         return deltaLog;
     }
 
+    public DeltaLakeSnapshot getDeltaLakeSnapshot() {
+        return deltaLakeSnapshot;
+    }
+
+    public Snapshot getSnapshot() {
+        return deltaLakeSnapshot != null ? deltaLakeSnapshot.getSnapshot() : deltaLog.snapshot();
+    }
+
     public String getTableLocation() {
         return deltaLog.getPath().toString();
     }
@@ -112,7 +130,7 @@ public class DeltaLakeTable extends Table {
     @Override
     public TTableDescriptor toThrift(List<DescriptorTable.ReferencedPartitionInfo> partitions) {
         Preconditions.checkNotNull(partitions);
-        Metadata metadata = deltaLog.snapshot().getMetadata();
+        Metadata metadata = getSnapshot().getMetadata();
 
         TDeltaLakeTable tDeltaLakeTable = new TDeltaLakeTable();
         tDeltaLakeTable.setLocation(getTableLocation());
@@ -21,6 +21,7 @@ import com.google.gson.JsonParser;
 import com.google.gson.annotations.SerializedName;
 import com.starrocks.analysis.DescriptorTable;
 import com.starrocks.catalog.Resource.ResourceType;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.io.Text;
 import com.starrocks.server.GlobalStateMgr;
@@ -51,6 +52,7 @@ public class JDBCTable extends Table {
     public static final String PARTITION_NULL_VALUE = "null";
 
     public static final String JDBC_TABLENAME = "jdbc_tablename";
+    public static final String JDBC_SCAN_MAX_PARALLELISM = "jdbc_scan_max_parallelism";
 
     @SerializedName(value = "tn")
     private String jdbcTable;
@@ -127,6 +129,28 @@ public class JDBCTable extends Table {
         return properties.get(propertyKey);
     }
 
+    /**
+     * The max number of ranges the scan of the table is split into, only the tables of jdbc catalogs
+     * can be split.
+     */
+    public int getScanMaxParallelism() {
+        if (catalogName == null || properties == null) {
+            return 1;
+        }
+        String parallelism = properties.get(JDBC_SCAN_MAX_PARALLELISM);
+        if (parallelism == null) {
+            return Math.max(1, Config.jdbc_scan_max_parallelism);
+        }
+        try {
+            return Math.max(1, Integer.parseInt(parallelism.trim()));
+        } catch (NumberFormatException e) {
+            // the property is validated when the catalog is created, it's only for the catalogs created before
+            LOG.warn("invalid {} [{}] of catalog {}, use the config value instead",
+                    JDBC_SCAN_MAX_PARALLELISM, parallelism, catalogName);
+            return Math.max(1, Config.jdbc_scan_max_parallelism);
+        }
+    }
+
     private void validate(Map<String, String> properties) throws DdlException {
         if (properties == null) {
             throw new DdlException("Please set properties of jdbc table, they are: table and resource");
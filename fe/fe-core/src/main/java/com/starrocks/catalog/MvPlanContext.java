@@ -17,6 +17,7 @@ package com.starrocks.catalog;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.rule.transformation.materialization.MvPlanSignature;
 import com.starrocks.sql.optimizer.rule.transformation.materialization.MvUtils;
 
 import java.util.List;
@@ -43,6 +44,8 @@ public class MvPlanContext {
     private boolean isValidMvPlan;
     private String invalidReason;
     private final int mvScanOpNum;
+    // normalized summary of the mv plan used to prune mvs before rewrite
+    private final MvPlanSignature signature;
 
     public MvPlanContext(boolean valid, String invalidReason) {
         this.logicalPlan = null;
@@ -51,6 +54,7 @@ public class MvPlanContext {
         this.isValidMvPlan = valid;
         this.invalidReason = invalidReason;
         this.mvScanOpNum = 0;
+        this.signature = null;
     }
 
     public MvPlanContext(
@@ -62,6 +66,7 @@ public class MvPlanContext {
         this.refFactory = refFactory;
         this.isValidMvPlan = true;
         this.mvScanOpNum = MvUtils.getOlapScanNode(logicalPlan).size();
+        this.signature = MvPlanSignature.build(logicalPlan);
     }
 
     public OptExpression getLogicalPlan() {
@@ -87,4 +92,8 @@ public class MvPlanContext {
     public int getMvScanOpNum() {
         return mvScanOpNum;
     }
+
+    public MvPlanSignature getSignature() {
+        return signature;
+    }
 }
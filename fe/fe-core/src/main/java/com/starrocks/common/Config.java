@@ -885,6 +885,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long min_bytes_per_broker_scanner = 67108864L; // 64MB
 
+    /**
+     * Whether to cut the files of broker load and INSERT FROM FILES into small splits, instead of binding
+     * one large range to each scan instance. Backends pull the splits from a shared queue at runtime,
+     * which balances the work when the files are skewed or unsplittable.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_load_dynamic_split = false;
+
+    /**
+     * Max bytes of a split when enable_load_dynamic_split is true
+     */
+    @ConfField(mutable = true)
+    public static long load_dynamic_split_bytes = 67108864L; // 64MB
+
     /**
      * Default insert load timeout
      */
@@ -915,6 +929,43 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int stream_load_max_txn_num_per_be = -1;
 
+    /**
+     * The labels of group commit loads are only kept in the memory of the leader, so a committed load may be
+     * loaded again with the same label after the leader changes.
+     */
+    @ConfField(mutable = true, comment = "Whether to accept the loads of /api/{db}/{table}/_group_commit, " +
+            "whose labels are deduplicated only on a best-effort basis")
+    public static boolean enable_stream_load_group_commit = false;
+
+    /**
+     * Small stream loads submitted to /api/{db}/{table}/_group_commit are merged into one transaction
+     * within this window
+     */
+    @ConfField(mutable = true, comment = "The max time in milliseconds that a group commit batch waits for " +
+            "more loads before it is committed")
+    public static long stream_load_group_commit_interval_ms = 1000;
+
+    @ConfField(mutable = true, comment = "A group commit batch is committed once its data reaches this size")
+    public static long stream_load_group_commit_max_batch_bytes = 64L * 1024 * 1024;
+
+    @ConfField(mutable = true, comment = "A group commit batch is committed once it contains this number of loads")
+    public static int stream_load_group_commit_max_batch_loads = 1000;
+
+    @ConfField(mutable = true, comment = "The max data size of a single load which can be group committed, " +
+            "larger loads should use the normal stream load")
+    public static long stream_load_group_commit_max_load_bytes = 4L * 1024 * 1024;
+
+    @ConfField(mutable = true, comment = "The max number of group committed labels kept in memory for dedup, " +
+            "which also limits the number of group commit loads in progress")
+    public static int stream_load_group_commit_label_keep_max_num = 100000;
+
+    @ConfField(mutable = true, comment = "The max size of data buffered by group commit loads in progress, " +
+            "new loads are rejected once it is exceeded")
+    public static long stream_load_group_commit_max_buffered_bytes = 512L * 1024 * 1024;
+
+    @ConfField(comment = "The number of threads which commit group commit batches")
+    public static int stream_load_group_commit_thread_num = 8;
+
     /**
      * Default prepared transaction timeout
      */
@@ -992,6 +1043,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_running_txn_num_per_db = 1000;
 
+    /**
+     * The number of table lock stripes in the transaction manager of each database.
+     * Transactions writing tables in different stripes can be begun, committed and finished concurrently.
+     */
+    @ConfField
+    public static int transaction_lock_stripe_num = 64;
+
     /**
      * The load task executor pool size. This pool size limits the max running load tasks.
      * Currently, it only limits the load task of broker load, pending and loading phases.
@@ -1078,6 +1136,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int task_runs_concurrency = 4;
 
+    /**
+     * Limitation of the running TaskRun of materialized views in the same warehouse and resource group,
+     * so that slow materialized views in one resource group can not block the others.
+     * Default is -1, means no limitation except task_runs_concurrency.
+     */
+    @ConfField(mutable = true)
+    public static int task_runs_concurrency_per_resource_group = -1;
+
+    /**
+     * The max seconds a materialized view's TaskRun waits for the pending or running TaskRuns of its
+     * base materialized views before being scheduled. 0 means not to wait.
+     */
+    @ConfField(mutable = true)
+    public static int task_runs_dependency_wait_timeout_second = 600;
+
     /**
      * max num of thread to handle task runs in task runs executor thread-pool.
      */
@@ -1096,6 +1169,14 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true)
     public static long export_max_bytes_per_be_per_task = 268435456; // 256M
+
+    /**
+     * If true, the export tasks are planned by the data size of tablets, and each task only reads from one BE.
+     * The replica of each tablet is chosen to balance the bytes of BEs, and the tablets of a task are moved to
+     * the BEs with fewer running export tasks when the task is executed.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_export_balanced_split = false;
     /**
      * Size of export task thread pool, default is 5.
      */
@@ -1255,6 +1336,14 @@ public class Config extends ConfigBase {
             "If actual replica count exceeds this, replicas will be created concurrently.")
     public static int create_table_max_serial_replicas = 128;
 
+    /**
+     * The create replica tasks of the temporary partitions of insert overwrite are sent to backends in batches
+     * of at most this many tasks, a partition with more replicas is sent alone.
+     * Set it to 1 to send the tasks of each partition separately.
+     */
+    @ConfField(mutable = true)
+    public static int create_replica_tasks_batch_size = 200;
+
     // Configurations for backup and restore
     /**
      * Plugins' path for BACKUP and RESTORE operations. Currently, deprecated.
@@ -1545,12 +1634,58 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long routine_load_task_timeout_second = 60;
 
+    /**
+     * Whether to plan the tasks of kafka routine load jobs by the lag of partitions.
+     * If enabled, partitions are balanced across tasks by lag, lagging partitions get their own tasks if BE has
+     * idle slots, and tasks of lagging partitions consume bigger batches. The number of tasks is never lower
+     * than the concurrency computed from desired_concurrent_number.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_routine_load_lag_aware_scheduling = false;
+
+    /**
+     * The max factor to enlarge the batch rows, batch size and consume time of a lagging routine load task
+     */
+    @ConfField(mutable = true)
+    public static int routine_load_max_batch_scale_factor = 4;
+
     /**
      * kafka util request timeout
      */
     @ConfField(mutable = true)
     public static long routine_load_kafka_timeout_second = 12;
 
+    /**
+     * Whether to look up kafka partitions and offsets through the shared kafka meta service, which caches
+     * the results, coalesces identical lookups and batches offset lookups of the same brokers into one rpc.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_kafka_meta_service = false;
+
+    /**
+     * How long the kafka partitions and offsets are cached by the kafka meta service
+     */
+    @ConfField(mutable = true)
+    public static long kafka_meta_cache_ttl_ms = 1000;
+
+    /**
+     * How long the kafka meta service waits to batch offset lookups of the same brokers
+     */
+    @ConfField(mutable = true)
+    public static long kafka_meta_batch_window_ms = 20;
+
+    /**
+     * The max number of offset lookups in one batch rpc of the kafka meta service
+     */
+    @ConfField(mutable = true)
+    public static int kafka_meta_max_batch_size = 200;
+
+    /**
+     * The number of threads which send rpc of the kafka meta service
+     */
+    @ConfField
+    public static int kafka_meta_service_thread_num = 4;
+
     /**
      * pulsar util request timeout
      */
@@ -1943,6 +2078,17 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long max_automatic_partition_number = 4096;
 
+    /**
+     * Whether the olap table sink of a load only carries the partitions which may contain rows satisfying the where
+     * predicate of the load, when the load may write more than `olap_table_sink_partition_prune_threshold`
+     * partitions. All partitions are carried if the predicate can not be used to prune partitions.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_olap_table_sink_partition_prune = false;
+
+    @ConfField(mutable = true)
+    public static int olap_table_sink_partition_prune_threshold = 1024;
+
     /**
      * enable automatic bucket for random distribution table
      */
@@ -1997,6 +2143,20 @@ public class Config extends ConfigBase {
     @ConfField
     public static int max_hive_partitions_per_rpc = 5000;
 
+    /**
+     * The sampled partition statistics of a hive table are fetched from the metastore in parallel batches
+     * of this size. 0 means fetching them in one request.
+     */
+    @ConfField(mutable = true)
+    public static int hive_partition_stats_fetch_batch_size = 0;
+
+    /**
+     * The max time of fetching the partition statistics of a hive table during planning. The statistics
+     * fetched in time are used, and the table level statistics are used if none is fetched. 0 means no limit.
+     */
+    @ConfField(mutable = true)
+    public static long hive_partition_stats_fetch_timeout_ms = 0;
+
     /**
      * The interval of lazy refreshing remote file's metadata cache
      */
@@ -2009,6 +2169,27 @@ public class Config extends ConfigBase {
     @ConfField
     public static int remote_file_metadata_load_concurrency = 32;
 
+    /**
+     * The partition directories of a query are listed in batches of this size, the directories of a batch
+     * on hdfs are listed by one batched listing rpc. 0 means listing each directory separately.
+     */
+    @ConfField(mutable = true)
+    public static int remote_file_listing_batch_size = 0;
+
+    /**
+     * The max number of concurrent listings on one file system (scheme and authority) of all the catalogs.
+     * 0 means no limit.
+     */
+    @ConfField
+    public static int remote_file_listing_max_concurrency_per_fs = 0;
+
+    /**
+     * When a listing batch on object storage has at least this number of sibling partition directories,
+     * they are listed by one flat listing of their parent prefix. 0 means disabled.
+     */
+    @ConfField(mutable = true)
+    public static int remote_file_prefix_listing_min_partitions = 0;
+
     /**
      * Hive MetaStore Client socket timeout in seconds.
      */
@@ -2045,6 +2226,20 @@ public class Config extends ConfigBase {
     @ConfField
     public static int hms_process_events_parallel_num = 4;
 
+    /**
+     * The max time in milliseconds of pulling more events in one round of event processing when the events
+     * fill the rpc batch, the events on the same partition in a round are coalesced. 0 means one rpc per round.
+     */
+    @ConfField(mutable = true)
+    public static long hms_events_coalesce_window_ms = 0;
+
+    /**
+     * If set to true, the partitions added to the cached tables are put into the metadata cache from the
+     * ADD_PARTITION events, which requires hive.metastore.notifications.add.thrift.objects on the metastore.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_hms_events_prefetch_partitions = false;
+
     /**
      * Enable background refresh all external tables all partitions metadata on internal catalog.
      */
@@ -2154,12 +2349,77 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long iceberg_metadata_cache_max_entry_size = 8388608L;
 
+    /**
+     * share the planned file scan tasks of the same iceberg snapshot and filter among queries,
+     * concurrent queries wait for one planning instead of reading all the manifests by themselves
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_iceberg_shared_planning = false;
+
+    /**
+     * the planning is shared only when the snapshot has at least this number of data manifests
+     */
+    @ConfField(mutable = true)
+    public static int iceberg_shared_planning_min_manifests = 100;
+
+    /**
+     * max number of file scan tasks kept by the shared planning cache of each iceberg catalog
+     */
+    @ConfField
+    public static long iceberg_shared_planning_cache_max_tasks = 1000000L;
+
+    /**
+     * the shared planning results expire after this seconds without access
+     */
+    @ConfField
+    public static long iceberg_shared_planning_cache_expire_sec = 600L;
+
+    /**
+     * cache the snapshots and the file index of delta lake tables, only the new commits of the delta log
+     * are replayed when the table is resolved again
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_delta_lake_snapshot_cache = false;
+
+    /**
+     * a cached delta lake snapshot is checked for new commits only when it is older than this seconds,
+     * 0 means checking every time the table is resolved
+     */
+    @ConfField(mutable = true)
+    public static long delta_lake_snapshot_cache_refresh_interval_sec = 0;
+
+    /**
+     * max number of data files kept by the delta lake snapshot cache of each catalog
+     */
+    @ConfField
+    public static long delta_lake_snapshot_cache_max_files = 1000000L;
+
+    /**
+     * the cached delta lake snapshots expire after this seconds without access
+     */
+    @ConfField
+    public static long delta_lake_snapshot_cache_expire_sec = 3600L;
+
     /**
      * fe will call es api to get es index shard info every es_state_sync_interval_secs
      */
     @ConfField
     public static long es_state_sync_interval_second = 10;
 
+    /**
+     * a shard of the es table is split into sliced scroll requests which are scanned in parallel,
+     * each slice reads about this number of documents. 0 means scanning each shard by one scroll request.
+     * It needs elasticsearch 6.4 or later, the shards of the earlier versions are not sliced.
+     */
+    @ConfField(mutable = true)
+    public static long es_scroll_docs_per_slice = 0;
+
+    /**
+     * the max number of sliced scroll requests of one es shard
+     */
+    @ConfField(mutable = true)
+    public static int es_scroll_max_slices_per_shard = 8;
+
     /**
      * connection and socket timeout for broker client
      */
@@ -2431,6 +2691,18 @@ public class Config extends ConfigBase {
             "will disable compaction.")
     public static int lake_compaction_max_tasks = -1;
 
+    @ConfField(mutable = true, comment = "the max number of compaction tasks running in one warehouse. " +
+            "-1 means 16 tasks for each compute node of the warehouse.")
+    public static int lake_compaction_max_tasks_per_warehouse = -1;
+
+    @ConfField(mutable = true, comment = "how much the recent query count of a partition boosts its compaction " +
+            "priority, only takes effect when lake_compaction_sorter is PredictiveSorter")
+    public static double lake_compaction_predictive_query_heat_weight = 1.0;
+
+    @ConfField(mutable = true, comment = "how much the recent load count of a partition boosts its compaction " +
+            "priority, only takes effect when lake_compaction_sorter is PredictiveSorter")
+    public static double lake_compaction_predictive_load_rate_weight = 0.5;
+
     @ConfField(mutable = true)
     public static int lake_compaction_history_size = 12;
 
@@ -2704,6 +2976,26 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false)
     public static int pipe_scheduler_interval_millis = 1000;
 
+    /**
+     * Whether pipe sources only stage the listed files which are modified after the persisted listing cursor,
+     * instead of checking all listed files against the file list
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_pipe_incremental_listing = false;
+
+    /**
+     * Files modified within this window before the listing cursor are still checked against the file list,
+     * so that files which become visible late with older modification times are not skipped
+     */
+    @ConfField(mutable = true)
+    public static long pipe_incremental_listing_lag_second = 300;
+
+    /**
+     * The max number of insert tasks of a pipe which run in parallel
+     */
+    @ConfField(mutable = true)
+    public static int pipe_max_running_tasks = 1;
+
     @ConfField(mutable = true)
     public static long mv_active_checker_interval_seconds = 60;
 
@@ -2768,6 +3060,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long mv_plan_cache_max_size = 1000;
 
+    @ConfField(comment = "Whether to build the plans of active materialized views into mv plan cache in the " +
+            "background after FE starts, to avoid optimizing mv plans in the first queries")
+    public static boolean enable_mv_plan_cache_warm_up = true;
+
+    @ConfField(comment = "Interval in seconds to persist the hottest materialized views of mv plan cache into " +
+            "meta_dir, which are warmed up first after FE restarts. Less than or equal to 0 means disabled")
+    public static long mv_plan_cache_persist_interval_sec = 0;
+
     @ConfField(mutable = true, comment = "Max materialized view rewrite cache size during one query's lifecycle " +
             "so can avoid repeating compute to reduce optimizer time in materialized view rewrite, " +
             "but may occupy some extra FE's memory. It's well-done when there are many relative " +
@@ -2876,6 +3176,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false)
     public static int jdbc_connection_idle_timeout_ms = 600000;
 
+    /**
+     * the max number of ranges a scan of a jdbc catalog table is split into, which are scanned in parallel
+     * by their own connections to the source. 1 means scanning the table by one query.
+     * It can be overridden by the catalog property jdbc_scan_max_parallelism.
+     */
+    @ConfField(mutable = true)
+    public static int jdbc_scan_max_parallelism = 1;
+
     // The longest supported VARCHAR length.
     @ConfField(mutable = true)
     public static int max_varchar_length = 1048576;
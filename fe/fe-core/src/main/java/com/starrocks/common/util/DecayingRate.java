@@ -0,0 +1,51 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+/**
+ * An event counter whose value decays exponentially with the given half-life. The value returned by
+ * {@link #get(long)} is roughly the number of events that happened during the last {@code halfLife / ln2}
+ * milliseconds, so it can be used to compare how "hot" objects, e.g. partitions, are without keeping any history.
+ */
+public class DecayingRate {
+    private final long halfLifeMs;
+    private double value;
+    private long lastUpdateMs;
+
+    public DecayingRate(long halfLifeMs) {
+        this.halfLifeMs = Math.max(1, halfLifeMs);
+    }
+
+    public synchronized void add(double amount, long timeMs) {
+        if (timeMs >= lastUpdateMs) {
+            value = value * decayFactor(timeMs - lastUpdateMs) + amount;
+            lastUpdateMs = timeMs;
+        } else {
+            // An out-of-order event, e.g. a version published with an older version time, decays on its own.
+            value += amount * decayFactor(lastUpdateMs - timeMs);
+        }
+    }
+
+    public synchronized double get(long nowMs) {
+        if (nowMs <= lastUpdateMs) {
+            return value;
+        }
+        return value * decayFactor(nowMs - lastUpdateMs);
+    }
+
+    private double decayFactor(long elapsedMs) {
+        return Math.pow(0.5, (double) elapsedMs / halfLifeMs);
+    }
+}
@@ -0,0 +1,389 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.common.Config;
+import com.starrocks.common.LoadException;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.common.UserException;
+import com.starrocks.metric.LongCounterMetric;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.proto.PKafkaOffsetProxyRequest;
+import com.starrocks.proto.PKafkaOffsetProxyResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * KafkaMetaService looks up kafka partitions and offsets for all routine load jobs. Each lookup is a proxy rpc
+ * to BE which opens kafka consumers, so lookups of many jobs against the same kafka clusters are combined:
+ * 1. Results are cached for {@link Config#kafka_meta_cache_ttl_ms}.
+ * 2. Concurrent lookups of the same topic are coalesced into one rpc.
+ * 3. Offset lookups of the same brokers within {@link Config#kafka_meta_batch_window_ms} are sent in one batch rpc.
+ * Lookups of different jobs are shared if they only differ in the client identity, e.g. the group id which is
+ * unique for each job. If a batch rpc fails, its lookups are retried one by one, so a bad topic doesn't fail the
+ * lookups of the other jobs.
+ */
+public class KafkaMetaService {
+    private static final Logger LOG = LogManager.getLogger(KafkaMetaService.class);
+
+    // the properties which identify the consumer instead of the connection to kafka, they don't change the results
+    private static final Set<String> CLIENT_IDENTITY_PROPERTIES =
+            ImmutableSet.of("group.id", "group.instance.id", "client.id");
+
+    private final KafkaUtil.ProxyAPI proxyApi;
+
+    private final Map<TopicKey, CachedValue<List<Integer>>> partitionsCache = Maps.newConcurrentMap();
+    // partition -> (beginning offset, latest offset) of each topic
+    private final Map<TopicKey, Map<Integer, CachedValue<long[]>>> offsetsCache = Maps.newConcurrentMap();
+    private final Map<TopicKey, CompletableFuture<List<Integer>>> runningPartitionLookups = Maps.newConcurrentMap();
+
+    // offset lookups waiting to be sent, grouped by brokers. guarded by this
+    private Map<BrokerKey, Map<TopicKey, OffsetLookup>> pendingOffsetLookups = Maps.newHashMap();
+    // offset lookups which are being sent. guarded by this
+    private final Map<TopicKey, OffsetLookup> runningOffsetLookups = Maps.newHashMap();
+    private boolean flushScheduled = false;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService rpcExecutor;
+
+    public KafkaMetaService(KafkaUtil.ProxyAPI proxyApi) {
+        this.proxyApi = proxyApi;
+    }
+
+    private synchronized void initExecutors() {
+        if (scheduler == null) {
+            scheduler = ThreadPoolManager.newDaemonScheduledThreadPool(1, "kafka-meta-scheduler", false);
+            rpcExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.kafka_meta_service_thread_num,
+                    Integer.MAX_VALUE, "kafka-meta-rpc", true);
+        }
+    }
+
+    public List<Integer> getAllKafkaPartitions(String brokerList, String topic,
+                                               ImmutableMap<String, String> properties,
+                                               long warehouseId) throws UserException {
+        increaseCounter(MetricRepo.COUNTER_KAFKA_META_LOOKUP);
+        TopicKey key = new TopicKey(brokerList, topic, properties, warehouseId);
+        CachedValue<List<Integer>> cached = partitionsCache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            increaseCounter(MetricRepo.COUNTER_KAFKA_META_CACHE_HIT);
+            return Lists.newArrayList(cached.value);
+        }
+
+        initExecutors();
+        CompletableFuture<List<Integer>> newFuture = new CompletableFuture<>();
+        CompletableFuture<List<Integer>> future = runningPartitionLookups.putIfAbsent(key, newFuture);
+        if (future == null) {
+            future = newFuture;
+            rpcExecutor.submit(() -> lookupPartitions(key, newFuture));
+        }
+        return Lists.newArrayList(waitFor(future));
+    }
+
+    private void lookupPartitions(TopicKey key, CompletableFuture<List<Integer>> future) {
+        try {
+            List<Integer> partitions = timedRpc(1, () -> proxyApi.getAllKafkaPartitions(key.brokerList, key.topic,
+                    key.properties, key.warehouseId));
+            partitionsCache.put(key, new CachedValue<>(partitions));
+            runningPartitionLookups.remove(key, future);
+            future.complete(partitions);
+        } catch (Throwable e) {
+            LOG.warn("failed to get partitions of kafka topic {}", key.topic, e);
+            runningPartitionLookups.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    public Map<Integer, Long> getOffsets(String brokerList, String topic, ImmutableMap<String, String> properties,
+                                         List<Integer> partitions, boolean isLatest,
+                                         long warehouseId) throws UserException {
+        increaseCounter(MetricRepo.COUNTER_KAFKA_META_LOOKUP);
+        TopicKey key = new TopicKey(brokerList, topic, properties, warehouseId);
+        Map<Integer, Long> offsets = getCachedOffsets(key, partitions, isLatest);
+        if (offsets != null) {
+            increaseCounter(MetricRepo.COUNTER_KAFKA_META_CACHE_HIT);
+            return offsets;
+        }
+
+        initExecutors();
+        OffsetLookup lookup;
+        synchronized (this) {
+            lookup = runningOffsetLookups.get(key);
+            if (lookup == null || !lookup.partitions.containsAll(partitions)) {
+                BrokerKey brokerKey = new BrokerKey(key);
+                lookup = pendingOffsetLookups.computeIfAbsent(brokerKey, k -> Maps.newHashMap())
+                        .computeIfAbsent(key, OffsetLookup::new);
+                lookup.partitions.addAll(partitions);
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    scheduler.schedule(this::flushOffsetLookups, Config.kafka_meta_batch_window_ms,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        Map<Integer, long[]> result = waitFor(lookup.future);
+        offsets = Maps.newHashMapWithExpectedSize(partitions.size());
+        for (Integer partition : partitions) {
+            long[] partitionOffsets = result.get(partition);
+            if (partitionOffsets != null) {
+                offsets.put(partition, isLatest ? partitionOffsets[1] : partitionOffsets[0]);
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Remove the cached partitions and offsets of the topic, so the next lookup gets the latest ones from kafka.
+     */
+    public void invalidate(String brokerList, String topic, ImmutableMap<String, String> properties, long warehouseId) {
+        TopicKey key = new TopicKey(brokerList, topic, properties, warehouseId);
+        partitionsCache.remove(key);
+        offsetsCache.remove(key);
+    }
+
+    private Map<Integer, Long> getCachedOffsets(TopicKey key, List<Integer> partitions, boolean isLatest) {
+        Map<Integer, CachedValue<long[]>> cachedOffsets = offsetsCache.get(key);
+        if (cachedOffsets == null) {
+            return null;
+        }
+        Map<Integer, Long> offsets = Maps.newHashMapWithExpectedSize(partitions.size());
+        for (Integer partition : partitions) {
+            CachedValue<long[]> cached = cachedOffsets.get(partition);
+            if (cached == null || cached.isExpired()) {
+                return null;
+            }
+            offsets.put(partition, isLatest ? cached.value[1] : cached.value[0]);
+        }
+        return offsets;
+    }
+
+    @VisibleForTesting
+    void flushOffsetLookups() {
+        Map<BrokerKey, Map<TopicKey, OffsetLookup>> lookupsByBroker;
+        synchronized (this) {
+            lookupsByBroker = pendingOffsetLookups;
+            pendingOffsetLookups = Maps.newHashMap();
+            flushScheduled = false;
+            for (Map<TopicKey, OffsetLookup> lookups : lookupsByBroker.values()) {
+                runningOffsetLookups.putAll(lookups);
+            }
+        }
+        for (Map<TopicKey, OffsetLookup> lookups : lookupsByBroker.values()) {
+            for (List<OffsetLookup> batch : Lists.partition(new ArrayList<>(lookups.values()),
+                    Math.max(1, Config.kafka_meta_max_batch_size))) {
+                rpcExecutor.submit(() -> sendOffsetLookups(batch));
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void sendOffsetLookups(List<OffsetLookup> lookups) {
+        try {
+            List<PKafkaOffsetProxyRequest> requests = Lists.newArrayListWithCapacity(lookups.size());
+            for (OffsetLookup lookup : lookups) {
+                PKafkaOffsetProxyRequest request = new PKafkaOffsetProxyRequest();
+                request.kafkaInfo = KafkaUtil.genPKafkaLoadInfo(lookup.key.brokerList, lookup.key.topic,
+                        lookup.key.properties, lookup.key.warehouseId);
+                request.partitionIds = new ArrayList<>(lookup.partitions);
+                requests.add(request);
+            }
+            List<PKafkaOffsetProxyResult> results = timedRpc(lookups.size(), () -> proxyApi.getBatchOffsets(requests));
+            for (int i = 0; i < lookups.size(); i++) {
+                OffsetLookup lookup = lookups.get(i);
+                PKafkaOffsetProxyResult result = results.get(i);
+                Map<Integer, long[]> offsets = Maps.newHashMapWithExpectedSize(result.partitionIds.size());
+                Map<Integer, CachedValue<long[]>> cachedOffsets =
+                        offsetsCache.computeIfAbsent(lookup.key, k -> Maps.newConcurrentMap());
+                for (int j = 0; j < result.partitionIds.size(); j++) {
+                    long[] partitionOffsets = {result.beginningOffsets.get(j), result.latestOffsets.get(j)};
+                    offsets.put(result.partitionIds.get(j), partitionOffsets);
+                    cachedOffsets.put(result.partitionIds.get(j), new CachedValue<>(partitionOffsets));
+                }
+                finishOffsetLookup(lookup);
+                lookup.future.complete(offsets);
+            }
+        } catch (Throwable e) {
+            if (lookups.size() > 1) {
+                // the BE stops at the first failed topic of the batch, retry the lookups one by one
+                LOG.warn("failed to get offsets of {} kafka topics, retry them one by one", lookups.size(), e);
+                for (OffsetLookup lookup : lookups) {
+                    rpcExecutor.submit(() -> sendOffsetLookups(Collections.singletonList(lookup)));
+                }
+                return;
+            }
+            LOG.warn("failed to get offsets of kafka topic {}", lookups.get(0).key.topic, e);
+            for (OffsetLookup lookup : lookups) {
+                finishOffsetLookup(lookup);
+                lookup.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private synchronized void finishOffsetLookup(OffsetLookup lookup) {
+        runningOffsetLookups.remove(lookup.key, lookup);
+    }
+
+    private interface Rpc<T> {
+        T call() throws UserException;
+    }
+
+    private static <T> T timedRpc(int fanout, Rpc<T> rpc) throws UserException {
+        long startTime = System.currentTimeMillis();
+        try {
+            return rpc.call();
+        } finally {
+            if (MetricRepo.hasInit) {
+                MetricRepo.COUNTER_KAFKA_META_RPC.increase(1L);
+                MetricRepo.HISTO_KAFKA_META_RPC_LATENCY.update(System.currentTimeMillis() - startTime);
+                MetricRepo.HISTO_KAFKA_META_RPC_FANOUT.update(fanout);
+            }
+        }
+    }
+
+    private static void increaseCounter(LongCounterMetric counter) {
+        if (MetricRepo.hasInit) {
+            counter.increase(1L);
+        }
+    }
+
+    private static <T> T waitFor(CompletableFuture<T> future) throws UserException {
+        try {
+            return future.get(Config.routine_load_task_timeout_second, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadException("Got interrupted exception when getting kafka meta");
+        } catch (TimeoutException e) {
+            throw new LoadException("Timeout when getting kafka meta");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UserException) {
+                throw (UserException) cause;
+            }
+            throw new LoadException("Failed to get kafka meta, err: " + cause.getMessage());
+        }
+    }
+
+    private static class CachedValue<T> {
+        private final T value;
+        private final long createTime = System.currentTimeMillis();
+
+        CachedValue(T value) {
+            this.value = value;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - createTime > Config.kafka_meta_cache_ttl_ms;
+        }
+    }
+
+    @VisibleForTesting
+    static class OffsetLookup {
+        private final TopicKey key;
+        private final Set<Integer> partitions = Sets.newHashSet();
+        // partition -> (beginning offset, latest offset)
+        private final CompletableFuture<Map<Integer, long[]>> future = new CompletableFuture<>();
+
+        OffsetLookup(TopicKey key) {
+            this.key = key;
+        }
+    }
+
+    private static class BrokerKey {
+        private final String brokerList;
+        private final Map<String, String> connectionProperties;
+        private final long warehouseId;
+
+        BrokerKey(TopicKey key) {
+            this.brokerList = key.brokerList;
+            this.connectionProperties = key.connectionProperties;
+            this.warehouseId = key.warehouseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BrokerKey)) {
+                return false;
+            }
+            BrokerKey that = (BrokerKey) o;
+            return warehouseId == that.warehouseId && Objects.equals(brokerList, that.brokerList)
+                    && Objects.equals(connectionProperties, that.connectionProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(brokerList, connectionProperties, warehouseId);
+        }
+    }
+
+    private static class TopicKey {
+        private final String brokerList;
+        private final String topic;
+        // the properties sent to BE, they are the properties of the first job which looks up the topic
+        private final ImmutableMap<String, String> properties;
+        // the properties without the client identity, only they are compared
+        private final Map<String, String> connectionProperties;
+        private final long warehouseId;
+
+        TopicKey(String brokerList, String topic, ImmutableMap<String, String> properties, long warehouseId) {
+            this.brokerList = brokerList;
+            this.topic = topic;
+            this.properties = properties;
+            this.connectionProperties = ImmutableMap.copyOf(
+                    Maps.filterKeys(properties, k -> !CLIENT_IDENTITY_PROPERTIES.contains(k)));
+            this.warehouseId = warehouseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TopicKey)) {
+                return false;
+            }
+            TopicKey that = (TopicKey) o;
+            return warehouseId == that.warehouseId && Objects.equals(brokerList, that.brokerList)
+                    && Objects.equals(topic, that.topic)
+                    && Objects.equals(connectionProperties, that.connectionProperties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(brokerList, topic, connectionProperties, warehouseId);
+        }
+    }
+}
@@ -70,10 +70,14 @@ public class KafkaUtil {
     private static final Logger LOG = LogManager.getLogger(KafkaUtil.class);
 
     private static final ProxyAPI PROXY_API = new ProxyAPI();
+    private static final KafkaMetaService META_SERVICE = new KafkaMetaService(PROXY_API);
 
     public static List<Integer> getAllKafkaPartitions(String brokerList, String topic,
                                                       ImmutableMap<String, String> properties,
                                                       long warehouseId) throws UserException {
+        if (Config.enable_kafka_meta_service) {
+            return META_SERVICE.getAllKafkaPartitions(brokerList, topic, properties, warehouseId);
+        }
         return PROXY_API.getAllKafkaPartitions(brokerList, topic, properties, warehouseId);
     }
 
@@ -82,6 +86,9 @@ public class KafkaUtil {
                                                       ImmutableMap<String, String> properties,
                                                       List<Integer> partitions,
                                                       long warehouseId) throws UserException {
+        if (Config.enable_kafka_meta_service) {
+            return META_SERVICE.getOffsets(brokerList, topic, properties, partitions, true, warehouseId);
+        }
         return PROXY_API.getLatestOffsets(brokerList, topic, properties, partitions, warehouseId);
     }
 
@@ -89,9 +96,18 @@ public class KafkaUtil {
                                                          ImmutableMap<String, String> properties,
                                                          List<Integer> partitions,
                                                          long warehouseId) throws UserException {
+        if (Config.enable_kafka_meta_service) {
+            return META_SERVICE.getOffsets(brokerList, topic, properties, partitions, false, warehouseId);
+        }
         return PROXY_API.getBeginningOffsets(brokerList, topic, properties, partitions, warehouseId);
     }
 
+    // remove the cached meta of the topic, the offsets may be stale in the cache of kafka meta service
+    public static void invalidateKafkaMeta(String brokerList, String topic, ImmutableMap<String, String> properties,
+                                           long warehouseId) {
+        META_SERVICE.invalidate(brokerList, topic, properties, warehouseId);
+    }
+
     public static List<PKafkaOffsetProxyResult> getBatchOffsets(List<PKafkaOffsetProxyRequest> requests)
             throws UserException {
         return PROXY_API.getBatchOffsets(requests);
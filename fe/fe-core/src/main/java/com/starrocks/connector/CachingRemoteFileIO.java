@@ -19,6 +19,8 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 import org.apache.logging.log4j.LogManager;
@@ -26,10 +28,14 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.cache.CacheLoader.asyncReloading;
 import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -41,6 +47,8 @@ public class CachingRemoteFileIO implements RemoteFileIO {
     public static final long NEVER_REFRESH = -1;
     private final RemoteFileIO fileIO;
     private final LoadingCache<RemotePathKey, List<RemoteFileDesc>> cache;
+    // the paths being listed by the batch listings
+    private final Map<RemotePathKey, CompletableFuture<List<RemoteFileDesc>>> loadingPaths = new ConcurrentHashMap<>();
 
     protected CachingRemoteFileIO(RemoteFileIO fileIO,
                                Executor executor,
@@ -83,6 +91,67 @@ public class CachingRemoteFileIO implements RemoteFileIO {
         }
     }
 
+    @Override
+    public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(List<RemotePathKey> pathKeys) {
+        return getRemoteFiles(pathKeys, true);
+    }
+
+    /**
+     * Lists the missing paths by one batch listing of the underlying file io. The concurrent listings of
+     * a path are coalesced, the first one lists it and the others wait for its result.
+     */
+    public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(List<RemotePathKey> pathKeys, boolean useCache) {
+        if (!useCache) {
+            pathKeys.forEach(this::invalidatePartition);
+        }
+        Map<RemotePathKey, List<RemoteFileDesc>> result = Maps.newHashMap(cache.getAllPresent(pathKeys));
+        Map<RemotePathKey, CompletableFuture<List<RemoteFileDesc>>> loadingFutures = Maps.newHashMap();
+        Map<RemotePathKey, CompletableFuture<List<RemoteFileDesc>>> ownedFutures = Maps.newHashMap();
+        for (RemotePathKey pathKey : pathKeys) {
+            if (result.containsKey(pathKey) || loadingFutures.containsKey(pathKey)) {
+                continue;
+            }
+            CompletableFuture<List<RemoteFileDesc>> future = new CompletableFuture<>();
+            CompletableFuture<List<RemoteFileDesc>> loading = loadingPaths.putIfAbsent(pathKey, future);
+            if (loading == null) {
+                ownedFutures.put(pathKey, future);
+                loadingFutures.put(pathKey, future);
+            } else {
+                loadingFutures.put(pathKey, loading);
+            }
+        }
+
+        if (!ownedFutures.isEmpty()) {
+            try {
+                Map<RemotePathKey, List<RemoteFileDesc>> loaded =
+                        fileIO.getRemoteFiles(Lists.newArrayList(ownedFutures.keySet()));
+                for (Map.Entry<RemotePathKey, CompletableFuture<List<RemoteFileDesc>>> entry : ownedFutures.entrySet()) {
+                    List<RemoteFileDesc> files = loaded.get(entry.getKey());
+                    if (files == null) {
+                        files = loadRemoteFiles(entry.getKey());
+                    }
+                    cache.put(entry.getKey(), files);
+                    entry.getValue().complete(files);
+                }
+            } catch (RuntimeException e) {
+                ownedFutures.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                ownedFutures.forEach(loadingPaths::remove);
+            }
+        }
+
+        for (Map.Entry<RemotePathKey, CompletableFuture<List<RemoteFileDesc>>> entry : loadingFutures.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                throwIfUnchecked(e.getCause());
+                throw new StarRocksConnectorException("Failed to get remote files of %s", entry.getKey());
+            }
+        }
+        return result;
+    }
+
     public List<RemoteFileDesc> loadRemoteFiles(RemotePathKey pathKey) {
         return fileIO.getRemoteFiles(pathKey).get(pathKey);
     }
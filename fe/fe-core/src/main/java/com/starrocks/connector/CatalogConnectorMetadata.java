@@ -144,6 +144,11 @@ public class CatalogConnectorMetadata implements ConnectorMetadata {
         return normal.getPartitions(table, partitionNames);
     }
 
+    @Override
+    public List<String> getScanSplitPredicates(Table table, int maxRanges) {
+        return normal.getScanSplitPredicates(table, maxRanges);
+    }
+
     @Override
     public Statistics getTableStatistics(OptimizerContext session, Table table, Map<ColumnRefOperator, Column> columns,
                                          List<PartitionKey> partitionKeys, ScalarOperator predicate, long limit) {
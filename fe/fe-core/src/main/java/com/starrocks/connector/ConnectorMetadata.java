@@ -161,6 +161,18 @@ public interface ConnectorMetadata {
         return Lists.newArrayList();
     }
 
+    /**
+     * Get the predicates to split the scan of the table into disjoint ranges which can be read in parallel.
+     *
+     * @param table the table to scan
+     * @param maxRanges the max number of ranges
+     *
+     * @return the predicates of the ranges, or an empty list if the scan can't be split.
+     */
+    default List<String> getScanSplitPredicates(Table table, int maxRanges) {
+        return Lists.newArrayList();
+    }
+
     /**
      * Get statistics for the table.
      *
@@ -19,6 +19,7 @@ import com.starrocks.connector.hive.TextFileFormatDesc;
 import com.starrocks.connector.odps.OdpsSplitsInfo;
 import com.starrocks.connector.paimon.PaimonSplitsInfo;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.io.CloseableIterable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +40,8 @@ public class RemoteFileDesc {
     // Only this single RemoteFileDesc instance is used to record all iceberg scanTask
     // to reduce the memory usage of RemoteFileInfo
     private List<FileScanTask> icebergScanTasks = new ArrayList<>();
+    // the file scan tasks which are not planned yet, used by the streaming iceberg scan
+    private CloseableIterable<FileScanTask> icebergScanTaskIterable;
     private PaimonSplitsInfo paimonSplitsInfo;
     private OdpsSplitsInfo odpsSplitsInfo;
 
@@ -71,6 +74,12 @@ public class RemoteFileDesc {
         return new RemoteFileDesc(null, null, 0, 0, null, null, tasks, null, null);
     }
 
+    public static RemoteFileDesc createStreamingIcebergRemoteFileDesc(CloseableIterable<FileScanTask> tasks) {
+        RemoteFileDesc desc = new RemoteFileDesc(null, null, 0, 0, null, null, null, null, null);
+        desc.icebergScanTaskIterable = tasks;
+        return desc;
+    }
+
     public static RemoteFileDesc createPamonRemoteFileDesc(PaimonSplitsInfo paimonSplitsInfo) {
         return new RemoteFileDesc(null, null, 0, 0, null, null, null, paimonSplitsInfo, null);
     }
@@ -134,6 +143,13 @@ public class RemoteFileDesc {
         return icebergScanTasks;
     }
 
+    public CloseableIterable<FileScanTask> getIcebergScanTaskIterable() {
+        if (icebergScanTaskIterable != null) {
+            return icebergScanTaskIterable;
+        }
+        return CloseableIterable.withNoopClose(icebergScanTasks);
+    }
+
     public PaimonSplitsInfo getPaimonSplitsInfo() {
         return paimonSplitsInfo;
     }
@@ -15,10 +15,20 @@
 
 package com.starrocks.connector;
 
+import com.google.common.collect.Maps;
+
 import java.util.List;
 import java.util.Map;
 
 public interface RemoteFileIO {
 
     Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(RemotePathKey pathKey);
+
+    default Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(List<RemotePathKey> pathKeys) {
+        Map<RemotePathKey, List<RemoteFileDesc>> result = Maps.newHashMap();
+        for (RemotePathKey pathKey : pathKeys) {
+            result.putAll(getRemoteFiles(pathKey));
+        }
+        return result;
+    }
 }
@@ -17,6 +17,7 @@ package com.starrocks.connector;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.profile.Timer;
 import com.starrocks.common.profile.Tracers;
 import com.starrocks.connector.exception.StarRocksConnectorException;
@@ -33,7 +34,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -53,6 +57,7 @@ import static com.starrocks.connector.hive.HiveWriteUtils.fileCreatedByQuery;
 public class RemoteFileOperations {
     private static final Logger LOG = LogManager.getLogger(RemoteFileOperations.class);
     public static final String HMS_PARTITIONS_REMOTE_FILES = "HMS.PARTITIONS.LIST_FS_PARTITIONS";
+    public static final String HMS_PARTITIONS_REMOTE_FILE_BATCHES = "HMS.PARTITIONS.LIST_FS_BATCHES";
     protected CachingRemoteFileIO remoteFileIO;
     private final ExecutorService pullRemoteFileExecutor;
     private final Executor updateRemoteFilesExecutor;
@@ -87,6 +92,9 @@ public class RemoteFileOperations {
     }
 
     public List<RemoteFileInfo> getRemoteFiles(List<Partition> partitions, Optional<String> hudiTableLocation, boolean useCache) {
+        if (Config.remote_file_listing_batch_size > 0 && partitions.size() > 1) {
+            return getRemoteFilesInBatches(partitions, hudiTableLocation, useCache);
+        }
         Map<RemotePathKey, Partition> pathKeyToPartition = Maps.newHashMap();
         for (Partition partition : partitions) {
             RemotePathKey key = RemotePathKey.of(partition.getFullPath(), isRecursive, hudiTableLocation);
@@ -128,6 +136,58 @@ public class RemoteFileOperations {
         return resultRemoteFiles;
     }
 
+    private List<RemoteFileInfo> getRemoteFilesInBatches(List<Partition> partitions, Optional<String> hudiTableLocation,
+                                                         boolean useCache) {
+        List<RemotePathKey> pathKeys = partitions.stream()
+                .map(partition -> RemotePathKey.of(partition.getFullPath(), isRecursive, hudiTableLocation))
+                .distinct()
+                .collect(Collectors.toList());
+        int cacheMissSize = pathKeys.size();
+        if (enableCatalogLevelCache && useCache) {
+            cacheMissSize = cacheMissSize - remoteFileIO.getPresentRemoteFiles(pathKeys).size();
+        }
+
+        // the partitions of a file system are sorted by path to put the sibling partitions in one batch
+        Map<String, List<RemotePathKey>> fileSystemToPathKeys = pathKeys.stream()
+                .sorted(Comparator.comparing(RemotePathKey::getPath))
+                .collect(Collectors.groupingBy(pathKey -> getFileSystemKey(pathKey.getPath()),
+                        LinkedHashMap::new, Collectors.toList()));
+        List<List<RemotePathKey>> batches = Lists.newArrayList();
+        for (List<RemotePathKey> fileSystemPathKeys : fileSystemToPathKeys.values()) {
+            batches.addAll(Lists.partition(fileSystemPathKeys, Config.remote_file_listing_batch_size));
+        }
+
+        Map<RemotePathKey, List<RemoteFileDesc>> files = Maps.newHashMap();
+        Tracers.count(Tracers.Module.EXTERNAL, HMS_PARTITIONS_REMOTE_FILES, cacheMissSize);
+        Tracers.count(Tracers.Module.EXTERNAL, HMS_PARTITIONS_REMOTE_FILE_BATCHES, batches.size());
+        try (Timer ignored = Tracers.watchScope(Tracers.Module.EXTERNAL, HMS_PARTITIONS_REMOTE_FILES)) {
+            List<Future<Map<RemotePathKey, List<RemoteFileDesc>>>> futures = Lists.newArrayList();
+            for (List<RemotePathKey> batch : batches) {
+                futures.add(pullRemoteFileExecutor.submit(() -> remoteFileIO.getRemoteFiles(batch, useCache)));
+            }
+            for (Future<Map<RemotePathKey, List<RemoteFileDesc>>> future : futures) {
+                try {
+                    files.putAll(future.get());
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new StarRocksConnectorException("Failed to get remote files, msg: %s", e.getMessage());
+                }
+            }
+        }
+
+        // the planner matches the file infos with the partitions by their positions
+        List<RemoteFileInfo> resultRemoteFiles = Lists.newArrayList();
+        for (Partition partition : partitions) {
+            RemotePathKey pathKey = RemotePathKey.of(partition.getFullPath(), isRecursive, hudiTableLocation);
+            resultRemoteFiles.add(buildRemoteFileInfo(partition, files.get(pathKey)));
+        }
+        return resultRemoteFiles;
+    }
+
+    private static String getFileSystemKey(String path) {
+        URI uri = new Path(ObjectStorageUtils.formatObjectStoragePath(path)).toUri();
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
     public List<RemoteFileInfo> getPresentFilesInCache(Collection<Partition> partitions) {
         return getPresentFilesInCache(partitions, Optional.empty());
     }
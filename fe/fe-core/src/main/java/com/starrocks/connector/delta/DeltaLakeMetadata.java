@@ -17,6 +17,7 @@ package com.starrocks.connector.delta;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
 import com.starrocks.connector.ConnectorMetadata;
 import com.starrocks.connector.HdfsEnvironment;
 import com.starrocks.connector.hive.HiveMetastoreOperations;
@@ -31,11 +32,18 @@ public class DeltaLakeMetadata implements ConnectorMetadata {
     private final String catalogName;
     private final HiveMetastoreOperations hmsOps;
     private final HdfsEnvironment hdfsEnvironment;
+    private final DeltaLakeSnapshotCache snapshotCache;
 
     public DeltaLakeMetadata(HdfsEnvironment hdfsEnvironment, String catalogName, HiveMetastoreOperations hmsOps) {
+        this(hdfsEnvironment, catalogName, hmsOps, null);
+    }
+
+    public DeltaLakeMetadata(HdfsEnvironment hdfsEnvironment, String catalogName, HiveMetastoreOperations hmsOps,
+                             DeltaLakeSnapshotCache snapshotCache) {
         this.hdfsEnvironment = hdfsEnvironment;
         this.catalogName = catalogName;
         this.hmsOps = hmsOps;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
@@ -73,6 +81,10 @@ public class DeltaLakeMetadata implements ConnectorMetadata {
             HiveTable hiveTable = (HiveTable) table;
             String path = hiveTable.getTableLocation();
             long createTime = table.getCreateTime();
+            if (snapshotCache != null && Config.enable_delta_lake_snapshot_cache) {
+                DeltaLakeSnapshot snapshot = snapshotCache.getSnapshot(path, hdfsEnvironment.getConfiguration());
+                return DeltaUtils.convertDeltaToSRTable(catalogName, dbName, tblName, snapshot, createTime);
+            }
             return DeltaUtils.convertDeltaToSRTable(catalogName, dbName, tblName, path, hdfsEnvironment.getConfiguration(),
                     createTime);
         } catch (Exception e) {
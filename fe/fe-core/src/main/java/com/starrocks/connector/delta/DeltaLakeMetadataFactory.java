@@ -33,6 +33,7 @@ public class DeltaLakeMetadataFactory {
     private final long perQueryMetastoreMaxNum;
     private final HdfsEnvironment hdfsEnvironment;
     private final MetastoreType metastoreType;
+    private final DeltaLakeSnapshotCache snapshotCache = new DeltaLakeSnapshotCache();
 
     public DeltaLakeMetadataFactory(String catalogName, IHiveMetastore metastore, CachingHiveMetastoreConf hmsConf,
                                     Map<String, String> properties, HdfsEnvironment hdfsEnvironment,
@@ -54,6 +55,6 @@ public class DeltaLakeMetadataFactory {
                 metastore instanceof CachingHiveMetastore,
                 hdfsEnvironment.getConfiguration(), metastoreType, catalogName);
 
-        return new DeltaLakeMetadata(hdfsEnvironment, catalogName, hiveMetastoreOperations);
+        return new DeltaLakeMetadata(hdfsEnvironment, catalogName, hiveMetastoreOperations, snapshotCache);
     }
 }
@@ -0,0 +1,145 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.delta;
+
+import com.starrocks.connector.exception.StarRocksConnectorException;
+import io.delta.standalone.data.RowRecord;
+import io.delta.standalone.types.StructType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The partition values of a delta lake data file as a row, used to evaluate the partition predicates.
+ */
+public class DeltaLakePartitionRecord implements RowRecord {
+    private final StructType partitionSchema;
+    private final Map<String, String> partitionValues;
+
+    public DeltaLakePartitionRecord(StructType partitionSchema, Map<String, String> partitionValues) {
+        this.partitionSchema = partitionSchema;
+        this.partitionValues = partitionValues;
+    }
+
+    @Override
+    public StructType getSchema() {
+        return partitionSchema;
+    }
+
+    @Override
+    public int getLength() {
+        return partitionSchema.getFields().length;
+    }
+
+    @Override
+    public boolean isNullAt(String fieldName) {
+        return getValue(fieldName) == null;
+    }
+
+    @Override
+    public int getInt(String fieldName) {
+        return Integer.parseInt(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public long getLong(String fieldName) {
+        return Long.parseLong(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public byte getByte(String fieldName) {
+        return Byte.parseByte(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public short getShort(String fieldName) {
+        return Short.parseShort(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public boolean getBoolean(String fieldName) {
+        return Boolean.parseBoolean(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public float getFloat(String fieldName) {
+        return Float.parseFloat(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public double getDouble(String fieldName) {
+        return Double.parseDouble(getNonNullValue(fieldName));
+    }
+
+    @Override
+    public String getString(String fieldName) {
+        return getValue(fieldName);
+    }
+
+    @Override
+    public byte[] getBinary(String fieldName) {
+        String value = getValue(fieldName);
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String fieldName) {
+        String value = getValue(fieldName);
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String fieldName) {
+        String value = getValue(fieldName);
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    @Override
+    public Date getDate(String fieldName) {
+        String value = getValue(fieldName);
+        return value == null ? null : Date.valueOf(value);
+    }
+
+    @Override
+    public RowRecord getRecord(String fieldName) {
+        throw new UnsupportedOperationException("Struct is not a valid partition type");
+    }
+
+    @Override
+    public <T> List<T> getList(String fieldName) {
+        throw new UnsupportedOperationException("Array is not a valid partition type");
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(String fieldName) {
+        throw new UnsupportedOperationException("Map is not a valid partition type");
+    }
+
+    private String getValue(String fieldName) {
+        return partitionValues.get(fieldName);
+    }
+
+    private String getNonNullValue(String fieldName) {
+        String value = getValue(fieldName);
+        if (value == null) {
+            throw new StarRocksConnectorException("Read a null value of partition column %s", fieldName);
+        }
+        return value;
+    }
+}
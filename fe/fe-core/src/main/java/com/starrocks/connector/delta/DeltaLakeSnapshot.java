@@ -0,0 +1,99 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.delta;
+
+import io.delta.standalone.DeltaLog;
+import io.delta.standalone.Snapshot;
+import io.delta.standalone.actions.AddFile;
+import io.delta.standalone.expressions.Expression;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A version of a delta lake table together with its data files. The files are replayed from the delta log
+ * once, so the scans of the version can prune them by the partition predicate without reading the log again.
+ */
+public class DeltaLakeSnapshot {
+    private final DeltaLog deltaLog;
+    private final Snapshot snapshot;
+    // path -> file, null if the files are not indexed
+    private final Map<String, AddFile> files;
+
+    public DeltaLakeSnapshot(DeltaLog deltaLog, Snapshot snapshot, Map<String, AddFile> files) {
+        this.deltaLog = deltaLog;
+        this.snapshot = snapshot;
+        this.files = files == null ? null : Collections.unmodifiableMap(files);
+    }
+
+    public DeltaLog getDeltaLog() {
+        return deltaLog;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    public boolean hasFileIndex() {
+        return files != null;
+    }
+
+    public Map<String, AddFile> getFileIndex() {
+        return files;
+    }
+
+    public int getFileNum() {
+        return files == null ? 0 : files.size();
+    }
+
+    // the same files as DeltaScan.getFiles() of the snapshot with the pushed partition predicate
+    public List<AddFile> getFiles(Optional<Expression> partitionPredicate) {
+        Collection<AddFile> allFiles = files.values();
+        if (!partitionPredicate.isPresent()) {
+            return new ArrayList<>(allFiles);
+        }
+
+        Set<String> partitionColumns = snapshot.getMetadata().getPartitionColumns().stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        StructField[] partitionFields = Arrays.stream(snapshot.getMetadata().getSchema().getFields())
+                .filter(field -> partitionColumns.contains(field.getName().toLowerCase()))
+                .toArray(StructField[]::new);
+        StructType partitionSchema = new StructType(partitionFields);
+
+        List<AddFile> result = new ArrayList<>();
+        for (AddFile file : allFiles) {
+            Object matched = partitionPredicate.get().eval(
+                    new DeltaLakePartitionRecord(partitionSchema, file.getPartitionValues()));
+            if (Boolean.TRUE.equals(matched)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+}
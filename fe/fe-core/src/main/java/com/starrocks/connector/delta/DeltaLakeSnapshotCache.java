@@ -0,0 +1,181 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.delta;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.starrocks.common.Config;
+import com.starrocks.connector.exception.StarRocksConnectorException;
+import com.starrocks.metric.LongCounterMetric;
+import com.starrocks.metric.MetricRepo;
+import io.delta.standalone.DeltaLog;
+import io.delta.standalone.Snapshot;
+import io.delta.standalone.VersionLog;
+import io.delta.standalone.actions.Action;
+import io.delta.standalone.actions.AddFile;
+import io.delta.standalone.actions.RemoveFile;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The snapshots of the delta lake tables of a catalog. The first resolution of a table replays its whole
+ * delta log, the later ones only list the delta log and replay the commits after the cached version.
+ */
+public class DeltaLakeSnapshotCache {
+    private static final Logger LOG = LogManager.getLogger(DeltaLakeSnapshotCache.class);
+
+    private final Cache<String, CachedSnapshot> snapshots;
+
+    private static class CachedSnapshot {
+        private final DeltaLakeSnapshot snapshot;
+        private final long lastCheckTimeMs;
+
+        CachedSnapshot(DeltaLakeSnapshot snapshot, long lastCheckTimeMs) {
+            this.snapshot = snapshot;
+            this.lastCheckTimeMs = lastCheckTimeMs;
+        }
+    }
+
+    public DeltaLakeSnapshotCache() {
+        this.snapshots = CacheBuilder.newBuilder()
+                .expireAfterAccess(Config.delta_lake_snapshot_cache_expire_sec, SECONDS)
+                .maximumWeight(Config.delta_lake_snapshot_cache_max_files)
+                .weigher((String path, CachedSnapshot cached) -> cached.snapshot.getFileNum() + 1)
+                .build();
+    }
+
+    public DeltaLakeSnapshot getSnapshot(String path, Configuration configuration) {
+        AtomicBoolean loaded = new AtomicBoolean(false);
+        CachedSnapshot cached;
+        try {
+            // the concurrent resolutions of a new table replay the log only once
+            cached = snapshots.get(path, () -> {
+                loaded.set(true);
+                return new CachedSnapshot(loadSnapshot(path, configuration), System.currentTimeMillis());
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new StarRocksConnectorException("Failed to load delta lake snapshot of %s", path);
+        }
+
+        if (loaded.get()) {
+            increaseCounter(MetricRepo.COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_MISS);
+            return cached.snapshot;
+        }
+        increaseCounter(MetricRepo.COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_HIT);
+        if (System.currentTimeMillis() - cached.lastCheckTimeMs <
+                Config.delta_lake_snapshot_cache_refresh_interval_sec * 1000) {
+            return cached.snapshot;
+        }
+
+        synchronized (cached) {
+            CachedSnapshot current = snapshots.getIfPresent(path);
+            if (current != null && current != cached) {
+                // updated by another resolution
+                return current.snapshot;
+            }
+            long now = System.currentTimeMillis();
+            DeltaLakeSnapshot snapshot = updateSnapshot(cached.snapshot);
+            snapshots.put(path, new CachedSnapshot(snapshot, now));
+            return snapshot;
+        }
+    }
+
+    public void invalidate(String path) {
+        snapshots.invalidate(path);
+    }
+
+    @VisibleForTesting
+    public long size() {
+        return snapshots.size();
+    }
+
+    private DeltaLakeSnapshot loadSnapshot(String path, Configuration configuration) {
+        DeltaLog deltaLog = DeltaLog.forTable(configuration, path);
+        if (!deltaLog.tableExists()) {
+            throw new IllegalArgumentException(String.format("Delta log not exist for %s", path));
+        }
+
+        Snapshot snapshot = deltaLog.snapshot();
+        Map<String, AddFile> files = new LinkedHashMap<>();
+        for (AddFile file : snapshot.getAllFiles()) {
+            files.put(file.getPath(), file);
+        }
+        LOG.info("load delta lake snapshot of {} at version {} with {} files", path, snapshot.getVersion(), files.size());
+        return new DeltaLakeSnapshot(deltaLog, snapshot, files);
+    }
+
+    @VisibleForTesting
+    DeltaLakeSnapshot updateSnapshot(DeltaLakeSnapshot cached) {
+        DeltaLog deltaLog = cached.getDeltaLog();
+        Snapshot latest = deltaLog.update();
+        if (latest.getVersion() == cached.getVersion()) {
+            return cached;
+        }
+
+        // the cached file index is shared with the running queries, the new version gets a copy of it
+        Map<String, AddFile> files = new LinkedHashMap<>(cached.getFileIndex());
+        try {
+            applyChanges(deltaLog.getChanges(cached.getVersion() + 1, true), latest.getVersion(), files);
+        } catch (RuntimeException e) {
+            // the commits may be removed by the log retention, replay the latest version from its checkpoint
+            LOG.warn("failed to replay delta log of {} from version {}, reload the whole snapshot",
+                    deltaLog.getPath(), cached.getVersion() + 1, e);
+            files.clear();
+            for (AddFile file : latest.getAllFiles()) {
+                files.put(file.getPath(), file);
+            }
+        }
+        LOG.debug("update delta lake snapshot of {} from version {} to {}",
+                deltaLog.getPath(), cached.getVersion(), latest.getVersion());
+        return new DeltaLakeSnapshot(deltaLog, latest, files);
+    }
+
+    @VisibleForTesting
+    static void applyChanges(Iterator<VersionLog> changes, long toVersion, Map<String, AddFile> files) {
+        while (changes.hasNext()) {
+            VersionLog versionLog = changes.next();
+            if (versionLog.getVersion() > toVersion) {
+                break;
+            }
+            for (Action action : versionLog.getActions()) {
+                if (action instanceof AddFile) {
+                    AddFile file = (AddFile) action;
+                    files.put(file.getPath(), file);
+                } else if (action instanceof RemoveFile) {
+                    files.remove(((RemoveFile) action).getPath());
+                }
+            }
+        }
+    }
+
+    private static void increaseCounter(LongCounterMetric counter) {
+        if (MetricRepo.hasInit) {
+            counter.increase(1L);
+        }
+    }
+}
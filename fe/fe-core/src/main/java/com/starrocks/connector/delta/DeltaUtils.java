@@ -47,7 +47,13 @@ public class DeltaUtils {
                     catalog, dbName, tblName));
         }
 
-        Metadata metadata = deltaLog.snapshot().getMetadata();
+        return convertDeltaToSRTable(catalog, dbName, tblName, new DeltaLakeSnapshot(deltaLog, deltaLog.snapshot(), null),
+                createTime);
+    }
+
+    public static DeltaLakeTable convertDeltaToSRTable(String catalog, String dbName, String tblName,
+                                                       DeltaLakeSnapshot snapshot, long createTime) {
+        Metadata metadata = snapshot.getSnapshot().getMetadata();
         StructType tableSchema = metadata.getSchema();
         List<Column> fullSchema = Lists.newArrayList();
 
@@ -70,7 +76,7 @@ public class DeltaUtils {
         }
 
         return new DeltaLakeTable(CONNECTOR_ID_GENERATOR.getNextId().asInt(), catalog, dbName, tblName,
-                fullSchema, metadata.getPartitionColumns(), deltaLog, createTime);
+                fullSchema, metadata.getPartitionColumns(), snapshot, createTime);
     }
 
     public static RemoteFileInputFormat getRemoteFileFormat(String format) {
@@ -84,6 +84,25 @@ public class EsMajorVersion {
         return version.major >= major;
     }
 
+    /**
+     * Whether the version is on or after major.minor. The minor version is unknown if the version is
+     * like "6.x", then it is regarded as before all the minor versions of the same major version.
+     */
+    public boolean onOrAfter(int major, int minor) {
+        if (this.major != major) {
+            return this.major > major;
+        }
+        String[] parts = version.split("\\.");
+        if (parts.length < 2) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(parts[1]) >= minor;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     public static EsMajorVersion parse(String version) throws StarRocksConnectorException {
         if (version.startsWith("0.")) {
             return new EsMajorVersion((byte) 0, version);
@@ -183,6 +183,22 @@ public class EsRestClient {
         return EsShardPartitions.findShardPartitions(indexName, searchShards);
     }
 
+    /**
+     * Get the document count of the primary shards
+     *
+     * @param indexName
+     * @return index name -> shard id -> document count
+     * @throws StarRocksConnectorException
+     */
+    public Map<String, Map<Integer, Long>> getShardDocCounts(String indexName) throws StarRocksConnectorException {
+        String path = indexName + "/_stats/docs?level=shards";
+        String shardStats = execute(path);
+        if (shardStats == null) {
+            throw new StarRocksConnectorException("request index [" + indexName + "] shard stats failure");
+        }
+        return EsShardPartitions.parseShardDocCounts(shardStats);
+    }
+
     /**
      * execute request for specific path, it will try again nodes.length times if it fails
      *
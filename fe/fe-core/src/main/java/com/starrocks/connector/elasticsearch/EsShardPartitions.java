@@ -45,6 +45,7 @@ import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
@@ -56,6 +57,8 @@ public class EsShardPartitions {
     private final String indexName;
     // shardid -> host1, host2, host3
     private Map<Integer, List<EsShardRouting>> shardRoutings;
+    // shardid -> the number of sliced scroll requests to scan the shard
+    private Map<Integer, Integer> shardSlices;
     private SingleRangePartitionDesc partitionDesc;
     private PartitionKey partitionKey;
     private long partitionId = -1;
@@ -63,6 +66,7 @@ public class EsShardPartitions {
     public EsShardPartitions(String indexName) {
         this.indexName = indexName;
         this.shardRoutings = Maps.newHashMap();
+        this.shardSlices = Maps.newHashMap();
         this.partitionDesc = null;
         this.partitionKey = null;
     }
@@ -112,6 +116,59 @@ public class EsShardPartitions {
         return partitions;
     }
 
+    /**
+     * Parse the document count of the primary shards from the json
+     *
+     * @param shardStats the return value of _stats/docs?level=shards
+     * @return index name -> shard id -> document count
+     */
+    public static Map<String, Map<Integer, Long>> parseShardDocCounts(String shardStats) {
+        Map<String, Map<Integer, Long>> docCounts = Maps.newHashMap();
+        JSONObject indices = new JSONObject(shardStats).getJSONObject("indices");
+        for (String index : indices.keySet()) {
+            Map<Integer, Long> indexDocCounts = Maps.newHashMap();
+            JSONObject shards = indices.getJSONObject(index).getJSONObject("shards");
+            for (String shardId : shards.keySet()) {
+                JSONArray copies = shards.getJSONArray(shardId);
+                for (int i = 0; i < copies.length(); i++) {
+                    JSONObject copy = copies.getJSONObject(i);
+                    if (copy.getJSONObject("routing").getBoolean("primary")) {
+                        indexDocCounts.put(Integer.parseInt(shardId), copy.getJSONObject("docs").getLong("count"));
+                        break;
+                    }
+                }
+            }
+            docCounts.put(index, indexDocCounts);
+        }
+        return docCounts;
+    }
+
+    /**
+     * Split the shards into sliced scroll requests, so that each slice reads about docsPerSlice documents.
+     */
+    public void computeShardSlices(Map<String, Map<Integer, Long>> docCounts, long docsPerSlice, int maxSlices) {
+        shardSlices.clear();
+        for (Map.Entry<Integer, List<EsShardRouting>> entry : shardRoutings.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            EsShardRouting routing = entry.getValue().get(0);
+            Long docCount = docCounts.getOrDefault(routing.getIndexName(), Collections.emptyMap())
+                    .get(routing.getShardId());
+            if (docCount == null) {
+                continue;
+            }
+            long slices = Math.min(Math.max(maxSlices, 1), (docCount + docsPerSlice - 1) / docsPerSlice);
+            if (slices > 1) {
+                shardSlices.put(entry.getKey(), (int) slices);
+            }
+        }
+    }
+
+    public int getShardSlices(int shardId) {
+        return shardSlices.getOrDefault(shardId, 1);
+    }
+
     public void addHttpAddress(Map<String, EsNodeInfo> nodesInfo) {
         for (Map.Entry<Integer, List<EsShardRouting>> entry : shardRoutings.entrySet()) {
             List<EsShardRouting> shardRoutings = entry.getValue();
@@ -18,7 +18,10 @@
 package com.starrocks.connector.elasticsearch;
 
 import com.starrocks.catalog.EsTable;
+import com.starrocks.common.Config;
 import com.starrocks.connector.exception.StarRocksConnectorException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +31,8 @@ import java.util.Map;
  */
 public class PartitionPhase implements SearchPhase {
 
+    private static final Logger LOG = LogManager.getLogger(PartitionPhase.class);
+
     private EsRestClient client;
     private EsShardPartitions shardPartitions;
     private Map<String, EsNodeInfo> nodesInfo;
@@ -39,6 +44,18 @@ public class PartitionPhase implements SearchPhase {
     @Override
     public void execute(SearchContext context) throws StarRocksConnectorException {
         shardPartitions = client.searchShards(context.sourceIndex());
+        // before 6.4 the slices are computed over the whole index even if the scroll is restricted
+        // to one shard by the preference, so the shards are sliced only since 6.4
+        if (Config.es_scroll_docs_per_slice > 0 && context.version() != null
+                && context.version().onOrAfter(6, 4)) {
+            try {
+                shardPartitions.computeShardSlices(client.getShardDocCounts(context.sourceIndex()),
+                        Config.es_scroll_docs_per_slice, Config.es_scroll_max_slices_per_shard);
+            } catch (Exception e) {
+                // scan each shard by one scroll request
+                LOG.warn("fetch index [{}] shard stats failure", context.sourceIndex(), e);
+            }
+        }
         nodesInfo = client.getHttpNodes();
         if (!context.wanOnly()) {
             nodesInfo = client.getHttpNodes();
@@ -61,6 +61,8 @@ public class CacheUpdateProcessor {
 
     // Record the latest synced event id when processing hive events
     private long lastSyncedEventId = -1;
+    // Record the latest event id of the metastore when pulling hive events
+    private long latestEventId = -1;
 
     private final Map<BasePartitionInfo, Long> partitionUpdatedTimes;
 
@@ -316,6 +318,10 @@ public class CacheUpdateProcessor {
         }
     }
 
+    public void addPartitionByEvent(HivePartitionName hivePartitionName, Partition partition) {
+        ((CachingHiveMetastore) metastore).addPartitionByEvent(hivePartitionName, partition);
+    }
+
     public void invalidateAll() {
         metastore.invalidateAll();
         remoteFileIO.ifPresent(CachingRemoteFileIO::invalidateAll);
@@ -372,6 +378,7 @@ public class CacheUpdateProcessor {
         }
 
         long currentEventId = metastore.getCurrentEventId();
+        latestEventId = currentEventId;
         if (currentEventId == lastSyncedEventId) {
             LOG.info("Event id not updated when pulling events on catalog [{}]", catalogName);
             return null;
@@ -379,6 +386,26 @@ public class CacheUpdateProcessor {
         return ((CachingHiveMetastore) metastore).getNextEventResponse(lastSyncedEventId, catalogName, getAllEvents);
     }
 
+    /**
+     * Gets the events after the given event id which are pulled but not processed yet. The events after the
+     * latest event id seen by the last {@link #getNextEventResponse(String, boolean)} are left to the next round.
+     */
+    public NotificationEventResponse getNextEventResponse(String catalogName, long fromEventId)
+            throws MetastoreNotificationFetchException {
+        if (fromEventId >= latestEventId) {
+            return null;
+        }
+        return ((CachingHiveMetastore) metastore).getNextEventResponse(fromEventId, catalogName, false);
+    }
+
+    public long getLastSyncedEventId() {
+        return lastSyncedEventId;
+    }
+
+    public long getLatestEventId() {
+        return latestEventId;
+    }
+
     private static class BasePartitionInfo {
         private String dbName;
         private String tableName;
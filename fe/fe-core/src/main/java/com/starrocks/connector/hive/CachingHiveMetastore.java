@@ -734,6 +734,15 @@ public class CachingHiveMetastore implements IHiveMetastore {
         partitionStatsCache.put(hivePartitionName, updatedPartitionStats);
     }
 
+    public synchronized void addPartitionByEvent(HivePartitionName hivePartitionName, Partition partition) {
+        HiveTableName hiveTableName = HiveTableName.of(hivePartitionName.getDatabaseName(), hivePartitionName.getTableName());
+        partitionKeysCache.asMap().keySet().stream().filter(hivePartitionValue -> hivePartitionValue.getHiveTableName().
+                equals(hiveTableName)).forEach(partitionKeysCache::invalidate);
+        partitionCache.put(hivePartitionName, partition);
+        // the statistics of the new partition are loaded on the first use
+        partitionStatsCache.invalidate(hivePartitionName);
+    }
+
     private HivePartitionStats createPartitionStats(HiveCommonStats commonStats, Map<String, HiveColumnStats> columnStats) {
         long totalRowNums = commonStats.getRowNums();
         if (totalRowNums == -1) {
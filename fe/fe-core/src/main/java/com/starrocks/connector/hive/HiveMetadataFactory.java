@@ -82,7 +82,8 @@ public class HiveMetadataFactory {
                 isRecursive,
                 remoteFileIO instanceof CachingRemoteFileIO,
                 hdfsEnvironment.getConfiguration());
-        HiveStatisticsProvider statisticsProvider = new HiveStatisticsProvider(hiveMetastoreOperations, remoteFileOperations);
+        HiveStatisticsProvider statisticsProvider = new HiveStatisticsProvider(hiveMetastoreOperations, remoteFileOperations,
+                pullRemoteFileExecutor);
 
         Optional<CacheUpdateProcessor> cacheUpdateProcessor = getCacheUpdateProcessor();
         return new HiveMetadata(catalogName, hdfsEnvironment, hiveMetastoreOperations, remoteFileOperations,
@@ -19,6 +19,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.ObjectStorageUtils;
 import com.starrocks.connector.PartitionUtil;
@@ -28,10 +30,12 @@ import com.starrocks.connector.RemoteFileIO;
 import com.starrocks.connector.RemotePathKey;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.BatchListingOperations;
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.PartialListing;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.logging.log4j.LogManager;
@@ -42,8 +46,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Stack;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 public class HiveRemoteFileIO implements RemoteFileIO {
     private static final Logger LOG = LogManager.getLogger(HiveRemoteFileIO.class);
@@ -59,6 +65,10 @@ public class HiveRemoteFileIO implements RemoteFileIO {
     private long hostId = 0;
     private static final int UNKNOWN_STORAGE_ID = -1;
 
+    // the listing permits of each file system, shared by all the catalogs
+    private static final Map<String, Semaphore> FILE_SYSTEM_LISTING_PERMITS = new ConcurrentHashMap<>();
+    private volatile boolean batchListingUnsupported = false;
+
     public HiveRemoteFileIO(Configuration configuration) {
         this.configuration = configuration;
     }
@@ -68,17 +78,63 @@ public class HiveRemoteFileIO implements RemoteFileIO {
     }
 
     public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(RemotePathKey pathKey, boolean expandWildCards) {
-        ImmutableMap.Builder<RemotePathKey, List<RemoteFileDesc>> resultPartitions = ImmutableMap.builder();
+        String path = ObjectStorageUtils.formatObjectStoragePath(pathKey.getPath());
+        Semaphore permits = acquireListingPermit(new Path(path).toUri());
+        try {
+            return ImmutableMap.of(pathKey, listRemoteFiles(pathKey, expandWildCards));
+        } finally {
+            releaseListingPermit(permits);
+        }
+    }
+
+    /**
+     * Lists the paths of one file system together. The non-recursive paths on hdfs are listed by the batched
+     * listing rpcs, the sibling paths on object storage may be listed by one flat listing of their parent.
+     * The paths that can't be listed together are listed one by one.
+     */
+    @Override
+    public Map<RemotePathKey, List<RemoteFileDesc>> getRemoteFiles(List<RemotePathKey> pathKeys) {
+        if (pathKeys.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        URI uri = new Path(ObjectStorageUtils.formatObjectStoragePath(pathKeys.get(0).getPath())).toUri();
+        Map<RemotePathKey, List<RemoteFileDesc>> result = Maps.newHashMap();
+        Semaphore permits = acquireListingPermit(uri);
+        try {
+            if (pathKeys.size() > 1 && isSameFileSystem(uri, pathKeys)) {
+                try {
+                    FileSystem fileSystem = getFileSystem(uri);
+                    if (fileSystem instanceof BatchListingOperations && !batchListingUnsupported) {
+                        result.putAll(batchListFiles((BatchListingOperations) fileSystem, pathKeys));
+                    } else if (HiveWriteUtils.isS3Url(uri.toString()) && Config.remote_file_prefix_listing_min_partitions > 0) {
+                        result.putAll(prefixListFiles(fileSystem, pathKeys));
+                    }
+                } catch (UnsupportedOperationException e) {
+                    LOG.warn("Batched listing is not supported by {}, list the paths one by one", uri.getAuthority(), e);
+                    batchListingUnsupported = true;
+                    result.clear();
+                } catch (Exception e) {
+                    LOG.warn("Failed to list {} paths together, list them one by one", pathKeys.size(), e);
+                    result.clear();
+                }
+            }
+            for (RemotePathKey pathKey : pathKeys) {
+                if (!result.containsKey(pathKey)) {
+                    result.put(pathKey, listRemoteFiles(pathKey, false));
+                }
+            }
+            return result;
+        } finally {
+            releaseListingPermit(permits);
+        }
+    }
+
+    private List<RemoteFileDesc> listRemoteFiles(RemotePathKey pathKey, boolean expandWildCards) {
         String path = ObjectStorageUtils.formatObjectStoragePath(pathKey.getPath());
         List<RemoteFileDesc> fileDescs = Lists.newArrayList();
         try {
             URI uri = new Path(path).toUri();
-            FileSystem fileSystem;
-            if (!FeConstants.runningUnitTest) {
-                fileSystem = FileSystem.get(uri, configuration);
-            } else {
-                fileSystem = this.fileSystem;
-            }
+            FileSystem fileSystem = getFileSystem(uri);
             List<Path> expandedPaths = Lists.newArrayList();
             if (!expandWildCards) {
                 expandedPaths.add(new Path(uri.getPath()));
@@ -100,14 +156,7 @@ public class HiveRemoteFileIO implements RemoteFileIO {
                     if (!isValidDataFile(locatedFileStatus)) {
                         continue;
                     }
-                    String locateName = locatedFileStatus.getPath().toUri().getPath();
-                    String fileName = PartitionUtil.getSuffixName(expandedPath.toUri().getPath(), locateName);
-
-                    BlockLocation[] blockLocations = locatedFileStatus.getBlockLocations();
-                    List<RemoteFileBlockDesc> fileBlockDescs = getRemoteFileBlockDesc(blockLocations);
-                    RemoteFileDesc fileDesc = new RemoteFileDesc(fileName, "", locatedFileStatus.getLen(),
-                            locatedFileStatus.getModificationTime(), ImmutableList.copyOf(fileBlockDescs),
-                            ImmutableList.of());
+                    RemoteFileDesc fileDesc = buildRemoteFileDesc(expandedPath.toUri().getPath(), locatedFileStatus);
                     if (expandWildCards) {
                         fileDesc.setFullPath(locatedFileStatus.getPath().toString());
                     }
@@ -121,8 +170,152 @@ public class HiveRemoteFileIO implements RemoteFileIO {
             throw new StarRocksConnectorException("Failed to get hive remote file's metadata on path: %s. msg: %s",
                     pathKey, e.getMessage());
         }
+        return fileDescs;
+    }
+
+    private Map<RemotePathKey, List<RemoteFileDesc>> batchListFiles(BatchListingOperations fileSystem,
+                                                                    List<RemotePathKey> pathKeys) throws IOException {
+        Map<String, RemotePathKey> dirToPathKey = Maps.newHashMap();
+        List<Path> dirs = Lists.newArrayList();
+        for (RemotePathKey pathKey : pathKeys) {
+            // the batched listing doesn't descend into the sub directories
+            if (!pathKey.isRecursive()) {
+                String dir = getListingPath(pathKey);
+                dirToPathKey.put(dir, pathKey);
+                dirs.add(new Path(dir));
+            }
+        }
+
+        Map<RemotePathKey, List<RemoteFileDesc>> result = Maps.newHashMap();
+        if (dirs.size() < 2) {
+            return result;
+        }
+        // a large directory may be returned in several partial listings
+        RemoteIterator<PartialListing<LocatedFileStatus>> listings = fileSystem.batchedListLocatedStatusIterator(dirs);
+        while (listings.hasNext()) {
+            PartialListing<LocatedFileStatus> listing = listings.next();
+            String dir = listing.getParent().toUri().getPath();
+            RemotePathKey pathKey = dirToPathKey.get(dir);
+            if (pathKey == null) {
+                throw new IOException("Unexpected parent " + listing.getParent() + " of batched listing");
+            }
+            List<RemoteFileDesc> fileDescs = result.computeIfAbsent(pathKey, k -> Lists.newArrayList());
+            List<LocatedFileStatus> statuses;
+            try {
+                statuses = listing.get();
+            } catch (FileNotFoundException e) {
+                LOG.warn("Hive remote file on path: {} not existed, ignore it", dir);
+                continue;
+            }
+            for (LocatedFileStatus status : statuses) {
+                if (isValidDataFile(status)) {
+                    fileDescs.add(buildRemoteFileDesc(dir, status));
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<RemotePathKey, List<RemoteFileDesc>> prefixListFiles(FileSystem fileSystem,
+                                                                     List<RemotePathKey> pathKeys) throws IOException {
+        Map<String, List<RemotePathKey>> parentToPathKeys = Maps.newHashMap();
+        for (RemotePathKey pathKey : pathKeys) {
+            Path parent = new Path(getListingPath(pathKey)).getParent();
+            if (parent != null) {
+                parentToPathKeys.computeIfAbsent(parent.toString(), k -> Lists.newArrayList()).add(pathKey);
+            }
+        }
+
+        Map<RemotePathKey, List<RemoteFileDesc>> result = Maps.newHashMap();
+        for (Map.Entry<String, List<RemotePathKey>> entry : parentToPathKeys.entrySet()) {
+            if (entry.getValue().size() < Config.remote_file_prefix_listing_min_partitions) {
+                continue;
+            }
+            Map<String, RemotePathKey> dirToPathKey = Maps.newHashMap();
+            Map<RemotePathKey, List<RemoteFileDesc>> siblingFiles = Maps.newHashMap();
+            for (RemotePathKey pathKey : entry.getValue()) {
+                dirToPathKey.put(getListingPath(pathKey), pathKey);
+                siblingFiles.put(pathKey, Lists.newArrayList());
+            }
+            // the recursive listing of object storage is a flat listing of all the objects under the prefix
+            RemoteIterator<LocatedFileStatus> files = fileSystem.listFiles(new Path(entry.getKey()), true);
+            while (files.hasNext()) {
+                LocatedFileStatus status = files.next();
+                if (!isValidDataFile(status)) {
+                    continue;
+                }
+                Path dir = status.getPath().getParent();
+                boolean direct = true;
+                boolean hidden = false;
+                while (dir != null && !dir.toUri().getPath().equals(entry.getKey())) {
+                    RemotePathKey pathKey = dirToPathKey.get(dir.toUri().getPath());
+                    if (pathKey != null && (direct || (pathKey.isRecursive() && !hidden))) {
+                        siblingFiles.get(pathKey).add(buildRemoteFileDesc(dir.toUri().getPath(), status));
+                    }
+                    hidden |= !isValidDirectoryName(dir.getName());
+                    direct = false;
+                    dir = dir.getParent();
+                }
+            }
+            result.putAll(siblingFiles);
+        }
+        return result;
+    }
+
+    private RemoteFileDesc buildRemoteFileDesc(String dirPath, LocatedFileStatus locatedFileStatus) throws IOException {
+        String locateName = locatedFileStatus.getPath().toUri().getPath();
+        String fileName = PartitionUtil.getSuffixName(dirPath, locateName);
 
-        return resultPartitions.put(pathKey, fileDescs).build();
+        BlockLocation[] blockLocations = locatedFileStatus.getBlockLocations();
+        List<RemoteFileBlockDesc> fileBlockDescs = getRemoteFileBlockDesc(blockLocations);
+        return new RemoteFileDesc(fileName, "", locatedFileStatus.getLen(),
+                locatedFileStatus.getModificationTime(), ImmutableList.copyOf(fileBlockDescs),
+                ImmutableList.of());
+    }
+
+    private FileSystem getFileSystem(URI uri) throws IOException {
+        if (!FeConstants.runningUnitTest) {
+            return FileSystem.get(uri, configuration);
+        } else {
+            return this.fileSystem;
+        }
+    }
+
+    private static String getListingPath(RemotePathKey pathKey) {
+        return new Path(ObjectStorageUtils.formatObjectStoragePath(pathKey.getPath())).toUri().getPath();
+    }
+
+    private static boolean isSameFileSystem(URI uri, List<RemotePathKey> pathKeys) {
+        for (RemotePathKey pathKey : pathKeys) {
+            URI other = new Path(ObjectStorageUtils.formatObjectStoragePath(pathKey.getPath())).toUri();
+            if (!Objects.equals(uri.getScheme(), other.getScheme()) ||
+                    !Objects.equals(uri.getAuthority(), other.getAuthority())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Semaphore acquireListingPermit(URI uri) {
+        if (Config.remote_file_listing_max_concurrency_per_fs <= 0) {
+            return null;
+        }
+        String fileSystemKey = uri.getScheme() + "://" + uri.getAuthority();
+        Semaphore permits = FILE_SYSTEM_LISTING_PERMITS.computeIfAbsent(fileSystemKey,
+                k -> new Semaphore(Config.remote_file_listing_max_concurrency_per_fs));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StarRocksConnectorException("Interrupted while waiting to list files on %s", fileSystemKey);
+        }
+        return permits;
+    }
+
+    private static void releaseListingPermit(Semaphore permits) {
+        if (permits != null) {
+            permits.release();
+        }
     }
 
     private RemoteIterator<LocatedFileStatus> listFilesRecursive(FileSystem fileSystem, Path f)
@@ -187,7 +380,10 @@ public class HiveRemoteFileIO implements RemoteFileIO {
         if (!fileStatus.isDirectory()) {
             return false;
         }
-        String dirName = fileStatus.getPath().getName();
+        return isValidDirectoryName(fileStatus.getPath().getName());
+    }
+
+    private static boolean isValidDirectoryName(String dirName) {
         return !(dirName.startsWith(".") || dirName.startsWith("_"));
     }
 
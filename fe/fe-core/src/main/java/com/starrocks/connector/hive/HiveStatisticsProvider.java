@@ -15,7 +15,9 @@
 
 package com.starrocks.connector.hive;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
@@ -27,9 +29,13 @@ import com.starrocks.catalog.HiveMetaStoreTable;
 import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
+import com.starrocks.common.Config;
+import com.starrocks.common.profile.Timer;
+import com.starrocks.common.profile.Tracers;
 import com.starrocks.connector.RemoteFileDesc;
 import com.starrocks.connector.RemoteFileInfo;
 import com.starrocks.connector.RemoteFileOperations;
+import com.starrocks.connector.exception.StarRocksConnectorException;
 import com.starrocks.sql.optimizer.OptimizerContext;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.statistics.ColumnStatistic;
@@ -42,17 +48,24 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Maps.immutableEntry;
+import static com.starrocks.common.profile.Tracers.Module.EXTERNAL;
 import static com.starrocks.connector.PartitionUtil.toHivePartitionName;
 import static java.lang.Double.NEGATIVE_INFINITY;
 import static java.lang.Double.POSITIVE_INFINITY;
@@ -64,10 +77,18 @@ public class HiveStatisticsProvider {
 
     private final HiveMetastoreOperations hmsOps;
     private final RemoteFileOperations fileOps;
+    // fetch the partition statistics in parallel batches if it is not null
+    private final ExecutorService statisticsExecutor;
 
     public HiveStatisticsProvider(HiveMetastoreOperations hmsOps, RemoteFileOperations fileOps) {
+        this(hmsOps, fileOps, null);
+    }
+
+    public HiveStatisticsProvider(HiveMetastoreOperations hmsOps, RemoteFileOperations fileOps,
+                                  ExecutorService statisticsExecutor) {
         this.hmsOps = hmsOps;
         this.fileOps = fileOps;
+        this.statisticsExecutor = statisticsExecutor;
     }
 
     public Statistics getTableStatistics(
@@ -91,8 +112,19 @@ public class HiveStatisticsProvider {
                 .map(partitionKey -> toHivePartitionName(partitionColumnNames, partitionKey))
                 .collect(Collectors.toList());
 
-        List<String> sampledPartitionNames = getPartitionsSample(partitionNames, sampleSize);
-        Map<String, HivePartitionStats> partitionStatistics = hmsOps.getPartitionStatistics(table, sampledPartitionNames);
+        List<String> sampledPartitionNames;
+        try (Timer ignored = Tracers.watchScope(EXTERNAL, "HIVE.samplePartitions")) {
+            sampledPartitionNames = getPartitionsSample(partitionNames, sampleSize);
+        }
+        Map<String, HivePartitionStats> partitionStatistics;
+        try (Timer ignored = Tracers.watchScope(EXTERNAL, "HIVE.getPartitionStatistics")) {
+            partitionStatistics = getPartitionStatistics(table, sampledPartitionNames);
+        }
+        if (partitionStatistics == null) {
+            return createStatsFromTableStats(table, columns, partitionKeys, builder);
+        }
+        Tracers.record(EXTERNAL, "HIVE.PartitionStatistics." + table.getName(),
+                partitionStatistics.size() + "/" + sampledPartitionNames.size() + "/" + partitionNames.size());
 
         double avgRowNumPerPartition = -1;
         double totalRowNums = -1;
@@ -120,6 +152,83 @@ public class HiveStatisticsProvider {
         return builder.build();
     }
 
+    // Fetch the statistics of the partitions in parallel batches. The statistics of the batches which are not
+    // finished before the deadline are ignored, the rest of them are still a deterministic sample of the partitions.
+    // Return null if none of the batches is finished before the deadline.
+    @VisibleForTesting
+    Map<String, HivePartitionStats> getPartitionStatistics(Table table, List<String> partitionNames) {
+        int batchSize = Config.hive_partition_stats_fetch_batch_size;
+        long timeoutMs = Config.hive_partition_stats_fetch_timeout_ms;
+        if (statisticsExecutor == null || (timeoutMs <= 0 && (batchSize <= 0 || partitionNames.size() <= batchSize))) {
+            return hmsOps.getPartitionStatistics(table, partitionNames);
+        }
+
+        List<List<String>> batches = batchSize <= 0 ?
+                Collections.singletonList(partitionNames) : Lists.partition(partitionNames, batchSize);
+        List<Future<Map<String, HivePartitionStats>>> futures = new ArrayList<>();
+        for (List<String> batch : batches) {
+            futures.add(statisticsExecutor.submit(() -> hmsOps.getPartitionStatistics(table, batch)));
+        }
+
+        long deadline = timeoutMs <= 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMs;
+        Map<String, HivePartitionStats> result = new HashMap<>();
+        int timeoutBatches = 0;
+        for (Future<Map<String, HivePartitionStats>> future : futures) {
+            try {
+                long remainingMs = deadline - System.currentTimeMillis();
+                if (remainingMs <= 0 && !future.isDone()) {
+                    future.cancel(true);
+                    timeoutBatches++;
+                    continue;
+                }
+                result.putAll(future.get(Math.max(remainingMs, 0), TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timeoutBatches++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StarRocksConnectorException("Interrupted when getting partition statistics of %s", table.getName());
+            } catch (ExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new StarRocksConnectorException("Failed to get partition statistics of %s. msg: %s",
+                        table.getName(), e.getMessage());
+            }
+        }
+
+        if (timeoutBatches > 0) {
+            LOG.warn("Failed to get statistics of {}/{} partition batches of table [{}] in {} ms",
+                    timeoutBatches, batches.size(), table.getName(), timeoutMs);
+            Tracers.count(EXTERNAL, "HIVE.PartitionStatisticsTimeoutBatches", timeoutBatches);
+            if (timeoutBatches == batches.size()) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private Statistics createStatsFromTableStats(Table table, List<ColumnRefOperator> columns,
+                                                 List<PartitionKey> partitionKeys, Statistics.Builder builder) {
+        HiveMetaStoreTable hmsTbl = (HiveMetaStoreTable) table;
+        HivePartitionStats tableStats = hmsOps.getTableStatistics(hmsTbl.getDbName(), hmsTbl.getTableName());
+        long rowNum = tableStats.getCommonStats().getRowNums();
+        if (rowNum <= 0) {
+            builder.setOutputRowCount(getEstimatedRowCount(table, partitionKeys));
+            return builder.build();
+        }
+
+        // the table level statistics cover all the partitions
+        int partitionNum = hmsOps.getPartitionKeys(hmsTbl.getDbName(), hmsTbl.getTableName()).size();
+        double rowCount = partitionNum <= 0 ? rowNum :
+                (double) rowNum * Math.min(partitionKeys.size(), partitionNum) / partitionNum;
+        builder.setOutputRowCount(rowCount);
+        for (ColumnRefOperator columnRefOperator : columns) {
+            Column column = table.getColumn(columnRefOperator.getName());
+            builder.addColumnStatistic(columnRefOperator,
+                    createDataColumnStatistics(column, rowCount, Collections.singleton(tableStats)));
+        }
+        return builder.build();
+    }
+
     public Statistics createUnpartitionedStats(
             HivePartitionStats tableStats,
             List<ColumnRefOperator> columns,
@@ -18,7 +18,9 @@ package com.starrocks.connector.hive.events;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.starrocks.connector.hive.CacheUpdateProcessor;
+import com.starrocks.connector.hive.HiveMetastoreApiConverter;
 import com.starrocks.connector.hive.HivePartitionName;
+import com.starrocks.connector.hive.HiveTableName;
 import org.apache.hadoop.hive.common.FileUtils;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
@@ -83,8 +85,48 @@ public class AddPartitionEvent extends MetastoreTableEvent {
         return addPartitionEvents;
     }
 
+    @Override
+    protected boolean canBeBatched(MetastoreEvent event) {
+        return true;
+    }
+
+    @Override
+    protected MetastoreEvent addToBatchEvents(MetastoreEvent event) {
+        BatchEvent<MetastoreTableEvent> batchEvent = new BatchEvent<>(this);
+        Preconditions.checkState(batchEvent.canBeBatched(event));
+        batchEvent.addToBatchEvents(event);
+        return batchEvent;
+    }
+
+    @Override
+    protected boolean existInCache() {
+        return cache.isTablePresent(HiveTableName.of(dbName, tblName));
+    }
+
+    @Override
+    protected boolean isSupported() {
+        return true;
+    }
+
     @Override
     protected void process() throws MetastoreNotificationException {
-        throw new UnsupportedOperationException("Unsupported event type: " + getEventType());
+        if (!existInCache()) {
+            LOG.warn("Table [Catalog: [{}], Table: [{}.{}]] doesn't exist in cache on event id [{}]",
+                    catalogName, dbName, tblName, getEventId());
+            return;
+        }
+
+        try {
+            com.starrocks.connector.hive.Partition partition = HiveMetastoreApiConverter.toPartition(
+                    addedPartition.getSd(), addedPartition.getParameters());
+            LOG.info("Start to process ADD_PARTITION event on [{}.{}.{}.{}]. Partition:[{}]",
+                    catalogName, dbName, tblName, getHivePartitionName(), partition);
+            cache.addPartitionByEvent(getHivePartitionName(), partition);
+        } catch (Exception e) {
+            LOG.error("Failed to process {} event, event detail msg: {}",
+                    getEventType(), metastoreNotificationEvent, e);
+            throw new MetastoreNotificationException(
+                    debugString("Failed to process add partition event"));
+        }
     }
 }
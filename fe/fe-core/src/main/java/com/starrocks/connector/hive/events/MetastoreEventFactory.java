@@ -18,6 +18,7 @@ package com.starrocks.connector.hive.events;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.connector.hive.CacheUpdateProcessor;
 import com.starrocks.connector.hive.HivePartitionName;
 import com.starrocks.connector.hive.HiveTableName;
@@ -64,6 +65,19 @@ public class MetastoreEventFactory implements EventFactory {
                 return AlterTableEvent.getEvents(event, cacheProcessor, catalogName);
             case DROP_TABLE:
                 return DropTableEvent.getEvents(event, cacheProcessor, catalogName);
+            case ADD_PARTITION:
+                // the partition objects are required to put the added partitions into the cache
+                if (Config.enable_hms_events_prefetch_partitions) {
+                    try {
+                        return AddPartitionEvent.getEvents(event, cacheProcessor, catalogName);
+                    } catch (MetastoreNotificationException e) {
+                        // e.g. the metastore doesn't add the partition objects to the events, the event is
+                        // ignored like prefetching is disabled instead of failing the other events of the round
+                        LOG.warn("Failed to parse ADD_PARTITION event [{}] on catalog [{}], ignore it",
+                                event.getEventId(), catalogName, e);
+                    }
+                }
+                return Lists.newArrayList(new IgnoredEvent(event, cacheProcessor, catalogName));
             case ALTER_PARTITION:
                 return AlterPartitionEvent.getEvents(event, cacheProcessor, catalogName);
             case DROP_PARTITION:
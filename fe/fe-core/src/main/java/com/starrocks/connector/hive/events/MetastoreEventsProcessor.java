@@ -16,10 +16,13 @@
 package com.starrocks.connector.hive.events;
 
 import com.google.common.collect.Lists;
+import com.google.common.annotations.VisibleForTesting;
 import com.starrocks.common.Config;
 import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.util.FrontendDaemon;
 import com.starrocks.connector.hive.CacheUpdateProcessor;
+import com.starrocks.connector.hive.HiveTableName;
+import com.starrocks.metric.HmsEventMetricMgr;
 import com.starrocks.server.CatalogMgr;
 import org.apache.hadoop.hive.metastore.IMetaStoreClient;
 import org.apache.hadoop.hive.metastore.api.NotificationEvent;
@@ -31,11 +34,14 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /**
@@ -151,15 +157,40 @@ public class MetastoreEventsProcessor extends FrontendDaemon {
      * Fetch the next batch of NotificationEvents from metastore. The default batch size is
      * <code>{@link Config#hms_events_batch_size_per_rpc}</code>
      */
-    private List<NotificationEvent> getNextHMSEvents(String catalogName)
+    @VisibleForTesting
+    List<NotificationEvent> getNextHMSEvents(String catalogName)
             throws MetastoreNotificationFetchException {
-        return getNextHMSEvents(catalogName, false, null);
+        List<NotificationEvent> events = getNextHMSEvents(catalogName, false, null);
+        if (Config.hms_events_coalesce_window_ms <= 0 || events.size() < Config.hms_events_batch_size_per_rpc) {
+            return events;
+        }
+
+        // pull the following events within the window, the events on the same partition are coalesced together
+        CacheUpdateProcessor updateProcessor = cacheUpdateProcessors.get(catalogName);
+        List<NotificationEvent> windowEvents = Lists.newArrayList(events);
+        long deadline = System.currentTimeMillis() + Config.hms_events_coalesce_window_ms;
+        while (System.currentTimeMillis() < deadline) {
+            long lastEventId = windowEvents.get(windowEvents.size() - 1).getEventId();
+            NotificationEventResponse response = updateProcessor.getNextEventResponse(catalogName, lastEventId);
+            if (response == null || response.getEvents().isEmpty()) {
+                break;
+            }
+            windowEvents.addAll(response.getEvents());
+        }
+        return windowEvents;
     }
 
-    private void doExecuteWithPartialProgress(List<MetastoreEvent> events) {
+    /**
+     * The events of a table are processed in order by one task, and the tables are processed in parallel.
+     */
+    @VisibleForTesting
+    void doExecuteWithPartialProgress(List<MetastoreEvent> events) {
+        Map<HiveTableName, List<MetastoreEvent>> tableEvents = events.stream()
+                .collect(Collectors.groupingBy(event -> HiveTableName.of(event.getDbName(), event.getTblName()),
+                        LinkedHashMap::new, Collectors.toList()));
         List<Future<?>> futures = Lists.newArrayList();
-        events.forEach(event -> {
-            futures.add(eventsProcessExecutor.submit(event::process));
+        tableEvents.values().forEach(eventsOfTable -> {
+            futures.add(eventsProcessExecutor.submit(() -> eventsOfTable.forEach(MetastoreEvent::process)));
         });
 
         for (Future<?> future : futures) {
@@ -189,8 +220,10 @@ public class MetastoreEventsProcessor extends FrontendDaemon {
     /**
      * Process the given list of notification events. Useful for tests which provide a list of events
      */
-    private void processEvents(List<NotificationEvent> events, String catalogName) {
+    @VisibleForTesting
+    void processEvents(List<NotificationEvent> events, String catalogName) {
         CacheUpdateProcessor cacheProcessor = cacheUpdateProcessors.get(catalogName);
+        HmsEventMetricMgr.increaseReceivedEvents(catalogName, events.size());
         List<MetastoreEvent> filteredEvents = metastoreEventFactory.getFilteredEvents(events, cacheProcessor, catalogName);
 
         if (filteredEvents.isEmpty()) {
@@ -199,13 +232,29 @@ public class MetastoreEventsProcessor extends FrontendDaemon {
         }
 
         LOG.info("Notification events {} to be processed on catalog [{}]", events, catalogName);
+        sortByFirstEventId(filteredEvents);
 
         if (Config.enable_hms_parallel_process_evens) {
             doExecuteWithPartialProgress(filteredEvents);
         } else {
             doExecute(filteredEvents, cacheProcessor);
         }
-        cacheProcessor.setLastSyncedEventId(filteredEvents.get(filteredEvents.size() - 1).getEventId());
+        // the batches are cut at a DROP_TABLE or a schema change event, the events after it are not applied
+        // in this round, so only the events up to the last applied event are synced and the others are pulled
+        // again in the next round
+        cacheProcessor.setLastSyncedEventId(filteredEvents.stream().mapToLong(MetastoreEvent::getEventId).max()
+                .getAsLong());
+        HmsEventMetricMgr.increaseProcessedEvents(catalogName, filteredEvents.size());
+    }
+
+    /**
+     * The coalesced events are applied in the order of their first event ids, a batch event is applied
+     * before the events following its first event, though its event id is the id of its last event.
+     */
+    @VisibleForTesting
+    static void sortByFirstEventId(List<MetastoreEvent> events) {
+        events.sort(Comparator.comparingLong(event -> event instanceof BatchEvent ?
+                ((BatchEvent<?>) event).getFirstEventId() : event.getEventId()));
     }
 
     @Override
@@ -219,6 +268,7 @@ public class MetastoreEventsProcessor extends FrontendDaemon {
 
         for (String catalogName : catalogs) {
             List<NotificationEvent> events = Collections.emptyList();
+            long startTime = System.currentTimeMillis();
             try {
                 events = getNextHMSEvents(catalogName);
                 if (!events.isEmpty()) {
@@ -232,7 +282,18 @@ public class MetastoreEventsProcessor extends FrontendDaemon {
                                 "in the range of event id from {} to {}.", catalogName,
                         events.get(0).getEventId(), events.get(events.size() - 1).getEventId(), ex);
             }
+            updateMetrics(catalogName, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    @VisibleForTesting
+    void updateMetrics(String catalogName, long latencyMs) {
+        CacheUpdateProcessor cacheProcessor = cacheUpdateProcessors.get(catalogName);
+        if (cacheProcessor == null || cacheProcessor.getLatestEventId() < 0) {
+            return;
         }
+        HmsEventMetricMgr.updateProcessLatency(catalogName, latencyMs);
+        HmsEventMetricMgr.updateLag(catalogName, cacheProcessor.getLatestEventId() - cacheProcessor.getLastSyncedEventId());
     }
 
     public static MessageDeserializer getMessageDeserializer() {
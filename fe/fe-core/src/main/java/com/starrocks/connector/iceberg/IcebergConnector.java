@@ -56,6 +56,7 @@ public class IcebergConnector implements Connector {
     private IcebergCatalog icebergNativeCatalog;
     private ExecutorService icebergJobPlanningExecutor;
     private ExecutorService refreshOtherFeExecutor;
+    private IcebergSharedPlanningCache sharedPlanningCache;
 
     public IcebergConnector(ConnectorContext context) {
         this.catalogName = context.getCatalogName();
@@ -103,7 +104,7 @@ public class IcebergConnector implements Connector {
     @Override
     public ConnectorMetadata getMetadata() {
         return new IcebergMetadata(catalogName, hdfsEnvironment, getNativeCatalog(),
-                buildIcebergJobPlanningExecutor(), buildRefreshOtherFeExecutor());
+                buildIcebergJobPlanningExecutor(), buildRefreshOtherFeExecutor(), buildSharedPlanningCache());
     }
 
     // In order to be compatible with the catalog created with the wrong configuration,
@@ -148,6 +149,13 @@ public class IcebergConnector implements Connector {
         return refreshOtherFeExecutor;
     }
 
+    private synchronized IcebergSharedPlanningCache buildSharedPlanningCache() {
+        if (sharedPlanningCache == null) {
+            sharedPlanningCache = new IcebergSharedPlanningCache();
+        }
+        return sharedPlanningCache;
+    }
+
     private ExecutorService buildBackgroundJobPlanningExecutor() {
         int defaultPoolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 8);
         int backgroundIcebergJobPlanningThreadPoolSize = Integer.parseInt(properties.getOrDefault(
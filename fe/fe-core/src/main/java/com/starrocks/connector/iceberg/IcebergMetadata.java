@@ -44,6 +44,7 @@ import com.starrocks.connector.iceberg.cost.IcebergMetricsReporter;
 import com.starrocks.connector.iceberg.cost.IcebergStatisticProvider;
 import com.starrocks.credential.CloudConfiguration;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.AlterTableStmt;
 import com.starrocks.sql.ast.CreateTableStmt;
@@ -151,15 +152,23 @@ public class IcebergMetadata implements ConnectorMetadata {
     private final ExecutorService jobPlanningExecutor;
     private final ExecutorService refreshOtherFeExecutor;
     private final IcebergMetricsReporter metricsReporter;
+    private final IcebergSharedPlanningCache sharedPlanningCache;
 
     public IcebergMetadata(String catalogName, HdfsEnvironment hdfsEnvironment, IcebergCatalog icebergCatalog,
                            ExecutorService jobPlanningExecutor, ExecutorService refreshOtherFeExecutor) {
+        this(catalogName, hdfsEnvironment, icebergCatalog, jobPlanningExecutor, refreshOtherFeExecutor, null);
+    }
+
+    public IcebergMetadata(String catalogName, HdfsEnvironment hdfsEnvironment, IcebergCatalog icebergCatalog,
+                           ExecutorService jobPlanningExecutor, ExecutorService refreshOtherFeExecutor,
+                           IcebergSharedPlanningCache sharedPlanningCache) {
         this.catalogName = catalogName;
         this.hdfsEnvironment = hdfsEnvironment;
         this.icebergCatalog = icebergCatalog;
         this.metricsReporter = new IcebergMetricsReporter();
         this.jobPlanningExecutor = jobPlanningExecutor;
         this.refreshOtherFeExecutor = refreshOtherFeExecutor;
+        this.sharedPlanningCache = sharedPlanningCache;
     }
 
     @Override
@@ -324,6 +333,11 @@ public class IcebergMetadata implements ConnectorMetadata {
         String tableName = table.getRemoteTableName();
 
         IcebergFilter key = IcebergFilter.of(dbName, tableName, snapshotId, predicate);
+        if (useStreamingScanRange(key, limit)) {
+            remoteFileInfo.setFiles(Lists.newArrayList(RemoteFileDesc.createStreamingIcebergRemoteFileDesc(
+                    planFileScanTasksLazily(table, snapshotId, predicate))));
+            return Lists.newArrayList(remoteFileInfo);
+        }
         triggerIcebergPlanFilesIfNeeded(key, table, predicate, limit);
 
         List<FileScanTask> icebergScanTasks = splitTasks.get(key);
@@ -554,29 +568,30 @@ public class IcebergMetadata implements ConnectorMetadata {
         ScalarOperatorToIcebergExpr.IcebergContext icebergContext = new ScalarOperatorToIcebergExpr.IcebergContext(schema);
         Expression icebergPredicate = new ScalarOperatorToIcebergExpr().convert(scalarOperators, icebergContext);
 
-        TableScan scan = nativeTbl.newScan()
-                .useSnapshot(snapshotId)
-                .metricsReporter(metricsReporter)
-                .planWith(jobPlanningExecutor);
+        // Under the condition of ensuring that the data is correct, we disabled the limit optimization when table has
+        // partition evolution because this may cause data diff.
+        boolean canPruneManifests = limit != -1 && !icebergTable.isV2Format() && onlyHasPartitionPredicate(table, predicate)
+                && limit < Integer.MAX_VALUE && nativeTbl.spec().specId() == 0 && enablePruneManifest();
 
-        if (enableCollectColumnStatistics()) {
-            scan = scan.includeColumnStats();
+        if (!canPruneManifests && !enableCollectColumnStatistics() && sharedPlanningCache != null
+                && sharedPlanningCache.shouldShare(nativeTbl, snapshot.get())) {
+            List<FileScanTask> icebergScanTasks;
+            try (Timer ignored = Tracers.watchScope(EXTERNAL, "ICEBERG.sharedPlanFiles")) {
+                icebergScanTasks = sharedPlanningCache.getOrPlan(key, snapshotId, icebergPredicate,
+                        () -> planFileScanTasks(nativeTbl, snapshotId, icebergPredicate));
+            }
+            splitTasks.put(key, icebergScanTasks);
+            scannedTables.add(key);
+            return;
         }
 
-        if (icebergPredicate.op() != Expression.Operation.TRUE) {
-            scan = scan.filter(icebergPredicate);
-        }
+        TableScan scan = newTableScan(nativeTbl, snapshotId, icebergPredicate);
 
         CloseableIterable<FileScanTask> fileScanTaskIterable = TableScanUtil.splitFiles(
                 scan.planFiles(), scan.targetSplitSize());
         CloseableIterator<FileScanTask> fileScanTaskIterator = fileScanTaskIterable.iterator();
         Iterator<FileScanTask> fileScanTasks;
 
-        // Under the condition of ensuring that the data is correct, we disabled the limit optimization when table has
-        // partition evolution because this may cause data diff.
-        boolean canPruneManifests = limit != -1 && !icebergTable.isV2Format() && onlyHasPartitionPredicate(table, predicate)
-                && limit < Integer.MAX_VALUE && nativeTbl.spec().specId() == 0 && enablePruneManifest();
-
         if (canPruneManifests) {
             // After iceberg uses partition predicate plan files, each manifests entry must have at least one row of data.
             fileScanTasks = Iterators.limit(fileScanTaskIterator, (int) limit);
@@ -659,6 +674,57 @@ public class IcebergMetadata implements ConnectorMetadata {
         scannedTables.add(key);
     }
 
+    private List<FileScanTask> planFileScanTasks(org.apache.iceberg.Table nativeTbl, long snapshotId,
+                                                 Expression icebergPredicate) {
+        TableScan scan = newTableScan(nativeTbl, snapshotId, icebergPredicate);
+        try (CloseableIterable<FileScanTask> fileScanTasks = TableScanUtil.splitFiles(
+                scan.planFiles(), scan.targetSplitSize())) {
+            return Lists.newArrayList(fileScanTasks);
+        } catch (IOException e) {
+            throw new StarRocksConnectorException("Failed to plan files of %s. msg: %s", nativeTbl.name(), e.getMessage());
+        }
+    }
+
+    private TableScan newTableScan(org.apache.iceberg.Table nativeTbl, long snapshotId, Expression icebergPredicate) {
+        TableScan scan = nativeTbl.newScan()
+                .useSnapshot(snapshotId)
+                .metricsReporter(metricsReporter)
+                .planWith(jobPlanningExecutor);
+
+        if (enableCollectColumnStatistics()) {
+            scan = scan.includeColumnStats();
+        }
+
+        if (icebergPredicate.op() != Expression.Operation.TRUE) {
+            scan = scan.filter(icebergPredicate);
+        }
+        return scan;
+    }
+
+    // The files of a streaming scan are planned only once when the scan ranges are built. The file scan tasks
+    // are read from the manifests one by one and not cached, so the FE heap does not hold all of them together.
+    private boolean useStreamingScanRange(IcebergFilter key, long limit) {
+        ConnectContext context = ConnectContext.get();
+        return context != null && context.getSessionVariable() != null
+                && isStreamingScan(context.getSessionVariable(), limit) && !scannedTables.contains(key);
+    }
+
+    public static boolean isStreamingScan(SessionVariable sessionVariable, long limit) {
+        return limit == -1 && sessionVariable.enableIcebergStreamingScanRange()
+                && !sessionVariable.enableIcebergColumnStatistics();
+    }
+
+    private CloseableIterable<FileScanTask> planFileScanTasksLazily(IcebergTable table, long snapshotId,
+                                                                    ScalarOperator predicate) {
+        org.apache.iceberg.Table nativeTbl = table.getNativeTable();
+        List<ScalarOperator> scalarOperators = Utils.extractConjuncts(predicate);
+        ScalarOperatorToIcebergExpr.IcebergContext icebergContext =
+                new ScalarOperatorToIcebergExpr.IcebergContext(nativeTbl.schema().asStruct());
+        Expression icebergPredicate = new ScalarOperatorToIcebergExpr().convert(scalarOperators, icebergContext);
+        TableScan scan = newTableScan(nativeTbl, snapshotId, icebergPredicate);
+        return TableScanUtil.splitFiles(scan.planFiles(), scan.targetSplitSize());
+    }
+
     /**
      * To optimize the MetricsModes of the Iceberg tables, it's necessary to display the columns MetricsMode in the
      * ICEBERG query profile.
@@ -720,6 +786,9 @@ public class IcebergMetadata implements ConnectorMetadata {
         IcebergFilter key = IcebergFilter.of(
                 icebergTable.getRemoteDbName(), icebergTable.getRemoteTableName(), snapshotId, predicate);
 
+        if (useStreamingScanRange(key, limit)) {
+            return statisticProvider.getSnapshotCardinalityStats(columns, snapshot.get());
+        }
         triggerIcebergPlanFilesIfNeeded(key, icebergTable, predicate, limit);
 
         if (!session.getSessionVariable().enableIcebergColumnStatistics()) {
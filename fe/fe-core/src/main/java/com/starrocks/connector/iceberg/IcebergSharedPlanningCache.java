@@ -0,0 +1,89 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.iceberg;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.starrocks.common.Config;
+import com.starrocks.connector.exception.StarRocksConnectorException;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The planned file scan tasks of large iceberg tables shared by the queries of a catalog.
+ * The files of a snapshot never change, so the queries scanning the same snapshot with the same filter reuse
+ * the tasks planned by the first one, and the concurrent queries wait for the same planning instead of reading
+ * and filtering all the manifests by themselves.
+ */
+public class IcebergSharedPlanningCache {
+    private static final Logger LOG = LogManager.getLogger(IcebergSharedPlanningCache.class);
+
+    private final Cache<String, List<FileScanTask>> plannedTasks;
+
+    public IcebergSharedPlanningCache() {
+        this.plannedTasks = CacheBuilder.newBuilder()
+                .expireAfterAccess(Config.iceberg_shared_planning_cache_expire_sec, SECONDS)
+                .maximumWeight(Config.iceberg_shared_planning_cache_max_tasks)
+                .weigher((String key, List<FileScanTask> tasks) -> Math.max(1, tasks.size()))
+                .build();
+    }
+
+    // only the tables with many manifests are worth sharing, the planning of small tables is cheap
+    public boolean shouldShare(Table nativeTable, Snapshot snapshot) {
+        if (!Config.enable_iceberg_shared_planning) {
+            return false;
+        }
+        return snapshot.dataManifests(nativeTable.io()).size() >= Config.iceberg_shared_planning_min_manifests;
+    }
+
+    public List<FileScanTask> getOrPlan(IcebergFilter filter, long snapshotId, Expression icebergPredicate,
+                                        Supplier<List<FileScanTask>> planner) {
+        String key = getKey(filter, snapshotId, icebergPredicate);
+        try {
+            return plannedTasks.get(key, () -> {
+                List<FileScanTask> tasks = planner.get();
+                LOG.info("plan {} file scan tasks for shared planning {}", tasks.size(), key);
+                return tasks;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof StarRocksConnectorException) {
+                throw (StarRocksConnectorException) cause;
+            }
+            throw new StarRocksConnectorException("Failed to plan files for " + key, cause);
+        }
+    }
+
+    public long size() {
+        return plannedTasks.size();
+    }
+
+    // the column ids of the predicate are different among queries, so the key uses the iceberg expression
+    // which is built by column names
+    private static String getKey(IcebergFilter filter, long snapshotId, Expression icebergPredicate) {
+        return filter.getDatabaseName() + "." + filter.getTableName() + "@" + snapshotId + "[" + icebergPredicate + "]";
+    }
+}
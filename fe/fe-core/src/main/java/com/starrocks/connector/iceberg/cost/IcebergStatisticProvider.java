@@ -32,6 +32,7 @@ import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionData;
 import org.apache.iceberg.PartitionField;
 import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.SnapshotSummary;
 import org.apache.iceberg.StatisticsFile;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.puffin.StandardBlobTypes;
@@ -96,6 +97,25 @@ public class IcebergStatisticProvider {
         return statisticsBuilder.build();
     }
 
+    // Estimates the cardinality by the total records in the snapshot summary, the files are not planned.
+    public Statistics getSnapshotCardinalityStats(Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
+                                                  Snapshot snapshot) {
+        Statistics.Builder statisticsBuilder = Statistics.builder();
+        long cardinality = 1;
+        Map<String, String> summary = snapshot.summary();
+        if (summary != null && summary.containsKey(SnapshotSummary.TOTAL_RECORDS_PROP)) {
+            try {
+                cardinality = Math.max(1, Long.parseLong(summary.get(SnapshotSummary.TOTAL_RECORDS_PROP)));
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid total records in the summary of snapshot {}", snapshot.snapshotId(), e);
+            }
+        }
+
+        statisticsBuilder.setOutputRowCount(cardinality);
+        statisticsBuilder.addColumnStatistics(buildUnknownColumnStatistics(colRefToColumnMetaMap.keySet()));
+        return statisticsBuilder.build();
+    }
+
     public Statistics getTableStatistics(IcebergTable icebergTable,
                                          Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
                                          OptimizerContext session,
@@ -16,6 +16,7 @@
 package com.starrocks.connector.jdbc;
 
 import com.starrocks.catalog.JDBCResource;
+import com.starrocks.catalog.JDBCTable;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.Connector;
 import com.starrocks.connector.ConnectorContext;
@@ -48,6 +49,7 @@ public class JDBCConnector implements Connector {
         validate(JDBCResource.USER);
         validate(JDBCResource.PASSWORD);
         validate(JDBCResource.DRIVER_URL);
+        validateScanMaxParallelism();
 
         // CHECK_SUM used to check the `Dirver` file's integrity in `be`, we only compute it when creating catalog,
         // and put it into properties and then persisted, when `fe` replay create catalog, we can skip it.
@@ -63,6 +65,22 @@ public class JDBCConnector implements Connector {
         }
     }
 
+    private void validateScanMaxParallelism() {
+        String value = properties.get(JDBCTable.JDBC_SCAN_MAX_PARALLELISM);
+        if (value == null) {
+            return;
+        }
+        try {
+            if (Integer.parseInt(value.trim()) > 0) {
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Invalid " + JDBCTable.JDBC_SCAN_MAX_PARALLELISM + " [" + value +
+                "] in properties, it must be a positive integer");
+    }
+
     private void computeDriverChecksum() {
         if (FeConstants.runningUnitTest) {
             // skip checking checksun when running ut
@@ -26,6 +26,7 @@ import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
+import com.starrocks.common.Pair;
 import com.starrocks.connector.ConnectorMetadata;
 import com.starrocks.connector.ConnectorTableId;
 import com.starrocks.connector.PartitionInfo;
@@ -56,6 +57,7 @@ public class JDBCMetadata implements ConnectorMetadata {
     private JDBCMetaCache<JDBCTableName, Integer> tableIdCache;
     private JDBCMetaCache<JDBCTableName, Table> tableInstanceCache;
     private JDBCMetaCache<JDBCTableName, List<Partition>> partitionInfoCache;
+    private JDBCMetaCache<Pair<JDBCTableName, Integer>, List<String>> scanSplitPredicatesCache;
 
     private HikariDataSource dataSource;
 
@@ -115,6 +117,7 @@ public class JDBCMetadata implements ConnectorMetadata {
         tableIdCache = new JDBCMetaCache<>(properties, true);
         tableInstanceCache = new JDBCMetaCache<>(properties, false);
         partitionInfoCache = new JDBCMetaCache<>(properties, false);
+        scanSplitPredicatesCache = new JDBCMetaCache<>(properties, false);
     }
 
     public void checkAndSetSupportPartitionInformation() {
@@ -282,6 +285,54 @@ public class JDBCMetadata implements ConnectorMetadata {
         return list.build();
     }
 
+    /**
+     * Split the scan by the first partition column or primary key column of integer, date or datetime type,
+     * the ranges are derived from the min and max value of the column.
+     */
+    @Override
+    public List<String> getScanSplitPredicates(Table table, int maxRanges) {
+        if (maxRanges <= 1) {
+            return Lists.newArrayList();
+        }
+        JDBCTable jdbcTable = (JDBCTable) table;
+        JDBCTableName jdbcTableName = new JDBCTableName(null, jdbcTable.getDbName(), jdbcTable.getName());
+        return scanSplitPredicatesCache.get(Pair.create(jdbcTableName, maxRanges),
+                k -> {
+                    try (Connection connection = getConnection()) {
+                        Column splitColumn = getSplitColumn(connection, jdbcTable);
+                        if (splitColumn == null) {
+                            return Lists.newArrayList();
+                        }
+                        Pair<Long, Long> range = schemaResolver.getSplitColumnRange(connection, jdbcTable, splitColumn);
+                        if (range == null) {
+                            return Lists.newArrayList();
+                        }
+                        String symbol = schemaResolver.getIdentifierSymbol();
+                        return JDBCScanSplitter.split(symbol + splitColumn.getName() + symbol, splitColumn.getType(),
+                                range.first, range.second, maxRanges);
+                    } catch (SQLException e) {
+                        throw new StarRocksConnectorException("get scan split predicates for JDBC catalog fail!", e);
+                    }
+                });
+    }
+
+    private Column getSplitColumn(Connection connection, JDBCTable table) throws SQLException {
+        if (table.getPartitionColumns() != null) {
+            for (Column column : table.getPartitionColumns()) {
+                if (JDBCScanSplitter.isSplitColumnType(column.getType())) {
+                    return column;
+                }
+            }
+        }
+        for (String name : schemaResolver.listPrimaryKeyColumns(connection, table.getDbName(), table.getName())) {
+            Column column = table.getColumn(name);
+            if (column != null && JDBCScanSplitter.isSplitColumnType(column.getType())) {
+                return column;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void refreshTable(String srDbName, Table table, List<String> partitionNames, boolean onlyCachedPartitions) {
         JDBCTable jdbcTable = (JDBCTable) table;
@@ -291,6 +342,7 @@ public class JDBCMetadata implements ConnectorMetadata {
         }
         partitionNamesCache.invalidate(jdbcTableName);
         partitionInfoCache.invalidate(jdbcTableName);
+        scanSplitPredicatesCache.invalidate(Pair.create(jdbcTableName, jdbcTable.getScanMaxParallelism()));
     }
 
     public void refreshCache(Map<String, String> properties) {
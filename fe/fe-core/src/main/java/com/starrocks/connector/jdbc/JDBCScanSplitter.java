@@ -0,0 +1,102 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.jdbc;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Type;
+
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Splits the scan of a jdbc table into disjoint ranges of a split column, the values of an integer column,
+ * the epoch days of a date column or the epoch seconds of a datetime column are divided evenly
+ * between the min and max value of the column.
+ */
+public class JDBCScanSplitter {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static boolean isSplitColumnType(Type type) {
+        return type.isIntegerType() || type.isDate() || type.isDatetime();
+    }
+
+    /**
+     * Returns null if the value of the result set is null.
+     */
+    public static Long readSplitValue(ResultSet rs, int columnIndex, Type type) throws SQLException {
+        if (type.isDate()) {
+            Date date = rs.getDate(columnIndex);
+            return date == null ? null : date.toLocalDate().toEpochDay();
+        } else if (type.isDatetime()) {
+            Timestamp timestamp = rs.getTimestamp(columnIndex);
+            return timestamp == null ? null : timestamp.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+        } else {
+            long value = rs.getLong(columnIndex);
+            return rs.wasNull() ? null : value;
+        }
+    }
+
+    /**
+     * Returns the predicates of at most maxRanges ranges covering all values of the column including null,
+     * the first range is unbounded below and the last range is unbounded above, so the rows out of
+     * [min, max] which are written after the min and max are read are still scanned.
+     * Returns an empty list if the scan can't be split.
+     */
+    public static List<String> split(String column, Type type, long min, long max, int maxRanges) {
+        List<String> predicates = Lists.newArrayList();
+        if (maxRanges <= 1 || min >= max) {
+            return predicates;
+        }
+        BigInteger length = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        BigInteger numRanges = length.min(BigInteger.valueOf(maxRanges));
+        // round up so the upper bound of the last but one range is not greater than max
+        BigInteger step = length.add(numRanges).subtract(BigInteger.ONE).divide(numRanges);
+
+        List<String> bounds = Lists.newArrayList();
+        for (BigInteger bound = BigInteger.valueOf(min).add(step); bound.compareTo(BigInteger.valueOf(max)) <= 0;
+                bound = bound.add(step)) {
+            bounds.add(formatValue(type, bound.longValue()));
+        }
+        if (bounds.isEmpty()) {
+            return predicates;
+        }
+
+        predicates.add(column + " < " + bounds.get(0) + " OR " + column + " IS NULL");
+        for (int i = 1; i < bounds.size(); i++) {
+            predicates.add(column + " >= " + bounds.get(i - 1) + " AND " + column + " < " + bounds.get(i));
+        }
+        predicates.add(column + " >= " + bounds.get(bounds.size() - 1));
+        return predicates;
+    }
+
+    private static String formatValue(Type type, long value) {
+        if (type.isDate()) {
+            return "'" + LocalDate.ofEpochDay(value).format(DATE_FORMATTER) + "'";
+        } else if (type.isDatetime()) {
+            return "'" + LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC).format(DATETIME_FORMATTER) + "'";
+        } else {
+            return String.valueOf(value);
+        }
+    }
+}
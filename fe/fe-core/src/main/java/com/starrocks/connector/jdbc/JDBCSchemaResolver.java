@@ -22,14 +22,17 @@ import com.starrocks.catalog.JDBCTable;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.DdlException;
+import com.starrocks.common.Pair;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 public abstract class JDBCSchemaResolver {
 
@@ -82,6 +85,53 @@ public abstract class JDBCSchemaResolver {
         return Lists.newArrayList();
     }
 
+    public List<String> listPrimaryKeyColumns(Connection connection, String dbName, String tblName)
+            throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getPrimaryKeys(dbName, null, tblName)) {
+            return getPrimaryKeyColumns(resultSet);
+        }
+    }
+
+    protected List<String> getPrimaryKeyColumns(ResultSet resultSet) throws SQLException {
+        // the primary key columns are ordered by the column name, reorder them by the sequence in the key
+        Map<Integer, String> columns = new TreeMap<>();
+        while (resultSet.next()) {
+            columns.put(resultSet.getInt("KEY_SEQ"), resultSet.getString("COLUMN_NAME"));
+        }
+        return Lists.newArrayList(columns.values());
+    }
+
+    /**
+     * The symbol to quote the identifiers in the query, same as the one used by the jdbc scan node.
+     */
+    public String getIdentifierSymbol() {
+        return "";
+    }
+
+    public String getQualifiedTableName(JDBCTable table) {
+        return table.getJdbcTable();
+    }
+
+    /**
+     * Returns the min and max value of the split column read by {@link JDBCScanSplitter#readSplitValue},
+     * or null if the table is empty.
+     */
+    public Pair<Long, Long> getSplitColumnRange(Connection connection, JDBCTable table, Column column)
+            throws SQLException {
+        String symbol = getIdentifierSymbol();
+        String columnName = symbol + column.getName() + symbol;
+        String query = "SELECT MIN(" + columnName + "), MAX(" + columnName + ") FROM " + getQualifiedTableName(table);
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(query)) {
+            if (!rs.next()) {
+                return null;
+            }
+            Long min = JDBCScanSplitter.readSplitValue(rs, 1, column.getType());
+            Long max = JDBCScanSplitter.readSplitValue(rs, 2, column.getType());
+            return min == null || max == null ? null : Pair.create(min, max);
+        }
+    }
+
     public List<Column> convertToSRTable(ResultSet columnSet) throws SQLException {
         List<Column> fullSchema = Lists.newArrayList();
         while (columnSet.next()) {
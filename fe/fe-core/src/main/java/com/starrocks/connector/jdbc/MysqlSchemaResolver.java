@@ -212,6 +212,16 @@ public class MysqlSchemaResolver extends JDBCSchemaResolver {
         }
     }
 
+    @Override
+    public String getIdentifierSymbol() {
+        return "`";
+    }
+
+    @Override
+    public String getQualifiedTableName(JDBCTable table) {
+        return "`" + table.getDbName() + "`.`" + table.getJdbcTable() + "`";
+    }
+
     public List<Partition> getPartitions(Connection connection, Table table) {
         JDBCTable jdbcTable = (JDBCTable) table;
         String query = getPartitionQuery(table);
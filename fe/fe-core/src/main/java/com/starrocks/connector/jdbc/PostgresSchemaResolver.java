@@ -32,6 +32,7 @@ import java.sql.Types;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static java.lang.Math.max;
 
@@ -48,6 +49,17 @@ public class PostgresSchemaResolver extends JDBCSchemaResolver {
         return connection.getMetaData().getColumns(connection.getCatalog(), dbName, tblName, "%");
     }
 
+    @Override
+    public List<String> listPrimaryKeyColumns(Connection connection, String dbName, String tblName)
+            throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData().getPrimaryKeys(connection.getCatalog(), dbName, tblName)) {
+            // quote the names like the columns of the table
+            return getPrimaryKeyColumns(resultSet).stream()
+                    .map(name -> name.equals(name.toLowerCase()) ? name : "\"" + name + "\"")
+                    .collect(Collectors.toList());
+        }
+    }
+
     @Override
     public List<Column> convertToSRTable(ResultSet columnSet) throws SQLException {
         List<Column> fullSchema = Lists.newArrayList();
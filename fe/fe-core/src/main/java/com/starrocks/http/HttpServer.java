@@ -69,6 +69,7 @@ import com.starrocks.http.rest.GetLoadInfoAction;
 import com.starrocks.http.rest.GetLogFileAction;
 import com.starrocks.http.rest.GetSmallFileAction;
 import com.starrocks.http.rest.GetStreamLoadState;
+import com.starrocks.http.rest.GroupCommitLoadAction;
 import com.starrocks.http.rest.HealthAction;
 import com.starrocks.http.rest.LoadAction;
 import com.starrocks.http.rest.MetaReplayerCheckAction;
@@ -150,6 +151,7 @@ public class HttpServer {
         // add rest action
         LoadAction.registerAction(controller);
         TransactionLoadAction.registerAction(controller);
+        GroupCommitLoadAction.registerAction(controller);
         GetLoadInfoAction.registerAction(controller);
         SetConfigAction.registerAction(controller);
         GetDdlStmtAction.registerAction(controller);
@@ -42,6 +42,7 @@ import com.starrocks.http.BaseRequest;
 import com.starrocks.http.BaseResponse;
 import com.starrocks.http.IllegalArgException;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.transaction.TransactionStatus;
 import io.netty.handler.codec.http.HttpMethod;
 
 public class GetStreamLoadState extends RestBaseAction {
@@ -81,9 +82,14 @@ public class GetStreamLoadState extends RestBaseAction {
             throw new DdlException("unknown database, database=" + dbName);
         }
 
-        String status = GlobalStateMgr.getCurrentState().getGlobalTransactionMgr().getLabelStatus(db.getId(), label).toString();
+        TransactionStatus status = GlobalStateMgr.getCurrentState().getGlobalTransactionMgr()
+                .getLabelStatus(db.getId(), label);
+        if (status == TransactionStatus.UNKNOWN) {
+            // the labels of group commit loads are not registered to the transaction manager
+            status = GlobalStateMgr.getCurrentState().getStreamLoadGroupCommitMgr().getLabelStatus(dbName, label);
+        }
 
-        sendResult(request, response, new Result(status));
+        sendResult(request, response, new Result(status.toString()));
     }
 
     private static class Result extends RestBaseResult {
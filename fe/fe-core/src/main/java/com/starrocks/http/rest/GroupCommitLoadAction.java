@@ -0,0 +1,186 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.http.rest;
+
+import com.google.common.base.Strings;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
+import com.starrocks.common.DdlException;
+import com.starrocks.common.LabelAlreadyUsedException;
+import com.starrocks.common.UserException;
+import com.starrocks.common.util.DebugUtil;
+import com.starrocks.http.ActionController;
+import com.starrocks.http.BaseRequest;
+import com.starrocks.http.BaseResponse;
+import com.starrocks.http.IllegalArgException;
+import com.starrocks.privilege.AccessDeniedException;
+import com.starrocks.privilege.PrivilegeType;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.analyzer.Authorizer;
+import com.starrocks.transaction.TransactionState;
+import com.starrocks.transaction.TransactionStatus;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of small stream loads, the data is posted to FE and merged with other loads of the same table
+ * by {@link com.starrocks.load.streamload.StreamLoadGroupCommitMgr}.
+ * eg: curl -XPOST -H "label:xxx" -H "column_separator:," --data-binary @data.csv
+ * http://fe_host:http_port/api/db/table/_group_commit
+ */
+public class GroupCommitLoadAction extends RestBaseAction {
+    private static final Logger LOG = LogManager.getLogger(GroupCommitLoadAction.class);
+
+    public GroupCommitLoadAction(ActionController controller) {
+        super(controller);
+    }
+
+    public static void registerAction(ActionController controller) throws IllegalArgException {
+        controller.registerHandler(HttpMethod.POST,
+                "/api/{" + DB_KEY + "}/{" + TABLE_KEY + "}/_group_commit",
+                new GroupCommitLoadAction(controller));
+    }
+
+    @Override
+    public void executeWithoutPassword(BaseRequest request, BaseResponse response)
+            throws DdlException, AccessDeniedException {
+        if (redirectToLeader(request, response)) {
+            return;
+        }
+        CompletableFuture<TransactionResult> future;
+        try {
+            future = executeGroupCommit(request);
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.warn(DebugUtil.getStackTrace(e));
+            sendResult(request, response, buildErrorResult(e));
+            return;
+        }
+        // the result is sent after the batch is committed, the netty event loop is not blocked while waiting
+        future.whenComplete((result, e) -> request.getContext().executor().execute(() -> {
+            sendResult(request, response, e == null ? result : buildErrorResult(e));
+            request.getContext().flush();
+        }));
+    }
+
+    private static TransactionResult buildErrorResult(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        TransactionResult result = new TransactionResult();
+        if (e instanceof LabelAlreadyUsedException) {
+            result.status = ActionStatus.LABEL_ALREADY_EXISTS;
+            result.msg = e.getMessage();
+            result.addResultEntry("ExistingJobStatus", ((LabelAlreadyUsedException) e).getJobStatus());
+        } else {
+            result.status = ActionStatus.FAILED;
+            result.msg = e.getClass() + ": " + e.getMessage();
+        }
+        return result;
+    }
+
+    /**
+     * The load is not finished within the timeout, but it may still be committed with its batch later, so the
+     * client should check the label by /api/{db}/get_load_state instead of loading the data again with another label.
+     */
+    private static TransactionResult buildInProgressResult(String dbName, String label, long timeoutSecond) {
+        TransactionResult result = new TransactionResult();
+        result.status = ActionStatus.LABEL_ALREADY_EXISTS;
+        result.msg = "Group commit load " + label + " is still in progress after " + timeoutSecond + "s, " +
+                "check its state by /api/" + dbName + "/get_load_state?label=" + label;
+        result.addResultEntry(TransactionResult.LABEL_KEY, label);
+        result.addResultEntry("ExistingJobStatus", "RUNNING");
+        return result;
+    }
+
+    private CompletableFuture<TransactionResult> executeGroupCommit(BaseRequest request) throws Exception {
+        if (!Config.enable_stream_load_group_commit) {
+            throw new DdlException("Group commit is disabled, set enable_stream_load_group_commit to true to " +
+                    "enable it. Note that its labels are only deduplicated on a best-effort basis");
+        }
+        String dbName = request.getSingleParameter(DB_KEY);
+        if (Strings.isNullOrEmpty(dbName)) {
+            throw new DdlException("No database selected.");
+        }
+        String tableName = request.getSingleParameter(TABLE_KEY);
+        if (Strings.isNullOrEmpty(tableName)) {
+            throw new DdlException("No table selected.");
+        }
+        String label = request.getRequest().headers().get(LABEL_KEY);
+        if (Strings.isNullOrEmpty(label)) {
+            throw new DdlException("Empty label.");
+        }
+
+        Authorizer.checkTableAction(ConnectContext.get().getCurrentUserIdentity(),
+                ConnectContext.get().getCurrentRoleIds(), dbName, tableName, PrivilegeType.INSERT);
+
+        Database db = GlobalStateMgr.getCurrentState().getDb(dbName);
+        if (db == null) {
+            throw new UserException("unknown database, database=" + dbName);
+        }
+        Table table = db.getTable(tableName);
+        if (table == null || !table.isNativeTableOrMaterializedView()) {
+            throw new UserException("unknown table \"" + dbName + "." + tableName + "\"");
+        }
+        // the label may be used by a normal load
+        TransactionState txnState = GlobalStateMgr.getCurrentState().getGlobalTransactionMgr()
+                .getLabelTransactionState(db.getId(), label);
+        if (txnState != null && txnState.getTransactionStatus() != TransactionStatus.ABORTED) {
+            throw new LabelAlreadyUsedException(label, txnState.getTransactionStatus());
+        }
+        long timeoutSecond = getTimeoutSecond(request);
+
+        if (!(request.getRequest() instanceof FullHttpRequest)) {
+            throw new DdlException("Invalid request");
+        }
+        ByteBuf content = ((FullHttpRequest) request.getRequest()).content();
+        byte[] data = new byte[content.readableBytes()];
+        content.getBytes(content.readerIndex(), data);
+
+        CompletableFuture<TransactionResult> future = GlobalStateMgr.getCurrentState().getStreamLoadGroupCommitMgr()
+                .submit(dbName, tableName, label, request.getRequest().headers(), data);
+        // copy the future, so the load's own future is still completed by its batch after the timeout
+        return future.copy().completeOnTimeout(buildInProgressResult(dbName, label, timeoutSecond), timeoutSecond,
+                TimeUnit.SECONDS);
+    }
+
+    private static long getTimeoutSecond(BaseRequest request) throws DdlException {
+        String timeout = request.getRequest().headers().get("timeout");
+        if (Strings.isNullOrEmpty(timeout)) {
+            return Config.stream_load_default_timeout_second;
+        }
+        long timeoutSecond;
+        try {
+            timeoutSecond = Long.parseLong(timeout.trim());
+        } catch (NumberFormatException e) {
+            throw new DdlException("Invalid timeout: " + timeout);
+        }
+        if (timeoutSecond <= 0 || timeoutSecond > Config.max_stream_load_timeout_second) {
+            throw new DdlException(String.format("Invalid timeout: %s, it should be in (0, %d]", timeout,
+                    Config.max_stream_load_timeout_second));
+        }
+        return timeoutSecond;
+    }
+}
@@ -41,6 +41,10 @@ public class TransactionResult extends RestBaseResult {
         resultMap.put(key, value);
     }
 
+    public Object getResultEntry(String key) {
+        return resultMap.get(key);
+    }
+
     public void setErrorMsg(String errMsg) {
         status = ActionStatus.FAILED;
         msg = errMsg;
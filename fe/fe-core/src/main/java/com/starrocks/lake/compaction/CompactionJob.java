@@ -17,6 +17,7 @@ package com.starrocks.lake.compaction;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.PhysicalPartition;
 import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
 import com.starrocks.transaction.TabletCommitInfo;
 import com.starrocks.transaction.VisibleStateWaiter;
 
@@ -32,6 +33,7 @@ public class CompactionJob {
     private final Table table;
     private final PhysicalPartition partition;
     private final long txnId;
+    private final String warehouseName;
     private final long startTs;
     private volatile long commitTs;
     private volatile long finishTs;
@@ -39,10 +41,15 @@ public class CompactionJob {
     private List<CompactionTask> tasks = Collections.emptyList();
 
     public CompactionJob(Database db, Table table, PhysicalPartition partition, long txnId) {
+        this(db, table, partition, txnId, Config.lake_compaction_warehouse);
+    }
+
+    public CompactionJob(Database db, Table table, PhysicalPartition partition, long txnId, String warehouseName) {
         this.db = Objects.requireNonNull(db, "db is null");
         this.table = Objects.requireNonNull(table, "table is null");
         this.partition = Objects.requireNonNull(partition, "partition is null");
         this.txnId = txnId;
+        this.warehouseName = Objects.requireNonNull(warehouseName, "warehouseName is null");
         this.startTs = System.currentTimeMillis();
     }
 
@@ -91,6 +98,10 @@ public class CompactionJob {
         return tasks.stream().filter(Predicate.not(CompactionTask::isDone)).mapToInt(CompactionTask::tabletCount).sum();
     }
 
+    public String getWarehouseName() {
+        return warehouseName;
+    }
+
     public long getStartTs() {
         return startTs;
     }
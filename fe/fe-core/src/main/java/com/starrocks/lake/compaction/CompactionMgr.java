@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.gson.annotations.SerializedName;
 import com.starrocks.common.Config;
 import com.starrocks.common.io.Text;
+import com.starrocks.common.util.DecayingRate;
 import com.starrocks.memory.MemoryTrackable;
 import com.starrocks.persist.gson.GsonUtils;
 import com.starrocks.persist.metablock.SRMetaBlockEOFException;
@@ -53,6 +54,9 @@ public class CompactionMgr implements MemoryTrackable {
     private ConcurrentHashMap<PartitionIdentifier, PartitionStatistics> partitionStatisticsHashMap =
             new ConcurrentHashMap<>();
 
+    // Keyed by physical partition id, which is unique in the whole cluster. Query heat is not persisted.
+    private final ConcurrentHashMap<Long, DecayingRate> partitionQueryHeat = new ConcurrentHashMap<>();
+
     private Selector selector;
     private Sorter sorter;
     private CompactionScheduler compactionScheduler;
@@ -92,6 +96,7 @@ public class CompactionMgr implements MemoryTrackable {
             }
             v.setCurrentVersion(currentVersion);
             v.setCompactionScore(compactionScore);
+            v.recordLoad(versionTime);
             if (v.getCompactionVersion() == null) {
                 v.setCompactionVersion(new PartitionVersion(0, versionTime));
             }
@@ -109,6 +114,7 @@ public class CompactionMgr implements MemoryTrackable {
             if (v == null) {
                 v = new PartitionStatistics(partition);
             }
+            v.recordScoreDecay(v.getCompactionScore(), compactionScore);
             v.setCurrentVersion(compactionVersion);
             v.setCompactionVersion(compactionVersion);
             v.setCompactionScore(compactionScore);
@@ -119,6 +125,22 @@ public class CompactionMgr implements MemoryTrackable {
         }
     }
 
+    public void handlePartitionScanned(long physicalPartitionId) {
+        // Only PredictiveSorter makes use of query heat, don't pay for it otherwise.
+        if (!(sorter instanceof PredictiveSorter)) {
+            return;
+        }
+        partitionQueryHeat.computeIfAbsent(physicalPartitionId,
+                k -> new DecayingRate(PartitionStatistics.RATE_HALF_LIFE_MS)).add(1, System.currentTimeMillis());
+    }
+
+    void recordCompactionLatency(PartitionIdentifier partition, long latencyMs) {
+        PartitionStatistics statistics = partitionStatisticsHashMap.get(partition);
+        if (statistics != null) {
+            statistics.recordCompactionLatency(latencyMs);
+        }
+    }
+
     @NotNull
     List<PartitionIdentifier> choosePartitionsToCompact(@NotNull Set<PartitionIdentifier> excludes) {
         return choosePartitionsToCompact().stream().filter(p -> !excludes.contains(p)).collect(Collectors.toList());
@@ -126,6 +148,11 @@ public class CompactionMgr implements MemoryTrackable {
 
     @NotNull
     List<PartitionIdentifier> choosePartitionsToCompact() {
+        if (!partitionQueryHeat.isEmpty()) {
+            for (PartitionStatistics statistics : partitionStatisticsHashMap.values()) {
+                statistics.setQueryHeat(partitionQueryHeat.get(statistics.getPartition().getPartitionId()));
+            }
+        }
         List<PartitionStatistics> selection = sorter.sort(selector.select(partitionStatisticsHashMap.values()));
         return selection.stream().map(PartitionStatistics::getPartition).collect(Collectors.toList());
     }
@@ -163,11 +190,13 @@ public class CompactionMgr implements MemoryTrackable {
 
     void removePartition(PartitionIdentifier partition) {
         partitionStatisticsHashMap.remove(partition);
+        partitionQueryHeat.remove(partition.getPartitionId());
     }
 
     @VisibleForTesting
     public void clearPartitions() {
         partitionStatisticsHashMap.clear();
+        partitionQueryHeat.clear();
     }
 
     public long saveCompactionManager(DataOutput out, long checksum) throws IOException {
@@ -68,6 +68,7 @@ public class CompactionScheduler extends Daemon {
     private static final long MIN_COMPACTION_INTERVAL_MS_ON_SUCCESS = LOOP_INTERVAL_MS * 2;
     private static final long MIN_COMPACTION_INTERVAL_MS_ON_FAILURE = LOOP_INTERVAL_MS * 10;
     private static final long PARTITION_CLEAN_INTERVAL_SECOND = 30;
+    private static final long WAREHOUSE_BUDGET_REFRESH_MS = 10000L;
     private final CompactionMgr compactionManager;
     private final SystemInfoService systemInfoService;
     private final GlobalTransactionMgr transactionMgr;
@@ -78,6 +79,9 @@ public class CompactionScheduler extends Daemon {
     private boolean finishedWaiting = false;
     private long waitTxnId = -1;
     private long lastPartitionCleanTime;
+    private String cachedBudgetWarehouse;
+    private int cachedWarehouseBudget;
+    private long warehouseBudgetUpdateTime;
 
     CompactionScheduler(@NotNull CompactionMgr compactionManager, @NotNull SystemInfoService systemInfoService,
                         @NotNull GlobalTransactionMgr transactionMgr, @NotNull GlobalStateMgr stateMgr) {
@@ -170,6 +174,7 @@ public class CompactionScheduler extends Daemon {
                 job.finish();
                 history.offer(CompactionRecord.build(job));
                 long cost = job.getFinishTs() - job.getStartTs();
+                compactionManager.recordCompactionLatency(partition, cost);
                 if (cost >= /*60 minutes=*/3600000) {
                     LOG.info("Removed published compaction. {} cost={}s running={}", job.getDebugString(),
                             cost / 1000, runningCompactions.size());
@@ -189,14 +194,27 @@ public class CompactionScheduler extends Daemon {
             return;
         }
 
+        // Compaction tasks of each warehouse are admitted within the warehouse's own budget, jobs started before
+        // `lake_compaction_warehouse` changed keep counting against the warehouse they are running in.
+        String warehouseName = Config.lake_compaction_warehouse;
+        int warehouseLimit = warehouseCompactionTaskLimit(warehouseName);
+        int numWarehouseRunningTasks = runningCompactions.values().stream()
+                .filter(job -> job.getWarehouseName().equals(warehouseName))
+                .mapToInt(CompactionJob::getNumTabletCompactionTasks).sum();
+        if (numWarehouseRunningTasks >= warehouseLimit) {
+            return;
+        }
+
         List<PartitionIdentifier> partitions = compactionManager.choosePartitionsToCompact(runningCompactions.keySet());
-        while (numRunningTasks < compactionLimit && index < partitions.size()) {
+        while (numRunningTasks < compactionLimit && numWarehouseRunningTasks < warehouseLimit
+                && index < partitions.size()) {
             PartitionIdentifier partition = partitions.get(index++);
-            CompactionJob job = startCompaction(partition);
+            CompactionJob job = startCompaction(partition, warehouseName);
             if (job == null) {
                 continue;
             }
             numRunningTasks += job.getNumTabletCompactionTasks();
+            numWarehouseRunningTasks += job.getNumTabletCompactionTasks();
             runningCompactions.put(partition, job);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Created new compaction job. partition={} txnId={}", partition, job.getTxnId());
@@ -222,6 +240,27 @@ public class CompactionScheduler extends Daemon {
                 systemInfoService.getAliveComputeNodeNumber()) * 16;
     }
 
+    private int warehouseCompactionTaskLimit(String warehouseName) {
+        if (Config.lake_compaction_max_tasks_per_warehouse >= 0) {
+            return Config.lake_compaction_max_tasks_per_warehouse;
+        }
+        // Listing the compute nodes of a warehouse needs an RPC to StarMgr, refresh it periodically only.
+        long now = System.currentTimeMillis();
+        if (!warehouseName.equals(cachedBudgetWarehouse)
+                || now - warehouseBudgetUpdateTime >= WAREHOUSE_BUDGET_REFRESH_MS) {
+            try {
+                cachedWarehouseBudget = GlobalStateMgr.getCurrentState().getWarehouseMgr()
+                        .getAllComputeNodeIds(warehouseName).size() * 16;
+            } catch (Exception e) {
+                LOG.warn("Fail to get compute nodes of warehouse {}: {}", warehouseName, e.getMessage());
+                cachedWarehouseBudget = compactionTaskLimit();
+            }
+            cachedBudgetWarehouse = warehouseName;
+            warehouseBudgetUpdateTime = now;
+        }
+        return cachedWarehouseBudget;
+    }
+
     private void cleanPartition() {
         long now = System.currentTimeMillis();
         if (now - lastPartitionCleanTime >= PARTITION_CLEAN_INTERVAL_SECOND * 1000L) {
@@ -250,7 +289,7 @@ public class CompactionScheduler extends Daemon {
         }
     }
 
-    private CompactionJob startCompaction(PartitionIdentifier partitionIdentifier) {
+    private CompactionJob startCompaction(PartitionIdentifier partitionIdentifier, String warehouseName) {
         Database db = stateMgr.getDb(partitionIdentifier.getDbId());
         if (db == null) {
             compactionManager.removePartition(partitionIdentifier);
@@ -283,7 +322,7 @@ public class CompactionScheduler extends Daemon {
 
             currentVersion = partition.getVisibleVersion();
 
-            beToTablets = collectPartitionTablets(partition);
+            beToTablets = collectPartitionTablets(partition, warehouseName);
             if (beToTablets.isEmpty()) {
                 compactionManager.enableCompactionAfter(partitionIdentifier, MIN_COMPACTION_INTERVAL_MS_ON_FAILURE);
                 return null;
@@ -306,7 +345,7 @@ public class CompactionScheduler extends Daemon {
         }
 
         long nextCompactionInterval = MIN_COMPACTION_INTERVAL_MS_ON_SUCCESS;
-        CompactionJob job = new CompactionJob(db, table, partition, txnId);
+        CompactionJob job = new CompactionJob(db, table, partition, txnId, warehouseName);
         try {
             List<CompactionTask> tasks = createCompactionTasks(currentVersion, beToTablets, txnId);
             for (CompactionTask task : tasks) {
@@ -352,13 +391,13 @@ public class CompactionScheduler extends Daemon {
     }
 
     @NotNull
-    private Map<Long, List<Long>> collectPartitionTablets(PhysicalPartition partition) {
+    private Map<Long, List<Long>> collectPartitionTablets(PhysicalPartition partition, String warehouseName) {
         List<MaterializedIndex> visibleIndexes = partition.getMaterializedIndices(MaterializedIndex.IndexExtState.VISIBLE);
         Map<Long, List<Long>> beToTablets = new HashMap<>();
         for (MaterializedIndex index : visibleIndexes) {
             for (Tablet tablet : index.getTablets()) {
                 ComputeNode computeNode = GlobalStateMgr.getCurrentState().getWarehouseMgr().getComputeNodeAssignedToTablet(
-                        Config.lake_compaction_warehouse, (LakeTablet) tablet);
+                        warehouseName, (LakeTablet) tablet);
                 if (computeNode == null) {
                     beToTablets.clear();
                     return beToTablets;
@@ -17,10 +17,14 @@ package com.starrocks.lake.compaction;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.starrocks.common.util.DecayingRate;
 
 import javax.annotation.Nullable;
 
 public class PartitionStatistics {
+    public static final long RATE_HALF_LIFE_MS = 10 * 60 * 1000L;
+    private static final double SMOOTHING_FACTOR = 0.3;
+
     @SerializedName(value = "partition")
     private final PartitionIdentifier partition;
     @SerializedName(value = "compactionVersion")
@@ -36,6 +40,16 @@ public class PartitionStatistics {
     @SerializedName(value = "priority")
     private volatile CompactionPriority priority = CompactionPriority.DEFAULT;
 
+    // Runtime statistics used by PredictiveSorter, they are not persisted and are rebuilt after restart.
+    // Note that Gson does not run field initializers when deserializing this class, so they are created lazily.
+    private DecayingRate loadRate;
+    private DecayingRate queryHeat;
+    private volatile long lastCompactionLatencyMs;
+    private volatile double avgCompactionLatencyMs;
+    private volatile double lastScoreDecay;
+    private volatile double avgScoreDecayRatio;
+    private volatile long finishedCompactionCount;
+
     public enum CompactionPriority {
         DEFAULT(0),
         MANUAL_COMPACT(1);
@@ -116,6 +130,68 @@ public class PartitionStatistics {
         this.setPriority(CompactionPriority.DEFAULT);
     }
 
+    public synchronized void recordLoad(long versionTime) {
+        if (loadRate == null) {
+            loadRate = new DecayingRate(RATE_HALF_LIFE_MS);
+        }
+        loadRate.add(1, versionTime);
+    }
+
+    // Number of loads happened recently, decays with a half-life of RATE_HALF_LIFE_MS.
+    public synchronized double getLoadRate(long nowMs) {
+        return loadRate != null ? loadRate.get(nowMs) : 0;
+    }
+
+    public synchronized void setQueryHeat(DecayingRate queryHeat) {
+        this.queryHeat = queryHeat;
+    }
+
+    // Number of scans happened recently, decays with a half-life of RATE_HALF_LIFE_MS.
+    public synchronized double getQueryHeat(long nowMs) {
+        return queryHeat != null ? queryHeat.get(nowMs) : 0;
+    }
+
+    public void recordCompactionLatency(long latencyMs) {
+        lastCompactionLatencyMs = latencyMs;
+        avgCompactionLatencyMs = finishedCompactionCount == 0 ? latencyMs :
+                avgCompactionLatencyMs * (1 - SMOOTHING_FACTOR) + latencyMs * SMOOTHING_FACTOR;
+        finishedCompactionCount++;
+    }
+
+    public long getLastCompactionLatencyMs() {
+        return lastCompactionLatencyMs;
+    }
+
+    // 0 means no compaction has finished since FE started.
+    public double getAvgCompactionLatencyMs() {
+        return avgCompactionLatencyMs;
+    }
+
+    public long getFinishedCompactionCount() {
+        return finishedCompactionCount;
+    }
+
+    public void recordScoreDecay(@Nullable Quantiles before, @Nullable Quantiles after) {
+        if (before == null || after == null || before.getMax() <= 0) {
+            return;
+        }
+        double decay = Math.max(0, before.getMax() - after.getMax());
+        double ratio = decay / before.getMax();
+        lastScoreDecay = decay;
+        avgScoreDecayRatio = avgScoreDecayRatio == 0 ? ratio :
+                avgScoreDecayRatio * (1 - SMOOTHING_FACTOR) + ratio * SMOOTHING_FACTOR;
+    }
+
+    // How much the max compaction score dropped by the last compaction.
+    public double getLastScoreDecay() {
+        return lastScoreDecay;
+    }
+
+    // Smoothed ratio of max compaction score removed by one compaction, 0 means unknown.
+    public double getAvgScoreDecayRatio() {
+        return avgScoreDecayRatio;
+    }
+
     @Override
     public String toString() {
         return new Gson().toJson(this);
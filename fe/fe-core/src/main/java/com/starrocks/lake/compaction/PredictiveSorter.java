@@ -0,0 +1,88 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.lake.compaction;
+
+import com.starrocks.common.Config;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Ranks partitions by the expected compaction score reduction per unit of cost, weighted by how frequently the
+ * partition is loaded and queried. Compared with {@link ScoreSorter}, a hot partition whose score keeps growing
+ * will not be starved by cold partitions with a slightly higher score.
+ * <p>
+ * benefit = expectedScoreReduction * (1 + queryWeight * ln(1 + queryHeat)) * (1 + loadWeight * ln(1 + loadRate))
+ * cost = smoothed compaction latency in seconds of the partition, or the average of all known partitions
+ */
+public class PredictiveSorter implements Sorter {
+    private static final double MIN_COST_SECONDS = 1.0;
+
+    @Override
+    @NotNull
+    public List<PartitionStatistics> sort(@NotNull List<PartitionStatistics> partitionStatistics) {
+        long now = System.currentTimeMillis();
+        List<PartitionStatistics> candidates = partitionStatistics.stream()
+                .filter(p -> p.getCompactionScore() != null)
+                .collect(Collectors.toList());
+        double defaultCost = candidates.stream()
+                .mapToDouble(PartitionStatistics::getAvgCompactionLatencyMs)
+                .filter(latency -> latency > 0)
+                .average()
+                .orElse(0) / 1000;
+
+        Map<PartitionStatistics, Double> priorities = new HashMap<>();
+        for (PartitionStatistics statistics : candidates) {
+            priorities.put(statistics, computePriority(statistics, defaultCost, now));
+        }
+        return candidates.stream()
+                .sorted(Comparator.comparingInt((PartitionStatistics stats) -> stats.getPriority().getValue()).reversed()
+                        .thenComparing(Comparator.comparingDouble((PartitionStatistics stats) -> priorities.get(stats))
+                                .reversed()))
+                .collect(Collectors.toList());
+    }
+
+    static double computePriority(PartitionStatistics statistics, double defaultCostSeconds, long now) {
+        return expectedScoreReduction(statistics) * heatFactor(statistics, now) /
+                Math.max(MIN_COST_SECONDS, estimateCostSeconds(statistics, defaultCostSeconds));
+    }
+
+    static double expectedScoreReduction(PartitionStatistics statistics) {
+        double maxScore = statistics.getCompactionScore().getMax();
+        double ratio = statistics.getAvgScoreDecayRatio();
+        if (ratio > 0) {
+            return maxScore * ratio;
+        }
+        // Without any history, assume a compaction merges all the rowsets into one.
+        return Math.max(0, maxScore - 1);
+    }
+
+    static double heatFactor(PartitionStatistics statistics, long now) {
+        double queryFactor = 1 + Config.lake_compaction_predictive_query_heat_weight *
+                Math.log1p(statistics.getQueryHeat(now));
+        double loadFactor = 1 + Config.lake_compaction_predictive_load_rate_weight *
+                Math.log1p(statistics.getLoadRate(now));
+        return queryFactor * loadFactor;
+    }
+
+    static double estimateCostSeconds(PartitionStatistics statistics, double defaultCostSeconds) {
+        double latencyMs = statistics.getAvgCompactionLatencyMs();
+        return latencyMs > 0 ? latencyMs / 1000 : defaultCostSeconds;
+    }
+}
@@ -197,6 +197,12 @@ public class ExportJob implements Writable, GsonPostProcessable {
     private boolean isReplayed = false;
     private Thread doExportingThread;
     private List<TScanRangeLocations> tabletLocations = Lists.newArrayList();
+    // task index -> tablets of the task with all their replicas, the planned replica is the first one.
+    // only set when the tasks are planned by enable_export_balanced_split
+    private final List<List<TScanRangeLocations>> taskTabletCandidates = Lists.newArrayList();
+    // backend id -> number of running tasks of this job on the backend
+    private final Map<Long, Integer> runningTasksPerBe = Maps.newHashMap();
+    private final Map<Integer, Set<Long>> taskBackendIds = Maps.newHashMap();
 
     public ExportJob() {
         this.id = -1;
@@ -329,6 +335,8 @@ public class ExportJob implements Writable, GsonPostProcessable {
             PlanFragment fragment = genPlanFragment(exportTable.getType(), scanNode, 0);
             scanNodes.add(scanNode);
             fragments.add(fragment);
+        } else if (Config.enable_export_balanced_split) {
+            genBalancedTaskFragments(fragments, scanNodes);
         } else {
             genTaskFragments(fragments, scanNodes);
         }
@@ -356,24 +364,7 @@ public class ExportJob implements Writable, GsonPostProcessable {
             while (iter.hasNext()) {
                 TScanRangeLocations scanRangeLocations = iter.next();
                 long backendId = scanRangeLocations.getLocations().get(0).getBackend_id();
-                long tabletId = scanRangeLocations.getScan_range().getInternal_scan_range().getTablet_id();
-                TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
-                long dataSize = 0L;
-                if (tabletMeta.isLakeTablet()) {
-                    Partition partition = exportTable.getPartition(tabletMeta.getPartitionId());
-                    if (partition != null) {
-                        MaterializedIndex index = partition.getIndex(tabletMeta.getIndexId());
-                        if (index != null) {
-                            Tablet tablet = index.getTablet(tabletId);
-                            if (tablet != null) {
-                                dataSize = tablet.getDataSize(true);
-                            }
-                        }
-                    }
-                } else {
-                    Replica replica = invertedIndex.getReplica(tabletId, backendId);
-                    dataSize = replica != null ? replica.getDataSize() : 0L;
-                }
+                long dataSize = getTabletDataSize(invertedIndex, scanRangeLocations, backendId);
 
                 Long assignedBytes = bytesPerBe.get(backendId);
                 if (assignedBytes == null || assignedBytes < maxBytesPerBe) {
@@ -393,6 +384,120 @@ public class ExportJob implements Writable, GsonPostProcessable {
                 tabletLocations.size(), id, fragments.size());
     }
 
+    // Plans the tasks by the data size of tablets instead of the number of tablets, each task only reads from
+    // one backend. Largest tablets first, the replica of each tablet is chosen on the backend with the least
+    // assigned bytes, then the tablets of each backend are packed into tasks of export_max_bytes_per_be_per_task.
+    // All the replicas are kept in tabletLocations, so that the snapshots are made on every replica and the
+    // tablets of a task can be moved to other backends when the task is executed, see assignCoord.
+    private void genBalancedTaskFragments(List<PlanFragment> fragments, List<ScanNode> scanNodes)
+            throws UserException {
+        Preconditions.checkNotNull(tabletLocations);
+
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
+        List<Pair<TScanRangeLocations, Long>> tablets = Lists.newArrayList();
+        for (TScanRangeLocations scanRangeLocations : tabletLocations) {
+            long dataSize = 0L;
+            for (TScanRangeLocation location : scanRangeLocations.getLocations()) {
+                dataSize = Math.max(dataSize,
+                        getTabletDataSize(invertedIndex, scanRangeLocations, location.getBackend_id()));
+            }
+            tablets.add(Pair.create(scanRangeLocations, dataSize));
+        }
+        tablets.sort((t1, t2) -> Long.compare(t2.second, t1.second));
+
+        Map<Long, Long> bytesPerBe = Maps.newHashMap();
+        // backend id -> tablets of the backend in descending order of size
+        Map<Long, List<Pair<TScanRangeLocations, Long>>> tabletsPerBe = Maps.newLinkedHashMap();
+        for (Pair<TScanRangeLocations, Long> tablet : tablets) {
+            List<TScanRangeLocation> locations = Lists.newArrayList(tablet.first.getLocations());
+            Collections.shuffle(locations);
+            TScanRangeLocation selected = null;
+            for (TScanRangeLocation location : locations) {
+                if (selected == null || bytesPerBe.getOrDefault(location.getBackend_id(), 0L)
+                        < bytesPerBe.getOrDefault(selected.getBackend_id(), 0L)) {
+                    selected = location;
+                }
+            }
+            long backendId = selected.getBackend_id();
+            bytesPerBe.merge(backendId, tablet.second, Long::sum);
+            // the planned replica is the first one
+            locations.remove(selected);
+            locations.add(0, selected);
+            tablet.first.setLocations(locations);
+            tabletsPerBe.computeIfAbsent(backendId, k -> Lists.newArrayList()).add(tablet);
+        }
+
+        Map<Long, List<List<TScanRangeLocations>>> tasksPerBe = Maps.newLinkedHashMap();
+        long maxBytesPerTask = Config.export_max_bytes_per_be_per_task;
+        for (Map.Entry<Long, List<Pair<TScanRangeLocations, Long>>> entry : tabletsPerBe.entrySet()) {
+            List<List<TScanRangeLocations>> tasks = Lists.newArrayList();
+            List<TScanRangeLocations> task = null;
+            long taskBytes = 0L;
+            for (Pair<TScanRangeLocations, Long> tablet : entry.getValue()) {
+                if (task == null || taskBytes >= maxBytesPerTask) {
+                    task = Lists.newArrayList();
+                    tasks.add(task);
+                    taskBytes = 0L;
+                }
+                task.add(tablet.first);
+                taskBytes += tablet.second;
+            }
+            tasksPerBe.put(entry.getKey(), tasks);
+        }
+
+        // interleave the tasks of backends, so that the running tasks are spread over all the backends
+        int taskIdx = 0;
+        boolean hasMore = true;
+        for (int round = 0; hasMore; round++) {
+            hasMore = false;
+            for (List<List<TScanRangeLocations>> tasks : tasksPerBe.values()) {
+                if (round >= tasks.size()) {
+                    continue;
+                }
+                hasMore = true;
+                List<TScanRangeLocations> candidates = tasks.get(round);
+                List<TScanRangeLocations> taskTabletLocations = Lists.newArrayList();
+                for (TScanRangeLocations candidate : candidates) {
+                    TScanRangeLocations planned = candidate.deepCopy();
+                    planned.setLocations(Lists.newArrayList(candidate.getLocations().get(0)));
+                    taskTabletLocations.add(planned);
+                }
+                taskTabletCandidates.add(candidates);
+
+                OlapScanNode taskScanNode = genOlapScanNodeByLocation(taskTabletLocations);
+                scanNodes.add(taskScanNode);
+                PlanFragment fragment = genPlanFragment(exportTable.getType(), taskScanNode, taskIdx++);
+                fragments.add(fragment);
+            }
+        }
+
+        LOG.info("total {} tablets of export job {}, and assign them to {} coordinators by data size, "
+                + "bytes per backend: {}", tabletLocations.size(), id, fragments.size(), bytesPerBe);
+    }
+
+    private long getTabletDataSize(TabletInvertedIndex invertedIndex, TScanRangeLocations scanRangeLocations,
+                                   long backendId) {
+        long tabletId = scanRangeLocations.getScan_range().getInternal_scan_range().getTablet_id();
+        TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+        long dataSize = 0L;
+        if (tabletMeta.isLakeTablet()) {
+            Partition partition = exportTable.getPartition(tabletMeta.getPartitionId());
+            if (partition != null) {
+                MaterializedIndex index = partition.getIndex(tabletMeta.getIndexId());
+                if (index != null) {
+                    Tablet tablet = index.getTablet(tabletId);
+                    if (tablet != null) {
+                        dataSize = tablet.getDataSize(true);
+                    }
+                }
+            }
+        } else {
+            Replica replica = invertedIndex.getReplica(tabletId, backendId);
+            dataSize = replica != null ? replica.getDataSize() : 0L;
+        }
+        return dataSize;
+    }
+
     private ScanNode genScanNode() throws UserException {
         ScanNode scanNode = null;
         switch (exportTable.getType()) {
@@ -450,8 +555,10 @@ public class ExportJob implements Writable, GsonPostProcessable {
         if (!brokerDesc.hasBroker()) {
             HdfsUtil.getTProperties(exportTempPath, brokerDesc, hdfsProperties);
         }
-        fragment.setSink(new ExportSink(exportTempPath, fileNamePrefix + taskIdx + "_", columnSeparator,
-                rowDelimiter, brokerDesc, hdfsProperties));
+        ExportSink exportSink = new ExportSink(exportTempPath, fileNamePrefix + taskIdx + "_", columnSeparator,
+                rowDelimiter, brokerDesc, hdfsProperties);
+        exportSink.setMaxFileSizeBytes(getMaxFileSizeBytes());
+        fragment.setSink(exportSink);
         try {
             fragment.createDataSink(TResultSinkType.MYSQL_PROTOCAL);
         } catch (Exception e) {
@@ -542,6 +649,60 @@ public class ExportJob implements Writable, GsonPostProcessable {
         return exportTable.isOlapTable();
     }
 
+    // Before a task planned by genBalancedTaskFragments is executed, each of its tablets is moved to the replica
+    // on the backend with the fewest running tasks of this job, the planned replica is kept on ties. So the
+    // backends which finish their tasks earlier take more of the remaining tablets.
+    public synchronized Coordinator assignCoord(int taskIndex) throws UserException {
+        Coordinator coord = coordList.get(taskIndex);
+        if (taskIndex >= taskTabletCandidates.size()) {
+            return coord;
+        }
+
+        List<TScanRangeLocations> newLocations = Lists.newArrayList();
+        Set<Long> backendIds = Sets.newHashSet();
+        boolean moved = false;
+        for (TScanRangeLocations candidate : taskTabletCandidates.get(taskIndex)) {
+            TScanRangeLocation selected = null;
+            for (TScanRangeLocation location : candidate.getLocations()) {
+                if (selected == null || runningTasksPerBe.getOrDefault(location.getBackend_id(), 0)
+                        < runningTasksPerBe.getOrDefault(selected.getBackend_id(), 0)) {
+                    selected = location;
+                }
+            }
+            moved |= selected != candidate.getLocations().get(0);
+            backendIds.add(selected.getBackend_id());
+            TScanRangeLocations locations = candidate.deepCopy();
+            locations.setLocations(Lists.newArrayList(selected));
+            newLocations.add(locations);
+        }
+        for (Long backendId : backendIds) {
+            runningTasksPerBe.merge(backendId, 1, Integer::sum);
+        }
+        taskBackendIds.put(taskIndex, backendIds);
+        if (!moved) {
+            return coord;
+        }
+
+        OlapScanNode newTaskScanNode = genOlapScanNodeByLocation(newLocations);
+        PlanFragment newFragment = genPlanFragment(exportTable.getType(), newTaskScanNode, taskIndex);
+        Coordinator newCoord = getCoordinatorFactory().createBrokerExportScheduler(
+                id, coord.getQueryId(), desc, Lists.newArrayList(newFragment), Lists.newArrayList(newTaskScanNode),
+                TimeUtils.DEFAULT_TIME_ZONE, coord.getStartTimeMs(), Maps.newHashMap(), getMemLimit(), warehouseId);
+        this.coordList.set(taskIndex, newCoord);
+        LOG.info("assign task to backends {} for export job: {}, taskIdx: {}", backendIds, id, taskIndex);
+        return newCoord;
+    }
+
+    public synchronized void releaseCoord(int taskIndex) {
+        Set<Long> backendIds = taskBackendIds.remove(taskIndex);
+        if (backendIds == null) {
+            return;
+        }
+        for (Long backendId : backendIds) {
+            runningTasksPerBe.computeIfPresent(backendId, (k, v) -> v > 1 ? v - 1 : null);
+        }
+    }
+
     public void setSnapshotPaths(List<Pair<TNetworkAddress, String>> snapshotPaths) {
         this.snapshotPaths = snapshotPaths;
     }
@@ -615,6 +776,14 @@ public class ExportJob implements Writable, GsonPostProcessable {
         }
     }
 
+    public long getMaxFileSizeBytes() {
+        if (properties.containsKey(ExportStmt.MAX_FILE_SIZE_PROP)) {
+            return Long.parseLong(properties.get(ExportStmt.MAX_FILE_SIZE_PROP));
+        } else {
+            return 0;
+        }
+    }
+
     public int getTimeoutSecond() {
         if (properties.containsKey(LoadStmt.TIMEOUT_PROPERTY)) {
             return Integer.parseInt(properties.get(LoadStmt.TIMEOUT_PROPERTY));
@@ -31,7 +31,10 @@ import com.starrocks.catalog.SinglePartitionInfo;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Tablet;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
+import com.starrocks.common.profile.Timer;
+import com.starrocks.common.profile.Tracers;
 import com.starrocks.common.util.concurrent.lock.LockType;
 import com.starrocks.common.util.concurrent.lock.Locker;
 import com.starrocks.persist.InsertOverwriteStateChangeInfo;
@@ -81,6 +84,7 @@ public class InsertOverwriteJobRunner {
 
     private long createPartitionElapse;
     private long insertElapse;
+    private long commitElapse;
 
     public InsertOverwriteJobRunner(InsertOverwriteJob job, ConnectContext context, StmtExecutor stmtExecutor) {
         this.job = job;
@@ -92,6 +96,7 @@ public class InsertOverwriteJobRunner {
         this.postfix = "_" + job.getJobId();
         this.createPartitionElapse = 0;
         this.insertElapse = 0;
+        this.commitElapse = 0;
     }
 
     // for replay
@@ -102,6 +107,7 @@ public class InsertOverwriteJobRunner {
         this.postfix = "_" + job.getJobId();
         this.createPartitionElapse = 0;
         this.insertElapse = 0;
+        this.commitElapse = 0;
     }
 
     public boolean isFinished() {
@@ -144,12 +150,12 @@ public class InsertOverwriteJobRunner {
                 break;
             case OVERWRITE_FAILED:
                 gc(false);
-                LOG.warn("insert overwrite job:{} failed. createPartitionElapse:{} ms, insertElapse:{} ms",
-                        job.getJobId(), createPartitionElapse, insertElapse);
+                LOG.warn("insert overwrite job:{} failed. createPartitionElapse:{} ms, insertElapse:{} ms, " +
+                        "commitElapse:{} ms", job.getJobId(), createPartitionElapse, insertElapse, commitElapse);
                 break;
             case OVERWRITE_SUCCESS:
-                LOG.info("insert overwrite job:{} succeed. createPartitionElapse:{} ms, insertElapse:{} ms",
-                        job.getJobId(), createPartitionElapse, insertElapse);
+                LOG.info("insert overwrite job:{} succeed. createPartitionElapse:{} ms, insertElapse:{} ms, " +
+                        "commitElapse:{} ms", job.getJobId(), createPartitionElapse, insertElapse, commitElapse);
                 break;
             default:
                 throw new RuntimeException("invalid jobState:" + job.getJobState());
@@ -158,10 +164,16 @@ public class InsertOverwriteJobRunner {
 
     private void doLoad() throws Exception {
         Preconditions.checkState(job.getJobState() == InsertOverwriteJobState.OVERWRITE_RUNNING);
-        createTempPartitions();
+        // the timers of the phases before the insert are shown in the planner section of the insert profile,
+        // the timer does nothing if the statement is not traced, e.g. no tracer is registered for this thread
+        try (Timer ignored = Tracers.watchScope("InsertOverwriteCreateTempPartitions")) {
+            createTempPartitions();
+        }
         prepareInsert();
         executeInsert();
+        long commitStartTimestamp = System.currentTimeMillis();
         doCommit(false);
+        commitElapse = System.currentTimeMillis() - commitStartTimestamp;
         transferTo(InsertOverwriteJobState.OVERWRITE_SUCCESS);
     }
 
@@ -356,7 +368,8 @@ public class InsertOverwriteJobRunner {
             locker.unLockDatabase(db, LockType.READ);
         }
         PartitionUtils.createAndAddTempPartitionsForTable(db, targetTable, postfix,
-                job.getSourcePartitionIds(), job.getTmpPartitionIds(), null, job.getWarehouseId());
+                job.getSourcePartitionIds(), job.getTmpPartitionIds(), null, job.getWarehouseId(),
+                Config.create_replica_tasks_batch_size);
         createPartitionElapse = System.currentTimeMillis() - createPartitionStartTimestamp;
     }
 
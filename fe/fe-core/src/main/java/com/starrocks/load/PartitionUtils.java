@@ -57,9 +57,19 @@ public class PartitionUtils {
                                                           List<Long> tmpPartitionIds,
                                                           DistributionDesc distributionDesc,
                                                           long warehouseId) throws DdlException {
+        createAndAddTempPartitionsForTable(db, targetTable, postfix, sourcePartitionIds, tmpPartitionIds,
+                distributionDesc, warehouseId, 1);
+    }
+
+    public static void createAndAddTempPartitionsForTable(Database db, OlapTable targetTable,
+                                                          String postfix, List<Long> sourcePartitionIds,
+                                                          List<Long> tmpPartitionIds,
+                                                          DistributionDesc distributionDesc,
+                                                          long warehouseId, int replicaTasksBatchSize)
+            throws DdlException {
         List<Partition> newTempPartitions = GlobalStateMgr.getCurrentState().getLocalMetastore()
                 .createTempPartitionsFromPartitions(db, targetTable, postfix, sourcePartitionIds,
-                        tmpPartitionIds, distributionDesc, warehouseId);
+                        tmpPartitionIds, distributionDesc, warehouseId, replicaTasksBatchSize);
         Locker locker = new Locker();
         if (!locker.lockAndCheckExist(db, LockType.WRITE)) {
             throw new DdlException("create and add partition failed. database:{}" + db.getFullName() + " not exist");
@@ -50,6 +50,8 @@ import com.starrocks.common.util.RuntimeProfile;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.load.BrokerFileGroup;
 import com.starrocks.load.FailMsg;
+import com.starrocks.planner.FileScanNode;
+import com.starrocks.planner.ScanNode;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.DefaultCoordinator;
 import com.starrocks.qe.OriginStatement;
@@ -215,6 +217,13 @@ public class LoadLoadingTask extends LoadTask {
                     summaryProfile.addInfoString("NonDefaultSessionVariables", variables.getNonDefaultVariablesJson());
                 }
 
+                for (ScanNode scanNode : loadPlanner.getScanNodes()) {
+                    if (scanNode instanceof FileScanNode) {
+                        summaryProfile.addInfoString("ScanRangeAssignment",
+                                ((FileScanNode) scanNode).getScanRangeAssignment());
+                    }
+                }
+
                 profile.addChild(summaryProfile);
 
                 curCoordinator.getQueryProfile().getCounterTotalTime()
@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import com.google.gson.annotations.SerializedName;
 import com.starrocks.analysis.BrokerDesc;
 import com.starrocks.catalog.TableFunctionTable;
+import com.starrocks.common.Config;
 import com.starrocks.common.UserException;
 import com.starrocks.fs.HdfsUtil;
 import com.starrocks.load.pipe.filelist.FileListRepo;
@@ -65,6 +66,9 @@ public class FilePipeSource implements GsonPostProcessable {
     private long batchFiles = Pipe.DEFAULT_BATCH_FILES;
     @SerializedName(value = "eos")
     private boolean eos = false;
+    // max modification time in milliseconds of the staged files, files modified before it have been staged
+    @SerializedName(value = "listing_cursor")
+    private long listingCursor = 0;
 
     private FileListRepo fileListRepo;
 
@@ -87,12 +91,23 @@ public class FilePipeSource implements GsonPostProcessable {
         if (CollectionUtils.isEmpty(fileListRepo.listFilesByState(FileListRepo.PipeFileState.UNLOADED, 1))) {
             BrokerDesc brokerDesc = new BrokerDesc(tableProperties);
             try {
-                List<FileStatus> files = HdfsUtil.listFileMeta(path, brokerDesc);
-                List<PipeFileRecord> records =
-                        ListUtils.emptyIfNull(files).stream()
-                                .map(PipeFileRecord::fromHdfsFile)
-                                .collect(Collectors.toList());
+                List<FileStatus> files = ListUtils.emptyIfNull(HdfsUtil.listFileMeta(path, brokerDesc));
+                if (Config.enable_pipe_incremental_listing) {
+                    // files may become visible after the last polling with older modification times, eg: the
+                    // upload of a file lasts long, so files in a trailing window of the cursor are staged again
+                    // and deduplicated by the file list
+                    long cursor = listingCursor - Config.pipe_incremental_listing_lag_second * 1000;
+                    files = files.stream()
+                            .filter(file -> file.getModificationTime() >= cursor)
+                            .collect(Collectors.toList());
+                }
+                List<PipeFileRecord> records = files.stream()
+                        .map(PipeFileRecord::fromHdfsFile)
+                        .collect(Collectors.toList());
                 fileListRepo.stageFiles(records);
+                for (FileStatus file : files) {
+                    listingCursor = Math.max(listingCursor, file.getModificationTime());
+                }
 
                 if (!autoIngest) {
                     // TODO: persist state
@@ -160,6 +175,24 @@ public class FilePipeSource implements GsonPostProcessable {
         fileListRepo.updateFileState(piece.getFiles(), state, null);
     }
 
+    /**
+     * Finish the pieces of tasks. Files of successful tasks are updated in batches, and files of failed tasks are
+     * updated for each task to keep their error messages.
+     */
+    public void finishPieces(List<PipeTaskDesc> taskDescs) {
+        List<PipeFileRecord> finishedFiles = Lists.newArrayList();
+        for (PipeTaskDesc taskDesc : taskDescs) {
+            if (taskDesc.getState() == PipeTaskDesc.PipeTaskState.ERROR) {
+                finishPiece(taskDesc);
+            } else {
+                finishedFiles.addAll(taskDesc.getPiece().getFiles());
+            }
+        }
+        for (List<PipeFileRecord> batch : ListUtils.partition(finishedFiles, FileListTableRepo.WRITE_BATCH_SIZE)) {
+            fileListRepo.updateFileState(batch, FileListRepo.PipeFileState.FINISHED, null);
+        }
+    }
+
     public void retryErrorFiles() {
         List<PipeFileRecord> errorFiles = fileListRepo.listFilesByState(FileListRepo.PipeFileState.ERROR, 0);
         if (CollectionUtils.isNotEmpty(errorFiles)) {
@@ -202,6 +235,10 @@ public class FilePipeSource implements GsonPostProcessable {
         this.pipeId = id;
     }
 
+    public long getListingCursor() {
+        return listingCursor;
+    }
+
     public String getPath() {
         return path;
     }
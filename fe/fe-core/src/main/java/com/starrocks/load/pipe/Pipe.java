@@ -22,6 +22,7 @@ import com.google.gson.annotations.SerializedName;
 import com.starrocks.analysis.TableName;
 import com.starrocks.catalog.Database;
 import com.starrocks.common.CloseableLock;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.ErrorCode;
 import com.starrocks.common.ErrorReport;
@@ -197,7 +198,11 @@ public class Pipe implements GsonPostProcessable {
 
         try {
             lastPolledTime = System.currentTimeMillis() / 1000;
+            long listingCursor = pipeSource.getListingCursor();
             pipeSource.poll();
+            if (pipeSource.getListingCursor() != listingCursor) {
+                persistPipe();
+            }
         } catch (Throwable e) {
             recordPipeError("poll from source failed: " + e.getMessage());
             changeState(State.ERROR, true);
@@ -283,33 +288,38 @@ public class Pipe implements GsonPostProcessable {
     }
 
     /**
-     * Pull PipePiece from source, and build new tasks
+     * Pull PipePieces from source, and build new tasks until the number of running tasks reaches
+     * {@link Config#pipe_max_running_tasks}
      */
     private void buildNewTasks() {
         Preconditions.checkState(type == Type.FILE);
 
-        if (MapUtils.isNotEmpty(runningTasks)) {
-            return;
-        }
         FilePipeSource fileSource = (FilePipeSource) pipeSource;
-        FilePipePiece piece = (FilePipePiece) fileSource.pullPiece();
-        if (piece == null) {
-            // EOS
-            if (fileSource.eos()) {
-                boolean allLoaded = fileSource.allLoaded();
-                if (allLoaded) {
-                    changeState(State.FINISHED, true);
-                    LOG.info("pipe {} finish all tasks, change state to {}", this, state);
-                } else {
-                    // Some error happen
-                    recordPipeError("leave some unfinished files");
-                    changeState(State.ERROR, true);
-                    LOG.info("pipe {} finish all tasks but with error files, change state to {}, ", this, state);
+        while (runningTasks.size() < Math.max(1, Config.pipe_max_running_tasks)) {
+            FilePipePiece piece = (FilePipePiece) fileSource.pullPiece();
+            if (piece == null) {
+                // EOS
+                if (MapUtils.isEmpty(runningTasks) && fileSource.eos()) {
+                    boolean allLoaded = fileSource.allLoaded();
+                    if (allLoaded) {
+                        changeState(State.FINISHED, true);
+                        LOG.info("pipe {} finish all tasks, change state to {}", this, state);
+                    } else {
+                        // Some error happen
+                        recordPipeError("leave some unfinished files");
+                        changeState(State.ERROR, true);
+                        LOG.info("pipe {} finish all tasks but with error files, change state to {}, ", this, state);
+                    }
                 }
+                return;
+            }
+            if (!buildNewTask(fileSource, piece)) {
+                return;
             }
-            return;
         }
+    }
 
+    private boolean buildNewTask(FilePipeSource fileSource, FilePipePiece piece) {
         try (CloseableLock l = takeWriteLock()) {
             long taskId = GlobalStateMgr.getCurrentState().getNextId();
             PipeId pipeId = getPipeId();
@@ -329,8 +339,10 @@ public class Pipe implements GsonPostProcessable {
             runningTasks.put(taskId, taskDesc);
             loadStatus.loadingFiles += piece.getNumFiles();
             LOG.debug("pipe {} build task: {}", name, taskDesc);
+            return true;
         } catch (Throwable e) {
             recordPipeError(e.getMessage());
+            return false;
         }
     }
 
@@ -353,10 +365,11 @@ public class Pipe implements GsonPostProcessable {
     private void finalizeTasks() {
         List<Long> removeTaskId = new ArrayList<>();
         try (CloseableLock l = takeWriteLock()) {
+            List<PipeTaskDesc> finalizedTasks = new ArrayList<>();
             for (PipeTaskDesc task : runningTasks.values()) {
                 if (task.isFinished() || task.tooManyErrors()) {
                     removeTaskId.add(task.getId());
-                    pipeSource.finishPiece(task);
+                    finalizedTasks.add(task);
                     loadStatus.loadingFiles -= task.getPiece().getNumFiles();
                 }
                 if (task.isError()) {
@@ -373,6 +386,9 @@ public class Pipe implements GsonPostProcessable {
                     loadStatus.lastLoadedTime = LocalDateTime.now(ZoneId.systemDefault());
                 }
             }
+            if (!finalizedTasks.isEmpty()) {
+                pipeSource.finishPieces(finalizedTasks);
+            }
             for (long taskId : removeTaskId) {
                 runningTasks.remove(taskId);
             }
@@ -83,6 +83,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -125,7 +126,8 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     private List<Pair<Integer, Long>> customeKafkaPartitionOffsets = null;
     boolean useDefaultGroupId = true;
 
-    private Map<Integer, Long> latestPartitionOffsets = Maps.newHashMap();
+    // updated by the lag metrics collector and task callbacks, and read by the scheduler
+    private final Map<Integer, Long> latestPartitionOffsets = Maps.newConcurrentMap();
 
     public KafkaRoutineLoadJob() {
         // for serialization, id is dummy
@@ -235,20 +237,34 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         try {
             if (state == JobState.NEED_SCHEDULE) {
                 // divide kafkaPartitions into tasks
-                for (int i = 0; i < currentConcurrentTaskNum; i++) {
-                    Map<Integer, Long> taskKafkaProgress = Maps.newHashMap();
-                    for (int j = 0; j < currentKafkaPartitions.size(); j++) {
-                        if (j % currentConcurrentTaskNum == i) {
-                            int kafkaPartition = currentKafkaPartitions.get(j);
-                            taskKafkaProgress.put(kafkaPartition,
-                                    ((KafkaProgress) progress).getOffsetByPartition(kafkaPartition));
+                Map<Integer, Long> partitionLags = getPartitionLags();
+                List<List<Integer>> taskPartitions;
+                if (partitionLags != null) {
+                    taskPartitions = divideByLag(currentKafkaPartitions, partitionLags, currentConcurrentTaskNum);
+                } else {
+                    taskPartitions = Lists.newArrayList();
+                    for (int i = 0; i < currentConcurrentTaskNum; i++) {
+                        List<Integer> partitions = Lists.newArrayList();
+                        for (int j = 0; j < currentKafkaPartitions.size(); j++) {
+                            if (j % currentConcurrentTaskNum == i) {
+                                partitions.add(currentKafkaPartitions.get(j));
+                            }
                         }
+                        taskPartitions.add(partitions);
+                    }
+                }
+                for (List<Integer> partitions : taskPartitions) {
+                    Map<Integer, Long> taskKafkaProgress = Maps.newHashMap();
+                    for (int kafkaPartition : partitions) {
+                        taskKafkaProgress.put(kafkaPartition,
+                                ((KafkaProgress) progress).getOffsetByPartition(kafkaPartition));
                     }
                     long timeToExecuteMs = System.currentTimeMillis() + taskSchedIntervalS * 1000;
                     KafkaTaskInfo kafkaTaskInfo = new KafkaTaskInfo(UUID.randomUUID(), id,
                             taskSchedIntervalS * 1000,
                             timeToExecuteMs, taskKafkaProgress, taskTimeoutSecond * 1000);
                     kafkaTaskInfo.setWarehouseId(warehouseId);
+                    kafkaTaskInfo.setBatchScale(calculateBatchScale(partitions));
                     routineLoadTaskInfoList.add(kafkaTaskInfo);
                     result.add(kafkaTaskInfo);
                 }
@@ -304,9 +320,99 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                 partitionNum, desireTaskConcurrentNum, aliveNodeNum, Config.max_routine_load_task_concurrent_num);
         currentTaskConcurrentNum = Math.min(Math.min(partitionNum, Math.min(desireTaskConcurrentNum, aliveNodeNum)),
                 Config.max_routine_load_task_concurrent_num);
+
+        Map<Integer, Long> partitionLags = getPartitionLags();
+        if (partitionLags != null && currentTaskConcurrentNum > 0) {
+            // every lagging partition deserves its own task, and all idle partitions are merged into one task.
+            // the configured concurrency is kept as the lower bound, more tasks are only planned for lagging
+            // partitions if there are idle slots of BE, or the tasks will wait in queue.
+            long laggingPartitionNum = partitionLags.values().stream().filter(lag -> lag > 0).count();
+            int plannedTaskNum = (int) laggingPartitionNum + (laggingPartitionNum < partitionLags.size() ? 1 : 0);
+            int idleSlotNum = GlobalStateMgr.getCurrentState().getRoutineLoadMgr().getClusterIdleSlotNum();
+            int maxTaskNum = Math.min(Math.min(partitionNum, Config.max_routine_load_task_concurrent_num), idleSlotNum);
+            currentTaskConcurrentNum = Math.max(currentTaskConcurrentNum, Math.min(plannedTaskNum, maxTaskNum));
+            LOG.debug("lag aware concurrent task number of job {} is {}, lagging partition num: {}, idle slot num: {}",
+                    id, currentTaskConcurrentNum, laggingPartitionNum, idleSlotNum);
+        }
         return currentTaskConcurrentNum;
     }
 
+    /**
+     * Get the lag of current kafka partitions, which is the latest offset fetched from kafka minus the offset
+     * to be consumed.
+     *
+     * @return null if lag aware scheduling is disabled or the lag of some partition is unknown
+     */
+    public Map<Integer, Long> getPartitionLags() {
+        if (!Config.enable_routine_load_lag_aware_scheduling || currentKafkaPartitions.isEmpty()) {
+            return null;
+        }
+        Map<Integer, Long> partitionLags = Maps.newHashMap();
+        for (int partition : currentKafkaPartitions) {
+            Long latestOffset = latestPartitionOffsets.get(partition);
+            Long offset = ((KafkaProgress) progress).getOffsetByPartition(partition);
+            if (latestOffset == null || offset == null || offset < 0) {
+                return null;
+            }
+            partitionLags.put(partition, Math.max(0L, latestOffset - offset));
+        }
+        return partitionLags;
+    }
+
+    /**
+     * Divide partitions into at most taskNum tasks so that the total lag of each task is balanced.
+     * Partitions are assigned in descending order of lag to the task with the least total lag, so the lagging
+     * partitions are spread out and the idle partitions are merged into the same task. Empty tasks are removed.
+     */
+    @VisibleForTesting
+    static List<List<Integer>> divideByLag(List<Integer> partitions, Map<Integer, Long> partitionLags, int taskNum) {
+        List<Integer> sortedPartitions = new ArrayList<>(partitions);
+        sortedPartitions.sort(Comparator.comparing((Integer partition) -> partitionLags.getOrDefault(partition, 0L))
+                .reversed().thenComparing(Comparator.naturalOrder()));
+        List<List<Integer>> taskPartitions = Lists.newArrayList();
+        long[] taskLags = new long[taskNum];
+        for (int i = 0; i < taskNum; i++) {
+            taskPartitions.add(Lists.newArrayList());
+        }
+        for (int partition : sortedPartitions) {
+            int minTask = 0;
+            for (int i = 1; i < taskNum; i++) {
+                if (taskLags[i] < taskLags[minTask]) {
+                    minTask = i;
+                }
+            }
+            taskPartitions.get(minTask).add(partition);
+            taskLags[minTask] += partitionLags.getOrDefault(partition, 0L);
+        }
+        taskPartitions.removeIf(List::isEmpty);
+        return taskPartitions;
+    }
+
+    /**
+     * Calculate how many times the batch of a task should be enlarged to catch up with the lag of its partitions.
+     * The rows a task consumes in a normal batch is estimated by the measured ingest rate of the job.
+     */
+    @VisibleForTesting
+    int calculateBatchScale(Collection<Integer> partitions) {
+        Map<Integer, Long> partitionLags = getPartitionLags();
+        if (partitionLags == null || Config.routine_load_max_batch_scale_factor <= 1) {
+            return 1;
+        }
+        long taskLag = 0;
+        for (int partition : partitions) {
+            taskLag += partitionLags.getOrDefault(partition, 0L);
+        }
+        long batchRows = maxBatchRows;
+        if (totalRows > 0) {
+            // rows per second of a task
+            long ingestRate = totalRows * 1000 / Math.max(1, totalTaskExcutionTimeMs);
+            batchRows = Math.min(maxBatchRows, ingestRate * taskConsumeSecond);
+        }
+        batchRows = Math.max(1, batchRows);
+        long scale = (taskLag + batchRows - 1) / batchRows;
+        return (int) Math.max(1, Math.min(scale, Config.routine_load_max_batch_scale_factor));
+    }
+
     // Through the transaction status and attachment information, to determine whether the progress needs to be updated.
     @Override
     protected boolean checkCommitInfo(RLTaskTxnCommitAttachment rlTaskTxnCommitAttachment,
@@ -361,6 +467,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                 ((KafkaProgress) progress).getPartitionIdToOffset(oldKafkaTaskInfo.getPartitions()),
                 ((KafkaTaskInfo) routineLoadTaskInfo).getLatestOffset());
         kafkaTaskInfo.setWarehouseId(routineLoadTaskInfo.getWarehouseId());
+        kafkaTaskInfo.setBatchScale(calculateBatchScale(oldKafkaTaskInfo.getPartitions()));
         // remove old task
         routineLoadTaskInfoList.remove(routineLoadTaskInfo);
         // add new task
@@ -73,6 +73,9 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
     // offset is the latest existing message offset + 1
     private Map<Integer, Long> latestPartOffset;
 
+    // the factor to enlarge the batch of the task when its partitions are lagging
+    private int batchScale = 1;
+
     public KafkaTaskInfo(UUID id, long jobId, long taskScheduleIntervalMs, long timeToExecuteMs,
                          Map<Integer, Long> partitionIdToOffset, long taskTimeoutMs) {
         super(id, jobId, taskScheduleIntervalMs, timeToExecuteMs, taskTimeoutMs);
@@ -91,6 +94,14 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         this.partitionIdToOffset = partitionIdToOffset;
     }
 
+    public int getBatchScale() {
+        return batchScale;
+    }
+
+    public void setBatchScale(int batchScale) {
+        this.batchScale = Math.max(1, batchScale);
+    }
+
     public List<Integer> getPartitions() {
         return new ArrayList<>(partitionIdToOffset.keySet());
     }
@@ -127,10 +138,17 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         }
 
         KafkaRoutineLoadJob kafkaRoutineLoadJob = (KafkaRoutineLoadJob) routineLoadJob;
+        ImmutableMap<String, String> properties = ImmutableMap.copyOf(kafkaRoutineLoadJob.getConvertedCustomProperties());
         Map<Integer, Long> latestOffsets = KafkaUtil.getLatestOffsets(kafkaRoutineLoadJob.getBrokerList(),
-                kafkaRoutineLoadJob.getTopic(),
-                ImmutableMap.copyOf(kafkaRoutineLoadJob.getConvertedCustomProperties()),
-                new ArrayList<>(partitionIdToOffset.keySet()), warehouseId);
+                kafkaRoutineLoadJob.getTopic(), properties, new ArrayList<>(partitionIdToOffset.keySet()), warehouseId);
+        if (Config.enable_kafka_meta_service && hasStaleOffset(latestOffsets)) {
+            // the latest offsets cached by kafka meta service may be older than the consumed offsets
+            KafkaUtil.invalidateKafkaMeta(kafkaRoutineLoadJob.getBrokerList(), kafkaRoutineLoadJob.getTopic(),
+                    properties, warehouseId);
+            latestOffsets = KafkaUtil.getLatestOffsets(kafkaRoutineLoadJob.getBrokerList(),
+                    kafkaRoutineLoadJob.getTopic(), properties, new ArrayList<>(partitionIdToOffset.keySet()),
+                    warehouseId);
+        }
         for (Map.Entry<Integer, Long> entry : latestOffsets.entrySet()) {
             kafkaRoutineLoadJob.setPartitionOffset(entry.getKey(), entry.getValue());
         }
@@ -155,6 +173,16 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         return false;
     }
 
+    private boolean hasStaleOffset(Map<Integer, Long> latestOffsets) {
+        for (Map.Entry<Integer, Long> entry : partitionIdToOffset.entrySet()) {
+            Long latestOffset = latestOffsets.get(entry.getKey());
+            if (latestOffset != null && latestOffset < entry.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean isProgressKeepUp(RoutineLoadProgress progress) {
         KafkaProgress kProgress = (KafkaProgress) progress;
@@ -209,11 +237,16 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         // When the transaction times out, we reduce the consumption time to lower the BE load.
         if (msg != null && msg.contains(DatabaseTransactionMgr.TXN_TIMEOUT_BY_MANAGER)) {
             tRoutineLoadTask.setMax_interval_s(routineLoadJob.getTaskConsumeSecond() / 2);
+            tRoutineLoadTask.setMax_batch_rows(routineLoadJob.getMaxBatchRows());
+            tRoutineLoadTask.setMax_batch_size(Config.max_routine_load_batch_size);
         } else {
-            tRoutineLoadTask.setMax_interval_s(routineLoadJob.getTaskConsumeSecond());
+            // Lagging task consumes a bigger batch, but the consumption time is still less than half of the timeout.
+            long consumeSecond = routineLoadJob.getTaskConsumeSecond();
+            tRoutineLoadTask.setMax_interval_s(Math.max(consumeSecond,
+                    Math.min(consumeSecond * batchScale, routineLoadJob.getTaskTimeoutSecond() / 2)));
+            tRoutineLoadTask.setMax_batch_rows(routineLoadJob.getMaxBatchRows() * batchScale);
+            tRoutineLoadTask.setMax_batch_size(Config.max_routine_load_batch_size * batchScale);
         }
-        tRoutineLoadTask.setMax_batch_rows(routineLoadJob.getMaxBatchRows());
-        tRoutineLoadTask.setMax_batch_size(Config.max_routine_load_batch_size);
         if (!routineLoadJob.getFormat().isEmpty() && routineLoadJob.getFormat().equalsIgnoreCase("json")) {
             tRoutineLoadTask.setFormat(TFileFormatType.FORMAT_JSON);
         } else if (!routineLoadJob.getFormat().isEmpty() && routineLoadJob.getFormat().equalsIgnoreCase("avro")) {
@@ -236,6 +269,10 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         result.append("Progress:").append(gson.toJson(partitionIdToOffset));
         result.append(",");
         result.append("LatestOffset:").append(gson.toJson(latestPartOffset));
+        if (batchScale > 1) {
+            result.append(",");
+            result.append("BatchScale:").append(batchScale);
+        }
         return result.toString();
     }
 
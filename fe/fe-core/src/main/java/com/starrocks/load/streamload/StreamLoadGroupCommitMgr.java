@@ -0,0 +1,556 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.streamload;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.starrocks.common.Config;
+import com.starrocks.common.LabelAlreadyUsedException;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.common.UserException;
+import com.starrocks.http.rest.ActionStatus;
+import com.starrocks.http.rest.TransactionResult;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.thrift.TNetworkAddress;
+import com.starrocks.transaction.TransactionStatus;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server side group commit for high-frequency small stream loads.
+ * <p>
+ * Concurrent small loads into the same table with the same load properties are merged into one batch, and a batch is
+ * committed as one transaction stream load once it is older than {@code Config.stream_load_group_commit_interval_ms}
+ * or it is larger than {@code Config.stream_load_group_commit_max_batch_bytes/loads}. It saves the journal writes and
+ * publishes of a transaction per load, and avoids creating tiny rowsets.
+ * <p>
+ * Each load is still acknowledged by its own label after the batch is committed. A transaction has only one label,
+ * so labels of loads in a batch can not be registered to the transaction manager, instead the labels of loads which
+ * are in progress or committed are kept in memory like the labels of transactions, that is committed labels are kept
+ * for {@code Config.label_keep_max_second} and the label of a failed load can be used again.
+ * <p>
+ * The labels are neither persisted nor replicated, so the dedup is best-effort: after the leader restarts or
+ * changes, the labels of loads which are committed or in progress are lost, and a client retrying such a load
+ * loads its data twice. So group commit is disabled by default by {@code Config.enable_stream_load_group_commit},
+ * and the result of each load reports {@code "LabelDedup": "BestEffort"}. Note that all loads in
+ * a batch share the same transaction, so they succeed or fail together, eg: the max filter ratio is applied to the
+ * whole batch.
+ * <p>
+ * The data buffered by loads which are in progress is limited by {@code Config.stream_load_group_commit_max_buffered_bytes},
+ * loads exceeding the limit are rejected and should be retried later.
+ * <p>
+ * Only CSV data is supported so far, because the data of loads can be merged by concatenation.
+ */
+public class StreamLoadGroupCommitMgr {
+    private static final Logger LOG = LogManager.getLogger(StreamLoadGroupCommitMgr.class);
+
+    public static final String GROUP_COMMIT_LABEL_PREFIX = "group_commit_";
+    // the labels are only deduplicated by the memory of the leader, see the class comment
+    public static final String LABEL_DEDUP_KEY = "LabelDedup";
+    public static final String BEST_EFFORT_DEDUP = "BestEffort";
+
+    // headers which are different among loads, all other headers decide how the data is loaded and
+    // loads can only be merged if they are the same
+    private static final Set<String> PER_LOAD_HEADERS = ImmutableSet.of(
+            "label", "timeout", "host", "expect", "connection", "user-agent", "accept", "accept-encoding",
+            "content-length", "content-type", "transfer-encoding");
+    private static final Set<String> UNSUPPORTED_HEADERS = ImmutableSet.of("row_delimiter", "skip_header");
+
+    public enum LoadState {
+        PENDING,
+        FINISHED,
+        CANCELLED
+    }
+
+    /**
+     * Commit a batch and return the result of the transaction, which is replaceable in tests.
+     */
+    @FunctionalInterface
+    public interface BatchCommitter {
+        TransactionResult commit(GroupCommitBatch batch) throws Exception;
+    }
+
+    public static class GroupCommitKey {
+        private final String dbName;
+        private final String tableName;
+        // sorted load properties
+        private final Map<String, String> properties;
+
+        GroupCommitKey(String dbName, String tableName, Map<String, String> properties) {
+            this.dbName = dbName;
+            this.tableName = tableName;
+            this.properties = properties;
+        }
+
+        public String getDbName() {
+            return dbName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            GroupCommitKey that = (GroupCommitKey) o;
+            return dbName.equals(that.dbName) && tableName.equals(that.tableName) && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dbName, tableName, properties);
+        }
+    }
+
+    public static class GroupCommitLoad {
+        private final String label;
+        private final byte[] data;
+        private final long createTimeMs;
+        private final CompletableFuture<TransactionResult> future = new CompletableFuture<>();
+        private volatile LoadState state = LoadState.PENDING;
+
+        GroupCommitLoad(String label, byte[] data, long createTimeMs) {
+            this.label = label;
+            this.data = data;
+            this.createTimeMs = createTimeMs;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        // a row delimiter is appended if the data does not end with it, so that rows of loads are not mixed up
+        public boolean needAppendDelimiter() {
+            return data.length > 0 && data[data.length - 1] != '\n';
+        }
+
+        public long getMergedLength() {
+            return data.length + (needAppendDelimiter() ? 1 : 0);
+        }
+
+        public CompletableFuture<TransactionResult> getFuture() {
+            return future;
+        }
+
+        public LoadState getState() {
+            return state;
+        }
+    }
+
+    public static class GroupCommitBatch {
+        private final GroupCommitKey key;
+        private final String label;
+        private final long createTimeMs;
+        private final List<GroupCommitLoad> loads = Lists.newArrayList();
+        private long bytes = 0;
+
+        GroupCommitBatch(GroupCommitKey key, long createTimeMs) {
+            this.key = key;
+            this.label = GROUP_COMMIT_LABEL_PREFIX + UUID.randomUUID().toString().replace("-", "_");
+            this.createTimeMs = createTimeMs;
+        }
+
+        public GroupCommitKey getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getCreateTimeMs() {
+            return createTimeMs;
+        }
+
+        public List<GroupCommitLoad> getLoads() {
+            return loads;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        private void add(GroupCommitLoad load) {
+            loads.add(load);
+            bytes += load.getMergedLength();
+        }
+
+        private boolean isFull() {
+            return bytes >= Config.stream_load_group_commit_max_batch_bytes
+                    || loads.size() >= Config.stream_load_group_commit_max_batch_loads;
+        }
+    }
+
+    private final BatchCommitter committer;
+    // guarded by this
+    private final Map<GroupCommitKey, GroupCommitBatch> openBatches = new HashMap<>();
+    // db name/label -> load which is not committed yet, guarded by this
+    private final Map<String, GroupCommitLoad> pendingLoads = new HashMap<>();
+    // db name/label -> commit time of loads which are committed successfully in the order of commit, guarded by this
+    private final LinkedHashMap<String, Long> committedLabels = new LinkedHashMap<>();
+    // data size of pending loads, guarded by this
+    private long bufferedBytes = 0;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService commitExecutor;
+
+    public StreamLoadGroupCommitMgr() {
+        this(null);
+    }
+
+    @VisibleForTesting
+    public StreamLoadGroupCommitMgr(BatchCommitter committer) {
+        this.committer = committer == null ? StreamLoadGroupCommitMgr::commitByStreamLoad : committer;
+    }
+
+    private synchronized void initExecutors() {
+        if (scheduler == null) {
+            scheduler = ThreadPoolManager.newDaemonScheduledThreadPool(1, "group-commit-scheduler", false);
+            commitExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.stream_load_group_commit_thread_num,
+                    Integer.MAX_VALUE, "group-commit-executor", true);
+        }
+    }
+
+    /**
+     * Add a load to the open batch of the target table, the returned future is completed after the batch
+     * is committed or failed.
+     */
+    public CompletableFuture<TransactionResult> submit(String dbName, String tableName, String label,
+                                                       HttpHeaders headers, byte[] data) throws UserException {
+        if (Strings.isNullOrEmpty(label)) {
+            throw new UserException("Empty label.");
+        }
+        if (data.length > Config.stream_load_group_commit_max_load_bytes) {
+            throw new UserException(String.format("The data size %d of group commit load exceeds the limit %d, " +
+                    "please use stream load instead", data.length, Config.stream_load_group_commit_max_load_bytes));
+        }
+        GroupCommitKey key = new GroupCommitKey(dbName, tableName, getLoadProperties(headers));
+        GroupCommitLoad load = new GroupCommitLoad(label, data, System.currentTimeMillis());
+
+        GroupCommitBatch batchToCommit = null;
+        synchronized (this) {
+            String labelKey = getLabelKey(dbName, label);
+            removeExpiredLabels(load.createTimeMs);
+            if (pendingLoads.containsKey(labelKey)) {
+                throw new LabelAlreadyUsedException(label, TransactionStatus.PREPARE);
+            }
+            if (committedLabels.containsKey(labelKey)) {
+                throw new LabelAlreadyUsedException(label, TransactionStatus.VISIBLE);
+            }
+            if (bufferedBytes + data.length > Config.stream_load_group_commit_max_buffered_bytes
+                    || pendingLoads.size() >= Config.stream_load_group_commit_label_keep_max_num) {
+                throw new UserException(String.format("Too many group commit loads are in progress, buffered loads: " +
+                        "%d, buffered bytes: %d, please retry later", pendingLoads.size(), bufferedBytes));
+            }
+            pendingLoads.put(labelKey, load);
+            bufferedBytes += data.length;
+
+            GroupCommitBatch batch = openBatches.get(key);
+            if (batch == null) {
+                batch = new GroupCommitBatch(key, load.createTimeMs);
+                openBatches.put(key, batch);
+                scheduleCommit(batch);
+            }
+            batch.add(load);
+            if (batch.isFull()) {
+                openBatches.remove(key);
+                batchToCommit = batch;
+            }
+        }
+        if (batchToCommit != null) {
+            submitCommit(batchToCommit);
+        }
+        return load.getFuture();
+    }
+
+    /**
+     * Get the state of a group commit load for /api/{db}/get_load_state, the label is UNKNOWN if it is not in
+     * progress and its commit is not kept, eg: the load failed or the leader changed.
+     */
+    public synchronized TransactionStatus getLabelStatus(String dbName, String label) {
+        String labelKey = getLabelKey(dbName, label);
+        if (pendingLoads.containsKey(labelKey)) {
+            return TransactionStatus.PREPARE;
+        }
+        if (committedLabels.containsKey(labelKey)) {
+            return TransactionStatus.VISIBLE;
+        }
+        return TransactionStatus.UNKNOWN;
+    }
+
+    private static String getLabelKey(String dbName, String label) {
+        return dbName + "/" + label;
+    }
+
+    private void removeExpiredLabels(long nowMs) {
+        Iterator<Map.Entry<String, Long>> iterator = committedLabels.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (committedLabels.size() <= Config.stream_load_group_commit_label_keep_max_num
+                    && nowMs - entry.getValue() < Config.label_keep_max_second * 1000L) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void scheduleCommit(GroupCommitBatch batch) {
+        initExecutors();
+        scheduler.schedule(() -> {
+            synchronized (this) {
+                if (openBatches.get(batch.getKey()) != batch) {
+                    // already committed because it is full
+                    return;
+                }
+                openBatches.remove(batch.getKey());
+            }
+            submitCommit(batch);
+        }, Config.stream_load_group_commit_interval_ms, TimeUnit.MILLISECONDS);
+    }
+
+    private void submitCommit(GroupCommitBatch batch) {
+        initExecutors();
+        commitExecutor.submit(() -> commitBatch(batch));
+    }
+
+    @VisibleForTesting
+    void commitBatch(GroupCommitBatch batch) {
+        long startTimeMs = System.currentTimeMillis();
+        TransactionResult txnResult;
+        try {
+            txnResult = committer.commit(batch);
+        } catch (Exception e) {
+            LOG.warn("failed to commit group commit batch {}, db: {}, table: {}", batch.getLabel(),
+                    batch.getKey().getDbName(), batch.getKey().getTableName(), e);
+            txnResult = new TransactionResult();
+            txnResult.setErrorMsg(e.getMessage());
+        }
+        long finishTimeMs = System.currentTimeMillis();
+        LOG.info("finish group commit batch {}, db: {}, table: {}, loads: {}, bytes: {}, status: {}, cost: {}ms",
+                batch.getLabel(), batch.getKey().getDbName(), batch.getKey().getTableName(),
+                batch.getLoads().size(), batch.getBytes(), txnResult.status, finishTimeMs - startTimeMs);
+
+        if (MetricRepo.hasInit) {
+            MetricRepo.COUNTER_GROUP_COMMIT_TXN.increase(1L);
+            MetricRepo.COUNTER_GROUP_COMMIT_LOAD.increase((long) batch.getLoads().size());
+        }
+        boolean committed = txnResult.stateOK();
+        synchronized (this) {
+            for (GroupCommitLoad load : batch.getLoads()) {
+                String labelKey = getLabelKey(batch.getKey().getDbName(), load.getLabel());
+                pendingLoads.remove(labelKey);
+                bufferedBytes -= load.getData().length;
+                // the label of a failed load can be used again, like the label of an aborted transaction
+                if (committed) {
+                    committedLabels.put(labelKey, finishTimeMs);
+                }
+            }
+        }
+        for (GroupCommitLoad load : batch.getLoads()) {
+            // the latency added by group commit is the time waiting for other loads
+            long waitMs = startTimeMs - load.createTimeMs;
+            if (MetricRepo.hasInit) {
+                MetricRepo.HISTO_GROUP_COMMIT_ADDED_LATENCY.update(waitMs);
+            }
+            TransactionResult result = new TransactionResult();
+            result.status = txnResult.status;
+            result.msg = txnResult.msg;
+            result.addResultEntry(TransactionResult.LABEL_KEY, load.getLabel());
+            result.addResultEntry(LABEL_DEDUP_KEY, BEST_EFFORT_DEDUP);
+            result.addResultEntry("GroupCommitLabel", batch.getLabel());
+            result.addResultEntry("GroupCommitLoads", batch.getLoads().size());
+            result.addResultEntry("GroupCommitWaitMs", waitMs);
+            result.addResultEntry("LoadBytes", load.getData().length);
+            result.addResultEntry("CommitTimeMs", finishTimeMs - startTimeMs);
+            if (txnResult.getResultEntry(TransactionResult.TXN_ID_KEY) != null) {
+                result.addResultEntry(TransactionResult.TXN_ID_KEY,
+                        txnResult.getResultEntry(TransactionResult.TXN_ID_KEY));
+            }
+            load.state = committed ? LoadState.FINISHED : LoadState.CANCELLED;
+            load.getFuture().complete(result);
+        }
+    }
+
+    @VisibleForTesting
+    static Map<String, String> getLoadProperties(HttpHeaders headers) throws UserException {
+        Map<String, String> properties = new TreeMap<>();
+        for (Map.Entry<String, String> entry : headers) {
+            String name = entry.getKey().toLowerCase();
+            if (PER_LOAD_HEADERS.contains(name)) {
+                continue;
+            }
+            if (UNSUPPORTED_HEADERS.contains(name)) {
+                throw new UserException("Header " + name + " is not supported by group commit");
+            }
+            properties.put(name, entry.getValue());
+        }
+        String format = properties.get("format");
+        if (format != null && !format.equalsIgnoreCase("csv")) {
+            throw new UserException("Only csv format is supported by group commit, but got " + format);
+        }
+        return properties;
+    }
+
+    @VisibleForTesting
+    synchronized int getOpenBatchNum() {
+        return openBatches.size();
+    }
+
+    @VisibleForTesting
+    synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Commit the batch with the channel based transaction stream load, the merged data is sent to the backend
+     * which the only channel is located on.
+     */
+    private static TransactionResult commitByStreamLoad(GroupCommitBatch batch) throws Exception {
+        StreamLoadMgr streamLoadMgr = GlobalStateMgr.getCurrentState().getStreamLoadMgr();
+        GroupCommitKey key = batch.getKey();
+        String label = batch.getLabel();
+        HttpHeaders headers = new DefaultHttpHeaders();
+        key.getProperties().forEach(headers::set);
+
+        TransactionResult resp = new TransactionResult();
+        streamLoadMgr.beginLoadTask(key.getDbName(), key.getTableName(), label,
+                Config.stream_load_default_timeout_second * 1000L, 1, 0, resp);
+        if (!resp.stateOK()) {
+            return resp;
+        }
+        try {
+            resp = new TransactionResult();
+            TNetworkAddress address = streamLoadMgr.executeLoadTask(label, 0, headers, resp,
+                    key.getDbName(), key.getTableName());
+            if (!resp.stateOK()) {
+                return resp;
+            }
+            if (address == null) {
+                throw new UserException("Failed to find the backend of group commit " + label + ": " + resp.msg);
+            }
+            sendData(address, batch, headers);
+
+            resp = new TransactionResult();
+            streamLoadMgr.prepareLoadTask(label, 0, headers, resp);
+            if (!resp.stateOK()) {
+                return resp;
+            }
+            streamLoadMgr.tryPrepareLoadTaskTxn(label, resp);
+            if (!resp.stateOK()) {
+                return resp;
+            }
+            resp = new TransactionResult();
+            streamLoadMgr.commitLoadTask(label, resp);
+            StreamLoadTask task = streamLoadMgr.getTaskByLabel(label);
+            if (task != null) {
+                resp.addResultEntry(TransactionResult.TXN_ID_KEY, task.getTxnId());
+            }
+            return resp;
+        } catch (Exception e) {
+            try {
+                streamLoadMgr.rollbackLoadTask(label, new TransactionResult());
+            } catch (Exception rollbackException) {
+                LOG.warn("failed to rollback group commit {}", label, rollbackException);
+            }
+            throw e;
+        }
+    }
+
+    private static void sendData(TNetworkAddress address, GroupCommitBatch batch, HttpHeaders headers)
+            throws IOException, UserException {
+        URL url = new URL("http://" + address.getHostname() + ":" + address.getPort() + "/api/transaction/load");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("PUT");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(10000);
+            connection.setReadTimeout(Config.stream_load_default_timeout_second * 1000);
+            connection.setFixedLengthStreamingMode(batch.getBytes());
+            headers.forEach(entry -> connection.setRequestProperty(entry.getKey(), entry.getValue()));
+            connection.setRequestProperty("db", batch.getKey().getDbName());
+            connection.setRequestProperty("table", batch.getKey().getTableName());
+            connection.setRequestProperty("label", batch.getLabel());
+            connection.setRequestProperty("channel_id", "0");
+            connection.setRequestProperty("channel_num", "1");
+            try (OutputStream out = connection.getOutputStream()) {
+                for (GroupCommitLoad load : batch.getLoads()) {
+                    out.write(load.getData());
+                    if (load.needAppendDelimiter()) {
+                        out.write('\n');
+                    }
+                }
+            }
+
+            int code = connection.getResponseCode();
+            InputStream in = code < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() :
+                    connection.getErrorStream();
+            String body = in == null ? "" : IOUtils.toString(in, StandardCharsets.UTF_8);
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new UserException("Failed to send data of group commit " + batch.getLabel() +
+                        ", http code: " + code + ", response: " + body);
+            }
+            JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+            String status = json.has(TransactionResult.STATUS_KEY) ?
+                    json.get(TransactionResult.STATUS_KEY).getAsString() : ActionStatus.OK.name();
+            if (!status.equalsIgnoreCase(ActionStatus.OK.name()) && !status.equalsIgnoreCase("Success")) {
+                throw new UserException("Failed to send data of group commit " + batch.getLabel() +
+                        ", response: " + body);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
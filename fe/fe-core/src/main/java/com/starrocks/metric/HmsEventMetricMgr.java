@@ -0,0 +1,105 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.metric;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The metrics of the hive metastore event processing of each catalog.
+ */
+public class HmsEventMetricMgr {
+    private static final Logger LOG = LogManager.getLogger(HmsEventMetricMgr.class);
+
+    private static final String HMS_EVENT_RECEIVED = "hms_event_received";
+    private static final String HMS_EVENT_PROCESSED = "hms_event_processed";
+    private static final String HMS_EVENT_PROCESS_LATENCY = "hms_event_process_latency_ms";
+    private static final String HMS_EVENT_LAG = "hms_event_lag";
+
+    private static final ConcurrentHashMap<String, LongCounterMetric> HMS_EVENT_RECEIVED_MAP = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LongCounterMetric> HMS_EVENT_PROCESSED_MAP = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, GaugeMetricImpl<Long>> HMS_EVENT_PROCESS_LATENCY_MAP =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, GaugeMetricImpl<Long>> HMS_EVENT_LAG_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * For the metric {@code starrocks_fe_hms_event_received}, the number of events pulled from the metastore.
+     */
+    public static void increaseReceivedEvents(String catalogName, long delta) {
+        if (MetricRepo.hasInit) {
+            getCounter(HMS_EVENT_RECEIVED_MAP, HMS_EVENT_RECEIVED,
+                    "the number of hive metastore events pulled of this catalog", catalogName).increase(delta);
+        }
+    }
+
+    /**
+     * For the metric {@code starrocks_fe_hms_event_processed}, the number of the cache updates applied
+     * after the events on the same partition are coalesced.
+     */
+    public static void increaseProcessedEvents(String catalogName, long delta) {
+        if (MetricRepo.hasInit) {
+            getCounter(HMS_EVENT_PROCESSED_MAP, HMS_EVENT_PROCESSED,
+                    "the number of coalesced hive metastore events applied of this catalog", catalogName).increase(delta);
+        }
+    }
+
+    /**
+     * For the metric {@code starrocks_fe_hms_event_process_latency_ms}, the time of the last processing round.
+     */
+    public static void updateProcessLatency(String catalogName, long latencyMs) {
+        if (MetricRepo.hasInit) {
+            getGauge(HMS_EVENT_PROCESS_LATENCY_MAP, HMS_EVENT_PROCESS_LATENCY, Metric.MetricUnit.MILLISECONDS,
+                    "the time of the last hive metastore event processing round of this catalog", catalogName)
+                    .setValue(latencyMs);
+        }
+    }
+
+    /**
+     * For the metric {@code starrocks_fe_hms_event_lag}, the number of events not synced yet.
+     */
+    public static void updateLag(String catalogName, long lag) {
+        if (MetricRepo.hasInit) {
+            getGauge(HMS_EVENT_LAG_MAP, HMS_EVENT_LAG, Metric.MetricUnit.NOUNIT,
+                    "the number of hive metastore events not synced of this catalog", catalogName)
+                    .setValue(Math.max(lag, 0L));
+        }
+    }
+
+    private static LongCounterMetric getCounter(Map<String, LongCounterMetric> cacheMap, String metricsName,
+                                                String metricsMsg, String catalogName) {
+        return cacheMap.computeIfAbsent(catalogName, name -> {
+            LongCounterMetric metric = new LongCounterMetric(metricsName, Metric.MetricUnit.REQUESTS, metricsMsg);
+            metric.addLabel(new MetricLabel("catalog", name));
+            MetricRepo.addMetric(metric);
+            LOG.info("Add {} metric, catalog name is {}", metricsName, name);
+            return metric;
+        });
+    }
+
+    private static GaugeMetricImpl<Long> getGauge(Map<String, GaugeMetricImpl<Long>> cacheMap, String metricsName,
+                                                  Metric.MetricUnit unit, String metricsMsg, String catalogName) {
+        return cacheMap.computeIfAbsent(catalogName, name -> {
+            GaugeMetricImpl<Long> metric = new GaugeMetricImpl<>(metricsName, unit, metricsMsg);
+            metric.addLabel(new MetricLabel("catalog", name));
+            metric.setValue(0L);
+            MetricRepo.addMetric(metric);
+            LOG.info("Add {} metric, catalog name is {}", metricsName, name);
+            return metric;
+        });
+    }
+}
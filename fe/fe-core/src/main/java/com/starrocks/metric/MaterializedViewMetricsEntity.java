@@ -55,6 +55,11 @@ public final class MaterializedViewMetricsEntity {
     public LongCounterMetric counterRefreshJobEmptyTotal;
     // increased once the materialized view's refresh job checks whether the base table is changed or not.
     public LongCounterMetric counterRefreshJobRetryCheckChangedTotal;
+    // increased once the materialized view is refreshed successfully by applying the base tables' binlog.
+    public LongCounterMetric counterDeltaRefreshJobTotal;
+    // increased once the materialized view's delta refresh is not applicable or failed and falls back to
+    // the partition refresh.
+    public LongCounterMetric counterDeltaRefreshFallbackTotal;
 
     // query
     // increased if the materialized view is considered in the preprocess for one query.
@@ -85,6 +90,9 @@ public final class MaterializedViewMetricsEntity {
     // histogram(ms)
     // record the materialized view's refresh job duration only if it's refreshed successfully.
     public Histogram histRefreshJobDuration;
+    // record the duration of delta refresh and partition refresh separately to compare the cost of them.
+    public Histogram histDeltaRefreshJobDuration;
+    public Histogram histPartitionRefreshJobDuration;
 
     public MaterializedViewMetricsEntity(MetricRegistry metricRegistry, MvId mvId) {
         this.metricRegistry = metricRegistry;
@@ -114,6 +122,13 @@ public final class MaterializedViewMetricsEntity {
         counterRefreshJobRetryCheckChangedTotal = new LongCounterMetric("mv_refresh_total_retry_meta_count", MetricUnit.REQUESTS,
                 "total materialized view's retry to check table change count");
         metrics.add(counterRefreshJobRetryCheckChangedTotal);
+        counterDeltaRefreshJobTotal = new LongCounterMetric("mv_refresh_total_delta_jobs", MetricUnit.REQUESTS,
+                "total materialized view's refresh jobs which only apply the changes of base tables");
+        metrics.add(counterDeltaRefreshJobTotal);
+        counterDeltaRefreshFallbackTotal = new LongCounterMetric("mv_refresh_total_delta_fallback_jobs",
+                MetricUnit.REQUESTS, "total materialized view's refresh jobs which fall back from delta refresh " +
+                "to partition refresh");
+        metrics.add(counterDeltaRefreshFallbackTotal);
 
         // query metrics
         counterQueryMaterializedViewTotal = new LongCounterMetric("mv_query_total_count", MetricUnit.REQUESTS,
@@ -135,6 +150,10 @@ public final class MaterializedViewMetricsEntity {
             MaterializedView mv = (MaterializedView) db.getTable(mvId.getId());
             histRefreshJobDuration = metricRegistry.histogram(MetricRegistry.name("mv_refresh_duration",
                     db.getFullName(), mv.getName()));
+            histDeltaRefreshJobDuration = metricRegistry.histogram(MetricRegistry.name("mv_delta_refresh_duration",
+                    db.getFullName(), mv.getName()));
+            histPartitionRefreshJobDuration = metricRegistry.histogram(
+                    MetricRegistry.name("mv_partition_refresh_duration", db.getFullName(), mv.getName()));
         } catch (Exception e) {
             LOG.warn("Ignore histogram metrics for materialized view: {}", mvId);
         }
@@ -347,5 +366,25 @@ public final class MaterializedViewMetricsEntity {
     public void updateRefreshDuration(long duration) {
         this.histRefreshJobDuration.update(duration);
     }
+
+    public void increaseDeltaRefreshJobCount() {
+        this.counterDeltaRefreshJobTotal.increase(1L);
+    }
+
+    public void increaseDeltaRefreshFallbackCount() {
+        this.counterDeltaRefreshFallbackTotal.increase(1L);
+    }
+
+    public void updateDeltaRefreshDuration(long duration) {
+        if (histDeltaRefreshJobDuration != null) {
+            this.histDeltaRefreshJobDuration.update(duration);
+        }
+    }
+
+    public void updatePartitionRefreshDuration(long duration) {
+        if (histPartitionRefreshJobDuration != null) {
+            this.histPartitionRefreshJobDuration.update(duration);
+        }
+    }
 }
 
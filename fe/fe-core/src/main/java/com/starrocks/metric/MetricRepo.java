@@ -58,6 +58,7 @@ import com.starrocks.http.rest.MetricsAction;
 import com.starrocks.load.EtlJobType;
 import com.starrocks.load.loadv2.JobState;
 import com.starrocks.load.loadv2.LoadMgr;
+import com.starrocks.load.pipe.Pipe;
 import com.starrocks.load.routineload.KafkaProgress;
 import com.starrocks.load.routineload.KafkaRoutineLoadJob;
 import com.starrocks.load.routineload.RoutineLoadJob;
@@ -126,8 +127,15 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_PAUSED;
+    public static LongCounterMetric COUNTER_KAFKA_META_LOOKUP;
+    public static LongCounterMetric COUNTER_KAFKA_META_CACHE_HIT;
+    public static LongCounterMetric COUNTER_KAFKA_META_RPC;
+    public static LongCounterMetric COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_HIT;
+    public static LongCounterMetric COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_MISS;
     public static LongCounterMetric COUNTER_SHORTCIRCUIT_QUERY;
     public static LongCounterMetric COUNTER_SHORTCIRCUIT_RPC;
+    public static LongCounterMetric COUNTER_GROUP_COMMIT_LOAD;
+    public static LongCounterMetric COUNTER_GROUP_COMMIT_TXN;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
@@ -135,6 +143,9 @@ public final class MetricRepo {
     public static Histogram HISTO_JOURNAL_WRITE_BATCH;
     public static Histogram HISTO_JOURNAL_WRITE_BYTES;
     public static Histogram HISTO_SHORTCIRCUIT_RPC_LATENCY;
+    public static Histogram HISTO_GROUP_COMMIT_ADDED_LATENCY;
+    public static Histogram HISTO_KAFKA_META_RPC_LATENCY;
+    public static Histogram HISTO_KAFKA_META_RPC_FANOUT;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -152,6 +163,7 @@ public final class MetricRepo {
     public static GaugeMetricImpl<Long> GAUGE_STACKED_JOURNAL_NUM;
 
     public static List<GaugeMetricImpl<Long>> GAUGE_ROUTINE_LOAD_LAGS;
+    public static List<GaugeMetricImpl<Long>> GAUGE_ROUTINE_LOAD_PARTITION_LAGS;
 
     public static List<GaugeMetricImpl<Long>> GAUGE_MEMORY_USAGE_STATS;
     public static List<GaugeMetricImpl<Long>> GAUGE_OBJECT_COUNT_STATS;
@@ -169,6 +181,7 @@ public final class MetricRepo {
         }
 
         GAUGE_ROUTINE_LOAD_LAGS = new ArrayList<>();
+        GAUGE_ROUTINE_LOAD_PARTITION_LAGS = new ArrayList<>();
         GAUGE_MEMORY_USAGE_STATS = new ArrayList<>();
         GAUGE_OBJECT_COUNT_STATS = new ArrayList<>();
 
@@ -424,6 +437,23 @@ public final class MetricRepo {
         COUNTER_TXN_FAILED = new LongCounterMetric("txn_failed", MetricUnit.REQUESTS, "counter of failed transactions");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_TXN_FAILED);
 
+        COUNTER_GROUP_COMMIT_LOAD = new LongCounterMetric("stream_load_group_commit_load", MetricUnit.REQUESTS,
+                "total loads which are merged by stream load group commit");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_GROUP_COMMIT_LOAD);
+        COUNTER_GROUP_COMMIT_TXN = new LongCounterMetric("stream_load_group_commit_txn", MetricUnit.REQUESTS,
+                "total transactions committed by stream load group commit");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_GROUP_COMMIT_TXN);
+        GaugeMetric<Double> groupCommitMergeRatio = new GaugeMetric<Double>(
+                "stream_load_group_commit_merge_ratio", MetricUnit.NOUNIT,
+                "average number of loads merged into one transaction by stream load group commit") {
+            @Override
+            public Double getValue() {
+                long txnNum = COUNTER_GROUP_COMMIT_TXN.getValue();
+                return txnNum == 0 ? 0.0 : (double) COUNTER_GROUP_COMMIT_LOAD.getValue() / txnNum;
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(groupCommitMergeRatio);
+
         COUNTER_ROUTINE_LOAD_ROWS =
                 new LongCounterMetric("routine_load_rows", MetricUnit.ROWS, "total rows of routine load");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_ROWS);
@@ -433,6 +463,21 @@ public final class MetricRepo {
         COUNTER_ROUTINE_LOAD_ERROR_ROWS = new LongCounterMetric("routine_load_error_rows", MetricUnit.ROWS,
                 "total error rows of routine load");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
+        COUNTER_KAFKA_META_LOOKUP = new LongCounterMetric("kafka_meta_lookup", MetricUnit.REQUESTS,
+                "total kafka partition and offset lookups of routine load");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_KAFKA_META_LOOKUP);
+        COUNTER_KAFKA_META_CACHE_HIT = new LongCounterMetric("kafka_meta_cache_hit", MetricUnit.REQUESTS,
+                "total kafka lookups of routine load served by cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_KAFKA_META_CACHE_HIT);
+        COUNTER_KAFKA_META_RPC = new LongCounterMetric("kafka_meta_rpc", MetricUnit.REQUESTS,
+                "total kafka meta rpc sent to backends by the kafka meta service");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_KAFKA_META_RPC);
+        COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_HIT = new LongCounterMetric("delta_lake_snapshot_cache_hit",
+                MetricUnit.REQUESTS, "total delta lake table resolutions served by the snapshot cache");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_HIT);
+        COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_MISS = new LongCounterMetric("delta_lake_snapshot_cache_miss",
+                MetricUnit.REQUESTS, "total delta lake table resolutions which load the whole delta log");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_DELTA_LAKE_SNAPSHOT_CACHE_MISS);
 
         COUNTER_UNFINISHED_BACKUP_JOB = new LongCounterMetric("unfinished_backup_job", MetricUnit.REQUESTS,
                 "current unfinished backup job");
@@ -468,6 +513,12 @@ public final class MetricRepo {
         HISTO_JOURNAL_WRITE_BYTES =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "bytes"));
         HISTO_SHORTCIRCUIT_RPC_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("shortcircuit", "latency", "ms"));
+        HISTO_GROUP_COMMIT_ADDED_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("stream_load", "group_commit", "added_latency", "ms"));
+        HISTO_KAFKA_META_RPC_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("kafka_meta", "rpc", "latency", "ms"));
+        // number of lookups served by one rpc
+        HISTO_KAFKA_META_RPC_FANOUT = METRIC_REGISTER.histogram(MetricRegistry.name("kafka_meta", "rpc", "fanout"));
 
         // init system metrics
         initSystemMetrics();
@@ -666,6 +717,7 @@ public final class MetricRepo {
             }
 
             List<GaugeMetricImpl<Long>> routineLoadLags = new ArrayList<>();
+            List<GaugeMetricImpl<Long>> routineLoadPartitionLags = new ArrayList<>();
 
             for (int i = 0; i < kafkaJobs.size(); i++) {
                 KafkaRoutineLoadJob kJob = (KafkaRoutineLoadJob) kafkaJobs.get(i);
@@ -688,7 +740,19 @@ public final class MetricRepo {
                         progress = beginningOffsets.get(j);
                     }
 
-                    maxLag = Math.max(latestOffsets.get(j) - progress, maxLag);
+                    // the latest offsets are also used to plan tasks by lag
+                    kJob.setPartitionOffset(partitionId, latestOffsets.get(j));
+                    long lag = latestOffsets.get(j) - progress;
+                    maxLag = Math.max(lag, maxLag);
+                    if (lag >= Config.min_routine_load_lag_for_metrics) {
+                        GaugeMetricImpl<Long> metric =
+                                new GaugeMetricImpl<>("routine_load_partition_lag", MetricUnit.NOUNIT,
+                                        "routine load kafka lag of partition");
+                        metric.addLabel(new MetricLabel("job_name", kJob.getName()));
+                        metric.addLabel(new MetricLabel("partition", String.valueOf(partitionId)));
+                        metric.setValue(lag);
+                        routineLoadPartitionLags.add(metric);
+                    }
                 }
                 if (maxLag >= Config.min_routine_load_lag_for_metrics) {
                     GaugeMetricImpl<Long> metric =
@@ -701,6 +765,7 @@ public final class MetricRepo {
             }
 
             GAUGE_ROUTINE_LOAD_LAGS = routineLoadLags;
+            GAUGE_ROUTINE_LOAD_PARTITION_LAGS = routineLoadPartitionLags;
         }
     }
 
@@ -747,6 +812,9 @@ public final class MetricRepo {
             collectRoutineLoadProcessMetrics(visitor);
         }
 
+        // pipe metrics
+        collectPipeMetrics(visitor);
+
         if (Config.memory_tracker_enable) {
             collectMemoryUsageMetrics(visitor);
         }
@@ -822,6 +890,35 @@ public final class MetricRepo {
         for (GaugeMetricImpl<Long> metric : GAUGE_ROUTINE_LOAD_LAGS) {
             visitor.visit(metric);
         }
+        for (GaugeMetricImpl<Long> metric : GAUGE_ROUTINE_LOAD_PARTITION_LAGS) {
+            visitor.visit(metric);
+        }
+    }
+
+    // loaded files/bytes/rows are accumulated values, the throughput of a pipe is the rate of them
+    private static void collectPipeMetrics(MetricVisitor visitor) {
+        for (Pipe pipe : GlobalStateMgr.getCurrentState().getPipeManager().getAllPipes()) {
+            Pipe.LoadStatus loadStatus = pipe.getLoadStatus();
+            visitPipeMetric(visitor, pipe, "pipe_loaded_files", MetricUnit.NOUNIT,
+                    "total number of files loaded by the pipe", loadStatus.loadedFiles);
+            visitPipeMetric(visitor, pipe, "pipe_loaded_bytes", MetricUnit.BYTES,
+                    "total bytes of files loaded by the pipe", loadStatus.loadedBytes);
+            visitPipeMetric(visitor, pipe, "pipe_loaded_rows", MetricUnit.ROWS,
+                    "total rows loaded by the pipe", loadStatus.loadRows);
+            visitPipeMetric(visitor, pipe, "pipe_loading_files", MetricUnit.NOUNIT,
+                    "number of files being loaded by the pipe", loadStatus.loadingFiles);
+            visitPipeMetric(visitor, pipe, "pipe_running_tasks", MetricUnit.NOUNIT,
+                    "number of running tasks of the pipe", pipe.getRunningTasks().size());
+        }
+    }
+
+    private static void visitPipeMetric(MetricVisitor visitor, Pipe pipe, String name, MetricUnit unit,
+                                        String description, long value) {
+        GaugeMetricImpl<Long> metric = new GaugeMetricImpl<>(name, unit, description);
+        metric.setValue(value);
+        metric.addLabel(new MetricLabel("pipe_name", pipe.getName()));
+        metric.addLabel(new MetricLabel("db_id", String.valueOf(pipe.getPipeId().getDbId())));
+        visitor.visit(metric);
     }
 
     private static void collectMemoryUsageMetrics(MetricVisitor visitor) {
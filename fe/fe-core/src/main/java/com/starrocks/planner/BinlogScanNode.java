@@ -61,6 +61,10 @@ public class BinlogScanNode extends ScanNode {
     private List<Long> tabletIds;
     private Set<Long> scanBackendIds;
     private List<TScanRangeLocations> scanRanges;
+    // Physical partitions to read, null means all partitions
+    private Set<Long> selectedPartitionIds;
+    // Read binlog whose version is not less than startVersion, -1 means from the oldest binlog
+    private long startVersion = -1;
 
     public BinlogScanNode(PlanNodeId id, TupleDescriptor desc) {
         super(id, desc, "BinlogScanNode");
@@ -83,12 +87,24 @@ public class BinlogScanNode extends ScanNode {
         msg.setNode_type(TPlanNodeType.STREAM_SCAN_NODE);
     }
 
+    public void setSelectedPartitionIds(Set<Long> selectedPartitionIds) {
+        this.selectedPartitionIds = selectedPartitionIds;
+    }
+
+    public void setStartVersion(long startVersion) {
+        this.startVersion = startVersion;
+    }
+
+    public long getStartVersion() {
+        return startVersion;
+    }
+
     protected TBinlogOffset getBinlogOffset(long tabletId) {
         TBinlogOffset offset = new TBinlogOffset();
         offset.setTablet_id(tabletId);
-        // TODO -1 indicates that read from the oldest binlog
-        offset.setVersion(-1);
-        offset.setLsn(-1);
+        // -1 indicates that read from the oldest binlog
+        offset.setVersion(startVersion);
+        offset.setLsn(startVersion < 0 ? -1 : 0);
         return offset;
     }
 
@@ -120,19 +136,30 @@ public class BinlogScanNode extends ScanNode {
     protected String getNodeExplainString(String prefix, TExplainLevel detailLevel) {
         StringBuilder sb = new StringBuilder();
 
-        sb.append(prefix).append("table: ").append(olapTable.getName());
+        sb.append(prefix).append("table: ").append(olapTable.getName()).append("\n");
+        if (selectedPartitionIds != null) {
+            sb.append(prefix).append(String.format("partitionIds: %s", Joiner.on(",").join(selectedPartitionIds)))
+                    .append("\n");
+        }
+        if (startVersion >= 0) {
+            sb.append(prefix).append("startVersion: ").append(startVersion).append("\n");
+        }
         sb.append(prefix).append(String.format("tabletList: %s", Joiner.on(",").join(tabletIds)));
         return sb.toString();
     }
 
-    // TODO: support partition prune and bucket prune
+    // TODO: support bucket prune
     public void computeScanRanges() throws UserException {
         scanRanges = new ArrayList<>();
+        tabletIds = new ArrayList<>();
         TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
         long localBeId = -1;
         long dbId = -1;
         String dbName = null;
         for (PhysicalPartition partition : CollectionUtils.emptyIfNull(olapTable.getAllPhysicalPartitions())) {
+            if (selectedPartitionIds != null && !selectedPartitionIds.contains(partition.getId())) {
+                continue;
+            }
             MaterializedIndex table = partition.getBaseIndex();
             long partitionId = partition.getId();
             long tableId = olapTable.getId();
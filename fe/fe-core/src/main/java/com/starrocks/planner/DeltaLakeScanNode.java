@@ -27,6 +27,7 @@ import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.connector.CatalogConnector;
 import com.starrocks.connector.PartitionUtil;
+import com.starrocks.connector.delta.DeltaLakeSnapshot;
 import com.starrocks.connector.delta.DeltaUtils;
 import com.starrocks.connector.delta.ExpressionConverter;
 import com.starrocks.credential.CloudConfiguration;
@@ -46,7 +47,6 @@ import io.delta.standalone.DeltaScan;
 import io.delta.standalone.Snapshot;
 import io.delta.standalone.actions.AddFile;
 import io.delta.standalone.actions.Metadata;
-import io.delta.standalone.data.CloseableIterator;
 import io.delta.standalone.expressions.And;
 import io.delta.standalone.expressions.Expression;
 import io.delta.standalone.types.StructType;
@@ -55,6 +55,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -137,7 +138,7 @@ public class DeltaLakeScanNode extends ScanNode {
             return;
         }
         // use current snapshot now
-        Snapshot snapshot = deltaLog.snapshot();
+        Snapshot snapshot = deltaLakeTable.getSnapshot();
         preProcessConjuncts(snapshot.getMetadata().getSchema());
         List<String> partitionColumnNames = snapshot.getMetadata().getPartitionColumns();
         // PartitionKey -> partition id
@@ -145,8 +146,13 @@ public class DeltaLakeScanNode extends ScanNode {
 
         DeltaScan scan = deltaLakePredicates.isPresent() ? snapshot.scan(deltaLakePredicates.get()) : snapshot.scan();
 
-        for (CloseableIterator<AddFile> it = scan.getFiles(); it.hasNext(); ) {
-            AddFile file = it.next();
+        // the cached file index is pruned by the pushed partition predicate without replaying the delta log
+        DeltaLakeSnapshot deltaLakeSnapshot = deltaLakeTable.getDeltaLakeSnapshot();
+        Iterator<AddFile> files = deltaLakeSnapshot != null && deltaLakeSnapshot.hasFileIndex() ?
+                deltaLakeSnapshot.getFiles(scan.getPushedPredicate()).iterator() : scan.getFiles();
+
+        while (files.hasNext()) {
+            AddFile file = files.next();
             Map<String, String> partitionValueMap = file.getPartitionValues();
             List<String> partitionValues = partitionColumnNames.stream().map(partitionValueMap::get).collect(
                     Collectors.toList());
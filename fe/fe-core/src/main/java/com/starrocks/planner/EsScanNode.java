@@ -186,7 +186,8 @@ public class EsScanNode extends ScanNode {
         int nodeIndex = random.nextInt(size);
         List<TScanRangeLocations> result = Lists.newArrayList();
         for (EsShardPartitions indexState : selectedIndex) {
-            for (List<EsShardRouting> shardRouting : indexState.getShardRoutings().values()) {
+            for (Map.Entry<Integer, List<EsShardRouting>> entry : indexState.getShardRoutings().entrySet()) {
+                List<EsShardRouting> shardRouting = entry.getValue();
                 // get compute nodes
                 Set<ComputeNode> colocatedNodes = Sets.newHashSet();
                 int numNode = Math.min(3, size);
@@ -226,20 +227,29 @@ public class EsScanNode extends ScanNode {
                     locations.addToLocations(location);
                 }
 
-                // Generate on es scan range
-                TEsScanRange esScanRange = new TEsScanRange();
-                esScanRange.setEs_hosts(shardAllocations);
-                esScanRange.setIndex(shardRouting.get(0).getIndexName());
-                if (table.getMappingType() != null) {
-                    esScanRange.setType(table.getMappingType());
+                // a big shard is split into sliced scroll requests which are scanned in parallel
+                int slices = indexState.getShardSlices(entry.getKey());
+                for (int sliceId = 0; sliceId < slices; sliceId++) {
+                    // Generate on es scan range
+                    TEsScanRange esScanRange = new TEsScanRange();
+                    esScanRange.setEs_hosts(shardAllocations);
+                    esScanRange.setIndex(shardRouting.get(0).getIndexName());
+                    if (table.getMappingType() != null) {
+                        esScanRange.setType(table.getMappingType());
+                    }
+                    esScanRange.setShard_id(shardRouting.get(0).getShardId());
+                    if (slices > 1) {
+                        esScanRange.setSlice_id(sliceId);
+                        esScanRange.setSlice_max(slices);
+                    }
+                    // Scan range
+                    TScanRange scanRange = new TScanRange();
+                    scanRange.setEs_scan_range(esScanRange);
+                    TScanRangeLocations sliceLocations = locations.deepCopy();
+                    sliceLocations.setScan_range(scanRange);
+                    // result
+                    result.add(sliceLocations);
                 }
-                esScanRange.setShard_id(shardRouting.get(0).getShardId());
-                // Scan range
-                TScanRange scanRange = new TScanRange();
-                scanRange.setEs_scan_range(esScanRange);
-                locations.setScan_range(scanRange);
-                // result
-                result.add(locations);
             }
 
         }
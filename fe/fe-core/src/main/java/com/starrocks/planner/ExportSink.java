@@ -55,6 +55,8 @@ public class ExportSink extends DataSink {
     private final String rowDelimiter;
     private final BrokerDesc brokerDesc;
     private final THdfsProperties hdfsProperties;
+    // 0 means all the data of a fragment instance is written to one file
+    private long maxFileSizeBytes = 0;
 
     public ExportSink(String exportPath, String fileNamePrefix, String columnSeparator,
                       String rowDelimiter, BrokerDesc brokerDesc, THdfsProperties hdfsProperties) {
@@ -80,6 +82,10 @@ public class ExportSink extends DataSink {
         this.fileNamePrefix = fileNamePrefix;
     }
 
+    public void setMaxFileSizeBytes(long maxFileSizeBytes) {
+        this.maxFileSizeBytes = maxFileSizeBytes;
+    }
+
     @Override
     public String getExplainString(String prefix, TExplainLevel explainLevel) {
         StringBuilder sb = new StringBuilder();
@@ -116,6 +122,9 @@ public class ExportSink extends DataSink {
         if (fileNamePrefix != null) {
             tExportSink.setFile_name_prefix(fileNamePrefix);
         }
+        if (maxFileSizeBytes > 0) {
+            tExportSink.setMax_file_size_bytes(maxFileSizeBytes);
+        }
 
         result.setExport_sink(tExportSink);
         return result;
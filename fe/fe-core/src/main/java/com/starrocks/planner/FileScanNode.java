@@ -64,6 +64,7 @@ import com.starrocks.common.DdlException;
 import com.starrocks.common.Pair;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.BrokerUtil;
+import com.starrocks.common.util.DebugUtil;
 import com.starrocks.fs.HdfsUtil;
 import com.starrocks.load.BrokerFileGroup;
 import com.starrocks.load.Load;
@@ -87,6 +88,7 @@ import com.starrocks.thrift.TPlanNodeType;
 import com.starrocks.thrift.TScanRange;
 import com.starrocks.thrift.TScanRangeLocation;
 import com.starrocks.thrift.TScanRangeLocations;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -439,7 +441,11 @@ public class FileScanNode extends LoadScanNode {
             throws UserException {
         ComputeNode selectedBackend = nodes.get(nextBe++);
         nextBe = nextBe % nodes.size();
+        return newLocations(params, brokerName, hasBroker, selectedBackend);
+    }
 
+    private TScanRangeLocations newLocations(TBrokerScanRangeParams params, String brokerName, boolean hasBroker,
+                                             ComputeNode selectedBackend) throws UserException {
         // Generate on broker scan range
         TBrokerScanRange brokerScanRange = new TBrokerScanRange();
         brokerScanRange.setParams(params);
@@ -576,9 +582,7 @@ public class FileScanNode extends LoadScanNode {
             long rangeBytes = 0;
             // The rest of the file belongs to one range
             boolean isEndOfFile = false;
-            if (smallestLocations.second + leftBytes > bytesPerInstance &&
-                    ((formatType == TFileFormatType.FORMAT_CSV_PLAIN || formatType == TFileFormatType.FORMAT_PARQUET)
-                            && fileStatus.isSplitable)) {
+            if (smallestLocations.second + leftBytes > bytesPerInstance && isSplittable(formatType, fileStatus)) {
                 rangeBytes = bytesPerInstance - smallestLocations.second;
             } else {
                 rangeBytes = leftBytes;
@@ -610,6 +614,70 @@ public class FileScanNode extends LoadScanNode {
         }
     }
 
+    /**
+     * Cut files into splits of at most {@link Config#load_dynamic_split_bytes} and pack them into small scan ranges.
+     * Splits are assigned largest first to the backend with the least bytes, so unsplittable files are spread
+     * before small splits fill the gaps. Each backend gets many scan ranges instead of one range per instance,
+     * and its scan operators pull them from a shared morsel queue, so a slow range only holds up one driver.
+     */
+    private void processFileGroupBySplits(ParamCreateContext context, List<TBrokerFileStatus> fileStatuses)
+            throws UserException {
+        if (fileStatuses == null || fileStatuses.isEmpty()) {
+            return;
+        }
+
+        long splitBytes = Math.max(1, Config.load_dynamic_split_bytes);
+        List<TBrokerRangeDesc> splits = Lists.newArrayList();
+        for (TBrokerFileStatus fileStatus : fileStatuses) {
+            TFileFormatType formatType = Load.getFormatType(context.fileGroup.getFileFormat(), fileStatus.path);
+            List<String> columnsFromPath = HdfsUtil.parseColumnsFromPath(fileStatus.path,
+                    context.fileGroup.getColumnsFromPath());
+            int numberOfColumnsFromFile = context.slotDescByName.size() - columnsFromPath.size();
+            boolean splittable = isSplittable(formatType, fileStatus);
+
+            long offset = 0;
+            do {
+                long leftBytes = fileStatus.size - offset;
+                long rangeBytes = splittable ? Math.min(splitBytes, leftBytes) : leftBytes;
+                TBrokerRangeDesc rangeDesc = createBrokerRangeDesc(offset, fileStatus, formatType, rangeBytes,
+                        columnsFromPath, numberOfColumnsFromFile);
+                rangeDesc.setStrip_outer_array(jsonOptions.stripOuterArray);
+                rangeDesc.setJsonpaths(jsonOptions.jsonPaths);
+                rangeDesc.setJson_root(jsonOptions.jsonRoot);
+                splits.add(rangeDesc);
+                offset += rangeBytes;
+            } while (offset < fileStatus.size);
+        }
+        splits.sort(Comparator.comparingLong((TBrokerRangeDesc rangeDesc) -> rangeDesc.size).reversed());
+
+        PriorityQueue<Pair<ComputeNode, Long>> backendHeap =
+                new PriorityQueue<>(Comparator.comparingLong((Pair<ComputeNode, Long> o) -> o.second));
+        for (ComputeNode node : nodes) {
+            backendHeap.add(Pair.create(node, 0L));
+        }
+        // the scan range of each backend which is still accepting splits
+        Map<Long, Pair<TScanRangeLocations, Long>> openLocations = Maps.newHashMap();
+        for (TBrokerRangeDesc split : splits) {
+            Pair<ComputeNode, Long> backend = backendHeap.poll();
+            Pair<TScanRangeLocations, Long> locations = openLocations.get(backend.first.getId());
+            if (locations == null || (locations.second > 0 && locations.second + split.size > splitBytes)) {
+                locations = Pair.create(newLocations(context.params, brokerDesc.getName(), brokerDesc.hasBroker(),
+                        backend.first), 0L);
+                locationsList.add(locations.first);
+                openLocations.put(backend.first.getId(), locations);
+            }
+            brokerScanRange(locations.first).addToRanges(split);
+            locations.second += split.size;
+            backend.second += split.size;
+            backendHeap.add(backend);
+        }
+    }
+
+    private static boolean isSplittable(TFileFormatType formatType, TBrokerFileStatus fileStatus) {
+        return (formatType == TFileFormatType.FORMAT_CSV_PLAIN || formatType == TFileFormatType.FORMAT_PARQUET)
+                && fileStatus.isSplitable;
+    }
+
     private TBrokerRangeDesc createBrokerRangeDesc(long curFileOffset, TBrokerFileStatus fileStatus,
                                                    TFileFormatType formatType, long rangeBytes,
                                                    List<String> columnsFromPath, int numberOfColumnsFromFile) {
@@ -659,11 +727,20 @@ public class FileScanNode extends LoadScanNode {
             } catch (AnalysisException e) {
                 throw new UserException(e.getMessage());
             }
-            processFileGroup(context, fileStatuses);
+            if (Config.enable_load_dynamic_split) {
+                processFileGroupBySplits(context, fileStatuses);
+            } else {
+                processFileGroup(context, fileStatuses);
+            }
         }
 
         // update numInstances
         numInstances = locationsList.size();
+        if (Config.enable_load_dynamic_split) {
+            // splits are pulled by the scan operators of an instance, so more instances than
+            // backends_size * parallelInstanceNum don't speed up the load
+            numInstances = Math.max(1, Math.min(numInstances, nodes.size() * parallelInstanceNum));
+        }
 
         if (LOG.isDebugEnabled()) {
             for (TScanRangeLocations locations : locationsList) {
@@ -677,6 +754,27 @@ public class FileScanNode extends LoadScanNode {
         }
     }
 
+    /**
+     * Number of scan ranges and bytes assigned to each backend
+     */
+    public String getScanRangeAssignment() {
+        Map<Long, Pair<Integer, Long>> backendToRanges = Maps.newTreeMap();
+        for (TScanRangeLocations locations : ListUtils.emptyIfNull(locationsList)) {
+            long bytes = 0;
+            for (TBrokerRangeDesc rangeDesc : brokerScanRange(locations).getRanges()) {
+                bytes += rangeDesc.size;
+            }
+            Pair<Integer, Long> ranges = backendToRanges.computeIfAbsent(locations.locations.get(0).backend_id,
+                    k -> Pair.create(0, 0L));
+            ranges.first++;
+            ranges.second += bytes;
+        }
+        return backendToRanges.entrySet().stream()
+                .map(e -> e.getKey() + ": " + e.getValue().first + " ranges, " +
+                        DebugUtil.getPrettyStringBytes(e.getValue().second))
+                .collect(Collectors.joining("; "));
+    }
+
     @Override
     protected void toThrift(TPlanNode msg) {
         msg.node_type = TPlanNodeType.FILE_SCAN_NODE;
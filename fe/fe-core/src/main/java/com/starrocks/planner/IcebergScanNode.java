@@ -64,10 +64,12 @@ import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.types.Types;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -199,8 +201,23 @@ public class IcebergScanNode extends ScanNode {
 
         Map<StructLike, Long> partitionKeyToId = Maps.newHashMap();
         Map<Long, List<Integer>> idToPartitionSlots = Maps.newHashMap();
+        // the tasks of a streaming scan are read from the manifests in the loop, each task can be released once
+        // its scan range is built
+        try (CloseableIterable<FileScanTask> tasks = remoteFileDesc.getIcebergScanTaskIterable()) {
+            buildScanRangeLocations(tasks, descTbl, partitionKeyToId, idToPartitionSlots);
+        } catch (IOException e) {
+            throw new StarRocksConnectorException("Failed to plan files of iceberg table %s: %s",
+                    icebergTable.getRemoteTableName(), e.getMessage());
+        }
+
+        scanNodePredicates.setSelectedPartitionIds(partitionKeyToId.values());
+    }
+
+    private void buildScanRangeLocations(Iterable<FileScanTask> tasks, DescriptorTable descTbl,
+                                         Map<StructLike, Long> partitionKeyToId,
+                                         Map<Long, List<Integer>> idToPartitionSlots) {
         List<Integer> currentEqualityIds = new ArrayList<>();
-        for (FileScanTask task : remoteFileDesc.getIcebergScanTasks()) {
+        for (FileScanTask task : tasks) {
             DataFile file = task.file();
             LOG.debug("Scan with file " + file.path() + ", file record count " + file.recordCount());
             if (file.fileSizeInBytes() == 0) {
@@ -301,8 +318,6 @@ public class IcebergScanNode extends ScanNode {
 
             result.add(scanRangeLocations);
         }
-
-        scanNodePredicates.setSelectedPartitionIds(partitionKeyToId.values());
     }
 
     private void prepareRequiredColumnsForDeletes(List<Integer> equalityIds) {
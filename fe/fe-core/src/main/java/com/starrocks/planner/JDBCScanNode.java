@@ -29,14 +29,21 @@ import com.starrocks.catalog.JDBCResource;
 import com.starrocks.catalog.JDBCTable;
 import com.starrocks.common.UserException;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.system.ComputeNode;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.TJDBCScanNode;
+import com.starrocks.thrift.TJDBCScanRange;
+import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TPlanNode;
 import com.starrocks.thrift.TPlanNodeType;
+import com.starrocks.thrift.TScanRange;
+import com.starrocks.thrift.TScanRangeLocation;
 import com.starrocks.thrift.TScanRangeLocations;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * full scan on JDBC table.
@@ -47,6 +54,9 @@ public class JDBCScanNode extends ScanNode {
     private final List<String> filters = new ArrayList<>();
     private String tableName;
     private JDBCTable table;
+    // the predicates of the ranges the scan is split into, each range is scanned by its own query
+    private List<String> splitPredicates = Lists.newArrayList();
+    private List<TScanRangeLocations> scanRangeLocations = Lists.newArrayList();
 
     public JDBCScanNode(PlanNodeId id, TupleDescriptor desc, JDBCTable tbl) {
         super(id, desc, "SCAN JDBC");
@@ -78,6 +88,14 @@ public class JDBCScanNode extends ScanNode {
         StringBuilder output = new StringBuilder();
         output.append(prefix).append("TABLE: ").append(tableName).append("\n");
         output.append(prefix).append("QUERY: ").append(getJDBCQueryStr()).append("\n");
+        if (!splitPredicates.isEmpty()) {
+            output.append(prefix).append("SPLIT RANGES: ").append(splitPredicates.size()).append("\n");
+            if (detailLevel == TExplainLevel.VERBOSE) {
+                for (String predicate : splitPredicates) {
+                    output.append(prefix).append("  ").append(predicate).append("\n");
+                }
+            }
+        }
         return output.toString();
     }
 
@@ -159,14 +177,58 @@ public class JDBCScanNode extends ScanNode {
         msg.jdbc_scan_node.setLimit(limit);
     }
 
+    /**
+     * Split the scan of the jdbc catalog table into ranges if the max parallelism of the table is greater than 1,
+     * the ranges are assigned to the alive backends and compute nodes in turn.
+     */
+    public void setupScanRangeLocations() throws UserException {
+        int maxParallelism = table.getScanMaxParallelism();
+        // the limit is applied to the query of each range, keep the single query to read only the limited rows
+        if (maxParallelism <= 1 || hasLimit()) {
+            return;
+        }
+        splitPredicates = GlobalStateMgr.getCurrentState().getMetadataMgr()
+                .getScanSplitPredicates(table.getCatalogName(), table, maxParallelism);
+        if (splitPredicates.isEmpty()) {
+            return;
+        }
+
+        List<ComputeNode> nodes = GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo()
+                .backendAndComputeNodeStream().filter(ComputeNode::isAlive).collect(Collectors.toList());
+        if (nodes.isEmpty()) {
+            throw new UserException("No Alive backends or compute nodes");
+        }
+        Collections.shuffle(nodes);
+        for (int i = 0; i < splitPredicates.size(); i++) {
+            TJDBCScanRange jdbcScanRange = new TJDBCScanRange();
+            jdbcScanRange.setFilter(splitPredicates.get(i));
+            TScanRange scanRange = new TScanRange();
+            scanRange.setJdbc_scan_range(jdbcScanRange);
+
+            ComputeNode node = nodes.get(i % nodes.size());
+            TScanRangeLocation location = new TScanRangeLocation();
+            location.setBackend_id(node.getId());
+            location.setServer(new TNetworkAddress(node.getHost(), node.getBePort()));
+
+            TScanRangeLocations locations = new TScanRangeLocations();
+            locations.setScan_range(scanRange);
+            locations.addToLocations(location);
+            scanRangeLocations.add(locations);
+        }
+    }
+
+    public boolean isSplit() {
+        return !scanRangeLocations.isEmpty();
+    }
+
     @Override
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
-        return null;
+        return isSplit() ? scanRangeLocations : null;
     }
 
     @Override
     public int getNumInstances() {
-        return 1;
+        return Math.max(1, scanRangeLocations.size());
     }
 
     @Override
@@ -491,6 +491,9 @@ public class OlapScanNode extends ScanNode {
         boolean fillDataCache = olapTable.isEnableFillDataCache(partition);
         selectedPartitionNames.add(partition.getName());
         selectedPartitionVersions.add(visibleVersion);
+        if (olapTable.isCloudNativeTableOrMaterializedView()) {
+            GlobalStateMgr.getCurrentState().getCompactionMgr().handlePartitionScanned(physicalPartition.getId());
+        }
 
         for (Tablet tablet : tablets) {
             long tabletId = tablet.getId();
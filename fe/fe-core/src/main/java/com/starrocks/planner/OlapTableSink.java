@@ -34,15 +34,21 @@
 
 package com.starrocks.planner;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 import com.starrocks.alter.SchemaChangeHandler;
+import com.starrocks.analysis.BinaryPredicate;
 import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.ExprSubstitutionMap;
+import com.starrocks.analysis.InPredicate;
 import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.NullLiteral;
 import com.starrocks.analysis.SlotDescriptor;
 import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.TableName;
@@ -62,12 +68,14 @@ import com.starrocks.catalog.MaterializedIndex.IndexExtState;
 import com.starrocks.catalog.MaterializedIndexMeta;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.PartitionInfo;
 import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.PartitionType;
 import com.starrocks.catalog.PhysicalPartition;
 import com.starrocks.catalog.RangePartitionInfo;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
@@ -116,6 +124,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
@@ -141,6 +150,8 @@ public class OlapTableSink extends DataSink {
     private TPartialUpdateMode partialUpdateMode;
     private long warehouseId = WarehouseManager.DEFAULT_WAREHOUSE_ID;
     private long automaticBucketSize = 0;
+    // predicates of the load, each row written by the sink satisfies at least one of them
+    private List<Expr> partitionPredicates;
 
     public OlapTableSink(OlapTable dstTable, TupleDescriptor tupleDescriptor, List<Long> partitionIds,
                          TWriteQuorumType writeQuorum, boolean enableReplicatedStorage,
@@ -249,8 +260,14 @@ public class OlapTableSink extends DataSink {
         tSink.setNum_replicas(numReplicas);
         tSink.setNeed_gen_rollup(dstTable.shouldLoadToNewRollup());
         tSink.setSchema(createSchema(tSink.getDb_id(), dstTable, tupleDescriptor));
+        List<Long> sinkPartitionIds = partitionIds;
+        if (canPrunePartitions(dstTable, partitionIds, partitionPredicates)) {
+            sinkPartitionIds = prunePartitionsByPredicates(dstTable, partitionIds, partitionPredicates);
+            LOG.debug("table {} sink carries {} of {} partitions", dstTable.getName(), sinkPartitionIds.size(),
+                    partitionIds.size());
+        }
         TOlapTablePartitionParam partitionParam = createPartition(tSink.getDb_id(), dstTable, tupleDescriptor,
-                enableAutomaticPartition, automaticBucketSize, partitionIds);
+                enableAutomaticPartition, automaticBucketSize, sinkPartitionIds);
         tSink.setPartition(partitionParam);
         tSink.setLocation(createLocation(dstTable, partitionParam, enableReplicatedStorage, warehouseId));
         tSink.setNodes_info(GlobalStateMgr.getCurrentState().createNodesInfo(warehouseId));
@@ -402,6 +419,185 @@ public class OlapTableSink extends DataSink {
         return distColumns;
     }
 
+    private static boolean canPrunePartitions(OlapTable table, List<Long> partitionIds, List<Expr> predicates) {
+        if (!Config.enable_olap_table_sink_partition_prune || predicates == null || predicates.isEmpty()
+                || partitionIds == null || partitionIds.size() <= Config.olap_table_sink_partition_prune_threshold) {
+            return false;
+        }
+        PartitionInfo partitionInfo = table.getPartitionInfo();
+        // the partition column of ExpressionRangePartitionInfoV2 is generated from other columns by an expression
+        if (partitionInfo instanceof ExpressionRangePartitionInfoV2) {
+            return false;
+        }
+        return partitionInfo.isRangePartition()
+                || (partitionInfo instanceof ListPartitionInfo && partitionInfo.getPartitionColumns().size() == 1);
+    }
+
+    /**
+     * Prune the partitions which can not contain any row satisfying the predicates of the load, eg: the where
+     * clause of a stream load. Each row satisfies at least one of the predicates. All partitions are returned if
+     * the predicates can not be used to prune, so the sink never misses a partition written by the load.
+     */
+    @VisibleForTesting
+    static List<Long> prunePartitionsByPredicates(OlapTable table, List<Long> partitionIds, List<Expr> predicates) {
+        Set<Long> selected = Sets.newHashSet();
+        try {
+            for (Expr predicate : predicates) {
+                Collection<Long> prunedIds = prunePartitionsByPredicate(table, partitionIds, predicate);
+                if (prunedIds == null) {
+                    return partitionIds;
+                }
+                selected.addAll(prunedIds);
+            }
+        } catch (AnalysisException e) {
+            LOG.debug("failed to prune partitions of table {} by {}", table.getName(), predicates, e);
+            return partitionIds;
+        }
+        if (selected.isEmpty()) {
+            return partitionIds;
+        }
+        for (Long partitionId : partitionIds) {
+            Partition partition = table.getPartition(partitionId);
+            // shadow partition of expression partition table is always needed
+            if (partition != null && partition.getName().startsWith(ExpressionRangePartitionInfo.SHADOW_PARTITION_PREFIX)) {
+                selected.add(partitionId);
+            }
+        }
+        return partitionIds.stream().filter(selected::contains).collect(Collectors.toList());
+    }
+
+    // return null if the partitions can not be pruned by the predicate
+    private static Collection<Long> prunePartitionsByPredicate(OlapTable table, List<Long> partitionIds,
+                                                               Expr predicate) throws AnalysisException {
+        PartitionInfo partitionInfo = table.getPartitionInfo();
+        List<Column> partitionColumns = partitionInfo.getPartitionColumns();
+        Map<String, PartitionColumnFilter> columnFilters = extractColumnFilters(partitionColumns, predicate);
+        if (columnFilters.isEmpty()) {
+            return null;
+        }
+        if (partitionInfo.isRangePartition()) {
+            RangePartitionInfo rangePartitionInfo = (RangePartitionInfo) partitionInfo;
+            Map<Long, Range<PartitionKey>> keyRangeById = new HashMap<>();
+            for (Long partitionId : partitionIds) {
+                Range<PartitionKey> range = rangePartitionInfo.getRange(partitionId);
+                if (range != null) {
+                    keyRangeById.put(partitionId, range);
+                }
+            }
+            return new RangePartitionPruner(keyRangeById, partitionColumns, columnFilters).prune();
+        }
+
+        // only values of the single partition column can be pruned for list partitions
+        PartitionColumnFilter filter = columnFilters.get(partitionColumns.get(0).getName());
+        List<LiteralExpr> values = filter.getInPredicateLiterals();
+        if (values == null && filter.isPoint()) {
+            values = Lists.newArrayList(filter.getLowerBound());
+        }
+        if (values == null) {
+            return null;
+        }
+        Map<LiteralExpr, Long> valueToPartitionIds = new TreeMap<>();
+        Map<Long, List<LiteralExpr>> literalExprValues = ((ListPartitionInfo) partitionInfo).getLiteralExprValues();
+        for (Long partitionId : partitionIds) {
+            for (LiteralExpr value : literalExprValues.getOrDefault(partitionId, Collections.emptyList())) {
+                valueToPartitionIds.put(value, partitionId);
+            }
+        }
+        Set<Long> selected = Sets.newHashSet();
+        for (LiteralExpr value : values) {
+            Long partitionId = valueToPartitionIds.get(value);
+            if (partitionId != null) {
+                selected.add(partitionId);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Extract the filters of partition columns from the conjuncts like `column op literal` or `column in (literals)`,
+     * the literals are casted to the types of partition columns.
+     */
+    private static Map<String, PartitionColumnFilter> extractColumnFilters(List<Column> partitionColumns,
+                                                                           Expr predicate) throws AnalysisException {
+        Map<String, Column> nameToColumn = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
+        for (Column column : partitionColumns) {
+            nameToColumn.put(column.getName(), column);
+        }
+        Map<String, PartitionColumnFilter> columnFilters = Maps.newHashMap();
+        for (Expr conjunct : Expr.extractConjuncts(predicate)) {
+            if (!(conjunct.getChild(0) instanceof SlotRef)) {
+                continue;
+            }
+            Column column = nameToColumn.get(((SlotRef) conjunct.getChild(0)).getColumnName());
+            if (column == null) {
+                continue;
+            }
+            if (conjunct instanceof BinaryPredicate) {
+                BinaryPredicate binaryPredicate = (BinaryPredicate) conjunct;
+                if (!(binaryPredicate.getChild(1) instanceof LiteralExpr)
+                        || binaryPredicate.getChild(1) instanceof NullLiteral) {
+                    continue;
+                }
+                LiteralExpr literalExpr = castLiteral((LiteralExpr) binaryPredicate.getChild(1), column.getType());
+                PartitionColumnFilter filter = columnFilters.getOrDefault(column.getName(), new PartitionColumnFilter());
+                switch (binaryPredicate.getOp()) {
+                    case EQ:
+                        filter.setLowerBound(literalExpr, true);
+                        filter.setUpperBound(literalExpr, true);
+                        break;
+                    case LE:
+                        filter.setUpperBound(literalExpr, true);
+                        filter.lowerBoundInclusive = true;
+                        break;
+                    case LT:
+                        filter.setUpperBound(literalExpr, false);
+                        filter.lowerBoundInclusive = true;
+                        break;
+                    case GE:
+                        filter.setLowerBound(literalExpr, true);
+                        break;
+                    case GT:
+                        filter.setLowerBound(literalExpr, false);
+                        break;
+                    default:
+                        continue;
+                }
+                columnFilters.put(column.getName(), filter);
+            } else if (conjunct instanceof InPredicate && !((InPredicate) conjunct).isNotIn()) {
+                List<LiteralExpr> literals = Lists.newArrayList();
+                for (int i = 1; i < conjunct.getChildren().size(); i++) {
+                    Expr child = conjunct.getChild(i);
+                    if (!(child instanceof LiteralExpr) || child instanceof NullLiteral) {
+                        literals = null;
+                        break;
+                    }
+                    literals.add(castLiteral((LiteralExpr) child, column.getType()));
+                }
+                if (literals != null) {
+                    PartitionColumnFilter filter = columnFilters.getOrDefault(column.getName(),
+                            new PartitionColumnFilter());
+                    filter.setInPredicateLiterals(literals);
+                    columnFilters.put(column.getName(), filter);
+                }
+            }
+        }
+        return columnFilters;
+    }
+
+    private static LiteralExpr castLiteral(LiteralExpr literal, Type type) throws AnalysisException {
+        String value = literal.getStringValue();
+        LiteralExpr casted = LiteralExpr.create(value, type);
+        // a datetime value is truncated when it's casted to date, which changes the result of the predicate
+        if (type.isDate() && !casted.getStringValue().equals(value.trim())) {
+            throw new AnalysisException("can not cast " + value + " to " + type + " exactly");
+        }
+        return casted;
+    }
+
+    public void setPartitionPredicates(List<Expr> partitionPredicates) {
+        this.partitionPredicates = partitionPredicates;
+    }
+
     public static boolean skipImmutablePartition(PhysicalPartition physicalPartition, long automaticBucketSize) {
         if (physicalPartition.isImmutable()) {
             return true;
@@ -220,6 +220,9 @@ public class StreamLoadPlanner {
         Load.checkMergeCondition(streamLoadInfo.getMergeConditionStr(), destTable, destColumns,
                 olapTableSink.missAutoIncrementColumn());
         olapTableSink.setPartialUpdateMode(streamLoadInfo.getPartialUpdateMode());
+        if (streamLoadInfo.getWhereExpr() != null) {
+            olapTableSink.setPartitionPredicates(Lists.newArrayList(streamLoadInfo.getWhereExpr()));
+        }
         olapTableSink.complete(streamLoadInfo.getMergeConditionStr());
 
         // for stream load, we only need one fragment, ScanNode -> DataSink.
@@ -66,6 +66,9 @@ import java.util.Set;
  * <p>
  * If force_schedule_local variable is set, HybridBackendSelector will force to
  * assign scan ranges to local backend if there has one.
+ * <p>
+ * If hdfs_backend_selector_load_aware variable is set, the remote scan ranges are limited by the load
+ * of the compute nodes, and spilled to the least used node if all the hash candidates are full.
  */
 
 public class HDFSBackendSelector implements BackendSelector {
@@ -74,8 +77,13 @@ public class HDFSBackendSelector implements BackendSelector {
     Map<ComputeNode, Long> assignedScansPerComputeNode = Maps.newHashMap();
     // be -> re-balance bytes
     Map<ComputeNode, Long> reBalanceBytesPerComputeNode = Maps.newHashMap();
+    // be -> max scan bytes, only used by the load aware assignment
+    Map<ComputeNode, Long> maxScansPerComputeNode = Maps.newHashMap();
     // be host -> bes
     Multimap<String, ComputeNode> hostToBackends = HashMultimap.create();
+    // bytes assigned to the first candidate of the hash ring, whose data cache is most likely to hold them
+    private long cacheAffinityBytes = 0;
+    private long remoteScanBytes = 0;
     private final ScanNode scanNode;
     private final List<TScanRangeLocations> locations;
     private final FragmentScanRangeAssignment assignment;
@@ -87,6 +95,10 @@ public class HDFSBackendSelector implements BackendSelector {
     // and the largest scan data is not more than 1.1 times of the average value
     private final double kMaxImbalanceRatio = 1.1;
     public static final int CONSISTENT_HASH_RING_VIRTUAL_NUMBER = 256;
+    // The load weight of a compute node is limited to this range, so that an idle node gets at most 2 times
+    // of the average scan bytes and a busy node gets at least half of it.
+    private static final double kMinLoadWeight = 0.5;
+    private static final double kMaxLoadWeight = 2.0;
 
     class HdfsScanRangeHasher {
         String basePath;
@@ -181,6 +193,53 @@ public class HDFSBackendSelector implements BackendSelector {
         return node;
     }
 
+    // The load of a compute node is its running queries plus its busy cpu cores reported by the heartbeat
+    @VisibleForTesting
+    static double getComputeNodeLoad(ComputeNode computeNode) {
+        return computeNode.getNumRunningQueries() + computeNode.getCpuUsedPermille() / 1000.0;
+    }
+
+    // Split the total scan bytes by the load weights of the compute nodes. Each node can get at most
+    // kMaxImbalanceRatio times of its share, except the last scan range assigned to it.
+    private void computeMaxScansPerComputeNode(long totalSize) {
+        Collection<ComputeNode> nodes = assignedScansPerComputeNode.keySet();
+        double avgLoad = nodes.stream().mapToDouble(HDFSBackendSelector::getComputeNodeLoad).average().orElse(0);
+        Map<ComputeNode, Double> weights = Maps.newHashMap();
+        double totalWeight = 0;
+        for (ComputeNode node : nodes) {
+            double weight = (avgLoad + 1) / (getComputeNodeLoad(node) + 1);
+            weight = Math.max(kMinLoadWeight, Math.min(kMaxLoadWeight, weight));
+            weights.put(node, weight);
+            totalWeight += weight;
+        }
+        for (ComputeNode node : nodes) {
+            long maxScans = (long) (totalSize * weights.get(node) / totalWeight * kMaxImbalanceRatio) + 1;
+            maxScansPerComputeNode.put(node, maxScans);
+        }
+    }
+
+    // Assign the scan range to the first hash candidate which is not full, so the data cache of the candidates
+    // is used as much as possible. If all the candidates are full, spill it to the node with the lowest usage.
+    private ComputeNode selectLoadAwareComputeNode(List<ComputeNode> backends, TScanRangeLocations scanRangeLocations) {
+        long addedScans = scanRangeLocations.scan_range.hdfs_scan_range.length;
+        for (ComputeNode backend : backends) {
+            if (assignedScansPerComputeNode.get(backend) + addedScans <= maxScansPerComputeNode.get(backend)) {
+                return backend;
+            }
+        }
+
+        ComputeNode node = null;
+        double minUsage = Double.MAX_VALUE;
+        for (Map.Entry<ComputeNode, Long> entry : maxScansPerComputeNode.entrySet()) {
+            double usage = (double) (assignedScansPerComputeNode.get(entry.getKey()) + addedScans) / entry.getValue();
+            if (usage < minUsage) {
+                minUsage = usage;
+                node = entry.getKey();
+            }
+        }
+        return node;
+    }
+
     class ComputeNodeFunnel implements Funnel<ComputeNode> {
         @Override
         public void funnel(ComputeNode computeNode, PrimitiveSink primitiveSink) {
@@ -272,14 +331,25 @@ public class HDFSBackendSelector implements BackendSelector {
         if (shuffleScanRange) {
             Collections.shuffle(remoteScanRangeLocations);
         }
+        boolean loadAware = ConnectContext.get() != null &&
+                ConnectContext.get().getSessionVariable().isHdfsBackendSelectorLoadAware();
+        if (loadAware) {
+            computeMaxScansPerComputeNode(totalSize);
+        }
         // assign scan ranges.
         for (int i = 0; i < remoteScanRangeLocations.size(); ++i) {
             TScanRangeLocations scanRangeLocations = remoteScanRangeLocations.get(i);
             List<ComputeNode> backends = hashRing.get(scanRangeLocations, kCandidateNumber);
-            ComputeNode node = reBalanceScanRangeForComputeNode(backends, avgNodeScanRangeBytes, scanRangeLocations);
+            ComputeNode node = loadAware ? selectLoadAwareComputeNode(backends, scanRangeLocations) :
+                    reBalanceScanRangeForComputeNode(backends, avgNodeScanRangeBytes, scanRangeLocations);
             if (node == null) {
                 throw new RuntimeException("Failed to find backend to execute");
             }
+            long addedScans = scanRangeLocations.scan_range.hdfs_scan_range.length;
+            remoteScanBytes += addedScans;
+            if (node == backends.get(0)) {
+                cacheAffinityBytes += addedScans;
+            }
             recordScanRangeAssignment(node, backends, scanRangeLocations);
         }
 
@@ -319,5 +389,10 @@ public class HDFSBackendSelector implements BackendSelector {
             sb.append(entry.getKey().getAddress().hostname).append(":").append(entry.getValue()).append(",");
         }
         Tracers.record(Tracers.Module.EXTERNAL, scanNode.getTableName() + " rebalance_bytes", sb.toString());
+        // the scan ranges not assigned to their first candidate are likely to miss the data cache
+        if (remoteScanBytes > 0) {
+            Tracers.record(Tracers.Module.EXTERNAL, scanNode.getTableName() + " cache_affinity_ratio",
+                    String.format("%.2f", (double) cacheAffinityBytes / remoteScanBytes));
+        }
     }
 }
\ No newline at end of file
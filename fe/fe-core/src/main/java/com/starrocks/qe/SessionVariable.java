@@ -312,6 +312,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
             "cbo_materialized_view_rewrite_candidate_limit";
     public static final String CBO_MATERIALIZED_VIEW_REWRITE_RELATED_MVS_LIMIT =
             "cbo_materialized_view_rewrite_related_mvs_limit";
+    public static final String ENABLE_MATERIALIZED_VIEW_REWRITE_SIGNATURE_PRUNE =
+            "enable_materialized_view_rewrite_signature_prune";
 
     public static final String CBO_MAX_REORDER_NODE_USE_EXHAUSTIVE = "cbo_max_reorder_node_use_exhaustive";
     public static final String CBO_ENABLE_DP_JOIN_REORDER = "cbo_enable_dp_join_reorder";
@@ -394,6 +396,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
 
     public static final String ENABLE_ICEBERG_COLUMN_STATISTICS = "enable_iceberg_column_statistics";
 
+    public static final String ENABLE_ICEBERG_STREAMING_SCAN_RANGE = "enable_iceberg_streaming_scan_range";
+
     public static final String ENABLE_HIVE_COLUMN_STATS = "enable_hive_column_stats";
 
     public static final String ENABLE_WRITE_HIVE_EXTERNAL_TABLE = "enable_write_hive_external_table";
@@ -482,6 +486,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String NESTED_MV_REWRITE_MAX_LEVEL = "nested_mv_rewrite_max_level";
     public static final String ENABLE_MATERIALIZED_VIEW_REWRITE = "enable_materialized_view_rewrite";
     public static final String ENABLE_MATERIALIZED_VIEW_UNION_REWRITE = "enable_materialized_view_union_rewrite";
+    public static final String ENABLE_MATERIALIZED_VIEW_DELTA_REFRESH = "enable_materialized_view_delta_refresh";
+    public static final String ENABLE_BINLOG_BATCH_SCAN = "enable_binlog_batch_scan";
     public static final String MATERIALIZED_VIEW_UNION_REWRITE_MODE = "materialized_view_union_rewrite_mode";
     public static final String ENABLE_MATERIALIZED_VIEW_REWRITE_PARTITION_COMPENSATE =
             "enable_materialized_view_rewrite_partition_compensate";
@@ -655,6 +661,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
 
     public static final String CONSISTENT_HASH_VIRTUAL_NUMBER = "consistent_hash_virtual_number";
 
+    public static final String HDFS_BACKEND_SELECTOR_LOAD_AWARE = "hdfs_backend_selector_load_aware";
+
     public static final String ENABLE_COLLECT_TABLE_LEVEL_SCAN_STATS = "enable_collect_table_level_scan_stats";
 
     public static final String HIVE_TEMP_STAGING_DIR = "hive_temp_staging_dir";
@@ -1372,6 +1380,10 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = CONSISTENT_HASH_VIRTUAL_NUMBER, flag = VariableMgr.INVISIBLE)
     private int consistentHashVirtualNodeNum = 256;
 
+    // assign the scan ranges of external tables by the load of the compute nodes besides the cache affinity
+    @VariableMgr.VarAttr(name = HDFS_BACKEND_SELECTOR_LOAD_AWARE, flag = VariableMgr.INVISIBLE)
+    private boolean hdfsBackendSelectorLoadAware = false;
+
     // binary, json, compact,
     @VarAttr(name = THRIFT_PLAN_PROTOCOL)
     private String thriftPlanProtocol = "binary";
@@ -1589,6 +1601,19 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = ENABLE_MATERIALIZED_VIEW_UNION_REWRITE)
     private boolean enableMaterializedViewUnionRewrite = true;
 
+    /**
+     * Whether to refresh materialized view by only applying the binlog of changed base table instead of
+     * recomputing the whole partitions, it falls back to partition refresh if the materialized view is not
+     * applicable, see {@code MVDeltaRefreshPlanner} for more details.
+     */
+    @VarAttr(name = ENABLE_MATERIALIZED_VIEW_DELTA_REFRESH)
+    private boolean enableMaterializedViewDeltaRefresh = false;
+
+    // Only set by the delta refresh of materialized view to plan its `[_BINLOG_]` scans as binlog scans in
+    // a batch query, other queries read the table as usual.
+    @VarAttr(name = ENABLE_BINLOG_BATCH_SCAN, flag = VariableMgr.INVISIBLE)
+    private boolean enableBinlogBatchScan = false;
+
     /**
      * see {@code MaterializedViewUnionRewriteMode} for more details.
      */
@@ -1667,6 +1692,12 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = CBO_MATERIALIZED_VIEW_REWRITE_RELATED_MVS_LIMIT, flag = VariableMgr.INVISIBLE)
     private int cboMaterializedViewRewriteRelatedMVsLimit = 64;
 
+    /**
+     * Whether to prune related MVs by their plan signatures before preprocessing them for rewrite.
+     */
+    @VarAttr(name = ENABLE_MATERIALIZED_VIEW_REWRITE_SIGNATURE_PRUNE, flag = VariableMgr.INVISIBLE)
+    private boolean enableMaterializedViewRewriteSignaturePrune = true;
+
     @VarAttr(name = QUERY_EXCLUDING_MV_NAMES, flag = VariableMgr.INVISIBLE)
     private String queryExcludingMVNames = "";
 
@@ -1858,6 +1889,12 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = ENABLE_ICEBERG_COLUMN_STATISTICS)
     private boolean enableIcebergColumnStatistics = false;
 
+    // If true, the files of an iceberg scan are planned only once when the scan ranges are built, and each file
+    // scan task is converted to a scan range as soon as it is read from the manifests, the cardinality of the scan
+    // is estimated by the snapshot summary.
+    @VarAttr(name = ENABLE_ICEBERG_STREAMING_SCAN_RANGE)
+    private boolean enableIcebergStreamingScanRange = false;
+
     @VarAttr(name = SKEW_JOIN_RAND_RANGE, flag = VariableMgr.INVISIBLE)
     private int skewJoinRandRange = 1000;
 
@@ -1947,6 +1984,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.enableIcebergColumnStatistics = enableIcebergColumnStatistics;
     }
 
+    public boolean enableIcebergStreamingScanRange() {
+        return enableIcebergStreamingScanRange;
+    }
+
+    public void setEnableIcebergStreamingScanRange(boolean enableIcebergStreamingScanRange) {
+        this.enableIcebergStreamingScanRange = enableIcebergStreamingScanRange;
+    }
+
     public boolean isCboPredicateSubfieldPath() {
         return cboPredicateSubfieldPath;
     }
@@ -2290,6 +2335,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.consistentHashVirtualNodeNum = consistentHashVirtualNodeNum;
     }
 
+    public boolean isHdfsBackendSelectorLoadAware() {
+        return hdfsBackendSelectorLoadAware;
+    }
+
+    public void setHdfsBackendSelectorLoadAware(boolean hdfsBackendSelectorLoadAware) {
+        this.hdfsBackendSelectorLoadAware = hdfsBackendSelectorLoadAware;
+    }
+
     // when pipeline engine is enabled
     // in case of pipeline_dop > 0: return pipeline_dop * parallelExecInstanceNum;
     // in case of pipeline_dop <= 0 and avgNumCores < 2: return 1;
@@ -3087,6 +3140,22 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.enableMaterializedViewUnionRewrite = enableMaterializedViewUnionRewrite;
     }
 
+    public boolean isEnableMaterializedViewDeltaRefresh() {
+        return enableMaterializedViewDeltaRefresh;
+    }
+
+    public void setEnableMaterializedViewDeltaRefresh(boolean enableMaterializedViewDeltaRefresh) {
+        this.enableMaterializedViewDeltaRefresh = enableMaterializedViewDeltaRefresh;
+    }
+
+    public boolean isEnableBinlogBatchScan() {
+        return enableBinlogBatchScan;
+    }
+
+    public void setEnableBinlogBatchScan(boolean enableBinlogBatchScan) {
+        this.enableBinlogBatchScan = enableBinlogBatchScan;
+    }
+
     public int getMaterializedViewUnionRewriteMode() {
         return materializedViewUnionRewriteMode;
     }
@@ -3229,6 +3298,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.cboMaterializedViewRewriteRelatedMVsLimit = cboMaterializedViewRewriteRelatedMVsLimit;
     }
 
+    public boolean isEnableMaterializedViewRewriteSignaturePrune() {
+        return enableMaterializedViewRewriteSignaturePrune;
+    }
+
+    public void setEnableMaterializedViewRewriteSignaturePrune(boolean enableMaterializedViewRewriteSignaturePrune) {
+        this.enableMaterializedViewRewriteSignaturePrune = enableMaterializedViewRewriteSignaturePrune;
+    }
+
     public String getQueryExcludingMVNames() {
         return queryExcludingMVNames;
     }
@@ -0,0 +1,73 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.starrocks.catalog.MvId;
+import com.starrocks.common.util.DecayingRate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The recent query usage of materialized views which is used by {@link TaskRunSchedulePolicy} to refresh
+ * frequently queried materialized views first. Each query decays with a half-life of an hour, unlike the
+ * query metrics of materialized views, the usage is not reset periodically.
+ */
+public class MvQueryUsage {
+    private static final MvQueryUsage INSTANCE = new MvQueryUsage();
+
+    @VisibleForTesting
+    static final long HALF_LIFE_MS = 3600 * 1000L;
+    // the usage which has decayed below this value is removed, e.g. the usage of dropped materialized views
+    private static final double MIN_USAGE = 0.01;
+
+    private final Map<MvId, DecayingRate> usages = new ConcurrentHashMap<>();
+    private volatile long lastPruneTimeMs = 0;
+
+    @VisibleForTesting
+    MvQueryUsage() {
+    }
+
+    public static MvQueryUsage getInstance() {
+        return INSTANCE;
+    }
+
+    public void recordQuery(MvId mvId, long nowMs) {
+        usages.computeIfAbsent(mvId, k -> new DecayingRate(HALF_LIFE_MS)).add(1, nowMs);
+    }
+
+    public double getUsage(MvId mvId, long nowMs) {
+        DecayingRate usage = usages.get(mvId);
+        return usage == null ? 0 : usage.get(nowMs);
+    }
+
+    /**
+     * Remove the usages which have decayed away, it's done at most once per half-life.
+     */
+    public void pruneIfNeeded(long nowMs) {
+        if (nowMs - lastPruneTimeMs < HALF_LIFE_MS) {
+            return;
+        }
+        lastPruneTimeMs = nowMs;
+        usages.entrySet().removeIf(entry -> entry.getValue().get(nowMs) < MIN_USAGE);
+    }
+
+    @VisibleForTesting
+    void clear() {
+        usages.clear();
+        lastPruneTimeMs = 0;
+    }
+}
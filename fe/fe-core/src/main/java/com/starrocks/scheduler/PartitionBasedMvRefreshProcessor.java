@@ -74,8 +74,10 @@ import com.starrocks.planner.HdfsScanNode;
 import com.starrocks.planner.OlapScanNode;
 import com.starrocks.planner.ScanNode;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.QueryState;
 import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.StmtExecutor;
+import com.starrocks.scheduler.mv.MVDeltaRefreshPlanner;
 import com.starrocks.scheduler.persist.MVTaskRunExtraMessage;
 import com.starrocks.scheduler.persist.TaskRunStatus;
 import com.starrocks.server.GlobalStateMgr;
@@ -303,8 +305,14 @@ public class PartitionBasedMvRefreshProcessor extends BaseTaskRunProcessor {
             }
         }
 
-        // refresh materialized view
-        doRefreshMaterializedViewWithRetry(mvToRefreshedPartitions, refTablePartitionNames);
+        // refresh materialized view, try to apply the changes of base tables only if possible
+        long startExecTs = System.currentTimeMillis();
+        if (doDeltaRefreshMaterializedView(context, mvToRefreshedPartitions, mvEntity)) {
+            mvEntity.updateDeltaRefreshDuration(System.currentTimeMillis() - startExecTs);
+        } else {
+            doRefreshMaterializedViewWithRetry(mvToRefreshedPartitions, refTablePartitionNames);
+            mvEntity.updatePartitionRefreshDuration(System.currentTimeMillis() - startExecTs);
+        }
 
         // insert execute successfully, update the meta of materialized view according to ExecPlan
         updateMeta(mvToRefreshedPartitions, mvContext.getExecPlan(), refTableRefreshPartitions);
@@ -377,6 +385,70 @@ public class PartitionBasedMvRefreshProcessor extends BaseTaskRunProcessor {
         }
     }
 
+    /**
+     * Refresh the materialized view by applying the binlog of the changed base table, see {@link MVDeltaRefreshPlanner}.
+     *
+     * @return true if refreshed successfully, false if the caller should fall back to the partition refresh
+     */
+    private boolean doDeltaRefreshMaterializedView(TaskRunContext context,
+                                                   Set<String> mvToRefreshedPartitions,
+                                                   MaterializedViewMetricsEntity mvEntity) {
+        ConnectContext ctx = mvContext.getCtx();
+        if (!ctx.getSessionVariable().isEnableMaterializedViewDeltaRefresh()) {
+            return false;
+        }
+        Map<String, String> properties = context.getProperties();
+        if (mvContext.hasNextBatchPartition() || Boolean.parseBoolean(properties.get(TaskRun.FORCE)) ||
+                properties.get(TaskRun.PARTITION_START) != null || properties.get(TaskRun.PARTITION_END) != null) {
+            LOG.info("Skip delta refresh of materialized view {} because only part of partitions are refreshed",
+                    materializedView.getName());
+            mvEntity.increaseDeltaRefreshFallbackCount();
+            return false;
+        }
+
+        try {
+            MVDeltaRefreshPlanner planner = new MVDeltaRefreshPlanner(materializedView, db, snapshotBaseTables, ctx);
+            InsertStmt insertStmt = planner.plan(mvToRefreshedPartitions);
+            if (insertStmt == null) {
+                LOG.info("Delta refresh is not applicable for materialized view {}: {}",
+                        materializedView.getName(), planner.getNotApplicableReason());
+                mvEntity.increaseDeltaRefreshFallbackCount();
+                return false;
+            }
+
+            prepareRefreshContext(ctx);
+            ctx.getSessionVariable().setEnableMaterializedViewRewrite(false);
+            // the `[_BINLOG_]` scans of the delta statement are only planned as binlog scans in this path
+            ctx.getSessionVariable().setEnableBinlogBatchScan(true);
+            try {
+                insertStmt = planRefreshStmt(insertStmt, ctx, stmt -> {
+                    Analyzer.analyze(stmt, ctx);
+                    return stmt;
+                });
+            } finally {
+                ctx.getSessionVariable().setEnableBinlogBatchScan(false);
+            }
+            LOG.info("MV Delta Refresh Final Plan, mv: {}, MV PartitionsToRefresh: {}",
+                    materializedView.getName(), String.join(",", mvToRefreshedPartitions));
+
+            ctx.getState().reset();
+            refreshMaterializedView(mvContext, mvContext.getExecPlan(), insertStmt);
+            if (ctx.getState().getStateType() == QueryState.MysqlStateType.ERR) {
+                throw new DmlException("delta refresh failed: %s", ctx.getState().getErrorMessage());
+            }
+            mvEntity.increaseDeltaRefreshJobCount();
+            return true;
+        } catch (Exception e) {
+            // The partition refresh overwrites the partitions, so it's safe to fall back even if the delta has
+            // been applied partially.
+            LOG.warn("Delta refresh materialized view {} failed, fall back to partition refresh",
+                    materializedView.getName(), e);
+            mvEntity.increaseDeltaRefreshFallbackCount();
+            ctx.getState().reset();
+            return false;
+        }
+    }
+
     private void doRefreshMaterializedView(Set<String> mvToRefreshedPartitions,
                                            Map<String, Set<String>> refTablePartitionNames) throws Exception {
         // Unlock current database and acquire lock for all databases referenced by the plan
@@ -390,56 +462,75 @@ public class PartitionBasedMvRefreshProcessor extends BaseTaskRunProcessor {
      */
     private InsertStmt prepareRefreshPlan(Set<String> mvToRefreshedPartitions,
                                           Map<String, Set<String>> refTablePartitionNames) throws AnalysisException {
-        // 1. Prepare context
+        // 1. Prepare context and variables
         ConnectContext ctx = mvContext.getCtx();
+        prepareRefreshContext(ctx);
+
+        // 2. AST
+        InsertStmt insertStmt = generateInsertAst(mvToRefreshedPartitions, materializedView, ctx);
+
+        // 3. Analyze and prepare partition
+        insertStmt = planRefreshStmt(insertStmt, ctx,
+                stmt -> analyzeInsertStmt(stmt, refTablePartitionNames, materializedView, ctx));
+        ExecPlan execPlan = mvContext.getExecPlan();
+
+        QueryDebugOptions debugOptions = ctx.getSessionVariable().getQueryDebugOptions();
+        // log the final mv refresh plan for each refresh for better trace and debug
+        if (LOG.isDebugEnabled() || debugOptions.isEnableQueryTraceLog()) {
+            LOG.info("MV Refresh Final Plan" +
+                            "\nMV: {}" +
+                            "\nMV PartitionsToRefresh: {}" +
+                            "\nBase PartitionsToScan: {}" +
+                            "\nInsert Plan:\n{}",
+                    materializedView.getName(),
+                    String.join(",", mvToRefreshedPartitions), refTablePartitionNames,
+                    execPlan.getExplainString(StatementBase.ExplainLevel.VERBOSE));
+        } else {
+            LOG.info("MV Refresh Final Plan, mv: {}, MV PartitionsToRefresh: {}, Base PartitionsToScan: {}",
+                    materializedView.getName(), String.join(",", mvToRefreshedPartitions), refTablePartitionNames);
+        }
+
+        return insertStmt;
+    }
+
+    private interface RefreshStmtAnalyzer {
+        InsertStmt analyze(InsertStmt insertStmt) throws AnalysisException;
+    }
+
+    private void prepareRefreshContext(ConnectContext ctx) {
         ctx.getAuditEventBuilder().reset();
         ctx.getAuditEventBuilder()
                 .setTimestamp(System.currentTimeMillis())
                 .setClientIp(mvContext.getRemoteIp())
                 .setUser(ctx.getQualifiedUser())
                 .setDb(ctx.getDatabase());
-
-        // 2. Prepare variables
         changeDefaultConnectContextIfNeeded(ctx);
+    }
 
-        // 3. AST
-        InsertStmt insertStmt = generateInsertAst(mvToRefreshedPartitions, materializedView, ctx);
-
-        // 4. Analyze and prepare partition
+    /**
+     * Analyze and plan the refresh statement with the referenced databases locked, the plan is set to the mv context.
+     *
+     * @return the analyzed statement
+     */
+    private InsertStmt planRefreshStmt(InsertStmt insertStmt, ConnectContext ctx, RefreshStmtAnalyzer analyzer)
+            throws AnalysisException {
         List<Database> dbs = Lists.newArrayList(AnalyzerUtils.collectAllDatabase(ctx, insertStmt).values());
         Locker locker = new Locker();
-        ExecPlan execPlan = null;
+        ExecPlan execPlan;
         try {
             locker.lockDatabases(dbs, LockType.READ);
 
-            insertStmt = analyzeInsertStmt(insertStmt, refTablePartitionNames, materializedView, ctx);
+            insertStmt = analyzer.analyze(insertStmt);
             // Must set execution id before StatementPlanner.plan
             ctx.setExecutionId(UUIDUtil.toTUniqueId(ctx.getQueryId()));
             execPlan = StatementPlanner.plan(insertStmt, ctx);
         } catch (Throwable e) {
-            LOG.warn("prepareRefreshPlan for mv {} failed", materializedView.getName(), e);
+            LOG.warn("plan refresh statement for mv {} failed", materializedView.getName(), e);
             throw e;
         } finally {
             locker.unlockDatabases(dbs, LockType.READ);
         }
-
-        QueryDebugOptions debugOptions = ctx.getSessionVariable().getQueryDebugOptions();
-        // log the final mv refresh plan for each refresh for better trace and debug
-        if (LOG.isDebugEnabled() || debugOptions.isEnableQueryTraceLog()) {
-            LOG.info("MV Refresh Final Plan" +
-                            "\nMV: {}" +
-                            "\nMV PartitionsToRefresh: {}" +
-                            "\nBase PartitionsToScan: {}" +
-                            "\nInsert Plan:\n{}",
-                    materializedView.getName(),
-                    String.join(",", mvToRefreshedPartitions), refTablePartitionNames,
-                    execPlan.getExplainString(StatementBase.ExplainLevel.VERBOSE));
-        } else {
-            LOG.info("MV Refresh Final Plan, mv: {}, MV PartitionsToRefresh: {}, Base PartitionsToScan: {}",
-                    materializedView.getName(), String.join(",", mvToRefreshedPartitions), refTablePartitionNames);
-        }
         mvContext.setExecPlan(execPlan);
-
         return insertStmt;
     }
 
@@ -16,6 +16,7 @@
 package com.starrocks.scheduler;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.gson.JsonObject;
@@ -34,6 +35,7 @@ import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.Future;
@@ -215,35 +217,72 @@ public class TaskRunManager implements MemoryTrackable {
     // schedule the pending TaskRun that can be run into running TaskRun map
     public void scheduledPendingTaskRun() {
         int currentRunning = runningTaskRunMap.size();
+        if (currentRunning >= Config.task_runs_concurrency) {
+            return;
+        }
 
+        // only the head of each task's pending queue can be scheduled, since each task only supports 1 running taskRun
+        List<TaskRun> candidates = Lists.newArrayList();
+        List<TaskRun> pendingTaskRuns = Lists.newArrayList();
         Iterator<Long> pendingIterator = pendingTaskRunMap.keySet().iterator();
         while (pendingIterator.hasNext()) {
             Long taskId = pendingIterator.next();
-            TaskRun runningTaskRun = runningTaskRunMap.get(taskId);
-            if (runningTaskRun == null) {
-                Queue<TaskRun> taskRunQueue = pendingTaskRunMap.get(taskId);
-                if (taskRunQueue == null) {
-                    continue;
-                }
-                if (taskRunQueue.size() == 0) {
-                    pendingIterator.remove();
-                } else {
-                    if (currentRunning >= Config.task_runs_concurrency) {
-                        break;
-                    }
-                    TaskRun pendingTaskRun = taskRunQueue.poll();
-                    if (taskRunExecutor.executeTaskRun(pendingTaskRun)) {
-                        LOG.info("start to schedule pending task run to execute: {}", pendingTaskRun);
-                        runningTaskRunMap.put(taskId, pendingTaskRun);
-                        // RUNNING state persistence is for FE FOLLOWER update state
-                        TaskRunStatusChange statusChange = new TaskRunStatusChange(taskId, pendingTaskRun.getStatus(),
-                                Constants.TaskRunState.PENDING, Constants.TaskRunState.RUNNING);
-                        GlobalStateMgr.getCurrentState().getEditLog().logUpdateTaskRun(statusChange);
-                        currentRunning++;
-                    } else {
-                        LOG.warn("failed to scheduled task-run {}", pendingTaskRun);
-                    }
-                }
+            Queue<TaskRun> taskRunQueue = pendingTaskRunMap.get(taskId);
+            if (taskRunQueue == null) {
+                continue;
+            }
+            if (taskRunQueue.size() == 0) {
+                pendingIterator.remove();
+                continue;
+            }
+            pendingTaskRuns.addAll(taskRunQueue);
+            TaskRun head = taskRunQueue.peek();
+            if (head != null && !runningTaskRunMap.containsKey(taskId)) {
+                candidates.add(head);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        TaskRunSchedulePolicy policy = new TaskRunSchedulePolicy(System.currentTimeMillis(), pendingTaskRuns,
+                runningTaskRunMap.values());
+        Map<String, Integer> groupRunning = Maps.newHashMap();
+        for (TaskRun runningTaskRun : runningTaskRunMap.values()) {
+            groupRunning.merge(policy.getConcurrencyGroup(runningTaskRun), 1, Integer::sum);
+        }
+
+        for (TaskRun candidate : policy.sort(candidates)) {
+            if (currentRunning >= Config.task_runs_concurrency) {
+                break;
+            }
+            if (policy.isWaitingForBaseMvs(candidate)) {
+                LOG.debug("task run {} waits for the refresh of its base materialized views", candidate);
+                continue;
+            }
+            String group = policy.getConcurrencyGroup(candidate);
+            if (!group.isEmpty() && Config.task_runs_concurrency_per_resource_group > 0 &&
+                    groupRunning.getOrDefault(group, 0) >= Config.task_runs_concurrency_per_resource_group) {
+                continue;
+            }
+            long taskId = candidate.getTaskId();
+            Queue<TaskRun> taskRunQueue = pendingTaskRunMap.get(taskId);
+            // the queue may be changed by submitting or killing concurrently, schedule the latest head instead
+            TaskRun pendingTaskRun = taskRunQueue == null ? null : taskRunQueue.poll();
+            if (pendingTaskRun == null) {
+                continue;
+            }
+            if (taskRunExecutor.executeTaskRun(pendingTaskRun)) {
+                LOG.info("start to schedule pending task run to execute: {}", pendingTaskRun);
+                runningTaskRunMap.put(taskId, pendingTaskRun);
+                // RUNNING state persistence is for FE FOLLOWER update state
+                TaskRunStatusChange statusChange = new TaskRunStatusChange(taskId, pendingTaskRun.getStatus(),
+                        Constants.TaskRunState.PENDING, Constants.TaskRunState.RUNNING);
+                GlobalStateMgr.getCurrentState().getEditLog().logUpdateTaskRun(statusChange);
+                currentRunning++;
+                groupRunning.merge(group, 1, Integer::sum);
+            } else {
+                LOG.warn("failed to scheduled task-run {}", pendingTaskRun);
             }
         }
     }
@@ -0,0 +1,223 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.starrocks.catalog.BaseTableInfo;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.ResourceGroup;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
+import com.starrocks.server.GlobalStateMgr;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decide which pending task runs should be scheduled first, which is used by {@link TaskRunManager} in each round
+ * of scheduling:
+ * 1. Task runs with higher priority(eg: manual refresh) are always scheduled first.
+ * 2. A materialized view's refresh is deferred if any of its base materialized views(directly or indirectly) is
+ * pending or running, so that it refreshes with the fresh data of base materialized views and avoids redundant
+ * refreshes. The deferring is bounded by {@code Config.task_runs_dependency_wait_timeout_second}.
+ * 3. Otherwise, materialized views which are staler and queried more frequently are refreshed first:
+ * score = staleness(seconds) * (1 + ln(1 + recent query count)), the recent query count is tracked by
+ * {@link MvQueryUsage}, other task runs are scored by their waiting time.
+ * 4. The running task runs of each (warehouse, resource group) are bounded by
+ * {@code Config.task_runs_concurrency_per_resource_group}, so that one slow group can not occupy all the slots.
+ */
+public class TaskRunSchedulePolicy {
+    // the information of materialized view collected once in each round of scheduling
+    private static class MvInfo {
+        private final MaterializedView mv;
+        private final Set<Long> baseMvIds;
+
+        MvInfo(MaterializedView mv, Set<Long> baseMvIds) {
+            this.mv = mv;
+            this.baseMvIds = baseMvIds;
+        }
+    }
+
+    private final long now;
+    private final Map<Long, MvInfo> mvInfos = new HashMap<>();
+    // materialized views which have pending or running task runs
+    private final Set<Long> activeMvIds = new HashSet<>();
+    // the database of materialized views, which is used to find materialized views without walking all databases
+    private final Map<Long, String> mvDbNames = new HashMap<>();
+    private final Map<Long, MaterializedView> baseMvs = new HashMap<>();
+    private final Map<TaskRun, Double> scores = new IdentityHashMap<>();
+
+    public TaskRunSchedulePolicy(long now, Collection<TaskRun> pendingTaskRuns, Collection<TaskRun> runningTaskRuns) {
+        this.now = now;
+        MvQueryUsage.getInstance().pruneIfNeeded(now);
+        for (TaskRun taskRun : pendingTaskRuns) {
+            addActiveMv(taskRun);
+        }
+        for (TaskRun taskRun : runningTaskRuns) {
+            addActiveMv(taskRun);
+        }
+    }
+
+    private void addActiveMv(TaskRun taskRun) {
+        Long mvId = getMvId(taskRun);
+        if (mvId != null) {
+            activeMvIds.add(mvId);
+            mvDbNames.putIfAbsent(mvId, taskRun.getTask().getDbName());
+        }
+    }
+
+    /**
+     * Sort the candidates, the first one should be scheduled first.
+     */
+    public List<TaskRun> sort(Collection<TaskRun> candidates) {
+        for (TaskRun taskRun : candidates) {
+            scores.put(taskRun, computeScore(taskRun));
+        }
+        return candidates.stream()
+                .sorted(Comparator.comparingInt((TaskRun taskRun) -> taskRun.getStatus().getPriority()).reversed()
+                        .thenComparing(Comparator.comparingDouble((TaskRun taskRun) -> scores.get(taskRun)).reversed())
+                        .thenComparingLong(taskRun -> taskRun.getStatus().getCreateTime()))
+                .collect(Collectors.toList());
+    }
+
+    @VisibleForTesting
+    double computeScore(TaskRun taskRun) {
+        long createTime = taskRun.getStatus().getCreateTime();
+        MvInfo mvInfo = getMvInfo(getMvId(taskRun));
+        if (mvInfo == null) {
+            return Math.max(1, (now - createTime) / 1000.0);
+        }
+        long lastRefreshTime = mvInfo.mv.getLastRefreshTime();
+        long staleSince = lastRefreshTime > 0 ? Math.min(lastRefreshTime, createTime) : createTime;
+        double staleness = Math.max(1, (now - staleSince) / 1000.0);
+        double queryCount = MvQueryUsage.getInstance().getUsage(mvInfo.mv.getMvId(), now);
+        return staleness * (1 + Math.log1p(queryCount));
+    }
+
+    /**
+     * @return true if the task run should wait for the refreshes of its base materialized views
+     */
+    public boolean isWaitingForBaseMvs(TaskRun taskRun) {
+        if (Config.task_runs_dependency_wait_timeout_second <= 0) {
+            return false;
+        }
+        if (now - taskRun.getStatus().getCreateTime() > Config.task_runs_dependency_wait_timeout_second * 1000L) {
+            return false;
+        }
+        Long mvId = getMvId(taskRun);
+        MvInfo mvInfo = getMvInfo(mvId);
+        if (mvInfo == null) {
+            return false;
+        }
+        // walk through all the base materialized views, the dependency graph of materialized views is a DAG
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> queue = new ArrayDeque<>(mvInfo.baseMvIds);
+        while (!queue.isEmpty()) {
+            Long baseMvId = queue.poll();
+            if (baseMvId.equals(mvId) || !visited.add(baseMvId)) {
+                continue;
+            }
+            if (activeMvIds.contains(baseMvId)) {
+                return true;
+            }
+            MvInfo baseMvInfo = getMvInfo(baseMvId);
+            if (baseMvInfo != null) {
+                queue.addAll(baseMvInfo.baseMvIds);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the (warehouse, resource group) which the task run belongs to
+     */
+    public String getConcurrencyGroup(TaskRun taskRun) {
+        MvInfo mvInfo = getMvInfo(getMvId(taskRun));
+        if (mvInfo == null) {
+            return "";
+        }
+        String resourceGroup = mvInfo.mv.getTableProperty() == null ? null :
+                mvInfo.mv.getTableProperty().getResourceGroup();
+        if (Strings.isNullOrEmpty(resourceGroup)) {
+            resourceGroup = ResourceGroup.DEFAULT_MV_RESOURCE_GROUP_NAME;
+        }
+        return mvInfo.mv.getWarehouseId() + "/" + resourceGroup;
+    }
+
+    private static Long getMvId(TaskRun taskRun) {
+        Task task = taskRun.getTask();
+        if (task == null || task.getSource() != Constants.TaskSource.MV || task.getProperties() == null) {
+            return null;
+        }
+        String mvId = task.getProperties().get(PartitionBasedMvRefreshProcessor.MV_ID);
+        if (mvId == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(mvId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private MvInfo getMvInfo(Long mvId) {
+        if (mvId == null) {
+            return null;
+        }
+        if (mvInfos.containsKey(mvId)) {
+            return mvInfos.get(mvId);
+        }
+        MvInfo mvInfo = null;
+        MaterializedView mv = baseMvs.containsKey(mvId) ? baseMvs.get(mvId) : findMaterializedView(mvId);
+        if (mv != null) {
+            Set<Long> baseMvIds = new HashSet<>();
+            for (BaseTableInfo baseTableInfo : mv.getBaseTableInfos()) {
+                if (!baseTableInfo.isInternalCatalog()) {
+                    continue;
+                }
+                Database db = GlobalStateMgr.getCurrentState().getDb(baseTableInfo.getDbId());
+                Table table = db == null ? null : db.getTable(baseTableInfo.getTableId());
+                if (table != null && table.isMaterializedView()) {
+                    baseMvIds.add(table.getId());
+                    baseMvs.putIfAbsent(table.getId(), (MaterializedView) table);
+                }
+            }
+            mvInfo = new MvInfo(mv, baseMvIds);
+        }
+        mvInfos.put(mvId, mvInfo);
+        return mvInfo;
+    }
+
+    private MaterializedView findMaterializedView(long mvId) {
+        String dbName = mvDbNames.get(mvId);
+        Database db = dbName == null ? null : GlobalStateMgr.getCurrentState().getDb(dbName);
+        Table table = db == null ? null : db.getTable(mvId);
+        if (table != null && table.isMaterializedView()) {
+            return (MaterializedView) table;
+        }
+        return null;
+    }
+}
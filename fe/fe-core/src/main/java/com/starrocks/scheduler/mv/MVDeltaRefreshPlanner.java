@@ -0,0 +1,485 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.scheduler.mv;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.FunctionCallExpr;
+import com.starrocks.analysis.TableName;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.catalog.KeysType;
+import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.util.ParseUtil;
+import com.starrocks.common.util.concurrent.lock.LockType;
+import com.starrocks.common.util.concurrent.lock.Locker;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.scheduler.TableSnapshotInfo;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.analyzer.AnalyzerUtils;
+import com.starrocks.sql.ast.InsertStmt;
+import com.starrocks.sql.ast.JoinRelation;
+import com.starrocks.sql.ast.PartitionNames;
+import com.starrocks.sql.ast.QueryRelation;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.ast.Relation;
+import com.starrocks.sql.ast.SelectRelation;
+import com.starrocks.sql.ast.SetOperationRelation;
+import com.starrocks.sql.ast.SubqueryRelation;
+import com.starrocks.sql.ast.TableRelation;
+import com.starrocks.sql.parser.SqlParser;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.starrocks.thrift.PlanNodesConstants.BINLOG_OP_COLUMN_NAME;
+import static com.starrocks.thrift.PlanNodesConstants.BINLOG_VERSION_COLUMN_NAME;
+
+/**
+ * Plan the delta refresh of an async materialized view, which only reads the binlog of the base table changed
+ * since the last refresh and applies the changes to the materialized view, instead of recomputing the whole
+ * partitions.
+ * <p>
+ * The delta refresh is applicable only if:
+ * 1. Exactly one base table has changed since the last refresh, and the table is a DUPLICATE KEY olap table with
+ * binlog enabled, so that all changes are appends and still kept in binlog.
+ * 2. The defined query is a select-project-join query of olap tables with inner/cross joins, optionally with an
+ * aggregation whose aggregate functions can be merged, e.g. sum/count/min/max/bitmap_union/hll_union.
+ * <p>
+ * The changed table is replaced by the union of its binlog of changed partitions in the version range
+ * (refreshed version, snapshot version]. The delta is merged with the existing rows of refreshed partitions, and
+ * an aggregate MV also merges the partial results by the merge functions:
+ * <pre>
+ * INSERT OVERWRITE mv PARTITION(p1, p2...)
+ * SELECT k1, sum(v1)... FROM (SELECT k1, v1... FROM mv PARTITION(p1, p2...) UNION ALL delta_query) t GROUP BY k1
+ * </pre>
+ * Both cases overwrite the refreshed partitions rather than appending to them, so the applied delta becomes visible
+ * together with the partitions' new contents, and re-applying the same version range after a failure before the
+ * refreshed versions are recorded does not duplicate rows.
+ * Otherwise, {@link #plan(Set)} returns null and the caller should fall back to the partition refresh.
+ */
+public class MVDeltaRefreshPlanner {
+    private static final Logger LOG = LogManager.getLogger(MVDeltaRefreshPlanner.class);
+
+    private static final String DELTA_ALIAS = "__delta__";
+
+    // aggregate function -> the function to merge its partial results
+    private static final Map<String, String> MERGE_FUNCTIONS = ImmutableMap.<String, String>builder()
+            .put(FunctionSet.SUM, FunctionSet.SUM)
+            .put(FunctionSet.COUNT, FunctionSet.SUM)
+            .put(FunctionSet.MIN, FunctionSet.MIN)
+            .put(FunctionSet.MAX, FunctionSet.MAX)
+            .put(FunctionSet.BITMAP_UNION, FunctionSet.BITMAP_UNION)
+            .put(FunctionSet.HLL_UNION, FunctionSet.HLL_UNION)
+            .build();
+
+    private final MaterializedView mv;
+    private final Database db;
+    private final Map<Long, TableSnapshotInfo> snapshotBaseTables;
+    private final ConnectContext ctx;
+
+    private String notApplicableReason;
+
+    public MVDeltaRefreshPlanner(MaterializedView mv, Database db, Map<Long, TableSnapshotInfo> snapshotBaseTables,
+                                 ConnectContext ctx) {
+        this.mv = mv;
+        this.db = db;
+        this.snapshotBaseTables = snapshotBaseTables;
+        this.ctx = ctx;
+    }
+
+    public String getNotApplicableReason() {
+        return notApplicableReason;
+    }
+
+    /**
+     * The changed partition of the base table, whose binlog in (oldVersion, newVersion] should be applied.
+     */
+    @VisibleForTesting
+    static class ChangedPartition {
+        final String name;
+        final long oldVersion;
+        final long newVersion;
+
+        ChangedPartition(String name, long oldVersion, long newVersion) {
+            this.name = name;
+            this.oldVersion = oldVersion;
+            this.newVersion = newVersion;
+        }
+    }
+
+    /**
+     * Generate the insert statement to apply the changes of base table to the given partitions of materialized view.
+     *
+     * @param mvPartitionNames the partitions of materialized view to refresh
+     * @return the unanalyzed insert statement, or null if the delta refresh is not applicable
+     */
+    public InsertStmt plan(Set<String> mvPartitionNames) {
+        TableSnapshotInfo changedTable = null;
+        Map<String, ChangedPartition> changedPartitions = null;
+        for (TableSnapshotInfo snapshotInfo : snapshotBaseTables.values()) {
+            Map<String, ChangedPartition> partitions = collectChangedPartitions(snapshotInfo);
+            if (partitions == null) {
+                return null;
+            }
+            if (partitions.isEmpty()) {
+                continue;
+            }
+            if (changedTable != null) {
+                return notApplicable("more than one base table has changed");
+            }
+            changedTable = snapshotInfo;
+            changedPartitions = partitions;
+        }
+        if (changedTable == null) {
+            return notApplicable("no base table has changed");
+        }
+        if (!checkBinlogAvailable((OlapTable) changedTable.getBaseTable(), changedPartitions.values())) {
+            return null;
+        }
+
+        List<String> outputColumnNames = getOutputColumnNames();
+        QueryStatement analyzedQuery = parseDefinedQuery();
+        QueryStatement deltaQuery = parseDefinedQuery();
+        List<Database> dbs = Lists.newArrayList(AnalyzerUtils.collectAllDatabase(ctx, analyzedQuery).values());
+        Locker locker = new Locker();
+        try {
+            locker.lockDatabases(dbs, LockType.READ);
+            Analyzer.analyze(analyzedQuery, ctx);
+        } finally {
+            locker.unlockDatabases(dbs, LockType.READ);
+        }
+
+        if (!(analyzedQuery.getQueryRelation() instanceof SelectRelation)) {
+            return notApplicable("defined query is not a select statement");
+        }
+        SelectRelation select = (SelectRelation) analyzedQuery.getQueryRelation();
+        if (select.getOutputExpression().size() != outputColumnNames.size()) {
+            return notApplicable("output columns mismatch with the materialized view's schema");
+        }
+        List<TableRelation> tableRelations = new ArrayList<>();
+        if (!collectTableRelations(select.getRelation(), tableRelations)) {
+            return null;
+        }
+        int changedTableIndex = -1;
+        for (int i = 0; i < tableRelations.size(); i++) {
+            TableRelation tableRelation = tableRelations.get(i);
+            if (tableRelation.getTable().getId() != changedTable.getBaseTable().getId()) {
+                continue;
+            }
+            if (changedTableIndex >= 0) {
+                return notApplicable("changed table " + tableRelation.getTable().getName() + " is referenced twice");
+            }
+            if (tableRelation.getPartitionNames() != null || CollectionUtils.isNotEmpty(tableRelation.getTabletIds())) {
+                return notApplicable("changed table is referenced with partitions or tablets");
+            }
+            changedTableIndex = i;
+        }
+        if (changedTableIndex < 0) {
+            return notApplicable("changed table is not found in the defined query");
+        }
+        List<String> mergeFunctions = getMergeFunctions(select);
+        if (mergeFunctions == null) {
+            return null;
+        }
+
+        // replace the changed table with its binlog
+        SelectRelation deltaSelect = (SelectRelation) deltaQuery.getQueryRelation();
+        Relation binlogRelation = buildBinlogRelation(changedTable, changedPartitions.values(),
+                getTableRelation(deltaSelect.getRelation(), changedTableIndex).getResolveTableName());
+        deltaSelect.setRelation(replaceTableRelation(deltaSelect.getRelation(), new int[] {changedTableIndex},
+                binlogRelation));
+
+        InsertStmt insertStmt = buildMergeStmt(mvPartitionNames, outputColumnNames, mergeFunctions,
+                select.hasAggregation(), deltaQuery);
+        // insert into mv must set system = true
+        insertStmt.setSystem(true);
+        LOG.info("Delta refresh materialized view {} with changed table {}, changed partitions: {}",
+                mv.getName(), changedTable.getBaseTable().getName(), changedPartitions.keySet());
+        return insertStmt;
+    }
+
+    private <T> T notApplicable(String reason) {
+        this.notApplicableReason = reason;
+        return null;
+    }
+
+    /**
+     * Compare the snapshot with the version map of last refresh.
+     *
+     * @return the changed partitions, or null if the changes can not be applied incrementally
+     */
+    @VisibleForTesting
+    Map<String, ChangedPartition> collectChangedPartitions(TableSnapshotInfo snapshotInfo) {
+        Table table = snapshotInfo.getBaseTable();
+        if (!table.isOlapTable()) {
+            return notApplicable("base table " + table.getName() + " is not an olap table");
+        }
+        OlapTable olapTable = (OlapTable) table;
+        Map<String, MaterializedView.BasePartitionInfo> refreshedVersions = mv.getRefreshScheme()
+                .getAsyncRefreshContext().getBaseTableVisibleVersionMap().get(table.getId());
+        if (refreshedVersions == null || refreshedVersions.isEmpty()) {
+            return notApplicable("base table " + table.getName() + " has not been refreshed");
+        }
+        for (String partitionName : refreshedVersions.keySet()) {
+            if (olapTable.getPartition(partitionName) == null) {
+                return notApplicable("partition " + partitionName + " of " + table.getName() + " has been dropped");
+            }
+        }
+
+        Map<String, ChangedPartition> changedPartitions = new TreeMap<>();
+        Map<String, MaterializedView.BasePartitionInfo> snapshotVersions = snapshotInfo.getRefreshedPartitionInfos();
+        if (snapshotVersions == null) {
+            return changedPartitions;
+        }
+        for (Map.Entry<String, MaterializedView.BasePartitionInfo> entry : snapshotVersions.entrySet()) {
+            MaterializedView.BasePartitionInfo snapshotVersion = entry.getValue();
+            MaterializedView.BasePartitionInfo refreshedVersion = refreshedVersions.get(entry.getKey());
+            long oldVersion = Partition.PARTITION_INIT_VERSION;
+            if (refreshedVersion != null) {
+                if (refreshedVersion.getId() != snapshotVersion.getId()) {
+                    return notApplicable("partition " + entry.getKey() + " of " + table.getName() + " is replaced");
+                }
+                oldVersion = refreshedVersion.getVersion();
+            }
+            if (snapshotVersion.getVersion() < oldVersion) {
+                return notApplicable("version of partition " + entry.getKey() + " is rolled back");
+            }
+            if (snapshotVersion.getVersion() > oldVersion) {
+                changedPartitions.put(entry.getKey(),
+                        new ChangedPartition(entry.getKey(), oldVersion, snapshotVersion.getVersion()));
+            }
+        }
+        return changedPartitions;
+    }
+
+    /**
+     * Check that all the changes after the refreshed versions are appends and are still kept in binlog.
+     */
+    @VisibleForTesting
+    boolean checkBinlogAvailable(OlapTable table, Iterable<ChangedPartition> changedPartitions) {
+        if (table.getKeysType() != KeysType.DUP_KEYS) {
+            return notApplicableBool("changed table " + table.getName() + " is not a duplicate key table");
+        }
+        if (!table.isBinlogEnabled() || table.getBinlogAvailableVersion().isEmpty()) {
+            return notApplicableBool("binlog of changed table " + table.getName() + " is not available");
+        }
+        if (table.hasDelete()) {
+            return notApplicableBool("changed table " + table.getName() + " has delete");
+        }
+        Map<Long, Long> availableVersions = table.getBinlogAvailableVersion();
+        for (ChangedPartition changedPartition : changedPartitions) {
+            Partition partition = table.getPartition(changedPartition.name);
+            if (partition == null || partition.getSubPartitions().size() != 1) {
+                return notApplicableBool("partition " + changedPartition.name + " has multiple physical partitions");
+            }
+            // The partitions created after binlog enabled do not exist in the map, whose binlog is available
+            // since creation.
+            Long availableVersion = availableVersions.get(partition.getId());
+            if (availableVersion != null && availableVersion > changedPartition.oldVersion) {
+                return notApplicableBool("binlog of partition " + changedPartition.name + " is available since " +
+                        availableVersion + ", but the refreshed version is " + changedPartition.oldVersion);
+            }
+        }
+        return true;
+    }
+
+    private boolean notApplicableBool(String reason) {
+        this.notApplicableReason = reason;
+        return false;
+    }
+
+    private QueryStatement parseDefinedQuery() {
+        return (QueryStatement) SqlParser.parse(mv.getViewDefineSql(), ctx.getSessionVariable()).get(0);
+    }
+
+    private List<String> getOutputColumnNames() {
+        List<Integer> queryOutputIndexes = mv.getQueryOutputIndices();
+        List<Column> baseSchema = mv.getBaseSchema();
+        if (queryOutputIndexes != null && baseSchema.size() == queryOutputIndexes.size()) {
+            return queryOutputIndexes.stream()
+                    .map(baseSchema::get)
+                    .map(Column::getName)
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toList());
+        }
+        return baseSchema.stream().map(Column::getName).map(String::toLowerCase).collect(Collectors.toList());
+    }
+
+    private boolean collectTableRelations(Relation relation, List<TableRelation> tableRelations) {
+        if (relation instanceof TableRelation) {
+            TableRelation tableRelation = (TableRelation) relation;
+            if (!tableRelation.getTable().isOlapTable()) {
+                return notApplicableBool("table " + tableRelation.getTable().getName() + " is not an olap table");
+            }
+            tableRelations.add(tableRelation);
+            return true;
+        } else if (relation instanceof JoinRelation) {
+            JoinRelation join = (JoinRelation) relation;
+            if (join.getJoinOp() == null || join.isLateral() ||
+                    !(join.getJoinOp().isInnerJoin() || join.getJoinOp().isCrossJoin())) {
+                return notApplicableBool("only inner join and cross join are supported");
+            }
+            return collectTableRelations(join.getLeft(), tableRelations) &&
+                    collectTableRelations(join.getRight(), tableRelations);
+        }
+        return notApplicableBool("relation " + relation.getClass().getSimpleName() + " is not supported");
+    }
+
+    private static TableRelation getTableRelation(Relation relation, int index) {
+        List<TableRelation> tableRelations = new ArrayList<>();
+        collectAllTableRelations(relation, tableRelations);
+        return tableRelations.get(index);
+    }
+
+    private static void collectAllTableRelations(Relation relation, List<TableRelation> tableRelations) {
+        if (relation instanceof TableRelation) {
+            tableRelations.add((TableRelation) relation);
+        } else if (relation instanceof JoinRelation) {
+            collectAllTableRelations(((JoinRelation) relation).getLeft(), tableRelations);
+            collectAllTableRelations(((JoinRelation) relation).getRight(), tableRelations);
+        }
+    }
+
+    // Replace the index-th table relation in the same order as collectTableRelations
+    private static Relation replaceTableRelation(Relation relation, int[] index, Relation replacement) {
+        if (relation instanceof TableRelation) {
+            return index[0]-- == 0 ? replacement : relation;
+        } else if (relation instanceof JoinRelation) {
+            JoinRelation join = (JoinRelation) relation;
+            join.setLeft(replaceTableRelation(join.getLeft(), index, replacement));
+            join.setRight(replaceTableRelation(join.getRight(), index, replacement));
+        }
+        return relation;
+    }
+
+    /**
+     * @return the merge function of each output column, null for group by columns. Return null if the query
+     * can not be merged incrementally.
+     */
+    private List<String> getMergeFunctions(SelectRelation select) {
+        if (select.getHaving() != null || select.isDistinct() || select.hasOrderByClause() || select.hasLimit() ||
+                CollectionUtils.isNotEmpty(select.getOutputAnalytic()) || select.getGroupingSetsList() != null) {
+            return notApplicable("having/distinct/order by/limit/window/grouping sets are not supported");
+        }
+        List<String> mergeFunctions = new ArrayList<>();
+        List<Expr> groupByOutputs = new ArrayList<>();
+        for (Expr output : select.getOutputExpression()) {
+            if (output instanceof FunctionCallExpr && ((FunctionCallExpr) output).isAggregateFunction()) {
+                FunctionCallExpr aggregate = (FunctionCallExpr) output;
+                String mergeFunction = MERGE_FUNCTIONS.get(aggregate.getFnName().getFunction().toLowerCase());
+                if (mergeFunction == null || aggregate.isDistinct()) {
+                    return notApplicable("aggregate function " + aggregate.toSql() + " is not supported");
+                }
+                mergeFunctions.add(mergeFunction);
+            } else if (output.containsAggregate()) {
+                return notApplicable("expression on aggregate function " + output.toSql() + " is not supported");
+            } else {
+                mergeFunctions.add(null);
+                groupByOutputs.add(output);
+            }
+        }
+        if (select.hasAggregation()) {
+            for (Expr groupBy : CollectionUtils.emptyIfNull(select.getGroupBy())) {
+                if (!groupByOutputs.contains(groupBy)) {
+                    return notApplicable("group by expression " + groupBy.toSql() + " is not in the output");
+                }
+            }
+        }
+        return mergeFunctions;
+    }
+
+    /**
+     * Build the union of binlog of changed partitions, aliased as the original table so that the column references
+     * of the defined query can still be resolved.
+     */
+    private Relation buildBinlogRelation(TableSnapshotInfo changedTable, Iterable<ChangedPartition> changedPartitions,
+                                         TableName alias) {
+        Table table = changedTable.getBaseTable();
+        String columns = table.getBaseSchema().stream()
+                .map(column -> ParseUtil.backquote(column.getName()))
+                .collect(Collectors.joining(", "));
+        String tableName = ParseUtil.backquote(changedTable.getBaseTableInfo().getDbName()) + "." +
+                ParseUtil.backquote(table.getName());
+        List<String> branches = new ArrayList<>();
+        for (ChangedPartition partition : changedPartitions) {
+            branches.add(String.format("SELECT %s FROM %s PARTITION(%s) [_BINLOG_] WHERE %s = 0 AND %s > %d AND %s <= %d",
+                    columns, tableName, ParseUtil.backquote(partition.name), BINLOG_OP_COLUMN_NAME,
+                    BINLOG_VERSION_COLUMN_NAME, partition.oldVersion, BINLOG_VERSION_COLUMN_NAME,
+                    partition.newVersion));
+        }
+        QueryStatement binlogQuery = (QueryStatement) SqlParser.parse(Joiner.on(" UNION ALL ").join(branches),
+                ctx.getSessionVariable()).get(0);
+        SubqueryRelation subqueryRelation = new SubqueryRelation(binlogQuery);
+        subqueryRelation.setAlias(alias);
+        return subqueryRelation;
+    }
+
+    /**
+     * Build the statement to overwrite the refreshed partitions by the union of their existing rows and the delta.
+     * The rows of a select-project-join MV are kept as is, while the rows of an aggregate MV are merged by the
+     * group by columns.
+     */
+    private InsertStmt buildMergeStmt(Set<String> mvPartitionNames, List<String> outputColumnNames,
+                                      List<String> mergeFunctions, boolean aggregate, QueryStatement deltaQuery) {
+        String mvName = ParseUtil.backquote(db.getFullName()) + "." + ParseUtil.backquote(mv.getName());
+        String partitions = mvPartitionNames.stream().map(ParseUtil::backquote).collect(Collectors.joining(", "));
+        List<String> selectItems = new ArrayList<>();
+        List<String> groupByItems = new ArrayList<>();
+        for (int i = 0; i < outputColumnNames.size(); i++) {
+            String column = ParseUtil.backquote(outputColumnNames.get(i));
+            if (mergeFunctions.get(i) == null) {
+                selectItems.add(column);
+                if (aggregate) {
+                    groupByItems.add(column);
+                }
+            } else {
+                selectItems.add(String.format("%s(%s) AS %s", mergeFunctions.get(i), column, column));
+            }
+        }
+        String columns = outputColumnNames.stream().map(ParseUtil::backquote).collect(Collectors.joining(", "));
+        // The second branch is a placeholder which will be replaced by the delta query
+        String sql = String.format("INSERT OVERWRITE %s SELECT %s FROM (SELECT %s FROM %s PARTITION(%s) " +
+                        "UNION ALL SELECT %s FROM %s) %s",
+                mvName, Joiner.on(", ").join(selectItems), columns, mvName, partitions, columns, mvName, DELTA_ALIAS);
+        if (!groupByItems.isEmpty()) {
+            sql += " GROUP BY " + Joiner.on(", ").join(groupByItems);
+        }
+        InsertStmt insertStmt = (InsertStmt) SqlParser.parse(sql, ctx.getSessionVariable()).get(0);
+        insertStmt.setTargetPartitionNames(new PartitionNames(false, new ArrayList<>(mvPartitionNames)));
+        insertStmt.setTargetColumnNames(outputColumnNames);
+
+        SelectRelation merge = (SelectRelation) insertStmt.getQueryStatement().getQueryRelation();
+        SetOperationRelation union = (SetOperationRelation)
+                ((SubqueryRelation) merge.getRelation()).getQueryStatement().getQueryRelation();
+        List<QueryRelation> branches = Lists.newArrayList(union.getRelations().get(0), deltaQuery.getQueryRelation());
+        union.setRelations(branches);
+        return insertStmt;
+    }
+}
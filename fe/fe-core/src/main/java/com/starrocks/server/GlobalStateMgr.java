@@ -150,6 +150,7 @@ import com.starrocks.load.pipe.PipeScheduler;
 import com.starrocks.load.routineload.RoutineLoadMgr;
 import com.starrocks.load.routineload.RoutineLoadScheduler;
 import com.starrocks.load.routineload.RoutineLoadTaskScheduler;
+import com.starrocks.load.streamload.StreamLoadGroupCommitMgr;
 import com.starrocks.load.streamload.StreamLoadMgr;
 import com.starrocks.memory.MemoryUsageTracker;
 import com.starrocks.meta.MetaContext;
@@ -196,6 +197,7 @@ import com.starrocks.sql.analyzer.AuthorizerStmtVisitor;
 import com.starrocks.sql.ast.RefreshTableStmt;
 import com.starrocks.sql.ast.SetType;
 import com.starrocks.sql.ast.SystemVariable;
+import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
 import com.starrocks.sql.optimizer.statistics.CachedStatisticStorage;
 import com.starrocks.sql.optimizer.statistics.StatisticStorage;
 import com.starrocks.sql.parser.AstBuilder;
@@ -289,6 +291,7 @@ public class GlobalStateMgr {
     private final LoadMgr loadMgr;
     private final RoutineLoadMgr routineLoadMgr;
     private final StreamLoadMgr streamLoadMgr;
+    private final StreamLoadGroupCommitMgr streamLoadGroupCommitMgr;
     private final ExportMgr exportMgr;
 
     private final ConsistencyChecker consistencyChecker;
@@ -593,6 +596,7 @@ public class GlobalStateMgr {
 
         this.load = new Load();
         this.streamLoadMgr = new StreamLoadMgr();
+        this.streamLoadGroupCommitMgr = new StreamLoadGroupCommitMgr();
         this.routineLoadMgr = new RoutineLoadMgr();
         this.exportMgr = new ExportMgr();
 
@@ -1357,6 +1361,8 @@ public class GlobalStateMgr {
 
         refreshDictionaryCacheTaskDaemon.start();
 
+        CachingMvPlanContextBuilder.getInstance().startWarmUp();
+
         // The memory tracker should be placed at the end
         memoryUsageTracker.start();
     }
@@ -2004,6 +2010,10 @@ public class GlobalStateMgr {
         return streamLoadMgr;
     }
 
+    public StreamLoadGroupCommitMgr getStreamLoadGroupCommitMgr() {
+        return streamLoadGroupCommitMgr;
+    }
+
     public RoutineLoadTaskScheduler getRoutineLoadTaskScheduler() {
         return routineLoadTaskScheduler;
     }
@@ -1884,6 +1884,15 @@ public class LocalMetastore implements ConnectorMetadata {
 
     void buildPartitions(Database db, OlapTable table, List<PhysicalPartition> partitions, long warehouseId)
             throws DdlException {
+        buildPartitions(db, table, partitions, warehouseId, 1);
+    }
+
+    /**
+     * @param replicaTasksBatchSize the create replica tasks of consecutive partitions are sent together up to
+     *                              this many tasks when the partitions are built concurrently
+     */
+    void buildPartitions(Database db, OlapTable table, List<PhysicalPartition> partitions, long warehouseId,
+                         int replicaTasksBatchSize) throws DdlException {
         if (partitions.isEmpty()) {
             return;
         }
@@ -1914,7 +1923,8 @@ public class LocalMetastore implements ConnectorMetadata {
         if (numReplicas > Config.create_table_max_serial_replicas) {
             LOG.info("start to build {} partitions concurrently for table {}.{} with {} replicas",
                     partitions.size(), db.getFullName(), table.getName(), numReplicas);
-            buildPartitionsConcurrently(db.getId(), table, partitions, numReplicas, numAliveNodes, warehouseId);
+            buildPartitionsConcurrently(db.getId(), table, partitions, numReplicas, numAliveNodes, warehouseId,
+                    replicaTasksBatchSize);
         } else {
             LOG.info("start to build {} partitions sequentially for table {}.{} with {} replicas",
                     partitions.size(), db.getFullName(), table.getName(), numReplicas);
@@ -1964,7 +1974,8 @@ public class LocalMetastore implements ConnectorMetadata {
 
     private void buildPartitionsConcurrently(long dbId, OlapTable table, List<PhysicalPartition> partitions,
                                              int numReplicas,
-                                             int numBackends, long warehouseId) throws DdlException {
+                                             int numBackends, long warehouseId,
+                                             int replicaTasksBatchSize) throws DdlException {
         long start = System.currentTimeMillis();
         int timeout = Math.max(1, numReplicas / numBackends) * Config.tablet_create_timeout_second;
         int numIndexes = partitions.stream().mapToInt(
@@ -1977,11 +1988,12 @@ public class LocalMetastore implements ConnectorMetadata {
             int numSendedTasks = 0;
             long startTime = System.currentTimeMillis();
             long maxWaitTimeMs = Math.min(timeout, maxTimeout) * 1000L;
-            for (PhysicalPartition partition : partitions) {
+            for (List<PhysicalPartition> partitionGroup : groupPartitionsByReplicaCount(partitions,
+                    replicaTasksBatchSize)) {
                 if (!countDownLatch.getStatus().ok()) {
                     break;
                 }
-                List<CreateReplicaTask> tasks = buildCreateReplicaTasks(dbId, table, partition, warehouseId);
+                List<CreateReplicaTask> tasks = buildCreateReplicaTasks(dbId, table, partitionGroup, warehouseId);
                 for (CreateReplicaTask task : tasks) {
                     List<Long> signatures =
                             taskSignatures.computeIfAbsent(task.getBackendId(), k -> new ArrayList<>());
@@ -2027,6 +2039,32 @@ public class LocalMetastore implements ConnectorMetadata {
         }
     }
 
+    /**
+     * Group consecutive partitions so that the tasks of several small partitions are sent to a backend in
+     * one batch task. A group has at most maxReplicas replicas, unless a single partition has more.
+     */
+    @VisibleForTesting
+    static List<List<PhysicalPartition>> groupPartitionsByReplicaCount(List<PhysicalPartition> partitions,
+                                                                       int maxReplicas) {
+        List<List<PhysicalPartition>> groups = new ArrayList<>();
+        List<PhysicalPartition> group = new ArrayList<>();
+        long groupReplicas = 0;
+        for (PhysicalPartition partition : partitions) {
+            long replicas = partition.storageReplicaCount();
+            if (!group.isEmpty() && groupReplicas + replicas > maxReplicas) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupReplicas = 0;
+            }
+            group.add(partition);
+            groupReplicas += replicas;
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
     private List<CreateReplicaTask> buildCreateReplicaTasks(long dbId, OlapTable table, List<PhysicalPartition> partitions,
                                                             long warehouseId) throws DdlException {
         List<CreateReplicaTask> tasks = new ArrayList<>();
@@ -5372,6 +5410,14 @@ public class LocalMetastore implements ConnectorMetadata {
                                                               String namePostfix, List<Long> sourcePartitionIds,
                                                               List<Long> tmpPartitionIds, DistributionDesc distributionDesc,
                                                               long warehouseId) {
+        return createTempPartitionsFromPartitions(db, table, namePostfix, sourcePartitionIds, tmpPartitionIds,
+                distributionDesc, warehouseId, 1);
+    }
+
+    public List<Partition> createTempPartitionsFromPartitions(Database db, Table table,
+                                                              String namePostfix, List<Long> sourcePartitionIds,
+                                                              List<Long> tmpPartitionIds, DistributionDesc distributionDesc,
+                                                              long warehouseId, int replicaTasksBatchSize) {
         Preconditions.checkState(table instanceof OlapTable);
         OlapTable olapTable = (OlapTable) table;
         Map<Long, String> origPartitions = Maps.newHashMap();
@@ -5386,7 +5432,7 @@ public class LocalMetastore implements ConnectorMetadata {
             newPartitions = getNewPartitionsFromPartitions(db, olapTable, sourcePartitionIds, origPartitions,
                     copiedTbl, namePostfix, tabletIdSet, tmpPartitionIds, distributionDesc);
             buildPartitions(db, copiedTbl, newPartitions.stream().map(Partition::getSubPartitions)
-                    .flatMap(p -> p.stream()).collect(Collectors.toList()), warehouseId);
+                    .flatMap(p -> p.stream()).collect(Collectors.toList()), warehouseId, replicaTasksBatchSize);
         } catch (Exception e) {
             // create partition failed, remove all newly created tablets
             for (Long tabletId : tabletIdSet) {
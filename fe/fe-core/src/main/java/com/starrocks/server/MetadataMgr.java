@@ -24,6 +24,7 @@ import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.starrocks.analysis.TableName;
 import com.starrocks.catalog.BasicTable;
 import com.starrocks.catalog.Column;
@@ -541,6 +542,19 @@ public class MetadataMgr {
         return partitions.build();
     }
 
+    public List<String> getScanSplitPredicates(String catalogName, Table table, int maxRanges) {
+        Optional<ConnectorMetadata> connectorMetadata = getOptionalMetadata(catalogName);
+        if (connectorMetadata.isPresent()) {
+            try {
+                return connectorMetadata.get().getScanSplitPredicates(table, maxRanges);
+            } catch (Exception e) {
+                // fall back to scan the table in one range
+                LOG.warn("Failed to get scan split predicates on catalog [{}], table [{}]", catalogName, table, e);
+            }
+        }
+        return Lists.newArrayList();
+    }
+
     public boolean prepareMetadata(String queryId, String catalogName, MetaPreparationItem item, Tracers tracers) {
         Optional<ConnectorMetadata> connectorMetadata = getOptionalMetadata(Optional.of(queryId), catalogName);
         if (connectorMetadata.isPresent()) {
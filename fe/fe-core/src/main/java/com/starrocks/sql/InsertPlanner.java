@@ -15,12 +15,17 @@
 package com.starrocks.sql;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Predicates;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.starrocks.alter.SchemaChangeHandler;
+import com.starrocks.analysis.BinaryPredicate;
+import com.starrocks.analysis.BinaryType;
+import com.starrocks.analysis.CastExpr;
 import com.starrocks.analysis.DescriptorTable;
 import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.InPredicate;
 import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.analysis.NullLiteral;
 import com.starrocks.analysis.SlotDescriptor;
@@ -48,6 +53,7 @@ import com.starrocks.common.profile.Tracers;
 import com.starrocks.common.util.concurrent.lock.Locker;
 import com.starrocks.planner.BlackHoleTableSink;
 import com.starrocks.planner.DataSink;
+import com.starrocks.planner.FileScanNode;
 import com.starrocks.planner.HiveTableSink;
 import com.starrocks.planner.IcebergTableSink;
 import com.starrocks.planner.MysqlTableSink;
@@ -276,6 +282,9 @@ public class InsertPlanner {
                 session.getSessionVariable().setPreferComputeNode(false);
                 session.getSessionVariable().setUseComputeNodes(0);
                 OlapTableSink olapTableSink = (OlapTableSink) dataSink;
+                if (Config.enable_olap_table_sink_partition_prune && queryRelation instanceof ValuesRelation) {
+                    olapTableSink.setPartitionPredicates(getValuesPartitionPredicates(insertStmt, olapTable));
+                }
                 TableName catalogDbTable = insertStmt.getTableName();
                 Database db = GlobalStateMgr.getCurrentState().getMetadataMgr().getDb(catalogDbTable.getCatalog(),
                         catalogDbTable.getDb());
@@ -324,7 +333,13 @@ public class InsertPlanner {
 
                 if (targetTable instanceof OlapTable) {
                     sinkFragment.setHasOlapTableSink();
-                    sinkFragment.setForceAssignScanRangesPerDriverSeq();
+                    // splits of files are shared by all scan operators to balance the load at runtime,
+                    // instead of being assigned to each driver sequence
+                    List<FileScanNode> fileScanNodes = Lists.newArrayList();
+                    sinkFragment.getPlanRoot().collectAll(Predicates.instanceOf(FileScanNode.class), fileScanNodes);
+                    if (!Config.enable_load_dynamic_split || fileScanNodes.isEmpty()) {
+                        sinkFragment.setForceAssignScanRangesPerDriverSeq();
+                    }
                 } else if (targetTable.isHiveTable()) {
                     sinkFragment.setHasHiveTableSink();
                 } else if (targetTable.isIcebergTable()) {
@@ -473,6 +488,70 @@ public class InsertPlanner {
         }
     }
 
+    /**
+     * The predicates of the partition values of INSERT ... VALUES, each row satisfies one of them, so the olap table
+     * sink only carries the partitions of the rows. Returns null if a partition value of any row is not constant.
+     */
+    private static List<Expr> getValuesPartitionPredicates(InsertStmt insertStmt, OlapTable table) {
+        List<Column> partitionColumns = table.getPartitionInfo().getPartitionColumns();
+        if (partitionColumns.isEmpty()) {
+            return null;
+        }
+        List<Integer> valueIndexes = Lists.newArrayList();
+        for (Column column : partitionColumns) {
+            int idx = -1;
+            if (insertStmt.getTargetColumnNames() == null) {
+                List<Column> baseSchema = table.getBaseSchema();
+                for (int i = 0; i < baseSchema.size() && idx == -1; i++) {
+                    if (baseSchema.get(i).getName().equalsIgnoreCase(column.getName())) {
+                        idx = i;
+                    }
+                }
+            } else {
+                idx = insertStmt.getTargetColumnNames().indexOf(column.getName().toLowerCase());
+            }
+            if (idx == -1) {
+                // the column is filled by its default value
+                return null;
+            }
+            valueIndexes.add(idx);
+        }
+
+        ValuesRelation values = (ValuesRelation) insertStmt.getQueryStatement().getQueryRelation();
+        List<List<Expr>> rowValues = Lists.newArrayList();
+        for (List<Expr> row : values.getRows()) {
+            List<Expr> partitionValues = Lists.newArrayList();
+            for (int idx : valueIndexes) {
+                Expr value = idx < row.size() ? row.get(idx) : null;
+                // the literals are casted to the column types again when the partitions are pruned
+                while (value instanceof CastExpr) {
+                    value = value.getChild(0);
+                }
+                if (!(value instanceof LiteralExpr)) {
+                    return null;
+                }
+                partitionValues.add(value);
+            }
+            rowValues.add(partitionValues);
+        }
+
+        if (partitionColumns.size() == 1) {
+            List<Expr> inList = rowValues.stream().map(row -> row.get(0)).collect(Collectors.toList());
+            return Lists.newArrayList(new InPredicate(new SlotRef(null, partitionColumns.get(0).getName()),
+                    inList, false));
+        }
+        List<Expr> predicates = Lists.newArrayList();
+        for (List<Expr> row : rowValues) {
+            List<Expr> conjuncts = Lists.newArrayList();
+            for (int i = 0; i < partitionColumns.size(); i++) {
+                conjuncts.add(new BinaryPredicate(BinaryType.EQ, new SlotRef(null, partitionColumns.get(i).getName()),
+                        row.get(i)));
+            }
+            predicates.add(Expr.compoundAnd(conjuncts));
+        }
+        return predicates;
+    }
+
     private OptExprBuilder fillDefaultValue(LogicalPlan logicalPlan, ColumnRefFactory columnRefFactory,
                                             InsertStmt insertStatement, List<ColumnRefOperator> outputColumns) {
         List<Column> baseSchema = insertStatement.getTargetTable().getBaseSchema();
@@ -347,7 +347,11 @@ public class LoadPlanner {
                 sinkFragment.setParallelExecNum(1);
             }
             sinkFragment.setHasOlapTableSink();
-            sinkFragment.setForceAssignScanRangesPerDriverSeq();
+            // splits of files are shared by all scan operators to balance the load at runtime,
+            // instead of being assigned to each driver sequence
+            if (!Config.enable_load_dynamic_split || !(scanNode instanceof FileScanNode)) {
+                sinkFragment.setForceAssignScanRangesPerDriverSeq();
+            }
         } else {
             sinkFragment.setPipelineDop(1);
             sinkFragment.setParallelExecNum(parallelInstanceNum);
@@ -460,6 +464,7 @@ public class LoadPlanner {
             if (olapTable.getAutomaticBucketSize() > 0) {
                 ((OlapTableSink) dataSink).setAutomaticBucketSize(olapTable.getAutomaticBucketSize());
             }
+            ((OlapTableSink) dataSink).setPartitionPredicates(getPartitionPredicates());
             if (completeTabletSink) {
                 ((OlapTableSink) dataSink).init(loadId, txnId, dbId, timeoutS);
                 ((OlapTableSink) dataSink).setPartialUpdateMode(partialUpdateMode);
@@ -488,6 +493,25 @@ public class LoadPlanner {
         this.txnId = txnId;
     }
 
+    // the where predicates of the load, return null if some rows are loaded without predicate
+    private List<Expr> getPartitionPredicates() {
+        List<Expr> predicates = Lists.newArrayList();
+        if (this.etlJobType == EtlJobType.BROKER) {
+            if (CollectionUtils.isEmpty(fileGroups)) {
+                return null;
+            }
+            for (BrokerFileGroup fileGroup : fileGroups) {
+                if (fileGroup.getWhereExpr() == null) {
+                    return null;
+                }
+                predicates.add(fileGroup.getWhereExpr());
+            }
+        } else if (streamLoadInfo != null && streamLoadInfo.getWhereExpr() != null) {
+            predicates.add(streamLoadInfo.getWhereExpr());
+        }
+        return predicates;
+    }
+
     private List<Long> getAllPartitionIds() throws LoadException {
         Set<Long> partitionIds = Sets.newHashSet();
         OlapTable olapDestTable = (OlapTable) destTable;
@@ -56,6 +56,7 @@ import java.util.Set;
 public class ExportStmt extends StatementBase {
 
     private static final String INCLUDE_QUERY_ID_PROP = "include_query_id";
+    public static final String MAX_FILE_SIZE_PROP = "max_file_size";
 
     private static final String DEFAULT_COLUMN_SEPARATOR = "\t";
     private static final String DEFAULT_LINE_DELIMITER = "\n";
@@ -306,6 +307,19 @@ public class ExportStmt extends StatementBase {
             }
             includeQueryId = Boolean.parseBoolean(properties.get(INCLUDE_QUERY_ID_PROP));
         }
+
+        // max file size
+        if (properties.containsKey(MAX_FILE_SIZE_PROP)) {
+            long maxFileSize;
+            try {
+                maxFileSize = Long.parseLong(properties.get(MAX_FILE_SIZE_PROP));
+            } catch (NumberFormatException e) {
+                throw new AnalysisException("Invalid max_file_size value: " + e.getMessage());
+            }
+            if (maxFileSize <= 0) {
+                throw new AnalysisException("max_file_size should be greater than 0");
+            }
+        }
     }
 
     @Override
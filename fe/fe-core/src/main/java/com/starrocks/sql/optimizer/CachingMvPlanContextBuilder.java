@@ -21,24 +21,47 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.ParseNode;
+import com.starrocks.catalog.BaseTableInfo;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.MaterializedIndexMeta;
 import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.MvId;
 import com.starrocks.catalog.MvPlanContext;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Table;
+import com.starrocks.catalog.View;
 import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.analyzer.AstToSQLBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 public class CachingMvPlanContextBuilder {
 
     private static final Logger LOG = LogManager.getLogger(CachingMvPlanContextBuilder.class);
     private static final CachingMvPlanContextBuilder INSTANCE = new CachingMvPlanContextBuilder();
-    private Cache<MaterializedView, List<MvPlanContext>> mvPlanContextCache = buildCache();
+    private static final String HOT_MVS_FILE = "mv_plan_cache_hot_mvs";
+    // mv id -> plan contexts of the mv with the version they are built from
+    private Cache<Long, VersionedPlanContexts> mvPlanContextCache = buildCache();
+    private ScheduledThreadPoolExecutor warmUpExecutor;
 
     // store the ast of mv's define query to mvs
     private Map<AstKey, Set<MaterializedView>> astToMvsMap = Maps.newConcurrentMap();
@@ -77,6 +100,29 @@ public class CachingMvPlanContextBuilder {
     }
 
 
+    /**
+     * Plan contexts of one mv. The version is a fingerprint of the mv's definition and the schemas of its base tables,
+     * so the plans are rebuilt lazily once the mv or any of its base tables is changed, without dropping the plans
+     * of other mvs. The plans are also rebuilt if the mv is replaced by another instance with the same id, the mv
+     * is weakly referenced so the replaced instance is not kept alive by the cache.
+     */
+    private static class VersionedPlanContexts {
+        private final WeakReference<MaterializedView> mv;
+        private final long version;
+        private final List<MvPlanContext> planContexts;
+        private final AtomicLong hits = new AtomicLong(0);
+
+        VersionedPlanContexts(MaterializedView mv, long version, List<MvPlanContext> planContexts) {
+            this.mv = new WeakReference<>(mv);
+            this.version = version;
+            this.planContexts = planContexts;
+        }
+
+        boolean isUpToDate(MaterializedView mv, long version) {
+            return this.version == version && this.mv.get() == mv;
+        }
+    }
+
     private CachingMvPlanContextBuilder() {
     }
 
@@ -87,7 +133,7 @@ public class CachingMvPlanContextBuilder {
     // After view based mv rewrite, one mv may has views as based tables.
     // It can return logical plans with or without inline views.
     // So here should return a List<MvPlanContext> for one mv
-    private Cache<MaterializedView, List<MvPlanContext>> buildCache() {
+    private Cache<Long, VersionedPlanContexts> buildCache() {
         return Caffeine.newBuilder()
                 .expireAfterAccess(Config.mv_plan_cache_expire_interval_sec, TimeUnit.SECONDS)
                 .maximumSize(Config.mv_plan_cache_max_size)
@@ -100,18 +146,79 @@ public class CachingMvPlanContextBuilder {
     }
 
     public List<MvPlanContext> getPlanContext(MaterializedView mv, boolean useCache) {
-        if (useCache) {
-            return mvPlanContextCache.get(mv, this::loadMvPlanContext);
-        } else {
+        if (!useCache) {
             return loadMvPlanContext(mv);
         }
+        long version = getPlanVersion(mv);
+        VersionedPlanContexts cached = mvPlanContextCache.getIfPresent(mv.getId());
+        if (cached == null || !cached.isUpToDate(mv, version)) {
+            // concurrent loads of the same mv are coalesced, the entry is removed if the plan can not be built
+            cached = mvPlanContextCache.asMap().compute(mv.getId(), (mvId, old) -> {
+                if (old != null && old.isUpToDate(mv, version)) {
+                    return old;
+                }
+                List<MvPlanContext> planContexts = loadMvPlanContext(mv);
+                return planContexts == null ? null : new VersionedPlanContexts(mv, version, planContexts);
+            });
+            if (cached == null) {
+                return null;
+            }
+        }
+        cached.hits.incrementAndGet();
+        return cached.planContexts;
     }
 
     /**
-     * Get plan cache only if mv is present in the plan cache, otherwise null is returned.
+     * Get plan cache only if mv is present in the plan cache and is up-to-date, otherwise null is returned.
      */
     public List<MvPlanContext> getPlanContextFromCacheIfPresent(MaterializedView mv) {
-        return mvPlanContextCache.getIfPresent(mv);
+        VersionedPlanContexts cached = mvPlanContextCache.getIfPresent(mv.getId());
+        if (cached == null || !cached.isUpToDate(mv, getPlanVersion(mv))) {
+            return null;
+        }
+        return cached.planContexts;
+    }
+
+    /**
+     * The version of mv's plan, which changes when the mv's definition or schema, or the schemas of its base tables
+     * are changed. Only in-memory metadata is used, external base tables are invalidated explicitly.
+     */
+    @VisibleForTesting
+    public static long getPlanVersion(MaterializedView mv) {
+        long version = Objects.hashCode(mv.getViewDefineSql());
+        version = version * 31 + getSchemaVersion(mv);
+        List<BaseTableInfo> baseTableInfos = mv.getBaseTableInfos();
+        if (baseTableInfos == null) {
+            return version;
+        }
+        for (BaseTableInfo baseTableInfo : baseTableInfos) {
+            version = version * 31 + Objects.hashCode(baseTableInfo.getTableIdentifier());
+            if (!baseTableInfo.isInternalCatalog()) {
+                continue;
+            }
+            Database db = GlobalStateMgr.getCurrentState().getDb(baseTableInfo.getDbId());
+            Table table = db == null ? null : db.getTable(baseTableInfo.getTableId());
+            if (table == null) {
+                continue;
+            }
+            version = version * 31 + table.getId();
+            if (table instanceof OlapTable) {
+                version = version * 31 + getSchemaVersion((OlapTable) table);
+            } else if (table instanceof View) {
+                version = version * 31 + Objects.hashCode(((View) table).getInlineViewDef());
+            } else {
+                version = version * 31 + table.getFullSchema().size();
+            }
+        }
+        return version;
+    }
+
+    private static long getSchemaVersion(OlapTable table) {
+        MaterializedIndexMeta indexMeta = table.getIndexMetaByIndexId(table.getBaseIndexId());
+        if (indexMeta == null) {
+            return table.getBaseSchema().size();
+        }
+        return indexMeta.getSchemaId() * 31 + indexMeta.getSchemaVersion();
     }
 
     private List<MvPlanContext> loadMvPlanContext(MaterializedView mv) {
@@ -125,11 +232,11 @@ public class CachingMvPlanContextBuilder {
 
     @VisibleForTesting
     public boolean contains(MaterializedView mv) {
-        return mvPlanContextCache.asMap().containsKey(mv);
+        return mvPlanContextCache.asMap().containsKey(mv.getId());
     }
 
     public void invalidateFromCache(MaterializedView mv, boolean isActive) {
-        mvPlanContextCache.invalidate(mv);
+        mvPlanContextCache.invalidate(mv.getId());
         invalidateAstFromCache(mv);
 
         // if transfer to active, put it into cache
@@ -138,6 +245,15 @@ public class CachingMvPlanContextBuilder {
         }
     }
 
+    /**
+     * Invalidate the cached plans of mvs which are directly based on the table, plans of other mvs are kept.
+     */
+    public void invalidateRelatedMvsFromCache(Table baseTable) {
+        for (MvId mvId : baseTable.getRelatedMaterializedViews()) {
+            mvPlanContextCache.invalidate(mvId.getId());
+        }
+    }
+
     public void invalidateAstFromCache(MaterializedView mv) {
         ParseNode parseNode = mv.getDefineQueryParseNode();
         if (parseNode == null) {
@@ -197,4 +313,107 @@ public class CachingMvPlanContextBuilder {
         }
         return keys;
     }
+
+    /**
+     * Build plans of active mvs in the background after FE starts, so the first queries do not need to optimize mv
+     * plans. The mvs hit most before the last restart are built first if the hot mvs are persisted.
+     */
+    public synchronized void startWarmUp() {
+        if (warmUpExecutor != null) {
+            return;
+        }
+        warmUpExecutor = ThreadPoolManager.newDaemonScheduledThreadPool(1, "mv-plan-cache-warm-up", true);
+        if (Config.enable_mv_plan_cache_warm_up) {
+            warmUpExecutor.submit(this::warmUp);
+        }
+        if (Config.mv_plan_cache_persist_interval_sec > 0) {
+            warmUpExecutor.scheduleWithFixedDelay(this::persistHotMvs, Config.mv_plan_cache_persist_interval_sec,
+                    Config.mv_plan_cache_persist_interval_sec, TimeUnit.SECONDS);
+        }
+    }
+
+    @VisibleForTesting
+    public int warmUp() {
+        long startMillis = System.currentTimeMillis();
+        Map<Long, MaterializedView> mvs = new LinkedHashMap<>();
+        GlobalStateMgr globalStateMgr = GlobalStateMgr.getCurrentState();
+        for (Long dbId : globalStateMgr.getLocalMetastore().getDbIds()) {
+            Database db = globalStateMgr.getDb(dbId);
+            if (db == null) {
+                continue;
+            }
+            for (MaterializedView mv : db.getMaterializedViews()) {
+                if (mv.isActive() && mv.isEnableRewrite()) {
+                    mvs.put(mv.getId(), mv);
+                }
+            }
+        }
+        List<MaterializedView> ordered = Lists.newArrayList();
+        for (Long mvId : loadHotMvs()) {
+            MaterializedView mv = mvs.remove(mvId);
+            if (mv != null) {
+                ordered.add(mv);
+            }
+        }
+        ordered.addAll(mvs.values());
+
+        int count = 0;
+        for (MaterializedView mv : ordered) {
+            if (count >= Config.mv_plan_cache_max_size) {
+                break;
+            }
+            if (getPlanContextFromCacheIfPresent(mv) == null && getPlanContext(mv, true) == null) {
+                continue;
+            }
+            count++;
+        }
+        LOG.info("finish warming up mv plan cache with {}/{} mvs in {}ms", count, ordered.size(),
+                System.currentTimeMillis() - startMillis);
+        return count;
+    }
+
+    private static File getHotMvsFile() {
+        return new File(Config.meta_dir, HOT_MVS_FILE);
+    }
+
+    /**
+     * Persist the ids of cached mvs ordered by hits. Plans themselves are not persisted, because they reference
+     * catalog objects and column ref factories which can not be restored across restarts.
+     */
+    @VisibleForTesting
+    public void persistHotMvs() {
+        List<String> mvIds = mvPlanContextCache.asMap().entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<Long, VersionedPlanContexts> e) -> e.getValue().hits.get()).reversed())
+                .map(e -> String.valueOf(e.getKey()))
+                .collect(Collectors.toList());
+        File file = getHotMvsFile();
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try {
+            Files.write(tmpFile.toPath(), mvIds, StandardCharsets.UTF_8);
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("failed to persist hot mvs of mv plan cache to {}", file, e);
+        }
+    }
+
+    @VisibleForTesting
+    public List<Long> loadHotMvs() {
+        List<Long> mvIds = Lists.newArrayList();
+        File file = getHotMvsFile();
+        if (!file.exists()) {
+            return mvIds;
+        }
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    mvIds.add(Long.parseLong(line.trim()));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOG.warn("failed to load hot mvs of mv plan cache from {}", file, e);
+        }
+        return mvIds;
+    }
 }
@@ -65,6 +65,7 @@ import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.rule.RuleSetType;
 import com.starrocks.sql.optimizer.rule.mv.MVUtils;
+import com.starrocks.sql.optimizer.rule.transformation.materialization.MvPlanSignature;
 import com.starrocks.sql.optimizer.rule.transformation.materialization.MvRewriteStrategy;
 import com.starrocks.sql.optimizer.rule.transformation.materialization.MvUtils;
 import org.apache.commons.collections.CollectionUtils;
@@ -245,13 +246,18 @@ public class MvRewritePreprocessor {
                     mvWithPlanContexts = getMvWithPlanContext(selectedRelatedMVs);
                 }
 
-                // 4. process related mvs to candidates
-                try (Timer t3 = Tracers.watchScope("validateMv")) {
+                // 4. prune mvs which can never be used to rewrite the query by their plan signatures
+                try (Timer t3 = Tracers.watchScope("pruneMvBySignature")) {
+                    mvWithPlanContexts = pruneMvsBySignature(queryOptExpression, mvWithPlanContexts);
+                }
+
+                // 5. process related mvs to candidates
+                try (Timer t4 = Tracers.watchScope("validateMv")) {
                     prepareRelatedMVs(queryTables, mvWithPlanContexts);
                 }
 
-                // 5. process relate mvs with views
-                try (Timer t4 = Tracers.watchScope("mvWithView")) {
+                // 6. process relate mvs with views
+                try (Timer t5 = Tracers.watchScope("mvWithView")) {
                     processPlanWithView(queryMaterializationContext, connectContext, queryOptExpression,
                             queryColumnRefFactory, requiredColumns);
                 }
@@ -622,6 +628,38 @@ public class MvRewritePreprocessor {
         return mvWithPlanContexts;
     }
 
+    @VisibleForTesting
+    public Set<MvWithPlanContext> pruneMvsBySignature(OptExpression queryOptExpression,
+                                                      Set<MvWithPlanContext> mvWithPlanContexts) {
+        if (!connectContext.getSessionVariable().isEnableMaterializedViewRewriteSignaturePrune() ||
+                mvWithPlanContexts.isEmpty()) {
+            return mvWithPlanContexts;
+        }
+        MvPlanSignature querySignature = MvPlanSignature.build(queryOptExpression);
+
+        Map<MvPlanSignature.PruneStage, Integer> prunedCounts = Maps.newEnumMap(MvPlanSignature.PruneStage.class);
+        Set<MvWithPlanContext> result = Sets.newHashSet();
+        for (MvWithPlanContext mvWithPlanContext : mvWithPlanContexts) {
+            MvPlanSignature mvSignature = mvWithPlanContext.getMvPlanContext().getSignature();
+            MvPlanSignature.PruneStage stage = mvSignature == null ? null :
+                    mvSignature.prune(querySignature);
+            if (stage == null) {
+                result.add(mvWithPlanContext);
+            } else {
+                prunedCounts.merge(stage, 1, Integer::sum);
+                logMVPrepare(connectContext, mvWithPlanContext.getMv(), "MV {} is pruned by signature at stage {}",
+                        mvWithPlanContext.getMv().getName(), stage);
+            }
+        }
+        for (MvPlanSignature.PruneStage stage : MvPlanSignature.PruneStage.values()) {
+            Tracers.count(Tracers.Module.MV, "MVSignaturePrunedBy" + stage.name(), prunedCounts.getOrDefault(stage, 0));
+        }
+        Tracers.count(Tracers.Module.MV, "MVSignatureCandidates", result.size());
+        logMVPrepare(connectContext, "Choose {}/{} mv plans after pruning by signature: {}",
+                result.size(), mvWithPlanContexts.size(), prunedCounts);
+        return result;
+    }
+
     private Set<MaterializedView> getRelatedAsyncMVs(Set<Table> queryTables) {
         int maxLevel = connectContext.getSessionVariable().getNestedMvRewriteMaxLevel();
         // get all related materialized views, include nested mvs
@@ -19,6 +19,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.JoinOperator;
 import com.starrocks.catalog.ColocateTableIndex;
+import com.starrocks.catalog.JDBCTable;
 import com.starrocks.catalog.system.SystemTable;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.optimizer.base.CTEProperty;
@@ -508,7 +509,12 @@ public class OutputPropertyDeriver extends PropertyDeriverBase<PhysicalPropertyS
 
     @Override
     public PhysicalPropertySet visitPhysicalJDBCScan(PhysicalJDBCScanOperator node, ExpressionContext context) {
-        return createGatherPropertySet();
+        // the scan may be split into ranges read by multiple instances
+        if (((JDBCTable) node.getTable()).getScanMaxParallelism() > 1) {
+            return PhysicalPropertySet.EMPTY;
+        } else {
+            return createGatherPropertySet();
+        }
     }
 
     @Override
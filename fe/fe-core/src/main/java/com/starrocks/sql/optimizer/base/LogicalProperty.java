@@ -18,6 +18,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.starrocks.catalog.Column;
+import com.starrocks.catalog.JDBCTable;
 import com.starrocks.sql.optimizer.ExpressionContext;
 import com.starrocks.sql.optimizer.operator.Operator;
 import com.starrocks.sql.optimizer.operator.OperatorType;
@@ -186,7 +187,13 @@ public class LogicalProperty implements Property {
                     return OneTabletProperty.supportWithoutChangeDistribution(new ColumnRefSet(bucketColumns));
                 }
                 return OneTabletProperty.notSupport();
-            } else if (node instanceof LogicalMysqlScanOperator || node instanceof LogicalJDBCScanOperator) {
+            } else if (node instanceof LogicalJDBCScanOperator) {
+                // the scan may be split into ranges read by multiple instances
+                if (((JDBCTable) node.getTable()).getScanMaxParallelism() > 1) {
+                    return OneTabletProperty.notSupport();
+                }
+                return OneTabletProperty.supportWithoutChangeDistribution(new ColumnRefSet());
+            } else if (node instanceof LogicalMysqlScanOperator) {
                 return OneTabletProperty.supportWithoutChangeDistribution(new ColumnRefSet());
             }
             return OneTabletProperty.notSupport();
@@ -16,6 +16,7 @@ package com.starrocks.sql.optimizer.operator.stream;
 
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Table;
+import com.starrocks.sql.ast.PartitionNames;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.OptExpressionVisitor;
 import com.starrocks.sql.optimizer.operator.OperatorType;
@@ -24,20 +25,51 @@ import com.starrocks.sql.optimizer.operator.logical.LogicalScanOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class LogicalBinlogScanOperator extends LogicalScanOperator {
 
+    // Partitions specified in the query, null means all partitions
+    private PartitionNames partitionNames;
+
     public LogicalBinlogScanOperator(Table table,
                                      Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
                                      Map<Column, ColumnRefOperator> columnMetaToColRefMap,
                                      long limit) {
+        this(table, colRefToColumnMetaMap, columnMetaToColRefMap, limit, null);
+    }
+
+    public LogicalBinlogScanOperator(Table table,
+                                     Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
+                                     Map<Column, ColumnRefOperator> columnMetaToColRefMap,
+                                     long limit,
+                                     PartitionNames partitionNames) {
         super(OperatorType.LOGICAL_BINLOG_SCAN, table, colRefToColumnMetaMap, columnMetaToColRefMap, limit, null, null);
+        this.partitionNames = partitionNames;
     }
 
     private LogicalBinlogScanOperator() {
         super(OperatorType.LOGICAL_BINLOG_SCAN);
     }
 
+    public PartitionNames getPartitionNames() {
+        return partitionNames;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        LogicalBinlogScanOperator that = (LogicalBinlogScanOperator) o;
+        return Objects.equals(partitionNames, that.partitionNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), partitionNames);
+    }
+
     @Override
     public <R, C> R accept(OperatorVisitor<R, C> visitor, C context) {
         return visitor.visitLogicalBinlogScan(this, context);
@@ -55,6 +87,13 @@ public class LogicalBinlogScanOperator extends LogicalScanOperator {
         protected LogicalBinlogScanOperator newInstance() {
             return new LogicalBinlogScanOperator();
         }
+
+        @Override
+        public Builder withOperator(LogicalBinlogScanOperator scanOperator) {
+            super.withOperator(scanOperator);
+            builder.partitionNames = scanOperator.partitionNames;
+            return this;
+        }
     }
 
 }
@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Table;
+import com.starrocks.sql.ast.PartitionNames;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.OptExpressionVisitor;
 import com.starrocks.sql.optimizer.RowOutputInfo;
@@ -37,6 +38,7 @@ public class PhysicalStreamScanOperator extends PhysicalStreamOperator {
     protected final Table table;
     protected List<ColumnRefOperator> outputColumns;
     protected final ImmutableMap<ColumnRefOperator, Column> colRefToColumnMetaMap;
+    protected final PartitionNames partitionNames;
 
     public PhysicalStreamScanOperator(LogicalScanOperator scanOperator) {
         super(OperatorType.PHYSICAL_STREAM_SCAN);
@@ -44,6 +46,8 @@ public class PhysicalStreamScanOperator extends PhysicalStreamOperator {
         this.colRefToColumnMetaMap = ImmutableMap.copyOf(scanOperator.getColRefToColumnMetaMap());
         this.predicate = scanOperator.getPredicate();
         this.projection = scanOperator.getProjection();
+        this.partitionNames = scanOperator instanceof LogicalBinlogScanOperator ?
+                ((LogicalBinlogScanOperator) scanOperator).getPartitionNames() : null;
         if (this.projection != null) {
             outputColumns = projection.getOutputColumns();
         } else {
@@ -63,6 +67,10 @@ public class PhysicalStreamScanOperator extends PhysicalStreamOperator {
         return table;
     }
 
+    public PartitionNames getPartitionNames() {
+        return partitionNames;
+    }
+
     @Override
     public RowOutputInfo deriveRowOutputInfo(List<OptExpression> inputs) {
         return new RowOutputInfo(colRefToColumnMetaMap.keySet().stream()
@@ -97,11 +105,12 @@ public class PhysicalStreamScanOperator extends PhysicalStreamOperator {
         }
         PhysicalStreamScanOperator that = (PhysicalStreamScanOperator) o;
         return Objects.equals(table, that.table) && Objects.equals(outputColumns, that.outputColumns) &&
-                Objects.equals(colRefToColumnMetaMap, that.colRefToColumnMetaMap);
+                Objects.equals(colRefToColumnMetaMap, that.colRefToColumnMetaMap) &&
+                Objects.equals(partitionNames, that.partitionNames);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), table, outputColumns, colRefToColumnMetaMap);
+        return Objects.hash(super.hashCode(), table, outputColumns, colRefToColumnMetaMap, partitionNames);
     }
 }
@@ -36,6 +36,7 @@ import com.starrocks.connector.RemoteFileDesc;
 import com.starrocks.connector.RemoteFileInfo;
 import com.starrocks.connector.elasticsearch.EsShardPartitions;
 import com.starrocks.connector.elasticsearch.EsTablePartitions;
+import com.starrocks.connector.iceberg.IcebergMetadata;
 import com.starrocks.planner.PartitionColumnFilter;
 import com.starrocks.planner.PartitionPruner;
 import com.starrocks.planner.RangePartitionPruner;
@@ -315,6 +316,12 @@ public class OptExternalPartitionPruner {
                 //  is empty. It's expensive to set all partitions here.
                 return;
             }
+            if (!table.isUnPartitioned() && IcebergMetadata.isStreamingScan(context.getSessionVariable(),
+                    operator.getLimit())) {
+                // listing the partitions plans all the files, the files of a streaming scan are only planned
+                // when the scan ranges are built
+                return;
+            }
 
             // Use mutable map instead of immutable map so can be re-partition-prune, see ScanOperatorPredicates#clear().
             Map<Long, PartitionKey> partitionKeyMap = Maps.newHashMap();
@@ -38,6 +38,15 @@ public class StreamScanImplementationRule extends StreamImplementationRule {
         super(type, Pattern.create(OperatorType.LOGICAL_BINLOG_SCAN));
     }
 
+    /**
+     * Binlog scan is also used by the delta refresh of materialized view, which reads the changes of
+     * base table by `[_BINLOG_]` hint in a batch query.
+     */
+    @Override
+    public boolean check(final OptExpression input, OptimizerContext context) {
+        return super.check(input, context) || context.getSessionVariable().isEnableBinlogBatchScan();
+    }
+
     @Override
     public List<OptExpression> transform(OptExpression input, OptimizerContext context) {
         LogicalScanOperator logical = (LogicalScanOperator) input.getOp();
@@ -0,0 +1,206 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.rule.transformation.materialization;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Table;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.operator.Operator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalAggregationOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalJoinOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalProjectOperator;
+import com.starrocks.sql.optimizer.operator.logical.LogicalScanOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A normalized summary of a logical plan which is used to prune materialized views that can never be used to
+ * rewrite a query with cheap set checks, before the expensive preprocessing and {@link MaterializedViewRewriter}
+ * structural match. Signatures of materialized views are cached with their plans in {@code MvPlanContext}.
+ * <p>
+ * Columns are normalized to `table uuid.column name` so signatures built from different column ref factories
+ * can be compared with each other.
+ */
+public class MvPlanSignature {
+    public enum PruneStage {
+        // mv contains aggregation but the query does not
+        AGGREGATE,
+        // the query's grouping keys, predicates or aggregate arguments reference columns that mv does not contain
+        COLUMN
+    }
+
+    // table uuid -> times of the table appearing in the plan
+    private final Map<String, Integer> tables;
+    // whether the plan contains views which are expanded by view-based rewrite later
+    private final boolean hasView;
+    private final int aggregationNum;
+    // columns scanned by the plan
+    private final Set<String> scanColumns;
+    // base columns referenced by grouping keys, predicates, join on predicates and aggregate arguments
+    private final Set<String> usedColumns;
+
+    private MvPlanSignature(Map<String, Integer> tables, boolean hasView, int aggregationNum,
+                            Set<String> scanColumns, Set<String> usedColumns) {
+        this.tables = tables;
+        this.hasView = hasView;
+        this.aggregationNum = aggregationNum;
+        this.scanColumns = scanColumns;
+        this.usedColumns = usedColumns;
+    }
+
+    public Set<String> getTables() {
+        return tables.keySet();
+    }
+
+    public boolean hasAggregation() {
+        return aggregationNum > 0;
+    }
+
+    public Set<String> getScanColumns() {
+        return scanColumns;
+    }
+
+    public Set<String> getUsedColumns() {
+        return usedColumns;
+    }
+
+    public static String getTableKey(Table table) {
+        return table.getUUID();
+    }
+
+    /**
+     * Check whether the mv with this signature may be used to rewrite the query.
+     *
+     * The tables of mv are not compared with the query's, related mvs are found by the query's tables so they
+     * always share tables with the query or its rewritten plan by nested mvs. Neither are join graphs and
+     * predicates, an mv with more joins may still rewrite the query by view delta, and an mv with more
+     * predicates by union rewrite.
+     *
+     * @param query signature of the query
+     * @return the stage at which the mv is pruned, or null if it may be used
+     */
+    public PruneStage prune(MvPlanSignature query) {
+        if (hasAggregation() && !query.hasAggregation()) {
+            return PruneStage.AGGREGATE;
+        }
+        // Only check columns when the mv covers exactly the same tables with the query and the query contains at most
+        // one aggregation, then all columns used by the query must be provided by the mv.
+        if (!hasView && !query.hasView && query.aggregationNum <= 1 && tables.equals(query.tables)
+                && tables.values().stream().allMatch(count -> count == 1)
+                && !scanColumns.containsAll(query.usedColumns)) {
+            return PruneStage.COLUMN;
+        }
+        return null;
+    }
+
+    public static MvPlanSignature build(OptExpression plan) {
+        Builder builder = new Builder();
+        builder.collect(plan);
+        return builder.build();
+    }
+
+    private static class Builder {
+        private final Map<String, Integer> tables = Maps.newHashMap();
+        private boolean hasView = false;
+        private int aggregationNum = 0;
+        private final Set<String> scanColumns = Sets.newHashSet();
+        // column ref -> base column of scan operators
+        private final Map<ColumnRefOperator, String> columnRefToColumn = Maps.newHashMap();
+        // column ref -> the expression it is computed from
+        private final Map<ColumnRefOperator, ScalarOperator> columnRefToExpr = Maps.newHashMap();
+        private final List<ScalarOperator> usedExprs = Lists.newArrayList();
+
+        private void collect(OptExpression optExpression) {
+            Operator op = optExpression.getOp();
+            if (op.getProjection() != null) {
+                addColumnRefMap(op.getProjection().getColumnRefMap());
+            }
+            if (op.getPredicate() != null) {
+                usedExprs.add(op.getPredicate());
+            }
+            if (op instanceof LogicalScanOperator) {
+                LogicalScanOperator scanOperator = (LogicalScanOperator) op;
+                Table table = scanOperator.getTable();
+                String tableKey = getTableKey(table);
+                tables.merge(tableKey, 1, Integer::sum);
+                hasView |= table.isView();
+                for (Map.Entry<ColumnRefOperator, Column> entry : scanOperator.getColRefToColumnMetaMap().entrySet()) {
+                    String column = tableKey + "." + entry.getValue().getName().toLowerCase();
+                    scanColumns.add(column);
+                    columnRefToColumn.put(entry.getKey(), column);
+                }
+                return;
+            }
+            if (op instanceof LogicalAggregationOperator) {
+                LogicalAggregationOperator aggregationOperator = (LogicalAggregationOperator) op;
+                aggregationNum++;
+                usedExprs.addAll(aggregationOperator.getGroupingKeys());
+                for (Map.Entry<ColumnRefOperator, CallOperator> entry : aggregationOperator.getAggregations().entrySet()) {
+                    usedExprs.add(entry.getValue());
+                    columnRefToExpr.put(entry.getKey(), entry.getValue());
+                }
+            } else if (op instanceof LogicalJoinOperator) {
+                LogicalJoinOperator joinOperator = (LogicalJoinOperator) op;
+                if (joinOperator.getOnPredicate() != null) {
+                    usedExprs.add(joinOperator.getOnPredicate());
+                }
+            } else if (op instanceof LogicalProjectOperator) {
+                addColumnRefMap(((LogicalProjectOperator) op).getColumnRefMap());
+            }
+            for (OptExpression child : optExpression.getInputs()) {
+                collect(child);
+            }
+        }
+
+        private void addColumnRefMap(Map<ColumnRefOperator, ScalarOperator> columnRefMap) {
+            for (Map.Entry<ColumnRefOperator, ScalarOperator> entry : columnRefMap.entrySet()) {
+                if (!entry.getKey().equals(entry.getValue())) {
+                    columnRefToExpr.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private void resolve(ScalarOperator expr, Set<String> columns, Set<ColumnRefOperator> visited) {
+            for (ColumnRefOperator columnRef : expr.getColumnRefs()) {
+                if (!visited.add(columnRef)) {
+                    continue;
+                }
+                String column = columnRefToColumn.get(columnRef);
+                if (column != null) {
+                    columns.add(column);
+                } else if (columnRefToExpr.containsKey(columnRef)) {
+                    resolve(columnRefToExpr.get(columnRef), columns, visited);
+                }
+            }
+        }
+
+        private MvPlanSignature build() {
+            Set<String> usedColumns = Sets.newHashSet();
+            Set<ColumnRefOperator> visited = Sets.newHashSet();
+            for (ScalarOperator expr : usedExprs) {
+                resolve(expr, usedColumns, visited);
+            }
+            return new MvPlanSignature(tables, hasView, aggregationNum, scanColumns, usedColumns);
+        }
+    }
+}
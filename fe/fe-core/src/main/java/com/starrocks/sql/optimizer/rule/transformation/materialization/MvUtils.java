@@ -50,6 +50,7 @@ import com.starrocks.sql.analyzer.SemanticException;
 import com.starrocks.sql.ast.QueryRelation;
 import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.StatementBase;
+import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
 import com.starrocks.sql.optimizer.ExpressionContext;
 import com.starrocks.sql.optimizer.JoinHelper;
 import com.starrocks.sql.optimizer.MvPlanContextBuilder;
@@ -1082,6 +1083,8 @@ public class MvUtils {
     public static void inactiveRelatedMaterializedViews(Database db,
                                                         OlapTable olapTable,
                                                         Set<String> modifiedColumns) {
+        // plans of related mvs reference the base table's old schema even if they are still active
+        CachingMvPlanContextBuilder.getInstance().invalidateRelatedMvsFromCache(olapTable);
         if (modifiedColumns == null || modifiedColumns.isEmpty()) {
             return;
         }
@@ -18,6 +18,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.starrocks.common.profile.Timer;
 import com.starrocks.common.profile.Tracers;
 import com.starrocks.connector.MetaPreparationItem;
+import com.starrocks.connector.iceberg.IcebergMetadata;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.server.MetadataMgr;
 import com.starrocks.sql.optimizer.OptExpression;
@@ -47,6 +48,7 @@ public class PrepareCollectMetaTask extends OptimizerTask {
         List<LogicalScanOperator> scanOperators = collectScanOperators(planTree)
                 .stream()
                 .filter(scanOperator -> scanOperator.getTable().supportPreCollectMetadata())
+                .filter(scanOperator -> !isStreamingIcebergScan(scanOperator))
                 .collect(Collectors.groupingBy(LogicalScanOperator::getOpType))
                 .values()
                 .stream()
@@ -77,6 +79,12 @@ public class PrepareCollectMetaTask extends OptimizerTask {
         executorService.shutdown();
     }
 
+    // the files of a streaming iceberg scan are only planned when the scan ranges are built
+    private boolean isStreamingIcebergScan(LogicalScanOperator scanOperator) {
+        return scanOperator.getTable().isIcebergTable() && IcebergMetadata.isStreamingScan(
+                context.getOptimizerContext().getSessionVariable(), scanOperator.getLimit());
+    }
+
     private List<LogicalScanOperator> collectScanOperators(OptExpression tree) {
         List<LogicalScanOperator> scanOperators = new ArrayList<>();
         Utils.extractOperator(tree, scanOperators, op -> op instanceof LogicalScanOperator);
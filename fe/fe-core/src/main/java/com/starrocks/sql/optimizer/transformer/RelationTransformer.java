@@ -526,7 +526,8 @@ public class RelationTransformer implements AstVisitor<LogicalPlan, ExpressionMa
             DistributionSpec distributionSpec = getTableDistributionSpec(node, columnMetaToColRefMap);
             if (node.isMetaQuery()) {
                 scanOperator = new LogicalMetaScanOperator(node.getTable(), colRefToColumnMetaMapBuilder.build());
-            } else if (!isMVPlanner) {
+            } else if (!isMVPlanner &&
+                    !(node.isBinlogQuery() && session.getSessionVariable().isEnableBinlogBatchScan())) {
                 scanOperator = LogicalOlapScanOperator.builder()
                         .setTable(node.getTable())
                         .setColRefToColumnMetaMap(colRefToColumnMetaMapBuilder.build())
@@ -545,7 +546,8 @@ public class RelationTransformer implements AstVisitor<LogicalPlan, ExpressionMa
                         node.getTable(),
                         colRefToColumnMetaMapBuilder.build(),
                         columnMetaToColRefMap,
-                        Operator.DEFAULT_LIMIT);
+                        Operator.DEFAULT_LIMIT,
+                        node.getPartitionNames());
             }
         } else if (Table.TableType.HIVE.equals(node.getTable().getType())) {
             scanOperator = new LogicalHiveScanOperator(node.getTable(), colRefToColumnMetaMapBuilder.build(),
@@ -20,6 +20,7 @@ import com.starrocks.common.profile.Tracers;
 import com.starrocks.metric.MaterializedViewMetricsEntity;
 import com.starrocks.metric.MaterializedViewMetricsRegistry;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.scheduler.MvQueryUsage;
 import com.starrocks.sql.optimizer.MaterializationContext;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.OptimizerContext;
@@ -104,6 +105,7 @@ public class MVRewriteValidator {
                 mvEntity.increaseQueryHitCount(1L);
             }
             mvEntity.increaseQueryMaterializedViewCount(1L);
+            MvQueryUsage.getInstance().recordQuery(mv.getMvId(), System.currentTimeMillis());
         }
     }
 
@@ -214,6 +214,7 @@ import java.util.stream.Collectors;
 import static com.starrocks.catalog.Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF;
 import static com.starrocks.sql.common.ErrorType.INTERNAL_ERROR;
 import static com.starrocks.sql.common.UnsupportedException.unsupportedException;
+import static com.starrocks.thrift.PlanNodesConstants.BINLOG_VERSION_COLUMN_NAME;
 
 /**
  * PlanFragmentBuilder used to transform physical operator to exec plan fragment
@@ -1611,9 +1612,14 @@ public class PlanFragmentBuilder {
             scanNode.computeColumnsAndFilters();
             scanNode.computeStatistics(optExpression.getStatistics());
             scanNode.setScanOptimzeOption(node.getScanOptimzeOption());
+            try {
+                scanNode.setupScanRangeLocations();
+            } catch (UserException e) {
+                throw new StarRocksPlannerException(e.getMessage(), INTERNAL_ERROR);
+            }
             context.getScanNodes().add(scanNode);
-            PlanFragment fragment =
-                    new PlanFragment(context.getNextFragmentId(), scanNode, DataPartition.UNPARTITIONED);
+            PlanFragment fragment = new PlanFragment(context.getNextFragmentId(), scanNode,
+                    scanNode.isSplit() ? DataPartition.RANDOM : DataPartition.UNPARTITIONED);
             context.getFragments().add(fragment);
             return fragment;
         }
@@ -3403,6 +3409,18 @@ public class PlanFragmentBuilder {
             BinlogScanNode binlogScanNode = new BinlogScanNode(context.getNextNodeId(), tupleDescriptor);
             binlogScanNode.computeStatistics(optExpr.getStatistics());
             currentExecGroup.add(binlogScanNode, true);
+            if (node.getPartitionNames() != null) {
+                Set<Long> selectedPartitionIds = new HashSet<>();
+                for (String partitionName : node.getPartitionNames().getPartitionNames()) {
+                    Partition partition = scanTable.getPartition(partitionName, node.getPartitionNames().isTemp());
+                    if (partition == null) {
+                        throw new StarRocksPlannerException("Unknown partition: " + partitionName, INTERNAL_ERROR);
+                    }
+                    partition.getSubPartitions().forEach(p -> selectedPartitionIds.add(p.getId()));
+                }
+                binlogScanNode.setSelectedPartitionIds(selectedPartitionIds);
+            }
+            binlogScanNode.setStartVersion(getBinlogStartVersion(node));
             try {
                 binlogScanNode.computeScanRanges();
             } catch (UserException e) {
@@ -3436,6 +3454,34 @@ public class PlanFragmentBuilder {
             return fragment;
         }
 
+        /**
+         * Get the lower bound of `_binlog_version` from predicates, so that BE can skip the binlog of
+         * older versions instead of reading all and filtering them.
+         */
+        private long getBinlogStartVersion(PhysicalStreamScanOperator node) {
+            long startVersion = -1;
+            for (ScalarOperator predicate : Utils.extractConjuncts(node.getPredicate())) {
+                if (!(predicate instanceof BinaryPredicateOperator) ||
+                        !(predicate.getChild(0) instanceof ColumnRefOperator) ||
+                        !(predicate.getChild(1) instanceof ConstantOperator)) {
+                    continue;
+                }
+                Column column = node.getColRefToColumnMetaMap().get((ColumnRefOperator) predicate.getChild(0));
+                ConstantOperator value = (ConstantOperator) predicate.getChild(1);
+                if (column == null || !BINLOG_VERSION_COLUMN_NAME.equalsIgnoreCase(column.getName()) ||
+                        value.isNull() || !value.getType().isBigint()) {
+                    continue;
+                }
+                BinaryType binaryType = ((BinaryPredicateOperator) predicate).getBinaryType();
+                if (binaryType == BinaryType.GT) {
+                    startVersion = Math.max(startVersion, value.getBigint() + 1);
+                } else if (binaryType == BinaryType.GE || binaryType == BinaryType.EQ) {
+                    startVersion = Math.max(startVersion, value.getBigint());
+                }
+            }
+            return startVersion;
+        }
+
         private void fillSlotsInfo(Projection projection, JoinNode joinNode, OptExpression optExpr,
                                    ColumnRefSet requiredColsForFilter) {
             ColumnRefSet outputCols = new ColumnRefSet();
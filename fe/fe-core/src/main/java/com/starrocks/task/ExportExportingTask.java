@@ -317,6 +317,27 @@ public class ExportExportingTask extends PriorityLeaderTask {
         protected void exec() {
             LOG.info("begin execute sub task, task idx: {}, task query id: {}", taskIdx, getQueryId());
 
+            try {
+                coord = exportJob.assignCoord(taskIdx);
+            } catch (UserException e) {
+                // still use the planned coord
+                LOG.warn("fail to assign coord for task idx: {}, task query id: {}, reason: {}", taskIdx,
+                        getQueryId(), e.getMessage());
+            }
+            try {
+                execWithRetry();
+            } finally {
+                exportJob.releaseCoord(taskIdx);
+            }
+
+            coord.getQueryProfile().getCounterTotalTime().setValue(TimeUtils.getEstimatedTime(job.getStartTimeMs()));
+            coord.collectProfileSync();
+            synchronized (fragmentProfiles) {
+                fragmentProfiles.add(coord.getQueryProfile());
+            }
+        }
+
+        private void execWithRetry() {
             boolean success = false;
             String failMsg = null;
 
@@ -371,12 +392,6 @@ public class ExportExportingTask extends PriorityLeaderTask {
             if (!success) {
                 onSubTaskFailed(coord, failMsg);
             }
-
-            coord.getQueryProfile().getCounterTotalTime().setValue(TimeUtils.getEstimatedTime(job.getStartTimeMs()));
-            coord.collectProfileSync();
-            synchronized (fragmentProfiles) {
-                fragmentProfiles.add(coord.getQueryProfile());
-            }
         }
 
         private void execOneCoord(Coordinator coord) throws Exception {
@@ -79,11 +79,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -92,6 +92,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -122,24 +127,34 @@ public class DatabaseTransactionMgr {
 
     /*
      * transactionLock is used to control the access to database transaction manager data
-     * Modifications to the following multiple data structures must be protected by this lock
+     * Operations on the whole database, such as removing expired txns and replaying, hold the write lock.
+     * State changes of a single transaction hold the read lock and the stripe locks of all tables written
+     * by the transaction, so that transactions on different tables do not block each other.
      * */
     private final ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
+    /*
+     * tableStripeLocks: serialize the state changes of transactions writing the same table, which keeps the
+     * commit versions and the order in transactionGraph consistent for each table.
+     * labelStripeLocks: serialize the label check and insertion when beginning transactions with the same label.
+     * */
+    private final ReentrantLock[] tableStripeLocks;
+    private final Object[] labelStripeLocks;
+
     // count the number of running transactions of database, except for shapeless.the routine load txn
-    private int runningTxnNums = 0;
+    private final AtomicInteger runningTxnNums = new AtomicInteger(0);
 
     // count only the number of running routine load transactions of database
-    private int runningRoutineLoadTxnNums = 0;
+    private final AtomicInteger runningRoutineLoadTxnNums = new AtomicInteger(0);
 
     /*
      * idToRunningTransactionState: transactionId -> running TransactionState
      * idToFinalStatusTransactionState: transactionId -> final status TransactionState
      * finalStatusTransactionStateDeque: to store transactionStates with final status
      * */
-    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
-    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
-    private final ArrayDeque<TransactionState> finalStatusTransactionStateDeque = new ArrayDeque<>();
+    private final Map<Long, TransactionState> idToRunningTransactionState = Maps.newConcurrentMap();
+    private final Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newConcurrentMap();
+    private final Deque<TransactionState> finalStatusTransactionStateDeque = new ConcurrentLinkedDeque<>();
 
     // store committed transactions' dependency relationships
     private final TransactionGraph transactionGraph = new TransactionGraph();
@@ -148,13 +163,20 @@ public class DatabaseTransactionMgr {
      * `labelToTxnIds` is used for checking if label already used. map label to transaction id
      * One label may correspond to multiple transactions, and only one is success.
      */
-    private final Map<String, Set<Long>> labelToTxnIds = Maps.newHashMap();
-    private long maxCommitTs = 0;
+    private final Map<String, Set<Long>> labelToTxnIds = Maps.newConcurrentMap();
+    private final AtomicLong maxCommitTs = new AtomicLong(0);
 
     public DatabaseTransactionMgr(long dbId, GlobalStateMgr globalStateMgr) {
         this.dbId = dbId;
         this.globalStateMgr = globalStateMgr;
         this.editLog = globalStateMgr.getEditLog();
+        int stripeNum = Math.max(1, Config.transaction_lock_stripe_num);
+        this.tableStripeLocks = new ReentrantLock[stripeNum];
+        this.labelStripeLocks = new Object[stripeNum];
+        for (int i = 0; i < stripeNum; i++) {
+            tableStripeLocks[i] = new ReentrantLock();
+            labelStripeLocks[i] = new Object();
+        }
     }
 
     /**
@@ -190,7 +212,7 @@ public class DatabaseTransactionMgr {
 
         transactionState.writeLock();
         try {
-            writeLock();
+            int[] stripes = lockTables(tableIdList);
             try {
                 /*
                  * Check if label already used, by following steps
@@ -199,33 +221,37 @@ public class DatabaseTransactionMgr {
                  *    existing txn id.
                  * 3. if there is a non-aborted transaction, throw label already used exception.
                  */
-                Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-                if (existingTxnIds != null && !existingTxnIds.isEmpty()) {
-                    List<TransactionState> notAbortedTxns = Lists.newArrayList();
-                    for (long txnId : existingTxnIds) {
-                        TransactionState txn = unprotectedGetTransactionState(txnId);
-                        Preconditions.checkNotNull(txn);
-                        if (txn.getTransactionStatus() != TransactionStatus.ABORTED) {
-                            notAbortedTxns.add(txn);
+                // the same label may be used by transactions on different tables
+                synchronized (getLabelStripeLock(label)) {
+                    Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
+                    if (existingTxnIds != null && !existingTxnIds.isEmpty()) {
+                        List<TransactionState> notAbortedTxns = Lists.newArrayList();
+                        for (long txnId : existingTxnIds) {
+                            TransactionState txn = unprotectedGetTransactionState(txnId);
+                            Preconditions.checkNotNull(txn);
+                            if (txn.getTransactionStatus() != TransactionStatus.ABORTED) {
+                                notAbortedTxns.add(txn);
+                            }
                         }
-                    }
-                    // there should be at most 1 txn in PREPARE/COMMITTED/VISIBLE status
-                    Preconditions.checkState(notAbortedTxns.size() <= 1, notAbortedTxns);
-                    if (!notAbortedTxns.isEmpty()) {
-                        TransactionState notAbortedTxn = notAbortedTxns.get(0);
-                        if (requestId != null && notAbortedTxn.getTransactionStatus() == TransactionStatus.PREPARE
-                                && notAbortedTxn.getRequestId() != null && notAbortedTxn.getRequestId().equals(requestId)) {
-                            // this may be a retry request for same job, just return existing txn id.
-                            throw new DuplicatedRequestException(DebugUtil.printId(requestId),
-                                    notAbortedTxn.getTransactionId(), "");
+                        // there should be at most 1 txn in PREPARE/COMMITTED/VISIBLE status
+                        Preconditions.checkState(notAbortedTxns.size() <= 1, notAbortedTxns);
+                        if (!notAbortedTxns.isEmpty()) {
+                            TransactionState notAbortedTxn = notAbortedTxns.get(0);
+                            if (requestId != null && notAbortedTxn.getTransactionStatus() == TransactionStatus.PREPARE
+                                    && notAbortedTxn.getRequestId() != null
+                                    && notAbortedTxn.getRequestId().equals(requestId)) {
+                                // this may be a retry request for same job, just return existing txn id.
+                                throw new DuplicatedRequestException(DebugUtil.printId(requestId),
+                                        notAbortedTxn.getTransactionId(), "");
+                            }
+                            throw new LabelAlreadyUsedException(label, notAbortedTxn.getTransactionStatus());
                         }
-                        throw new LabelAlreadyUsedException(label, notAbortedTxn.getTransactionStatus());
                     }
-                }
 
-                checkRunningTxnExceedLimit(sourceType);
+                    checkRunningTxnExceedLimit(sourceType);
 
-                unprotectUpsertTransactionState(transactionState, false);
+                    unprotectUpsertTransactionState(transactionState, false);
+                }
 
                 if (MetricRepo.hasInit) {
                     MetricRepo.COUNTER_TXN_BEGIN.increase(1L);
@@ -238,7 +264,7 @@ public class DatabaseTransactionMgr {
                 }
                 throw e;
             } finally {
-                writeUnlock();
+                unlockTables(stripes);
             }
             persistTxnStateInTxnLevelLock(transactionState);
             return tid;
@@ -327,7 +353,7 @@ public class DatabaseTransactionMgr {
 
             Span unprotectedCommitSpan = TraceManager.startSpan("unprotectedPreparedTransaction", txnSpan);
 
-            writeLock();
+            int[] stripes = lockTables(transactionState.getTableIdList());
             try {
                 // transaction state is modified during check if the transaction could commit
                 if (transactionState.getTransactionStatus() != TransactionStatus.PREPARE) {
@@ -349,7 +375,7 @@ public class DatabaseTransactionMgr {
 
                 txnOperated = true;
             } finally {
-                writeUnlock();
+                unlockTables(stripes);
                 int numPartitions = 0;
                 for (Map.Entry<Long, TableCommitInfo> entry : transactionState.getIdToTableCommitInfos().entrySet()) {
                     numPartitions += entry.getValue().getIdToPartitionCommitInfo().size();
@@ -437,12 +463,12 @@ public class DatabaseTransactionMgr {
 
             Span unprotectedCommitSpan = TraceManager.startSpan("unprotectedCommitPreparedTransaction", txnSpan);
 
-            writeLock();
+            int[] stripes = lockTables(transactionState.getTableIdList());
             try {
                 unprotectedCommitPreparedTransaction(transactionState, db);
                 txnOperated = true;
             } finally {
-                writeUnlock();
+                unlockTables(stripes);
                 int numPartitions = 0;
                 for (Map.Entry<Long, TableCommitInfo> entry : transactionState.getIdToTableCommitInfos().entrySet()) {
                     numPartitions += entry.getValue().getIdToPartitionCommitInfo().size();
@@ -505,13 +531,7 @@ public class DatabaseTransactionMgr {
                     transactionId);
             return;
         }
-        TransactionState transactionState = null;
-        readLock();
-        try {
-            transactionState = idToRunningTransactionState.get(transactionId);
-        } finally {
-            readUnlock();
-        }
+        TransactionState transactionState = idToRunningTransactionState.get(transactionId);
         if (transactionState == null) {
             // If the transaction state does not exist, this task might have been aborted by
             // the txntimeoutchecker thread. We need to perform some additional work.
@@ -530,11 +550,11 @@ public class DatabaseTransactionMgr {
 
         transactionState.writeLock();
         try {
-            writeLock();
+            int[] stripes = lockTables(transactionState.getTableIdList());
             try {
                 txnOperated = unprotectAbortTransaction(transactionId, abortPrepared, reason);
             } finally {
-                writeUnlock();
+                unlockTables(stripes);
                 transactionState.afterStateTransform(TransactionStatus.ABORTED, txnOperated, callback, reason);
             }
 
@@ -602,6 +622,43 @@ public class DatabaseTransactionMgr {
         this.transactionLock.writeLock().unlock();
     }
 
+    /**
+     * Lock the stripes of tables written by a transaction before changing its state.
+     * Stripes are locked in ascending order to avoid deadlock, and the returned stripes must be passed to
+     * {@link #unlockTables(int[])}, because the table list of the transaction may change in the meantime.
+     */
+    protected int[] lockTables(List<Long> tableIdList) {
+        int[] stripes = getTableStripes(tableIdList);
+        readLock();
+        for (int stripe : stripes) {
+            tableStripeLocks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    protected void unlockTables(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            tableStripeLocks[stripes[i]].unlock();
+        }
+        readUnlock();
+    }
+
+    @VisibleForTesting
+    protected int[] getTableStripes(Collection<Long> tableIdList) {
+        if (tableIdList == null || tableIdList.isEmpty()) {
+            return new int[] {0};
+        }
+        return tableIdList.stream()
+                .mapToInt(tableId -> Math.floorMod(Long.hashCode(tableId), tableStripeLocks.length))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private Object getLabelStripeLock(String label) {
+        return labelStripeLocks[Math.floorMod(label.hashCode(), labelStripeLocks.length)];
+    }
+
     public long getDbId() {
         return dbId;
     }
@@ -632,12 +689,12 @@ public class DatabaseTransactionMgr {
 
     @VisibleForTesting
     protected int getRunningTxnNums() {
-        return runningTxnNums;
+        return runningTxnNums.get();
     }
 
     @VisibleForTesting
     protected int getRunningRoutineLoadTxnNums() {
-        return runningRoutineLoadTxnNums;
+        return runningRoutineLoadTxnNums.get();
     }
 
     @VisibleForTesting
@@ -800,7 +857,9 @@ public class DatabaseTransactionMgr {
         readLock();
         try {
             List<Long> txnIds = transactionGraph.getTxnsWithoutDependency();
-            return txnIds.stream().map(idToRunningTransactionState::get).collect(Collectors.toList());
+            // the txn may be finished by another thread after getting it from transactionGraph
+            return txnIds.stream().map(idToRunningTransactionState::get).filter(Objects::nonNull)
+                    .collect(Collectors.toList());
         } finally {
             readUnlock();
         }
@@ -986,14 +1045,14 @@ public class DatabaseTransactionMgr {
         if (db == null) {
             transactionState.writeLock();
             try {
-                writeLock();
+                int[] stripes = lockTables(transactionState.getTableIdList());
                 try {
                     transactionState.setTransactionStatus(TransactionStatus.ABORTED);
                     transactionState.setReason("db is dropped");
                     LOG.warn("db is dropped during transaction, abort transaction {}", transactionState);
                     unprotectUpsertTransactionState(transactionState, false);
                 } finally {
-                    writeUnlock();
+                    unlockTables(stripes);
                 }
 
                 persistTxnStateInTxnLevelLock(transactionState);
@@ -1135,7 +1194,7 @@ public class DatabaseTransactionMgr {
                     return;
                 }
                 boolean txnOperated = false;
-                writeLock();
+                int[] stripes = lockTables(transactionState.getTableIdList());
                 try {
                     transactionState.setErrorReplicas(errorReplicaIds);
                     transactionState.setFinishTime(System.currentTimeMillis());
@@ -1150,7 +1209,7 @@ public class DatabaseTransactionMgr {
                     // So I add a log here for observation.
                     LOG.debug("after set transaction {} to visible", transactionState);
                 } finally {
-                    writeUnlock();
+                    unlockTables(stripes);
                     transactionState.afterStateTransform(TransactionStatus.VISIBLE, txnOperated);
                 }
 
@@ -1181,7 +1240,7 @@ public class DatabaseTransactionMgr {
             return;
         }
         // commit timestamps needs to be strictly monotonically increasing
-        long commitTs = Math.max(System.currentTimeMillis(), maxCommitTs + 1);
+        long commitTs = maxCommitTs.updateAndGet(ts -> Math.max(System.currentTimeMillis(), ts + 1));
         transactionState.setCommitTime(commitTs);
         // update transaction state version
         transactionState.setTransactionStatus(TransactionStatus.COMMITTED);
@@ -1241,13 +1300,13 @@ public class DatabaseTransactionMgr {
         }
 
         // it's OK if getCommitTime() returns -1
-        maxCommitTs = Math.max(maxCommitTs, transactionState.getCommitTime());
+        maxCommitTs.accumulateAndGet(transactionState.getCommitTime(), Math::max);
         if (!transactionState.getTransactionStatus().isFinalStatus()) {
             if (idToRunningTransactionState.put(transactionState.getTransactionId(), transactionState) == null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums++;
+                    runningRoutineLoadTxnNums.incrementAndGet();
                 } else {
-                    runningTxnNums++;
+                    runningTxnNums.incrementAndGet();
                 }
             }
             if ((Config.enable_new_publish_mechanism || RunMode.isSharedDataMode()) &&
@@ -1255,15 +1314,17 @@ public class DatabaseTransactionMgr {
                 transactionGraph.add(transactionState.getTransactionId(), transactionState.getTableIdList());
             }
         } else {
+            // put the txn into the final status map before removing it from the running map, so that
+            // concurrent readers holding only the read lock can always find it
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums--;
+                    runningRoutineLoadTxnNums.decrementAndGet();
                 } else {
-                    runningTxnNums--;
+                    runningTxnNums.decrementAndGet();
                 }
             }
             transactionGraph.remove(transactionState.getTransactionId());
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             finalStatusTransactionStateDeque.add(transactionState);
         }
         updateTxnLabels(transactionState);
@@ -1300,22 +1361,23 @@ public class DatabaseTransactionMgr {
         }
 
         for (TransactionState transactionState : stateBatch.getTransactionStates()) {
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
-                    runningRoutineLoadTxnNums--;
+                    runningRoutineLoadTxnNums.decrementAndGet();
                 } else {
-                    runningTxnNums--;
+                    runningTxnNums.decrementAndGet();
                 }
             }
             transactionGraph.remove(transactionState.getTransactionId());
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             finalStatusTransactionStateDeque.add(transactionState);
             updateTxnLabels(transactionState);
         }
     }
 
     private void updateTxnLabels(TransactionState transactionState) {
-        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(), k -> Sets.newHashSet());
+        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(),
+                k -> ConcurrentHashMap.newKeySet());
         txnIds.add(transactionState.getTransactionId());
     }
 
@@ -1555,9 +1617,12 @@ public class DatabaseTransactionMgr {
                 // high frequency and small batch loads may cause compaction execute rarely.
                 break;
             default:
-                if (runningTxnNums >= Config.max_running_txn_num_per_db) {
+                // a soft limit checked without lock, concurrent transactions on different tables may exceed it
+                // slightly
+                int runningNum = runningTxnNums.get();
+                if (runningNum >= Config.max_running_txn_num_per_db) {
                     throw new RunningTxnExceedException("current running txns on db " + dbId + " is "
-                            + runningTxnNums + ", larger than limit " + Config.max_running_txn_num_per_db);
+                            + runningNum + ", larger than limit " + Config.max_running_txn_num_per_db);
                 }
                 break;
         }
@@ -1716,7 +1781,7 @@ public class DatabaseTransactionMgr {
         readLock();
         try {
             infos.add(Lists.newArrayList("running", String.valueOf(
-                    runningTxnNums + runningRoutineLoadTxnNums)));
+                    runningTxnNums.get() + runningRoutineLoadTxnNums.get())));
             long finishedNum = getFinishedTxnNums();
             infos.add(Lists.newArrayList("finished", String.valueOf(finishedNum)));
         } finally {
@@ -1745,14 +1810,14 @@ public class DatabaseTransactionMgr {
         if (db == null) {
             transactionState.writeLock();
             try {
-                writeLock();
+                int[] stripes = lockTables(transactionState.getTableIdList());
                 try {
                     transactionState.setTransactionStatus(TransactionStatus.ABORTED);
                     transactionState.setReason("db is dropped");
                     LOG.warn("db is dropped during transaction, abort transaction {}", transactionState);
                     unprotectUpsertTransactionState(transactionState, false);
                 } finally {
-                    writeUnlock();
+                    unlockTables(stripes);
                 }
 
                 persistTxnStateInTxnLevelLock(transactionState);
@@ -1772,7 +1837,7 @@ public class DatabaseTransactionMgr {
             try {
 
                 boolean txnOperated = false;
-                writeLock();
+                int[] stripes = lockTables(transactionState.getTableIdList());
                 finishSpan.addEvent("txnmgr_lock");
                 try {
                     transactionState.setErrorReplicas(publishErrorReplicas);
@@ -1784,7 +1849,7 @@ public class DatabaseTransactionMgr {
                     transactionState.notifyVisible();
                     txnOperated = true;
                 } finally {
-                    writeUnlock();
+                    unlockTables(stripes);
                     transactionState.afterStateTransform(TransactionStatus.VISIBLE, txnOperated);
                 }
                 persistTxnStateInTxnLevelLock(transactionState);
@@ -1814,13 +1879,13 @@ public class DatabaseTransactionMgr {
         if (db == null) {
             stateBatch.writeLock();
             try {
-                writeLock();
+                int[] stripes = lockTables(getBatchTableIds(stateBatch));
                 try {
                     stateBatch.setTransactionStatus(TransactionStatus.ABORTED);
                     LOG.warn("db is dropped during transaction batch, abort transaction {}", stateBatch);
                     unprotectSetTransactionStateBatch(stateBatch, false);
                 } finally {
-                    writeUnlock();
+                    unlockTables(stripes);
                 }
                 if (Config.lock_manager_enable_loading_using_fine_granularity_lock) {
                     long start = System.currentTimeMillis();
@@ -1839,13 +1904,13 @@ public class DatabaseTransactionMgr {
             boolean txnOperated = false;
             stateBatch.writeLock();
             try {
-                writeLock();
+                int[] stripes = lockTables(getBatchTableIds(stateBatch));
                 try {
                     stateBatch.setTransactionVisibleInfo();
                     unprotectSetTransactionStateBatch(stateBatch, false);
                     txnOperated = true;
                 } finally {
-                    writeUnlock();
+                    unlockTables(stripes);
                     stateBatch.afterVisible(TransactionStatus.VISIBLE, txnOperated);
                 }
                 if (Config.lock_manager_enable_loading_using_fine_granularity_lock) {
@@ -1868,6 +1933,13 @@ public class DatabaseTransactionMgr {
         LOG.info("finish transaction {} batch successfully", stateBatch);
     }
 
+    private List<Long> getBatchTableIds(TransactionStateBatch stateBatch) {
+        return stateBatch.getTransactionStates().stream()
+                .flatMap(state -> state.getTableIdList().stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     private void collectStatisticsForStreamLoadOnFirstLoad(TransactionState txnState, Database db) {
         TransactionState.LoadJobSourceType sourceType = txnState.getSourceType();
         if (!TransactionState.LoadJobSourceType.FRONTEND_STREAMING.equals(sourceType)
@@ -29,8 +29,8 @@ import java.util.stream.Collectors;
 
 /**
  * store transactions' dependency relationships
- * this class is used in DatabaseTransactionMgr and all methods are protected by mgr's lock
- * so this class does not require additional synchronization
+ * this class is used in DatabaseTransactionMgr, transactions on different tables may be committed and finished
+ * concurrently under the table stripe locks of mgr, so all public methods are synchronized
  */
 public class TransactionGraph {
     private static final Logger LOG = LogManager.getLogger(TransactionGraph.class);
@@ -94,11 +94,11 @@ public class TransactionGraph {
     public TransactionGraph() {
     }
 
-    public int size() {
+    public synchronized int size() {
         return nodes.size();
     }
 
-    public void add(long txnId, List<Long> writeTableIds) {
+    public synchronized void add(long txnId, List<Long> writeTableIds) {
         if (nodes.containsKey(txnId)) {
             LOG.warn("add an already exist txn:{}", txnId);
             return;
@@ -118,7 +118,7 @@ public class TransactionGraph {
         }
     }
 
-    public void remove(long txnId) {
+    public synchronized void remove(long txnId) {
         Node node = nodes.get(txnId);
         if (node == null) {
             return;
@@ -148,12 +148,12 @@ public class TransactionGraph {
         }
     }
 
-    public List<Long> getTxnsWithoutDependency() {
+    public synchronized List<Long> getTxnsWithoutDependency() {
         return nodesWithoutIns.stream().map(n -> n.txnId).collect(Collectors.toList());
     }
 
     // The size of ins of node with txnId must be zero
-    public List<Long> getTxnsWithTxnDependencyBatch(int minBatchSize, int maxBatchSize, long txnId) {
+    public synchronized List<Long> getTxnsWithTxnDependencyBatch(int minBatchSize, int maxBatchSize, long txnId) {
         List<Long> txns = new ArrayList<>();
         if (nodes.containsKey(txnId)) {
             Node node = nodes.get(txnId);
@@ -180,7 +180,7 @@ public class TransactionGraph {
     }
 
     // print the graph for debug
-    public String debug() {
+    public synchronized String debug() {
         StringBuilder builder = new StringBuilder();
         for (Node node : nodesWithoutIns) {
             List<Long> path = new ArrayList<>();
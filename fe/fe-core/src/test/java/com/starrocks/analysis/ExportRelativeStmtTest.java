@@ -116,6 +116,10 @@ public class ExportRelativeStmtTest {
                 "(\"load_mem_limit\"=\"2147483648\", \"timeout\" = \"g\", \"include_query_id\" = \"true\") WITH " +
                 "BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
         analyzeFail(originStmt);
+        originStmt = "EXPORT TABLE tp PARTITION (p1,p2) (c1,c2) TO \"hdfs://hdfs_host:port/a/b/c/\" PROPERTIES " +
+                "(\"timeout\" = \"7200\", \"max_file_size\" = \"0\") WITH " +
+                "BROKER \"broker\" (\"username\"=\"test\", \"password\"=\"test\");";
+        analyzeFail(originStmt);
         // bad path
         originStmt = "EXPORT TABLE tp PARTITION (p1,p2) (c1,c2) TO \"://hdfs_host:port/a/b/c/\" PROPERTIES " +
                 "(\"load_mem_limit\"=\"2147483648\", \"timeout\" = \"7200\", \"include_query_id\" = \"false\") WITH " +
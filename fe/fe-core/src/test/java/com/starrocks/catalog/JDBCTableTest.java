@@ -17,6 +17,7 @@ package com.starrocks.catalog;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.FeConstants;
 import com.starrocks.server.GlobalStateMgr;
@@ -168,6 +169,30 @@ public class JDBCTableTest {
         Assert.assertEquals(jdbcTable.getJdbc_passwd(), jdbcProperties.get(JDBCResource.PASSWORD));
     }
 
+    @Test
+    public void testScanMaxParallelism() throws Exception {
+        Map<String, String> jdbcProperties = getMockedJDBCProperties("jdbc:mysql://127.0.0.1:3306");
+        int oldParallelism = Config.jdbc_scan_max_parallelism;
+        Config.jdbc_scan_max_parallelism = 4;
+        try {
+            JDBCTable table = new JDBCTable(1000, "jdbc_table", columns, "db0", "catalog0", jdbcProperties);
+            Assert.assertEquals(4, table.getScanMaxParallelism());
+
+            jdbcProperties.put(JDBCTable.JDBC_SCAN_MAX_PARALLELISM, "8");
+            Assert.assertEquals(8, table.getScanMaxParallelism());
+            jdbcProperties.put(JDBCTable.JDBC_SCAN_MAX_PARALLELISM, "0");
+            Assert.assertEquals(1, table.getScanMaxParallelism());
+            // an invalid property falls back to the config
+            jdbcProperties.put(JDBCTable.JDBC_SCAN_MAX_PARALLELISM, "abc");
+            Assert.assertEquals(4, table.getScanMaxParallelism());
+
+            // the tables of the external jdbc resources are not split
+            Assert.assertEquals(1, new JDBCTable(1000, "jdbc_table", columns, jdbcProperties).getScanMaxParallelism());
+        } finally {
+            Config.jdbc_scan_max_parallelism = oldParallelism;
+        }
+    }
+
     @Test(expected = DdlException.class)
     public void testWithIlegalResourceName(@Mocked GlobalStateMgr globalStateMgr,
                                            @Mocked ResourceMgr resourceMgr) throws Exception {
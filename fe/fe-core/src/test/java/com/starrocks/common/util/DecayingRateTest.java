@@ -0,0 +1,33 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DecayingRateTest {
+
+    @Test
+    public void testDecayingRate() {
+        DecayingRate rate = new DecayingRate(1000);
+        rate.add(8, 10000);
+        Assert.assertEquals(8, rate.get(10000), 0.0001);
+        Assert.assertEquals(4, rate.get(11000), 0.0001);
+        Assert.assertEquals(2, rate.get(12000), 0.0001);
+        // out-of-order event
+        rate.add(2, 9000);
+        Assert.assertEquals(9, rate.get(10000), 0.0001);
+    }
+}
@@ -0,0 +1,238 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import com.starrocks.common.LoadException;
+import com.starrocks.common.UserException;
+import com.starrocks.proto.PKafkaOffsetProxyRequest;
+import com.starrocks.proto.PKafkaOffsetProxyResult;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KafkaMetaServiceTest {
+    private long oldTtlMs;
+    private long oldWindowMs;
+
+    private static class MockProxyAPI extends KafkaUtil.ProxyAPI {
+        private final AtomicInteger partitionRpcNum = new AtomicInteger();
+        private final List<List<PKafkaOffsetProxyRequest>> batchRequests = new CopyOnWriteArrayList<>();
+        private boolean fail = false;
+        // the batch rpc fails if it looks up this topic
+        private String badTopic = null;
+
+        @Override
+        public List<Integer> getAllKafkaPartitions(String brokerList, String topic,
+                                                   ImmutableMap<String, String> convertedCustomProperties,
+                                                   long warehouseId) throws UserException {
+            partitionRpcNum.incrementAndGet();
+            return Lists.newArrayList(0, 1, 2);
+        }
+
+        @Override
+        public List<PKafkaOffsetProxyResult> getBatchOffsets(List<PKafkaOffsetProxyRequest> requests)
+                throws UserException {
+            batchRequests.add(requests);
+            if (fail) {
+                throw new LoadException("kafka is not available");
+            }
+            if (requests.stream().anyMatch(request -> request.kafkaInfo.topic.equals(badTopic))) {
+                throw new LoadException("topic " + badTopic + " is not authorized");
+            }
+            List<PKafkaOffsetProxyResult> results = Lists.newArrayList();
+            for (PKafkaOffsetProxyRequest request : requests) {
+                PKafkaOffsetProxyResult result = new PKafkaOffsetProxyResult();
+                result.partitionIds = Lists.newArrayList(request.partitionIds);
+                result.beginningOffsets = Lists.newArrayList();
+                result.latestOffsets = Lists.newArrayList();
+                for (Integer partition : request.partitionIds) {
+                    result.beginningOffsets.add((long) partition);
+                    result.latestOffsets.add(request.kafkaInfo.topic.length() * 100L + partition);
+                }
+                results.add(result);
+            }
+            return results;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        oldTtlMs = Config.kafka_meta_cache_ttl_ms;
+        oldWindowMs = Config.kafka_meta_batch_window_ms;
+        Config.kafka_meta_cache_ttl_ms = 60000;
+        Config.kafka_meta_batch_window_ms = 200;
+    }
+
+    @After
+    public void tearDown() {
+        Config.kafka_meta_cache_ttl_ms = oldTtlMs;
+        Config.kafka_meta_batch_window_ms = oldWindowMs;
+    }
+
+    @Test
+    public void testGetPartitions() throws Exception {
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        KafkaMetaService service = new KafkaMetaService(proxyApi);
+
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2),
+                service.getAllKafkaPartitions("broker", "topic", ImmutableMap.of(), 0L));
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2),
+                service.getAllKafkaPartitions("broker", "topic", ImmutableMap.of(), 0L));
+        Assert.assertEquals(1, proxyApi.partitionRpcNum.get());
+
+        // properties are part of the key
+        service.getAllKafkaPartitions("broker", "topic", ImmutableMap.of("security.protocol", "ssl"), 0L);
+        Assert.assertEquals(2, proxyApi.partitionRpcNum.get());
+
+        service.invalidate("broker", "topic", ImmutableMap.of(), 0L);
+        service.getAllKafkaPartitions("broker", "topic", ImmutableMap.of(), 0L);
+        Assert.assertEquals(3, proxyApi.partitionRpcNum.get());
+    }
+
+    @Test
+    public void testBatchOffsets() throws Exception {
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        KafkaMetaService service = new KafkaMetaService(proxyApi);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        CompletableFuture<Map<Integer, Long>> f1 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t1", Lists.newArrayList(0, 1), true), executor);
+        CompletableFuture<Map<Integer, Long>> f2 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "topic2", Lists.newArrayList(1), true), executor);
+        CompletableFuture<Map<Integer, Long>> f3 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t1", Lists.newArrayList(2), false), executor);
+        CompletableFuture<Map<Integer, Long>> f4 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker2", "t1", Lists.newArrayList(0), true), executor);
+
+        Assert.assertEquals(ImmutableMap.of(0, 200L, 1, 201L), f1.get());
+        Assert.assertEquals(ImmutableMap.of(1, 601L), f2.get());
+        Assert.assertEquals(ImmutableMap.of(2, 2L), f3.get());
+        Assert.assertEquals(ImmutableMap.of(0, 200L), f4.get());
+        // lookups of the same brokers are sent in one rpc, and lookups of the same topic are merged
+        Assert.assertEquals(2, proxyApi.batchRequests.size());
+        for (List<PKafkaOffsetProxyRequest> requests : proxyApi.batchRequests) {
+            if (requests.get(0).kafkaInfo.brokers.equals("broker")) {
+                Assert.assertEquals(2, requests.size());
+            } else {
+                Assert.assertEquals(1, requests.size());
+            }
+        }
+
+        // served by cache
+        Assert.assertEquals(ImmutableMap.of(0, 0L, 2, 2L),
+                service.getOffsets("broker", "t1", ImmutableMap.of(), Lists.newArrayList(0, 2), false, 0L));
+        Assert.assertEquals(2, proxyApi.batchRequests.size());
+
+        // partition 2 of topic2 is not cached
+        Assert.assertEquals(ImmutableMap.of(1, 601L, 2, 602L),
+                service.getOffsets("broker", "topic2", ImmutableMap.of(), Lists.newArrayList(1, 2), true, 0L));
+        Assert.assertEquals(3, proxyApi.batchRequests.size());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testBatchOffsetsFailed() {
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        proxyApi.fail = true;
+        Config.kafka_meta_batch_window_ms = 10;
+        KafkaMetaService service = new KafkaMetaService(proxyApi);
+
+        LoadException e = Assert.assertThrows(LoadException.class, () -> service.getOffsets("broker", "t1",
+                ImmutableMap.of(), Lists.newArrayList(0), true, 0L));
+        Assert.assertEquals("kafka is not available", e.getMessage());
+    }
+
+    @Test
+    public void testBadTopicInBatch() throws Exception {
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        proxyApi.badTopic = "bad";
+        KafkaMetaService service = new KafkaMetaService(proxyApi);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        CompletableFuture<Map<Integer, Long>> f1 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t1", Lists.newArrayList(0), true), executor);
+        CompletableFuture<Map<Integer, Long>> f2 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "bad", Lists.newArrayList(0), true), executor);
+
+        // the failed batch is retried one by one, only the lookup of the bad topic fails
+        Assert.assertEquals(ImmutableMap.of(0, 200L), f1.get());
+        ExecutionException e = Assert.assertThrows(ExecutionException.class, f2::get);
+        Assert.assertEquals("topic bad is not authorized", e.getCause().getCause().getMessage());
+        Assert.assertEquals(3, proxyApi.batchRequests.size());
+        Assert.assertEquals(2, proxyApi.batchRequests.get(0).size());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testShareLookupsOfJobs() throws Exception {
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        KafkaMetaService service = new KafkaMetaService(proxyApi);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ImmutableMap<String, String> job1 = ImmutableMap.of("group.id", "job1_uuid1", "security.protocol", "ssl");
+        ImmutableMap<String, String> job2 = ImmutableMap.of("group.id", "job2_uuid2", "security.protocol", "ssl");
+
+        // the jobs with different group ids share the lookups
+        service.getAllKafkaPartitions("broker", "topic", job1, 0L);
+        service.getAllKafkaPartitions("broker", "topic", job2, 0L);
+        Assert.assertEquals(1, proxyApi.partitionRpcNum.get());
+
+        CompletableFuture<Map<Integer, Long>> f1 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t1", job1, Lists.newArrayList(0), true), executor);
+        CompletableFuture<Map<Integer, Long>> f2 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t1", job2, Lists.newArrayList(0), true), executor);
+        Assert.assertEquals(ImmutableMap.of(0, 200L), f1.get());
+        Assert.assertEquals(ImmutableMap.of(0, 200L), f2.get());
+        Assert.assertEquals(1, proxyApi.batchRequests.size());
+        Assert.assertEquals(1, proxyApi.batchRequests.get(0).size());
+
+        // the lookups with different connection properties are neither shared nor batched together
+        CompletableFuture<Map<Integer, Long>> f3 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t2", job1, Lists.newArrayList(0), true), executor);
+        CompletableFuture<Map<Integer, Long>> f4 = CompletableFuture.supplyAsync(() -> getOffsets(service,
+                "broker", "t2", ImmutableMap.of("group.id", "job3_uuid3"), Lists.newArrayList(0), true), executor);
+        f3.get();
+        f4.get();
+        Assert.assertEquals(3, proxyApi.batchRequests.size());
+        executor.shutdown();
+    }
+
+    private static Map<Integer, Long> getOffsets(KafkaMetaService service, String brokerList, String topic,
+                                                 List<Integer> partitions, boolean isLatest) {
+        return getOffsets(service, brokerList, topic, ImmutableMap.of(), partitions, isLatest);
+    }
+
+    private static Map<Integer, Long> getOffsets(KafkaMetaService service, String brokerList, String topic,
+                                                 ImmutableMap<String, String> properties, List<Integer> partitions,
+                                                 boolean isLatest) {
+        try {
+            return service.getOffsets(brokerList, topic, properties, partitions, isLatest, 0L);
+        } catch (UserException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
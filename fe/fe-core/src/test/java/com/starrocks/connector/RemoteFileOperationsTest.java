@@ -15,6 +15,7 @@
 package com.starrocks.connector;
 
 import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
 import com.starrocks.common.ExceptionChecker;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.exception.StarRocksConnectorException;
@@ -107,6 +108,47 @@ public class RemoteFileOperationsTest {
         ops.refreshPartitionFilesCache(new Path(tableLocation));
     }
 
+    @Test
+    public void testGetHiveRemoteFilesInBatches() {
+        HiveRemoteFileIO hiveRemoteFileIO = new HiveRemoteFileIO(new Configuration());
+        FileSystem fs = new MockedRemoteFileSystem(HDFS_HIVE_TABLE);
+        hiveRemoteFileIO.setFileSystem(fs);
+        FeConstants.runningUnitTest = true;
+        ExecutorService executorToRefresh = Executors.newFixedThreadPool(5);
+        ExecutorService executorToLoad = Executors.newFixedThreadPool(5);
+
+        CachingRemoteFileIO cachingFileIO = new CachingRemoteFileIO(hiveRemoteFileIO, executorToRefresh, 10, 10, 10);
+        RemoteFileOperations ops = new RemoteFileOperations(cachingFileIO, executorToLoad, executorToLoad,
+                false, true, new Configuration());
+
+        HiveMetaClient client = new HiveMetastoreTest.MockedHiveMetaClient();
+        HiveMetastore metastore = new HiveMetastore(client, "hive_catalog", MetastoreType.HMS);
+        List<String> partitionNames = Lists.newArrayList("col1=1", "col1=2");
+        List<Partition> partitions = Lists.newArrayList(
+                metastore.getPartitionsByNames("db1", "table1", partitionNames).values());
+
+        int batchSize = Config.remote_file_listing_batch_size;
+        try {
+            Config.remote_file_listing_batch_size = 1;
+            List<RemoteFileInfo> remoteFileInfos = ops.getRemoteFiles(partitions);
+            Assert.assertEquals(2, remoteFileInfos.size());
+            for (int i = 0; i < partitions.size(); i++) {
+                Assert.assertEquals(partitions.get(i).getFullPath(), remoteFileInfos.get(i).getFullPath());
+                Assert.assertEquals(1, remoteFileInfos.get(i).getFiles().size());
+            }
+            Assert.assertEquals(2, ops.getPresentFilesInCache(partitions).size());
+
+            CachingRemoteFileIO queryLevelCache = CachingRemoteFileIO.createQueryLevelInstance(cachingFileIO, 5);
+            RemotePathKey pathKey = RemotePathKey.of(partitions.get(0).getFullPath(), false);
+            Map<RemotePathKey, List<RemoteFileDesc>> files = queryLevelCache.getRemoteFiles(Lists.newArrayList(pathKey));
+            Assert.assertEquals(1, files.get(pathKey).size());
+            files = queryLevelCache.getRemoteFiles(Lists.newArrayList(pathKey), false);
+            Assert.assertEquals(1, files.get(pathKey).size());
+        } finally {
+            Config.remote_file_listing_batch_size = batchSize;
+        }
+    }
+
     @Test
     public void asyncRenameFilesTest() {
         HiveRemoteFileIO hiveRemoteFileIO = new HiveRemoteFileIO(new Configuration());
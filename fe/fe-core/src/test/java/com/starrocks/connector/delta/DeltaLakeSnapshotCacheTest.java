@@ -0,0 +1,131 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.delta;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.delta.standalone.DeltaLog;
+import io.delta.standalone.Snapshot;
+import io.delta.standalone.VersionLog;
+import io.delta.standalone.actions.Action;
+import io.delta.standalone.actions.AddFile;
+import io.delta.standalone.actions.Metadata;
+import io.delta.standalone.expressions.Column;
+import io.delta.standalone.expressions.EqualTo;
+import io.delta.standalone.expressions.GreaterThan;
+import io.delta.standalone.expressions.Literal;
+import io.delta.standalone.types.IntegerType;
+import io.delta.standalone.types.StringType;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class DeltaLakeSnapshotCacheTest {
+    private static AddFile newFile(String path, String dt) {
+        Map<String, String> partitionValues = new LinkedHashMap<>();
+        partitionValues.put("dt", dt);
+        return new AddFile(path, partitionValues, 100, 0, true, null, null);
+    }
+
+    @Test
+    public void testApplyChanges() {
+        Map<String, AddFile> files = new LinkedHashMap<>();
+        AddFile file1 = newFile("f1", "1");
+        AddFile file2 = newFile("f2", "2");
+        files.put(file1.getPath(), file1);
+        files.put(file2.getPath(), file2);
+
+        AddFile file3 = newFile("f3", "3");
+        AddFile file4 = newFile("f4", "3");
+        List<VersionLog> changes = Lists.newArrayList(
+                new VersionLog(2, Lists.<Action>newArrayList(file3, file1.remove())),
+                new VersionLog(3, Lists.<Action>newArrayList(file4)));
+        // the commits after the target version are not replayed
+        DeltaLakeSnapshotCache.applyChanges(changes.iterator(), 2, files);
+        Assert.assertEquals(Lists.newArrayList("f2", "f3"), Lists.newArrayList(files.keySet()));
+    }
+
+    @Test
+    public void testUpdateSnapshot(@Mocked DeltaLog deltaLog, @Mocked Snapshot oldSnapshot,
+                                   @Mocked Snapshot newSnapshot) {
+        AddFile file1 = newFile("f1", "1");
+        AddFile file2 = newFile("f2", "2");
+        new Expectations() {
+            {
+                oldSnapshot.getVersion();
+                result = 1L;
+                minTimes = 0;
+                newSnapshot.getVersion();
+                result = 2L;
+                minTimes = 0;
+                deltaLog.update();
+                returns(oldSnapshot, newSnapshot);
+                deltaLog.getChanges(2, true);
+                result = Lists.newArrayList(new VersionLog(2, Lists.<Action>newArrayList(file2))).iterator();
+            }
+        };
+
+        DeltaLakeSnapshotCache cache = new DeltaLakeSnapshotCache();
+        DeltaLakeSnapshot cached = new DeltaLakeSnapshot(deltaLog, oldSnapshot, ImmutableMap.of("f1", file1));
+        // no new commits
+        Assert.assertSame(cached, cache.updateSnapshot(cached));
+
+        DeltaLakeSnapshot updated = cache.updateSnapshot(cached);
+        Assert.assertEquals(2L, updated.getVersion());
+        Assert.assertEquals(2, updated.getFileNum());
+        // the file index of the old version is not changed
+        Assert.assertEquals(1, cached.getFileNum());
+    }
+
+    @Test
+    public void testPrunePartitions(@Mocked DeltaLog deltaLog, @Mocked Snapshot snapshot) {
+        StructType schema = new StructType(new StructField[] {
+                new StructField("id", new IntegerType()),
+                new StructField("dt", new StringType())});
+        Metadata metadata = Metadata.builder().schema(schema).partitionColumns(Lists.newArrayList("dt")).build();
+        new Expectations() {
+            {
+                snapshot.getMetadata();
+                result = metadata;
+                minTimes = 0;
+            }
+        };
+
+        Map<String, AddFile> files = new LinkedHashMap<>();
+        files.put("f1", newFile("f1", "a"));
+        files.put("f2", newFile("f2", "b"));
+        files.put("f3", newFile("f3", null));
+        DeltaLakeSnapshot deltaLakeSnapshot = new DeltaLakeSnapshot(deltaLog, snapshot, files);
+
+        Assert.assertEquals(3, deltaLakeSnapshot.getFiles(Optional.empty()).size());
+        List<String> paths = deltaLakeSnapshot.getFiles(Optional.of(
+                new EqualTo(new Column("dt", new StringType()), Literal.of("b")))).stream()
+                .map(AddFile::getPath).collect(Collectors.toList());
+        Assert.assertEquals(Lists.newArrayList("f2"), paths);
+        paths = deltaLakeSnapshot.getFiles(Optional.of(
+                new GreaterThan(new Column("dt", new StringType()), Literal.of("0")))).stream()
+                .map(AddFile::getPath).collect(Collectors.toList());
+        Assert.assertEquals(Lists.newArrayList("f1", "f2"), paths);
+    }
+}
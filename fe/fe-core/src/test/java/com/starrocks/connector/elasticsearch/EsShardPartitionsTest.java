@@ -39,6 +39,8 @@ import com.starrocks.catalog.GlobalStateMgrTestUtil;
 import com.starrocks.server.GlobalStateMgr;
 import org.junit.Test;
 
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -56,4 +58,22 @@ public class EsShardPartitionsTest extends EsTestCase {
         assertEquals(1, esTablePartitions.getUnPartitionedIndexStates().size());
         assertEquals(5, esTablePartitions.getEsShardPartitions("doe").getShardRoutings().size());
     }
+
+    @Test
+    public void testComputeShardSlices() throws Exception {
+        EsShardPartitions esShardPartitions = EsShardPartitions.findShardPartitions("doe",
+                loadJsonFromFile("data/es/test_search_shards.json"));
+        Map<String, Map<Integer, Long>> docCounts =
+                EsShardPartitions.parseShardDocCounts(loadJsonFromFile("data/es/test_shard_stats.json"));
+        assertEquals(2500L, (long) docCounts.get("doe").get(0));
+        assertEquals(3, docCounts.get("doe").size());
+
+        esShardPartitions.computeShardSlices(docCounts, 1000, 8);
+        assertEquals(3, esShardPartitions.getShardSlices(0));
+        // capped by the max slices of one shard
+        assertEquals(8, esShardPartitions.getShardSlices(1));
+        assertEquals(1, esShardPartitions.getShardSlices(2));
+        // no stats of the shard
+        assertEquals(1, esShardPartitions.getShardSlices(3));
+    }
 }
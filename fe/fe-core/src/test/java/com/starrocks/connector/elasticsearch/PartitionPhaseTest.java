@@ -39,6 +39,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.EsTable;
 import com.starrocks.catalog.Type;
+import com.starrocks.common.Config;
 import com.starrocks.common.ExceptionChecker;
 import mockit.Expectations;
 import mockit.Injectable;
@@ -49,7 +50,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class PartitionPhaseTest extends EsTestCase {
 
@@ -94,4 +98,54 @@ public class PartitionPhaseTest extends EsTestCase {
         ExceptionChecker.expectThrowsNoException(() -> partitionPhase.postProcess(context));
         assertNotNull(context.tablePartitions());
     }
+
+    @Test
+    public void testSliceShardsSince64(@Injectable EsRestClient client) throws Exception {
+        Map<String, Map<Integer, Long>> docCounts =
+                EsShardPartitions.parseShardDocCounts(loadJsonFromFile("data/es/test_shard_stats.json"));
+        EsShardPartitions shardPartitions = EsShardPartitions.findShardPartitions("doe",
+                loadJsonFromFile("data/es/test_search_shards.json"));
+        new Expectations(client) {
+            {
+                client.searchShards("doe");
+                minTimes = 0;
+                result = shardPartitions;
+
+                client.getShardDocCounts("doe");
+                minTimes = 0;
+                result = docCounts;
+
+                client.getHttpNodes();
+                minTimes = 0;
+                result = new HashMap<>();
+            }
+        };
+        List<Column> columns = new ArrayList<>();
+        columns.add(new Column("k1", Type.BIGINT));
+        EsTable esTable = fakeEsTable("doe", "doe", "doc", columns);
+
+        long oldDocsPerSlice = Config.es_scroll_docs_per_slice;
+        Config.es_scroll_docs_per_slice = 1000;
+        try {
+            // the slices are computed over the whole index before 6.4
+            for (String version : new String[] {"5.6.16", "6.3.2", "6.x"}) {
+                SearchContext context = new SearchContext(esTable);
+                context.version(EsMajorVersion.parse(version));
+                new PartitionPhase(client).execute(context);
+                assertEquals(1, shardPartitions.getShardSlices(0));
+            }
+            for (String version : new String[] {"6.4.0", "6.8.23", "7.10.2", "8.6.0"}) {
+                SearchContext context = new SearchContext(esTable);
+                context.version(EsMajorVersion.parse(version));
+                new PartitionPhase(client).execute(context);
+                assertEquals(3, shardPartitions.getShardSlices(0));
+            }
+        } finally {
+            Config.es_scroll_docs_per_slice = oldDocsPerSlice;
+        }
+
+        assertTrue(EsMajorVersion.LATEST.onOrAfter(6, 4));
+        assertFalse(EsMajorVersion.V_6_X.onOrAfter(6, 4));
+        assertFalse(EsMajorVersion.V_5_X.onOrAfter(6, 4));
+    }
 }
@@ -419,6 +419,21 @@ public class CachingHiveMetastoreTest {
         cachingHiveMetastore.refreshPartitionByEvent(hivePartitionName, stats, partition);
     }
 
+    @Test
+    public void testAddPartitionByEvent() {
+        CachingHiveMetastore cachingHiveMetastore = new CachingHiveMetastore(
+                metastore, executor, expireAfterWriteSec, refreshAfterWriteSec, 1000, false);
+        Partition partition = cachingHiveMetastore.getPartition(
+                "db1", "unpartitioned_table", Lists.newArrayList("col1"));
+        HivePartitionName hivePartitionName = HivePartitionName.of("db1", "table1", "col1=9");
+        Assert.assertFalse(cachingHiveMetastore.isPartitionPresent(hivePartitionName));
+
+        cachingHiveMetastore.addPartitionByEvent(hivePartitionName, partition);
+        Assert.assertTrue(cachingHiveMetastore.isPartitionPresent(hivePartitionName));
+        Assert.assertSame(partition, cachingHiveMetastore.getCachedPartitions(
+                Lists.newArrayList(hivePartitionName)).get(hivePartitionName));
+    }
+
     @Test
     public void testRefreshPartition() {
         CachingHiveMetastore cachingHiveMetastore = new CachingHiveMetastore(
@@ -15,20 +15,30 @@
 
 package com.starrocks.connector.hive;
 
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.RemoteFileBlockDesc;
 import com.starrocks.connector.RemoteFileDesc;
 import com.starrocks.connector.RemotePathKey;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.BatchListingOperations;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.PartialListing;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import static com.starrocks.connector.hive.MockedRemoteFileSystem.HDFS_HIVE_TABLE;
 import static com.starrocks.connector.hive.MockedRemoteFileSystem.HDFS_RECURSIVE_TABLE;
+import static com.starrocks.connector.hive.MockedRemoteFileSystem.locatedFileStatus;
 
 public class HiveRemoteFileIOTest {
     @Test
@@ -164,4 +174,84 @@ public class HiveRemoteFileIOTest {
         Assert.assertEquals(1, fileDescs.size());
     }
 
+    private static class MockedBatchListingFileSystem extends MockedRemoteFileSystem implements BatchListingOperations {
+        private int batchedListings = 0;
+
+        MockedBatchListingFileSystem() {
+            super(HDFS_HIVE_TABLE);
+        }
+
+        @Override
+        public RemoteIterator<PartialListing<FileStatus>> batchedListStatusIterator(List<Path> paths) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RemoteIterator<PartialListing<LocatedFileStatus>> batchedListLocatedStatusIterator(List<Path> paths) {
+            batchedListings++;
+            List<PartialListing<LocatedFileStatus>> listings = Lists.newArrayList();
+            for (Path path : paths) {
+                listings.add(new PartialListing<>(path, Lists.newArrayList(
+                        locatedFileStatus(new Path(path, "000000_0"), false),
+                        locatedFileStatus(new Path(path, "_SUCCESS"), false))));
+            }
+            Iterator<PartialListing<LocatedFileStatus>> iterator = listings.iterator();
+            return new RemoteIterator<PartialListing<LocatedFileStatus>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public PartialListing<LocatedFileStatus> next() {
+                    return iterator.next();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testBatchListRemoteFiles() {
+        MockedBatchListingFileSystem fs = new MockedBatchListingFileSystem();
+        HiveRemoteFileIO fileIO = new HiveRemoteFileIO(new Configuration());
+        fileIO.setFileSystem(fs);
+        FeConstants.runningUnitTest = true;
+        RemotePathKey pathKey1 = RemotePathKey.of(HDFS_HIVE_TABLE + "/col1=1", false);
+        RemotePathKey pathKey2 = RemotePathKey.of(HDFS_HIVE_TABLE + "/col1=2", false);
+        Map<RemotePathKey, List<RemoteFileDesc>> remoteFiles = fileIO.getRemoteFiles(Lists.newArrayList(pathKey1, pathKey2));
+        Assert.assertEquals(1, fs.batchedListings);
+        Assert.assertEquals(2, remoteFiles.size());
+        for (RemotePathKey pathKey : Lists.newArrayList(pathKey1, pathKey2)) {
+            List<RemoteFileDesc> fileDescs = remoteFiles.get(pathKey);
+            Assert.assertEquals(1, fileDescs.size());
+            Assert.assertEquals("000000_0", fileDescs.get(0).getFileName());
+            Assert.assertEquals(2, fileDescs.get(0).getBlockDescs().get(0).getReplicaHostIds().length);
+        }
+    }
+
+    @Test
+    public void testPrefixListRemoteFiles() {
+        FileSystem fs = new MockedRemoteFileSystem(HDFS_RECURSIVE_TABLE);
+        HiveRemoteFileIO fileIO = new HiveRemoteFileIO(new Configuration());
+        fileIO.setFileSystem(fs);
+        FeConstants.runningUnitTest = true;
+        String tableLocation = "s3a://bucket/hive.db/recursive_tbl";
+        RemotePathKey pathKey1 = RemotePathKey.of(tableLocation + "/subdir1", false);
+        RemotePathKey pathKey2 = RemotePathKey.of(tableLocation + "/subdir2", true);
+        RemotePathKey pathKey3 = RemotePathKey.of(tableLocation + "/_temporary", false);
+        int minPartitions = Config.remote_file_prefix_listing_min_partitions;
+        try {
+            Config.remote_file_prefix_listing_min_partitions = 2;
+            Map<RemotePathKey, List<RemoteFileDesc>> remoteFiles =
+                    fileIO.getRemoteFiles(Lists.newArrayList(pathKey1, pathKey2, pathKey3));
+            Assert.assertEquals(3, remoteFiles.size());
+            Assert.assertEquals(2, remoteFiles.get(pathKey1).size());
+            Assert.assertEquals("000000_0", remoteFiles.get(pathKey1).get(0).getFileName());
+            // the hidden files are skipped
+            Assert.assertEquals(0, remoteFiles.get(pathKey2).size());
+            Assert.assertEquals(1, remoteFiles.get(pathKey3).size());
+        } finally {
+            Config.remote_file_prefix_listing_min_partitions = minPartitions;
+        }
+    }
 }
@@ -15,11 +15,14 @@
 
 package com.starrocks.connector.hive;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.catalog.PartitionKey;
+import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.CachingRemoteFileIO;
 import com.starrocks.connector.MetastoreType;
@@ -33,6 +36,8 @@ import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.statistics.ColumnStatistic;
 import com.starrocks.sql.optimizer.statistics.Statistics;
 import com.starrocks.utframe.UtFrameUtils;
+import mockit.Mock;
+import mockit.MockUp;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.hive.metastore.api.BooleanColumnStatsData;
@@ -161,6 +166,38 @@ public class HiveStatisticsProviderTest {
         Assert.assertEquals(2, dataColumnStats.getDistinctValuesCount(), 0.001);
     }
 
+    @Test
+    public void testGetPartitionStatisticsInBatches() {
+        HiveMetastoreOperations directHmsOps = new HiveMetastoreOperations(
+                metastore, false, new Configuration(), MetastoreType.HMS, "hive_catalog");
+        HiveStatisticsProvider provider = new HiveStatisticsProvider(directHmsOps, fileOps, executorForPullFiles);
+        HiveTable hiveTable = (HiveTable) directHmsOps.getTable("db1", "table1");
+        int oldBatchSize = Config.hive_partition_stats_fetch_batch_size;
+        long oldTimeoutMs = Config.hive_partition_stats_fetch_timeout_ms;
+        try {
+            Config.hive_partition_stats_fetch_batch_size = 1;
+            Map<String, HivePartitionStats> statistics = provider.getPartitionStatistics(
+                    hiveTable, Lists.newArrayList("col1=1", "col1=2"));
+            Assert.assertEquals(2, statistics.size());
+            Assert.assertEquals(50, statistics.get("col1=2").getCommonStats().getRowNums());
+
+            new MockUp<HiveMetastoreOperations>() {
+                @Mock
+                public Map<String, HivePartitionStats> getPartitionStatistics(Table table, List<String> partitionNames)
+                        throws InterruptedException {
+                    Thread.sleep(2000);
+                    return ImmutableMap.of();
+                }
+            };
+            // none of the batches is finished before the deadline
+            Config.hive_partition_stats_fetch_timeout_ms = 10;
+            Assert.assertNull(provider.getPartitionStatistics(hiveTable, Lists.newArrayList("col1=1", "col1=2")));
+        } finally {
+            Config.hive_partition_stats_fetch_batch_size = oldBatchSize;
+            Config.hive_partition_stats_fetch_timeout_ms = oldTimeoutMs;
+        }
+    }
+
     @Test
     public void testCreateUnknownStatistics() throws AnalysisException {
         HiveTable hiveTable = (HiveTable) hmsOps.getTable("db1", "table1");
@@ -0,0 +1,236 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.hive.events;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import com.starrocks.common.FeConstants;
+import com.starrocks.connector.hive.CacheUpdateProcessor;
+import com.starrocks.connector.hive.HiveTableName;
+import com.starrocks.metric.GaugeMetric;
+import com.starrocks.metric.HmsEventMetricMgr;
+import com.starrocks.metric.LongCounterMetric;
+import com.starrocks.metric.Metric;
+import com.starrocks.metric.MetricRepo;
+import mockit.Deencapsulation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
+import org.apache.hadoop.util.ThreadUtil;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class MetastoreEventsProcessorTest {
+    private static final String CATALOG = "hive_catalog";
+
+    @BeforeClass
+    public static void beforeClass() {
+        FeConstants.runningUnitTest = true;
+        MetricRepo.init();
+    }
+
+    private static NotificationEvent newNotificationEvent(long eventId, String tblName) {
+        return newNotificationEvent(eventId, MetastoreEventType.INSERT, tblName);
+    }
+
+    private static NotificationEvent newNotificationEvent(long eventId, MetastoreEventType type, String tblName) {
+        NotificationEvent event = new NotificationEvent(eventId, 0, type.toString(), "");
+        event.setDbName("db");
+        event.setTableName(tblName);
+        return event;
+    }
+
+    private static class RecordingEvent extends MetastoreTableEvent {
+        private final Map<String, List<Long>> processedEvents;
+
+        RecordingEvent(long eventId, String tblName, Map<String, List<Long>> processedEvents) {
+            this(newNotificationEvent(eventId, tblName), null, processedEvents);
+        }
+
+        RecordingEvent(NotificationEvent event, CacheUpdateProcessor cacheProcessor,
+                       Map<String, List<Long>> processedEvents) {
+            super(event, cacheProcessor, CATALOG);
+            this.processedEvents = processedEvents;
+        }
+
+        @Override
+        protected boolean canBeBatched(MetastoreEvent event) {
+            return true;
+        }
+
+        @Override
+        protected void process() {
+            // the earlier events are slower, they would be applied after the later events without ordering
+            ThreadUtil.sleepAtLeastIgnoreInterrupts(Math.max(0, 50 - getEventId() * 10));
+            processedEvents.computeIfAbsent(tblName, k -> Collections.synchronizedList(Lists.newArrayList()))
+                    .add(getEventId());
+        }
+    }
+
+    @Test
+    public void testPullEventsInWindow() {
+        List<NotificationEvent> events = LongStream.rangeClosed(1, 5)
+                .mapToObj(eventId -> newNotificationEvent(eventId, "t1")).collect(Collectors.toList());
+        new MockUp<CacheUpdateProcessor>() {
+            @Mock
+            public NotificationEventResponse getNextEventResponse(String catalogName, boolean getAllEvents) {
+                return new NotificationEventResponse(events.subList(0, 2));
+            }
+
+            @Mock
+            public NotificationEventResponse getNextEventResponse(String catalogName, long fromEventId) {
+                List<NotificationEvent> nextEvents = events.stream().filter(event -> event.getEventId() > fromEventId)
+                        .limit(2).collect(Collectors.toList());
+                return nextEvents.isEmpty() ? null : new NotificationEventResponse(nextEvents);
+            }
+        };
+        MetastoreEventsProcessor processor = new MetastoreEventsProcessor();
+        processor.registerCacheUpdateProcessor(CATALOG,
+                new CacheUpdateProcessor(CATALOG, null, null, null, false, false));
+
+        int oldBatchSize = Config.hms_events_batch_size_per_rpc;
+        long oldWindowMs = Config.hms_events_coalesce_window_ms;
+        Config.hms_events_batch_size_per_rpc = 2;
+        try {
+            // one rpc per round
+            Config.hms_events_coalesce_window_ms = 0;
+            Assert.assertEquals(Lists.newArrayList(1L, 2L), processor.getNextHMSEvents(CATALOG).stream()
+                    .map(NotificationEvent::getEventId).collect(Collectors.toList()));
+
+            // the following events are pulled until there is no more event
+            Config.hms_events_coalesce_window_ms = 60000;
+            Assert.assertEquals(Lists.newArrayList(1L, 2L, 3L, 4L, 5L), processor.getNextHMSEvents(CATALOG).stream()
+                    .map(NotificationEvent::getEventId).collect(Collectors.toList()));
+        } finally {
+            Config.hms_events_batch_size_per_rpc = oldBatchSize;
+            Config.hms_events_coalesce_window_ms = oldWindowMs;
+        }
+    }
+
+    @Test
+    public void testApplyEventsInOrderOfTable() {
+        Map<String, List<Long>> processedEvents = new ConcurrentHashMap<>();
+        // the batch of the events 1 and 4 is applied before the event 2 of the same table
+        BatchEvent<MetastoreTableEvent> batchEvent =
+                new BatchEvent<>(new RecordingEvent(1, "t1", processedEvents));
+        batchEvent.addToBatchEvents(new RecordingEvent(4, "t1", processedEvents));
+        RecordingEvent event2 = new RecordingEvent(2, "t1", processedEvents);
+        RecordingEvent event3 = new RecordingEvent(3, "t2", processedEvents);
+        RecordingEvent event5 = new RecordingEvent(5, "t2", processedEvents);
+        RecordingEvent event6 = new RecordingEvent(6, "t1", processedEvents);
+        List<MetastoreEvent> events = Lists.newArrayList(event6, event2, event5, batchEvent, event3);
+        MetastoreEventsProcessor.sortByFirstEventId(events);
+        Assert.assertEquals(Lists.newArrayList(batchEvent, event2, event3, event5, event6), events);
+
+        new MockUp<BatchEvent<MetastoreTableEvent>>() {
+            @Mock
+            protected void process() {
+                batchEvent.getBatchEvents().forEach(MetastoreEvent::process);
+            }
+        };
+        boolean oldParallel = Config.enable_hms_parallel_process_evens;
+        Config.enable_hms_parallel_process_evens = true;
+        try {
+            new MetastoreEventsProcessor().doExecuteWithPartialProgress(events);
+        } finally {
+            Config.enable_hms_parallel_process_evens = oldParallel;
+        }
+        Assert.assertEquals(Lists.newArrayList(1L, 4L, 2L, 6L), processedEvents.get("t1"));
+        Assert.assertEquals(Lists.newArrayList(3L, 5L), processedEvents.get("t2"));
+    }
+
+    @Test
+    public void testPullEventsAfterDropTableAgain() {
+        Map<String, List<Long>> processedEvents = new ConcurrentHashMap<>();
+        new MockUp<CacheUpdateProcessor>() {
+            @Mock
+            public boolean isTablePresent(HiveTableName tableName) {
+                return true;
+            }
+        };
+        new MockUp<MetastoreEventFactory>() {
+            @Mock
+            public List<MetastoreEvent> get(NotificationEvent event, CacheUpdateProcessor cacheProcessor,
+                                            String catalogName) {
+                return Lists.newArrayList(new RecordingEvent(event, cacheProcessor, processedEvents));
+            }
+        };
+        CacheUpdateProcessor cacheProcessor = new CacheUpdateProcessor(CATALOG, null, null, null, false, false);
+        MetastoreEventsProcessor processor = new MetastoreEventsProcessor();
+        processor.registerCacheUpdateProcessor(CATALOG, cacheProcessor);
+
+        // the batches are cut at the DROP_TABLE event of t1, the later events of the other tables are not
+        // applied in this round
+        processor.processEvents(Lists.newArrayList(newNotificationEvent(1, "t1"), newNotificationEvent(2, "t2"),
+                newNotificationEvent(3, MetastoreEventType.DROP_TABLE, "t1"), newNotificationEvent(4, "t2"),
+                newNotificationEvent(5, "t3")), CATALOG);
+        Assert.assertEquals(Lists.newArrayList(3L), processedEvents.get("t1"));
+        Assert.assertEquals(Lists.newArrayList(2L), processedEvents.get("t2"));
+        Assert.assertNull(processedEvents.get("t3"));
+        Assert.assertEquals(3L, cacheProcessor.getLastSyncedEventId());
+
+        // they are pulled again in the next round
+        processor.processEvents(Lists.newArrayList(newNotificationEvent(4, "t2"), newNotificationEvent(5, "t3")),
+                CATALOG);
+        Assert.assertEquals(Lists.newArrayList(2L, 4L), processedEvents.get("t2"));
+        Assert.assertEquals(Lists.newArrayList(5L), processedEvents.get("t3"));
+        Assert.assertEquals(5L, cacheProcessor.getLastSyncedEventId());
+    }
+
+    @Test
+    public void testMetrics() {
+        HmsEventMetricMgr.increaseReceivedEvents(CATALOG, 10);
+        HmsEventMetricMgr.increaseProcessedEvents(CATALOG, 4);
+        Assert.assertEquals(10L, (long) getCounter("hms_event_received").getValue());
+        Assert.assertEquals(4L, (long) getCounter("hms_event_processed").getValue());
+
+        CacheUpdateProcessor cacheProcessor = new CacheUpdateProcessor(CATALOG, null, null, null, false, false);
+        MetastoreEventsProcessor processor = new MetastoreEventsProcessor();
+        processor.registerCacheUpdateProcessor(CATALOG, cacheProcessor);
+        // no event is pulled yet
+        processor.updateMetrics(CATALOG, 100);
+        Assert.assertNull(getGauge("hms_event_lag"));
+
+        Deencapsulation.setField(cacheProcessor, "latestEventId", 10L);
+        cacheProcessor.setLastSyncedEventId(7);
+        processor.updateMetrics(CATALOG, 100);
+        Assert.assertEquals(3L, (long) getGauge("hms_event_lag").getValue());
+        Assert.assertEquals(100L, (long) getGauge("hms_event_process_latency_ms").getValue());
+    }
+
+    private static Metric<?> findMetric(String name) {
+        return MetricRepo.getMetricsByName(name).stream()
+                .filter(metric -> metric.getLabels().stream().anyMatch(label -> label.getValue().equals(CATALOG)))
+                .findFirst().orElse(null);
+    }
+
+    private static LongCounterMetric getCounter(String name) {
+        return (LongCounterMetric) findMetric(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GaugeMetric<Long> getGauge(String name) {
+        return (GaugeMetric<Long>) findMetric(name);
+    }
+}
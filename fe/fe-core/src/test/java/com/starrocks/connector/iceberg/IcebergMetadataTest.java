@@ -39,6 +39,7 @@ import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.UserException;
 import com.starrocks.connector.HdfsEnvironment;
 import com.starrocks.connector.PartitionInfo;
+import com.starrocks.connector.RemoteFileDesc;
 import com.starrocks.connector.RemoteFileInfo;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 import com.starrocks.connector.iceberg.hive.IcebergHiveCatalog;
@@ -95,6 +96,7 @@ import org.apache.iceberg.catalog.TableIdentifier;
 import org.apache.iceberg.exceptions.NoSuchNamespaceException;
 import org.apache.iceberg.hive.HiveCatalog;
 import org.apache.iceberg.hive.HiveTableOperations;
+import org.apache.iceberg.io.CloseableIterable;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -763,6 +765,87 @@ public class IcebergMetadataTest extends TableTestBase {
         Assert.assertTrue(statistics.getColumnStatistic(columnRefOperator2).isUnknown());
     }
 
+    @Test
+    public void testStreamingScanRange() throws IOException {
+        Map<String, String> config = new HashMap<>();
+        config.put(HIVE_METASTORE_URIS, "thrift://188.122.12.1:8732");
+        config.put(ICEBERG_CATALOG_TYPE, "hive");
+        IcebergHiveCatalog icebergHiveCatalog = new IcebergHiveCatalog("iceberg_catalog", new Configuration(), config);
+        IcebergMetadata metadata = new IcebergMetadata(CATALOG_NAME, HDFS_ENVIRONMENT, icebergHiveCatalog,
+                Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor());
+        mockedNativeTableA.newFastAppend().appendFile(FILE_A).appendFile(FILE_A_1).commit();
+        IcebergTable icebergTable = new IcebergTable(1, "srTableName", "iceberg_catalog", "resource_name", "db_name",
+                "table_name", "", Lists.newArrayList(), mockedNativeTableA, Maps.newHashMap());
+        Map<ColumnRefOperator, Column> colRefToColumnMetaMap = new HashMap<ColumnRefOperator, Column>();
+        ColumnRefOperator columnRefOperator1 = new ColumnRefOperator(3, Type.INT, "id", true);
+        colRefToColumnMetaMap.put(columnRefOperator1, new Column("id", Type.INT));
+
+        new ConnectContext().setThreadLocalInfo();
+        ConnectContext.get().getSessionVariable().setEnableIcebergStreamingScanRange(true);
+        try {
+            // the cardinality comes from the snapshot summary
+            Statistics statistics = metadata.getTableStatistics(new OptimizerContext(null, null, ConnectContext.get()),
+                    icebergTable, colRefToColumnMetaMap, null, null, -1);
+            Assert.assertEquals(4.0, statistics.getOutputRowCount(), 0.001);
+            Assert.assertTrue(statistics.getColumnStatistic(columnRefOperator1).isUnknown());
+
+            long snapshotId = mockedNativeTableA.currentSnapshot().snapshotId();
+            List<RemoteFileInfo> res = metadata.getRemoteFileInfos(
+                    icebergTable, null, snapshotId, null, Lists.newArrayList(), -1);
+            RemoteFileDesc remoteFileDesc = res.get(0).getFiles().get(0);
+            Assert.assertNull(remoteFileDesc.getIcebergScanTasks());
+            long recordCount = 0;
+            try (CloseableIterable<FileScanTask> tasks = remoteFileDesc.getIcebergScanTaskIterable()) {
+                for (FileScanTask task : tasks) {
+                    recordCount += task.file().recordCount();
+                }
+            }
+            Assert.assertEquals(4, recordCount);
+
+            // the limit of scans can only be pushed down by the normal planning
+            res = metadata.getRemoteFileInfos(icebergTable, null, snapshotId, null, Lists.newArrayList(), 1);
+            Assert.assertNotNull(res.get(0).getFiles().get(0).getIcebergScanTasks());
+        } finally {
+            ConnectContext.get().getSessionVariable().setEnableIcebergStreamingScanRange(false);
+        }
+    }
+
+    @Test
+    public void testSharedPlanning() {
+        Map<String, String> config = new HashMap<>();
+        config.put(HIVE_METASTORE_URIS, "thrift://188.122.12.1:8732");
+        config.put(ICEBERG_CATALOG_TYPE, "hive");
+        IcebergHiveCatalog icebergHiveCatalog = new IcebergHiveCatalog("iceberg_catalog", new Configuration(), config);
+        boolean oldEnable = Config.enable_iceberg_shared_planning;
+        int oldMinManifests = Config.iceberg_shared_planning_min_manifests;
+        Config.enable_iceberg_shared_planning = true;
+        Config.iceberg_shared_planning_min_manifests = 1;
+        try {
+            IcebergSharedPlanningCache cache = new IcebergSharedPlanningCache();
+            IcebergMetadata metadata1 = new IcebergMetadata(CATALOG_NAME, HDFS_ENVIRONMENT, icebergHiveCatalog,
+                    Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor(), cache);
+            IcebergMetadata metadata2 = new IcebergMetadata(CATALOG_NAME, HDFS_ENVIRONMENT, icebergHiveCatalog,
+                    Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor(), cache);
+            mockedNativeTableA.newFastAppend().appendFile(FILE_A).appendFile(FILE_A_1).commit();
+            IcebergTable icebergTable = new IcebergTable(1, "srTableName", "iceberg_catalog", "resource_name",
+                    "db_name", "table_name", "", Lists.newArrayList(), mockedNativeTableA, Maps.newHashMap());
+            long snapshotId = mockedNativeTableA.currentSnapshot().snapshotId();
+
+            List<RemoteFileInfo> res1 = metadata1.getRemoteFileInfos(
+                    icebergTable, null, snapshotId, null, Lists.newArrayList(), -1);
+            List<RemoteFileInfo> res2 = metadata2.getRemoteFileInfos(
+                    icebergTable, null, snapshotId, null, Lists.newArrayList(), -1);
+            // the second query reuses the tasks planned by the first one
+            Assert.assertEquals(1, cache.size());
+            Assert.assertEquals(2, res1.get(0).getFiles().get(0).getIcebergScanTasks().size());
+            Assert.assertSame(res1.get(0).getFiles().get(0).getIcebergScanTasks(),
+                    res2.get(0).getFiles().get(0).getIcebergScanTasks());
+        } finally {
+            Config.enable_iceberg_shared_planning = oldEnable;
+            Config.iceberg_shared_planning_min_manifests = oldMinManifests;
+        }
+    }
+
     @Test
     public void testGetTableStatisticsWithColumnStats() {
         Map<String, String> config = new HashMap<>();
@@ -16,6 +16,7 @@
 package com.starrocks.connector.jdbc;
 
 import com.starrocks.catalog.JDBCResource;
+import com.starrocks.catalog.JDBCTable;
 import com.starrocks.common.FeConstants;
 import com.starrocks.connector.ConnectorContext;
 import org.junit.Assert;
@@ -43,4 +44,23 @@ public class JDBCConnectorTest {
             Assert.fail();
         }
     }
+
+    @Test
+    public void testScanMaxParallelism() {
+        FeConstants.runningUnitTest = true;
+        Map<String, String> properties = new HashMap<>();
+        properties.put(JDBCResource.DRIVER_CLASS, "org.mariadb.jdbc.Driver");
+        properties.put(JDBCResource.URI, "jdbc:mariadb://127.0.0.1:3306");
+        properties.put(JDBCResource.USER, "root");
+        properties.put(JDBCResource.PASSWORD, "123456");
+        properties.put(JDBCResource.DRIVER_URL, "xxxx");
+        ConnectorContext context = new ConnectorContext("jdbcmysql", "jdbc", properties);
+        properties.put(JDBCTable.JDBC_SCAN_MAX_PARALLELISM, "4");
+        new JDBCConnector(context);
+
+        for (String parallelism : new String[] {"abc", "0", "-1", "4.5"}) {
+            properties.put(JDBCTable.JDBC_SCAN_MAX_PARALLELISM, parallelism);
+            Assert.assertThrows(IllegalArgumentException.class, () -> new JDBCConnector(context));
+        }
+    }
 }
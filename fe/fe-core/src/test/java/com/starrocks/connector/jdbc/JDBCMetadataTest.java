@@ -33,6 +33,7 @@ import org.junit.Test;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -245,6 +246,37 @@ public class JDBCMetadataTest {
         }
     }
 
+    @Test
+    public void testGetScanSplitPredicates(@Mocked Statement statement) throws SQLException {
+        MockResultSet primaryKeyResult = new MockResultSet("primary keys");
+        primaryKeyResult.addColumn("KEY_SEQ", Arrays.asList(1));
+        primaryKeyResult.addColumn("COLUMN_NAME", Arrays.asList("a"));
+        MockResultSet rangeResult = new MockResultSet("range");
+        rangeResult.addColumn("MIN", Arrays.asList(1L));
+        rangeResult.addColumn("MAX", Arrays.asList(100L));
+        new Expectations() {
+            {
+                connection.getMetaData().getPrimaryKeys("test", null, "tbl1");
+                result = primaryKeyResult;
+                minTimes = 0;
+
+                connection.createStatement();
+                result = statement;
+                minTimes = 0;
+
+                statement.executeQuery("SELECT MIN(`a`), MAX(`a`) FROM `test`.`tbl1`");
+                result = rangeResult;
+                minTimes = 0;
+            }
+        };
+        JDBCMetadata jdbcMetadata = new JDBCMetadata(properties, "catalog", dataSource);
+        Table table = jdbcMetadata.getTable("test", "tbl1");
+        Assert.assertTrue(jdbcMetadata.getScanSplitPredicates(table, 1).isEmpty());
+        List<String> predicates = jdbcMetadata.getScanSplitPredicates(table, 4);
+        Assert.assertEquals(Lists.newArrayList("`a` < 26 OR `a` IS NULL", "`a` >= 26 AND `a` < 51",
+                "`a` >= 51 AND `a` < 76", "`a` >= 76"), predicates);
+    }
+
     @Test
     public void testCreateHikariDataSource() {
         properties = new HashMap<>();
@@ -0,0 +1,66 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.jdbc;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Type;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+public class JDBCScanSplitterTest {
+
+    @Test
+    public void testSplitIntegerColumn() {
+        List<String> predicates = JDBCScanSplitter.split("`id`", Type.BIGINT, 0, 9, 4);
+        Assert.assertEquals(Lists.newArrayList("`id` < 3 OR `id` IS NULL", "`id` >= 3 AND `id` < 6",
+                "`id` >= 6 AND `id` < 9", "`id` >= 9"), predicates);
+
+        // no more ranges than the distinct values
+        predicates = JDBCScanSplitter.split("id", Type.INT, 1, 2, 8);
+        Assert.assertEquals(Lists.newArrayList("id < 2 OR id IS NULL", "id >= 2"), predicates);
+
+        // the range of the column doesn't overflow
+        predicates = JDBCScanSplitter.split("id", Type.BIGINT, Long.MIN_VALUE, Long.MAX_VALUE, 2);
+        Assert.assertEquals(Lists.newArrayList("id < 0 OR id IS NULL", "id >= 0"), predicates);
+    }
+
+    @Test
+    public void testSplitDateColumn() {
+        long min = LocalDate.of(2023, 1, 1).toEpochDay();
+        long max = LocalDate.of(2023, 1, 4).toEpochDay();
+        List<String> predicates = JDBCScanSplitter.split("dt", Type.DATE, min, max, 2);
+        Assert.assertEquals(Lists.newArrayList("dt < '2023-01-03' OR dt IS NULL", "dt >= '2023-01-03'"), predicates);
+
+        min = LocalDateTime.of(2023, 1, 1, 0, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        max = LocalDateTime.of(2023, 1, 1, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+        predicates = JDBCScanSplitter.split("ts", Type.DATETIME, min, max, 2);
+        Assert.assertEquals(Lists.newArrayList("ts < '2023-01-01 12:00:00' OR ts IS NULL",
+                "ts >= '2023-01-01 12:00:00'"), predicates);
+    }
+
+    @Test
+    public void testNotSplit() {
+        Assert.assertTrue(JDBCScanSplitter.split("id", Type.INT, 1, 100, 1).isEmpty());
+        Assert.assertTrue(JDBCScanSplitter.split("id", Type.INT, 5, 5, 4).isEmpty());
+        Assert.assertFalse(JDBCScanSplitter.isSplitColumnType(Type.VARCHAR));
+        Assert.assertFalse(JDBCScanSplitter.isSplitColumnType(Type.DOUBLE));
+        Assert.assertTrue(JDBCScanSplitter.isSplitColumnType(Type.DATETIME));
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.lake.compaction;
+
+import com.starrocks.common.util.DecayingRate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PredictiveSorterTest {
+
+    private static PartitionStatistics newStatistics(long partitionId, double score) {
+        PartitionStatistics statistics = new PartitionStatistics(new PartitionIdentifier(1, 2, partitionId));
+        statistics.setCompactionScore(Quantiles.compute(Arrays.asList(score, score)));
+        return statistics;
+    }
+
+    @Test
+    public void testWithoutHistory() {
+        List<PartitionStatistics> statisticsList = new ArrayList<>();
+        statisticsList.add(newStatistics(3, 10));
+        statisticsList.add(newStatistics(4, 30));
+        statisticsList.add(newStatistics(5, 20));
+
+        List<PartitionStatistics> sortedList = new PredictiveSorter().sort(statisticsList);
+        Assert.assertEquals(3, sortedList.size());
+        Assert.assertEquals(4, sortedList.get(0).getPartition().getPartitionId());
+        Assert.assertEquals(5, sortedList.get(1).getPartition().getPartitionId());
+        Assert.assertEquals(3, sortedList.get(2).getPartition().getPartitionId());
+    }
+
+    @Test
+    public void testHotPartitionFirst() {
+        long now = System.currentTimeMillis();
+        PartitionStatistics cold = newStatistics(3, 22);
+        PartitionStatistics hot = newStatistics(4, 20);
+        DecayingRate queryHeat = new DecayingRate(PartitionStatistics.RATE_HALF_LIFE_MS);
+        queryHeat.add(100, now);
+        hot.setQueryHeat(queryHeat);
+        for (int i = 0; i < 10; i++) {
+            hot.recordLoad(now);
+        }
+
+        List<PartitionStatistics> sortedList = new PredictiveSorter().sort(Arrays.asList(cold, hot));
+        Assert.assertEquals(4, sortedList.get(0).getPartition().getPartitionId());
+        Assert.assertEquals(3, sortedList.get(1).getPartition().getPartitionId());
+
+        // manual compaction always comes first
+        cold.setPriority(PartitionStatistics.CompactionPriority.MANUAL_COMPACT);
+        sortedList = new PredictiveSorter().sort(Arrays.asList(cold, hot));
+        Assert.assertEquals(3, sortedList.get(0).getPartition().getPartitionId());
+    }
+
+    @Test
+    public void testCostAndScoreDecay() {
+        PartitionStatistics cheap = newStatistics(3, 20);
+        cheap.recordCompactionLatency(2000);
+        PartitionStatistics expensive = newStatistics(4, 30);
+        expensive.recordCompactionLatency(60000);
+
+        List<PartitionStatistics> sortedList = new PredictiveSorter().sort(Arrays.asList(cheap, expensive));
+        Assert.assertEquals(3, sortedList.get(0).getPartition().getPartitionId());
+
+        // a compaction of partition 3 removes little of its score
+        cheap.recordScoreDecay(Quantiles.compute(Arrays.asList(20.0)), Quantiles.compute(Arrays.asList(19.9)));
+        Assert.assertEquals(0.1, cheap.getLastScoreDecay(), 0.0001);
+        Assert.assertEquals(0.005, cheap.getAvgScoreDecayRatio(), 0.0001);
+        sortedList = new PredictiveSorter().sort(Arrays.asList(cheap, expensive));
+        Assert.assertEquals(4, sortedList.get(0).getPartition().getPartitionId());
+    }
+
+    @Test
+    public void testCompactionLatency() {
+        PartitionStatistics statistics = newStatistics(3, 20);
+        Assert.assertEquals(0, statistics.getAvgCompactionLatencyMs(), 0.0001);
+        statistics.recordCompactionLatency(1000);
+        Assert.assertEquals(1000, statistics.getAvgCompactionLatencyMs(), 0.0001);
+        statistics.recordCompactionLatency(2000);
+        Assert.assertEquals(2000, statistics.getLastCompactionLatencyMs());
+        Assert.assertEquals(1300, statistics.getAvgCompactionLatencyMs(), 0.0001);
+        Assert.assertEquals(2, statistics.getFinishedCompactionCount());
+    }
+}
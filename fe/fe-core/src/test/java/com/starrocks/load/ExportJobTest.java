@@ -15,6 +15,7 @@
 package com.starrocks.load;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.starrocks.analysis.BrokerDesc;
 import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.analysis.TupleId;
@@ -33,6 +34,8 @@ import com.starrocks.common.util.UUIDUtil;
 import com.starrocks.planner.OlapScanNode;
 import com.starrocks.planner.PlanFragment;
 import com.starrocks.planner.ScanNode;
+import com.starrocks.qe.DefaultCoordinator;
+import com.starrocks.qe.scheduler.Coordinator;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.thrift.TInternalScanRange;
 import com.starrocks.thrift.TNetworkAddress;
@@ -40,12 +43,15 @@ import com.starrocks.thrift.TScanRange;
 import com.starrocks.thrift.TScanRangeLocation;
 import com.starrocks.thrift.TScanRangeLocations;
 import com.starrocks.thrift.TStorageMedium;
+import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ExportJobTest {
 
@@ -225,4 +231,106 @@ public class ExportJobTest {
         Assert.assertEquals(5, fragments.size());
         Assert.assertEquals(5, scanNodes.size());
     }
+
+    @Test
+    public void testOlapGenBalancedTaskFragments(@Mocked GlobalStateMgr globalStateMgr,
+                                                 @Mocked TabletInvertedIndex invertedIndex,
+                                                 @Mocked Table table,
+                                                 @Mocked OlapScanNode scanNode,
+                                                 @Mocked PlanFragment fragment,
+                                                 @Mocked BrokerDesc brokerDesc,
+                                                 @Mocked DefaultCoordinator.Factory coordinatorFactory,
+                                                 @Mocked Coordinator coordinator) {
+        // tabletId  backendId  dataSize
+        //     1       1, 2        10
+        //     2       1, 2        20
+        //     3       1, 2        30
+        //     4       1, 2        40
+        TabletMeta tabletMeta = new TabletMeta(0L, 1L, 2L, 3L, 4, TStorageMedium.HDD, false);
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
+                result = invertedIndex;
+                invertedIndex.getTabletMeta(anyLong);
+                result = tabletMeta;
+                invertedIndex.getReplica(anyLong, anyLong);
+                result = new Delegate<Replica>() {
+                    Replica getReplica(long tabletId, long backendId) {
+                        return new Replica(tabletId * 10 + backendId, backendId, 1L, 0, tabletId * 10, tabletId,
+                                ReplicaState.NORMAL, -1L, -1L);
+                    }
+                };
+                brokerDesc.hasBroker();
+                result = true;
+            }
+        };
+
+        List<TScanRangeLocations> locationsList = Lists.newArrayList();
+        for (int i = 1; i < 5; ++i) {
+            TInternalScanRange internalScanRange = new TInternalScanRange();
+            internalScanRange.setTablet_id(i);
+            TScanRange scanRange = new TScanRange();
+            scanRange.setInternal_scan_range(internalScanRange);
+
+            TScanRangeLocations locations = new TScanRangeLocations();
+            locations.setScan_range(scanRange);
+            for (long backendId = 1; backendId < 3; ++backendId) {
+                TScanRangeLocation scanRangeLocation = new TScanRangeLocation();
+                scanRangeLocation.setBackend_id(backendId);
+                locations.addToLocations(scanRangeLocation);
+            }
+            locationsList.add(locations);
+        }
+
+        ExportJob job = new ExportJob(0, UUIDUtil.genUUID());
+        Deencapsulation.setField(job, "tabletLocations", locationsList);
+        Deencapsulation.setField(job, "exportTable", table);
+        Deencapsulation.setField(job, "exportTupleDesc", new TupleDescriptor(new TupleId(0)));
+        Deencapsulation.setField(job, "brokerDesc", brokerDesc);
+
+        long oldMaxBytes = Config.export_max_bytes_per_be_per_task;
+        try {
+            // backend x: (4), (1)  backend y: (3, 2)
+            List<PlanFragment> fragments = Lists.newArrayList();
+            List<ScanNode> scanNodes = Lists.newArrayList();
+            Config.export_max_bytes_per_be_per_task = 40L;
+            Deencapsulation.invoke(job, "genBalancedTaskFragments", fragments, scanNodes);
+            Assert.assertEquals(3, fragments.size());
+            Assert.assertEquals(3, scanNodes.size());
+            // all the replicas are kept for the snapshots
+            for (TScanRangeLocations locations : locationsList) {
+                Assert.assertEquals(2, locations.getLocations().size());
+            }
+
+            List<List<TScanRangeLocations>> candidates = Deencapsulation.getField(job, "taskTabletCandidates");
+            long backendX = candidates.get(0).get(0).getLocations().get(0).getBackend_id();
+            long backendY = candidates.get(1).get(0).getLocations().get(0).getBackend_id();
+            Assert.assertNotEquals(backendX, backendY);
+            Assert.assertEquals(4L, candidates.get(0).get(0).getScan_range().getInternal_scan_range().getTablet_id());
+            Assert.assertEquals(2, candidates.get(1).size());
+            Assert.assertEquals(1L, candidates.get(2).get(0).getScan_range().getInternal_scan_range().getTablet_id());
+            Assert.assertEquals(backendX, candidates.get(2).get(0).getLocations().get(0).getBackend_id());
+
+            List<Coordinator> coordList = job.getCoordList();
+            for (int i = 0; i < 3; i++) {
+                coordList.add(coordinator);
+            }
+            Assert.assertSame(coordinator, job.assignCoord(0));
+            Assert.assertSame(coordinator, job.assignCoord(1));
+            // backend y finishes its task first, and the last task is moved to it
+            job.releaseCoord(1);
+            job.assignCoord(2);
+            Map<Integer, Set<Long>> taskBackendIds = Deencapsulation.getField(job, "taskBackendIds");
+            Assert.assertEquals(Sets.newHashSet(backendY), taskBackendIds.get(2));
+            Assert.assertEquals(Sets.newHashSet(backendX), taskBackendIds.get(0));
+            job.releaseCoord(0);
+            job.releaseCoord(2);
+            Map<Long, Integer> runningTasksPerBe = Deencapsulation.getField(job, "runningTasksPerBe");
+            Assert.assertTrue(runningTasksPerBe.isEmpty());
+        } catch (Exception e) {
+            Assert.fail(e.getMessage());
+        } finally {
+            Config.export_max_bytes_per_be_per_task = oldMaxBytes;
+        }
+    }
 }
@@ -18,23 +18,32 @@ package com.starrocks.load;
 import com.google.common.collect.Lists;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.PhysicalPartition;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
+import com.starrocks.common.profile.Tracers;
 import com.starrocks.persist.InsertOverwriteStateChangeInfo;
 import com.starrocks.pseudocluster.PseudoCluster;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.QueryState;
 import com.starrocks.qe.StmtExecutor;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.server.LocalMetastore;
 import com.starrocks.server.WarehouseManager;
 import com.starrocks.sql.ast.InsertStmt;
 import com.starrocks.utframe.StarRocksAssert;
 import com.starrocks.utframe.UtFrameUtils;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class InsertOverwriteJobRunnerTest {
 
@@ -133,6 +142,50 @@ public class InsertOverwriteJobRunnerTest {
         Assert.assertFalse(runner.isFinished());
     }
 
+    @Test
+    public void testBatchCreateTempPartitionReplicas() throws Exception {
+        int oldMaxSerialReplicas = Config.create_table_max_serial_replicas;
+        int oldBatchSize = Config.create_replica_tasks_batch_size;
+        // t3 has 2 partitions with 2 replicas each, they are built concurrently and sent in one batch
+        Config.create_table_max_serial_replicas = 1;
+        Config.create_replica_tasks_batch_size = 4;
+        List<Integer> groupSizes = new ArrayList<>();
+        new MockUp<LocalMetastore>() {
+            @Mock
+            public List<List<PhysicalPartition>> groupPartitionsByReplicaCount(Invocation invocation,
+                                                                               List<PhysicalPartition> partitions,
+                                                                               int maxReplicas) {
+                List<List<PhysicalPartition>> groups = invocation.proceed(partitions, maxReplicas);
+                groups.forEach(group -> groupSizes.add(group.size()));
+                return groups;
+            }
+        };
+        try {
+            String sql = "insert overwrite t3 select * from t4";
+            connectContext.getSessionVariable().setOptimizerExecuteTimeout(300000000);
+            Tracers.register(connectContext);
+            Tracers.init(connectContext, Tracers.Mode.TIMER, "base");
+            InsertStmt insertStmt = (InsertStmt) UtFrameUtils.parseStmtWithNewParser(sql, connectContext);
+            new StmtExecutor(connectContext, insertStmt).execute();
+            Assert.assertNotEquals(QueryState.MysqlStateType.ERR, connectContext.getState().getStateType());
+            String timers = Tracers.printScopeTimer();
+            Assert.assertTrue(timers, timers.contains("InsertOverwriteCreateTempPartitions"));
+            Assert.assertEquals(List.of(2), groupSizes);
+            Tracers.close();
+
+            // the job runs without a registered tracer
+            groupSizes.clear();
+            insertStmt = (InsertStmt) UtFrameUtils.parseStmtWithNewParser(sql, connectContext);
+            new StmtExecutor(connectContext, insertStmt).execute();
+            Assert.assertNotEquals(QueryState.MysqlStateType.ERR, connectContext.getState().getStateType());
+            Assert.assertEquals(List.of(2), groupSizes);
+        } finally {
+            Tracers.close();
+            Config.create_table_max_serial_replicas = oldMaxSerialReplicas;
+            Config.create_replica_tasks_batch_size = oldBatchSize;
+        }
+    }
+
     @Test
     public void testInsertOverwriteWithDuplicatePartitions() throws SQLException {
         connectContext.getSessionVariable().setOptimizerExecuteTimeout(300000000);
@@ -219,6 +219,24 @@ public class LoadPlannerTest {
         Assert.assertEquals(4, locationsList.size());
         Assert.assertEquals(2, planner.getFragments().get(0).getPipelineDop());
         Assert.assertEquals(1, planner.getFragments().get(0).getParallelExecNum());
+        Assert.assertTrue(planner.getFragments().get(0).isForceAssignScanRangesPerDriverSeq());
+
+        // dynamic split, pipeline
+        boolean oldEnableDynamicSplit = Config.enable_load_dynamic_split;
+        Config.enable_load_dynamic_split = true;
+        try {
+            planner = new LoadPlanner(jobId, loadId, txnId, db.getId(), table, strictMode,
+                    timezone, timeoutS, startTime, partialUpdate, ctx, sessionVariables, loadMemLimit, execMemLimit,
+                    brokerDesc, fileGroups, fileStatusesList, 2);
+            planner.plan();
+            scanNode = (FileScanNode) planner.getScanNodes().get(0);
+            // 64MB splits are shared by the scan operators, the instances are bounded by the backends
+            Assert.assertEquals(8, scanNode.getScanRangeLocations(0).size());
+            Assert.assertEquals(4, scanNode.getNumInstances());
+            Assert.assertFalse(planner.getFragments().get(0).isForceAssignScanRangesPerDriverSeq());
+        } finally {
+            Config.enable_load_dynamic_split = oldEnableDynamicSplit;
+        }
     }
 
     @Test
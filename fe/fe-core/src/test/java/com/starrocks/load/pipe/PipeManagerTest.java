@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.starrocks.analysis.BrokerDesc;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.LabelAlreadyUsedException;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.PropertyAnalyzer;
@@ -454,6 +455,103 @@ public class PipeManagerTest {
         Assert.assertEquals(1, repo.listFilesByState(FileListRepo.PipeFileState.FINISHED, 0).size());
     }
 
+    @Test
+    public void testIncrementalListingAndParallelTasks() throws Exception {
+        boolean oldIncrementalListing = Config.enable_pipe_incremental_listing;
+        long oldListingLagSecond = Config.pipe_incremental_listing_lag_second;
+        int oldMaxRunningTasks = Config.pipe_max_running_tasks;
+        Config.enable_pipe_incremental_listing = true;
+        Config.pipe_incremental_listing_lag_second = 0;
+        Config.pipe_max_running_tasks = 2;
+        try {
+            mockRepoExecutorDML();
+            mockTaskExecution(Constants.TaskRunState.SUCCESS);
+            List<FileStatus> listedFiles = new ArrayList<>();
+            List<String> stagedFiles = new ArrayList<>();
+            new MockUp<HdfsUtil>() {
+                @Mock
+                public List<FileStatus> listFileMeta(String path, BrokerDesc brokerDesc) {
+                    return new ArrayList<>(listedFiles);
+                }
+            };
+            new MockUp<FileListTableRepo>() {
+                private final List<PipeFileRecord> records = new ArrayList<>();
+
+                @Mock
+                public void updateFileState(List<PipeFileRecord> files, FileListRepo.PipeFileState state,
+                                            String label) {
+                    for (PipeFileRecord file : files) {
+                        PipeFileRecord record = records.stream().filter(x -> x.equals(file)).findFirst().get();
+                        record.loadState = state;
+                    }
+                }
+
+                @Mock
+                public List<PipeFileRecord> listFilesByState(FileListRepo.PipeFileState state, long limit) {
+                    return records.stream().filter(x -> x.getLoadState().equals(state))
+                            .limit(limit > 0 ? limit : Long.MAX_VALUE)
+                            .collect(Collectors.toList());
+                }
+
+                @Mock
+                public void stageFiles(List<PipeFileRecord> newRecords) {
+                    for (PipeFileRecord record : newRecords) {
+                        stagedFiles.add(record.getFileName());
+                        if (!records.contains(record)) {
+                            records.add(record);
+                        }
+                    }
+                }
+            };
+
+            listedFiles.add(new FileStatus(1024, false, 1, 1, 1, new Path("file1")));
+            listedFiles.add(new FileStatus(1024, false, 1, 1, 2, new Path("file2")));
+            createPipe("create pipe p_incr properties('batch_files'='1') as " +
+                    "insert into tbl1 select * from files('path'='fake://pipe', 'format'='parquet')");
+            Pipe pipe = getPipe("p_incr");
+            FilePipeSource source = pipe.getPipeSource();
+            FileListRepo repo = source.getFileListRepo();
+            pipe.poll();
+            Assert.assertEquals(Arrays.asList("file1", "file2"), stagedFiles);
+            Assert.assertEquals(2, source.getListingCursor());
+
+            // both files are dispatched in one round
+            pipe.schedule();
+            Assert.assertEquals(0, repo.listFilesByState(FileListRepo.PipeFileState.UNLOADED, 0).size());
+            pipe.schedule();
+            Assert.assertEquals(2, repo.listFilesByState(FileListRepo.PipeFileState.FINISHED, 0).size());
+            Assert.assertEquals(2, pipe.getLoadStatus().loadedFiles);
+
+            // only files modified since the cursor are staged
+            stagedFiles.clear();
+            listedFiles.add(new FileStatus(1024, false, 1, 1, 3, new Path("file3")));
+            source.poll();
+            Assert.assertEquals(Arrays.asList("file2", "file3"), stagedFiles);
+            Assert.assertEquals(3, source.getListingCursor());
+            Assert.assertEquals(1, repo.listFilesByState(FileListRepo.PipeFileState.UNLOADED, 0).size());
+            pipe.schedule();
+            pipe.schedule();
+            Assert.assertEquals(0, repo.listFilesByState(FileListRepo.PipeFileState.UNLOADED, 0).size());
+
+            // a file becomes visible late with an older modification time
+            stagedFiles.clear();
+            listedFiles.add(new FileStatus(1024, false, 1, 1, 1, new Path("late_file")));
+            source.poll();
+            Assert.assertEquals(Arrays.asList("file3"), stagedFiles);
+            // it's staged in the trailing window of the cursor
+            Config.pipe_incremental_listing_lag_second = 1;
+            stagedFiles.clear();
+            source.poll();
+            Assert.assertEquals(Arrays.asList("file1", "file2", "file3", "late_file"), stagedFiles);
+            Assert.assertEquals(3, source.getListingCursor());
+            Assert.assertEquals(1, repo.listFilesByState(FileListRepo.PipeFileState.UNLOADED, 0).size());
+        } finally {
+            Config.enable_pipe_incremental_listing = oldIncrementalListing;
+            Config.pipe_incremental_listing_lag_second = oldListingLagSecond;
+            Config.pipe_max_running_tasks = oldMaxRunningTasks;
+        }
+    }
+
     @Test
     @Ignore("flaky test")
     public void testExecuteTaskSubmitFailed() throws Exception {
@@ -42,6 +42,7 @@ import com.starrocks.analysis.LabelName;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.Config;
 import com.starrocks.common.LoadException;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.common.Pair;
@@ -148,6 +149,37 @@ public class KafkaRoutineLoadJobTest {
                 1L, "127.0.0.1:9020", "topic1");
         Deencapsulation.setField(routineLoadJob, "currentKafkaPartitions", partitionList4);
         Assert.assertEquals(4, routineLoadJob.calculateCurrentConcurrentTaskNum());
+
+        boolean oldEnable = Config.enable_routine_load_lag_aware_scheduling;
+        try {
+            Config.enable_routine_load_lag_aware_scheduling = true;
+            new Expectations() {
+                {
+                    globalStateMgr.getRoutineLoadMgr().getClusterIdleSlotNum();
+                    minTimes = 0;
+                    result = 6;
+                }
+            };
+            KafkaRoutineLoadJob kafkaRoutineLoadJob = new KafkaRoutineLoadJob(1L, "kafka_routine_load_job", 1L,
+                    1L, "127.0.0.1:9020", "topic1");
+            Deencapsulation.setField(kafkaRoutineLoadJob, "currentKafkaPartitions", partitionList4);
+            KafkaProgress progress = (KafkaProgress) kafkaRoutineLoadJob.getProgress();
+            for (int partition : partitionList4) {
+                progress.addPartitionOffset(Pair.create(partition, 100L));
+                kafkaRoutineLoadJob.setPartitionOffset(partition, 100L);
+            }
+            // no partition is lagging, the configured concurrency is kept
+            Assert.assertEquals(4, kafkaRoutineLoadJob.calculateCurrentConcurrentTaskNum());
+
+            // 5 partitions are lagging, more tasks are planned within the idle slots and the max concurrency
+            for (int partition : partitionList4.subList(0, 5)) {
+                kafkaRoutineLoadJob.setPartitionOffset(partition, 1000L);
+            }
+            Assert.assertEquals(Math.min(6, Config.max_routine_load_task_concurrent_num),
+                    kafkaRoutineLoadJob.calculateCurrentConcurrentTaskNum());
+        } finally {
+            Config.enable_routine_load_lag_aware_scheduling = oldEnable;
+        }
     }
 
     @Test 
@@ -229,6 +261,58 @@ public class KafkaRoutineLoadJobTest {
         }
     }
 
+    @Test
+    public void testDivideByLag() {
+        Map<Integer, Long> partitionLags = ImmutableMap.of(0, 1000L, 1, 500L, 2, 400L, 3, 0L, 4, 0L, 5, 0L);
+        List<List<Integer>> taskPartitions =
+                KafkaRoutineLoadJob.divideByLag(Arrays.asList(3, 4, 5, 2, 1, 0), partitionLags, 3);
+        // lagging partitions are spread out, and idle partitions are merged into the task with the least lag
+        Assert.assertEquals(Arrays.asList(Arrays.asList(0), Arrays.asList(1), Arrays.asList(2, 3, 4, 5)),
+                taskPartitions);
+
+        // empty tasks are removed
+        taskPartitions = KafkaRoutineLoadJob.divideByLag(Arrays.asList(0, 1), ImmutableMap.of(0, 0L, 1, 0L), 2);
+        Assert.assertEquals(Arrays.asList(Arrays.asList(0, 1)), taskPartitions);
+    }
+
+    @Test
+    public void testCalculateBatchScale() {
+        boolean oldEnable = Config.enable_routine_load_lag_aware_scheduling;
+        int oldFactor = Config.routine_load_max_batch_scale_factor;
+        try {
+            KafkaRoutineLoadJob routineLoadJob =
+                    new KafkaRoutineLoadJob(1L, "kafka_routine_load_job", 1L, 1L, "127.0.0.1:9020", "topic1");
+            Deencapsulation.setField(routineLoadJob, "currentKafkaPartitions", Arrays.asList(0, 1));
+            KafkaProgress progress = (KafkaProgress) routineLoadJob.getProgress();
+            progress.addPartitionOffset(Pair.create(0, 100L));
+            progress.addPartitionOffset(Pair.create(1, 100L));
+            routineLoadJob.setPartitionOffset(0, 1000100L);
+
+            Config.enable_routine_load_lag_aware_scheduling = true;
+            Config.routine_load_max_batch_scale_factor = 4;
+            // the lag of partition 1 is unknown
+            Assert.assertNull(routineLoadJob.getPartitionLags());
+            Assert.assertEquals(1, routineLoadJob.calculateBatchScale(Arrays.asList(0)));
+
+            routineLoadJob.setPartitionOffset(1, 30100L);
+            Assert.assertEquals(ImmutableMap.of(0, 1000000L, 1, 30000L), routineLoadJob.getPartitionLags());
+            Assert.assertEquals(4, routineLoadJob.calculateBatchScale(Arrays.asList(0)));
+            Assert.assertEquals(1, routineLoadJob.calculateBatchScale(Arrays.asList(1)));
+
+            // 1000 rows per second and 15 seconds per batch
+            Deencapsulation.setField(routineLoadJob, "totalRows", 10000L);
+            Deencapsulation.setField(routineLoadJob, "totalTaskExcutionTimeMs", 10000L);
+            Deencapsulation.setField(routineLoadJob, "taskConsumeSecond", 15L);
+            Assert.assertEquals(2, routineLoadJob.calculateBatchScale(Arrays.asList(1)));
+
+            Config.enable_routine_load_lag_aware_scheduling = false;
+            Assert.assertEquals(1, routineLoadJob.calculateBatchScale(Arrays.asList(0)));
+        } finally {
+            Config.enable_routine_load_lag_aware_scheduling = oldEnable;
+            Config.routine_load_max_batch_scale_factor = oldFactor;
+        }
+    }
+
     @Test
     public void testProcessTimeOutTasks(@Injectable GlobalTransactionMgr globalTransactionMgr,
                                         @Injectable RoutineLoadMgr routineLoadManager) {
@@ -0,0 +1,217 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.streamload;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.LabelAlreadyUsedException;
+import com.starrocks.common.UserException;
+import com.starrocks.http.rest.TransactionResult;
+import com.starrocks.transaction.TransactionStatus;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class StreamLoadGroupCommitMgrTest {
+    private final List<StreamLoadGroupCommitMgr.GroupCommitBatch> committedBatches = new CopyOnWriteArrayList<>();
+    private long oldIntervalMs;
+    private int oldMaxBatchLoads;
+
+    @Before
+    public void setUp() {
+        oldIntervalMs = Config.stream_load_group_commit_interval_ms;
+        oldMaxBatchLoads = Config.stream_load_group_commit_max_batch_loads;
+        committedBatches.clear();
+    }
+
+    @After
+    public void tearDown() {
+        Config.stream_load_group_commit_interval_ms = oldIntervalMs;
+        Config.stream_load_group_commit_max_batch_loads = oldMaxBatchLoads;
+    }
+
+    private StreamLoadGroupCommitMgr newMgr(boolean fail) {
+        return new StreamLoadGroupCommitMgr(batch -> {
+            committedBatches.add(batch);
+            TransactionResult result = new TransactionResult();
+            if (fail) {
+                result.setErrorMsg("too many filtered rows");
+            } else {
+                result.addResultEntry(TransactionResult.TXN_ID_KEY, 1000L + committedBatches.size());
+            }
+            return result;
+        });
+    }
+
+    private static HttpHeaders headers(String separator) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.set("column_separator", separator);
+        headers.set("Content-Length", "10");
+        return headers;
+    }
+
+    private static byte[] data(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testMergeAndDedup() throws Exception {
+        Config.stream_load_group_commit_interval_ms = 60000;
+        Config.stream_load_group_commit_max_batch_loads = 3;
+        StreamLoadGroupCommitMgr mgr = newMgr(false);
+
+        CompletableFuture<TransactionResult> f1 = mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"));
+        CompletableFuture<TransactionResult> f2 = mgr.submit("db", "tbl", "l2", headers(","), data("2,b"));
+        Assert.assertEquals(1, mgr.getOpenBatchNum());
+        Assert.assertEquals(TransactionStatus.PREPARE, mgr.getLabelStatus("db", "l1"));
+        Assert.assertEquals(TransactionStatus.UNKNOWN, mgr.getLabelStatus("db", "l3"));
+        // the batch is full
+        CompletableFuture<TransactionResult> f3 = mgr.submit("db", "tbl", "l3", headers(","), data("3,c\n"));
+
+        TransactionResult r1 = f1.get(10, TimeUnit.SECONDS);
+        TransactionResult r2 = f2.get(10, TimeUnit.SECONDS);
+        TransactionResult r3 = f3.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(1, committedBatches.size());
+        Assert.assertEquals(0, mgr.getOpenBatchNum());
+        Assert.assertTrue(r1.stateOK());
+        Assert.assertEquals("l2", r2.getResultEntry(TransactionResult.LABEL_KEY));
+        Assert.assertEquals(StreamLoadGroupCommitMgr.BEST_EFFORT_DEDUP,
+                r2.getResultEntry(StreamLoadGroupCommitMgr.LABEL_DEDUP_KEY));
+        Assert.assertEquals(3, r3.getResultEntry("GroupCommitLoads"));
+        Assert.assertEquals(r1.getResultEntry("GroupCommitLabel"), r3.getResultEntry("GroupCommitLabel"));
+        Assert.assertEquals(1001L, r2.getResultEntry(TransactionResult.TXN_ID_KEY));
+        // a row delimiter is appended to "2,b"
+        Assert.assertEquals(12, committedBatches.get(0).getBytes());
+
+        try {
+            mgr.submit("db", "tbl", "l2", headers(","), data("2,b\n"));
+            Assert.fail();
+        } catch (LabelAlreadyUsedException e) {
+            Assert.assertEquals("FINISHED", e.getJobStatus());
+        }
+        Assert.assertEquals(TransactionStatus.VISIBLE, mgr.getLabelStatus("db", "l2"));
+        Assert.assertEquals(TransactionStatus.UNKNOWN, mgr.getLabelStatus("db2", "l2"));
+        // labels are unique in each database
+        mgr.submit("db2", "tbl", "l2", headers(","), data("2,b\n"));
+    }
+
+    @Test
+    public void testCommitByInterval() throws Exception {
+        Config.stream_load_group_commit_interval_ms = 200;
+        StreamLoadGroupCommitMgr mgr = newMgr(false);
+
+        // loads with different properties can not be merged
+        CompletableFuture<TransactionResult> f1 = mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"));
+        CompletableFuture<TransactionResult> f2 = mgr.submit("db", "tbl", "l2", headers("|"), data("2|b\n"));
+        CompletableFuture<TransactionResult> f3 = mgr.submit("db", "tbl", "l3", headers(","), data("3,c\n"));
+
+        TransactionResult r1 = f1.get(10, TimeUnit.SECONDS);
+        TransactionResult r2 = f2.get(10, TimeUnit.SECONDS);
+        TransactionResult r3 = f3.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(2, committedBatches.size());
+        Assert.assertEquals(r1.getResultEntry("GroupCommitLabel"), r3.getResultEntry("GroupCommitLabel"));
+        Assert.assertNotEquals(r1.getResultEntry("GroupCommitLabel"), r2.getResultEntry("GroupCommitLabel"));
+        Assert.assertTrue((long) r1.getResultEntry("GroupCommitWaitMs") >= 0);
+    }
+
+    @Test
+    public void testCommitFailed() throws Exception {
+        Config.stream_load_group_commit_interval_ms = 10;
+        StreamLoadGroupCommitMgr mgr = newMgr(true);
+
+        TransactionResult result = mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"))
+                .get(10, TimeUnit.SECONDS);
+        Assert.assertFalse(result.stateOK());
+        Assert.assertEquals("too many filtered rows", result.msg);
+        Assert.assertEquals(TransactionStatus.UNKNOWN, mgr.getLabelStatus("db", "l1"));
+        // the label of a failed load can be used again
+        result = mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n")).get(10, TimeUnit.SECONDS);
+        Assert.assertFalse(result.stateOK());
+        Assert.assertEquals(0, mgr.getBufferedBytes());
+    }
+
+    @Test
+    public void testLimitPendingLoads() throws Exception {
+        Config.stream_load_group_commit_interval_ms = 60000;
+        long oldMaxBufferedBytes = Config.stream_load_group_commit_max_buffered_bytes;
+        int oldLabelKeepMaxNum = Config.stream_load_group_commit_label_keep_max_num;
+        Config.stream_load_group_commit_max_buffered_bytes = 10;
+        Config.stream_load_group_commit_label_keep_max_num = 3;
+        try {
+            StreamLoadGroupCommitMgr mgr = newMgr(false);
+            mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"));
+            mgr.submit("db", "tbl", "l2", headers(","), data("2,b\n"));
+            Assert.assertEquals(8, mgr.getBufferedBytes());
+            // the buffered data exceeds the limit
+            Assert.assertThrows(UserException.class, () -> mgr.submit("db", "tbl", "l3", headers(","), data("3,c\n")));
+            try {
+                mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"));
+                Assert.fail();
+            } catch (LabelAlreadyUsedException e) {
+                Assert.assertEquals("RUNNING", e.getJobStatus());
+            }
+
+            mgr.submit("db", "tbl", "l3", headers(","), data("3"));
+            // the number of pending loads exceeds the limit
+            Assert.assertThrows(UserException.class, () -> mgr.submit("db", "tbl", "l4", headers(","), data("4")));
+        } finally {
+            Config.stream_load_group_commit_max_buffered_bytes = oldMaxBufferedBytes;
+            Config.stream_load_group_commit_label_keep_max_num = oldLabelKeepMaxNum;
+        }
+    }
+
+    @Test
+    public void testExpireCommittedLabels() throws Exception {
+        Config.stream_load_group_commit_interval_ms = 10;
+        int oldLabelKeepMaxSecond = Config.label_keep_max_second;
+        try {
+            StreamLoadGroupCommitMgr mgr = newMgr(false);
+            Assert.assertTrue(mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"))
+                    .get(10, TimeUnit.SECONDS).stateOK());
+            Assert.assertThrows(LabelAlreadyUsedException.class,
+                    () -> mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n")));
+
+            // committed labels are kept as long as the labels of transactions
+            Config.label_keep_max_second = 0;
+            Assert.assertTrue(mgr.submit("db", "tbl", "l1", headers(","), data("1,a\n"))
+                    .get(10, TimeUnit.SECONDS).stateOK());
+        } finally {
+            Config.label_keep_max_second = oldLabelKeepMaxSecond;
+        }
+    }
+
+    @Test
+    public void testUnsupportedLoad() {
+        StreamLoadGroupCommitMgr mgr = newMgr(false);
+        HttpHeaders jsonHeaders = new DefaultHttpHeaders();
+        jsonHeaders.set("format", "json");
+        Assert.assertThrows(UserException.class, () -> mgr.submit("db", "tbl", "l1", jsonHeaders, data("{}")));
+
+        HttpHeaders skipHeaders = headers(",");
+        skipHeaders.set("skip_header", "1");
+        Assert.assertThrows(UserException.class, () -> mgr.submit("db", "tbl", "l2", skipHeaders, data("1,a\n")));
+
+        byte[] large = new byte[(int) Config.stream_load_group_commit_max_load_bytes + 1];
+        Assert.assertThrows(UserException.class, () -> mgr.submit("db", "tbl", "l3", headers(","), large));
+    }
+}
@@ -28,14 +28,18 @@ import com.starrocks.connector.elasticsearch.EsTestCase;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.ComputeNode;
 import com.starrocks.system.SystemInfoService;
+import com.starrocks.thrift.TEsScanRange;
 import com.starrocks.thrift.TNetworkAddress;
+import com.starrocks.thrift.TScanRangeLocations;
 import mockit.Expectations;
 import mockit.Mocked;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class EsScanNodeTest extends EsTestCase {
@@ -95,4 +99,33 @@ public class EsScanNodeTest extends EsTestCase {
         esShardPartitions.addShardRouting(5, singleShardRouting);
         scanNode.computeShardLocations(selectedIndex);
     }
+
+    @Test
+    public void testSlicedShards(@Mocked Analyzer analyzer) throws Exception {
+        List<Column> columns = new ArrayList<>();
+        columns.add(new Column("k1", Type.BIGINT));
+        EsTable esTable = fakeEsTable("doe", "doe", "doc", columns);
+
+        TupleDescriptor td = new TupleDescriptor(new TupleId(0));
+        td.setTable(esTable);
+        EsScanNode scanNode = new EsScanNode(new PlanNodeId(11), td, "EsScanNode");
+        scanNode.init(analyzer);
+
+        EsShardPartitions esShardPartitions = EsShardPartitions.findShardPartitions("doe",
+                loadJsonFromFile("data/es/test_search_shards.json"));
+        esShardPartitions.computeShardSlices(
+                EsShardPartitions.parseShardDocCounts(loadJsonFromFile("data/es/test_shard_stats.json")), 1000, 8);
+        List<TScanRangeLocations> locations = scanNode.computeShardLocations(Lists.newArrayList(esShardPartitions));
+        // 3 slices of shard 0, 8 slices of shard 1 and the other 3 shards are not sliced
+        Assert.assertEquals(14, locations.size());
+        List<TEsScanRange> shard1 = locations.stream().map(l -> l.getScan_range().getEs_scan_range())
+                .filter(range -> range.getShard_id() == 1).collect(Collectors.toList());
+        Assert.assertEquals(8, shard1.size());
+        for (int i = 0; i < shard1.size(); i++) {
+            Assert.assertEquals(i, shard1.get(i).getSlice_id());
+            Assert.assertEquals(8, shard1.get(i).getSlice_max());
+        }
+        Assert.assertTrue(locations.stream().map(l -> l.getScan_range().getEs_scan_range())
+                .filter(range -> range.getShard_id() == 2).noneMatch(TEsScanRange::isSetSlice_max));
+    }
 }
@@ -455,4 +455,90 @@ public class FileScanNodeTest {
         Assert.assertEquals(TFileFormatType.FORMAT_CSV_ZSTD,
                 locationsList.get(0).scan_range.broker_scan_range.ranges.get(6).format_type);
     }
+
+    @Test
+    public void testDynamicSplit(@Mocked GlobalStateMgr globalStateMgr,
+                                 @Mocked SystemInfoService systemInfoService,
+                                 @Injectable Database db, @Injectable OlapTable table)
+            throws UserException {
+        List<Column> columns = Lists.newArrayList(new Column("c1", Type.BIGINT, true),
+                new Column("c2", Type.BIGINT, true));
+        List<String> columnNames = Lists.newArrayList("c1", "c2");
+
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo();
+                result = systemInfoService;
+                systemInfoService.getIdToBackend();
+                result = idToBackend;
+                table.getBaseSchema();
+                result = columns;
+                table.getFullSchema();
+                result = columns;
+                table.getPartitions();
+                minTimes = 0;
+                result = Arrays.asList(partition);
+                partition.getId();
+                minTimes = 0;
+                result = 0;
+                table.getColumn("c1");
+                result = columns.get(0);
+                table.getColumn("c2");
+                result = columns.get(1);
+            }
+        };
+
+        boolean oldEnableDynamicSplit = Config.enable_load_dynamic_split;
+        long oldSplitBytes = Config.load_dynamic_split_bytes;
+        Config.enable_load_dynamic_split = true;
+        Config.load_dynamic_split_bytes = 64L << 20;
+        try {
+            // a 200MB plain csv file is cut into 64MB, 64MB, 64MB and 8MB splits,
+            // a 300MB gzip file can not be split
+            List<String> files = Lists.newArrayList("hdfs://127.0.0.1:9001/file1", "hdfs://127.0.0.1:9001/file2.gz");
+            DataDescription desc =
+                    new DataDescription("testTable", null, files, columnNames, null, null, "csv", false, null);
+            BrokerFileGroup brokerFileGroup = new BrokerFileGroup(desc);
+            Deencapsulation.setField(brokerFileGroup, "columnSeparator", "\t");
+            Deencapsulation.setField(brokerFileGroup, "rowDelimiter", "\n");
+            Deencapsulation.setField(brokerFileGroup, "fileFormat", "csv");
+            List<BrokerFileGroup> fileGroups = Lists.newArrayList(brokerFileGroup);
+
+            List<List<TBrokerFileStatus>> fileStatusesList = Lists.newArrayList();
+            List<TBrokerFileStatus> fileStatusList = Lists.newArrayList();
+            fileStatusList.add(new TBrokerFileStatus("hdfs://127.0.0.1:9001/file1", false, 200L << 20, true));
+            fileStatusList.add(new TBrokerFileStatus("hdfs://127.0.0.1:9001/file2.gz", false, 300L << 20, true));
+            fileStatusesList.add(fileStatusList);
+
+            Analyzer analyzer = new Analyzer(GlobalStateMgr.getCurrentState(), new ConnectContext());
+            TupleDescriptor tupleDesc = analyzer.getDescTbl().createTupleDescriptor("DestTableTuple");
+            FileScanNode scanNode = new FileScanNode(new PlanNodeId(0), tupleDesc, "FileScanNode", fileStatusesList,
+                    2, WarehouseManager.DEFAULT_WAREHOUSE_ID);
+            scanNode.setLoadInfo(jobId, txnId, table, brokerDesc, fileGroups, true, loadParallelInstanceNum);
+            scanNode.init(analyzer);
+            scanNode.finalizeStats(analyzer);
+
+            // every split is a scan range, the gzip file is assigned first and alone
+            List<TScanRangeLocations> locationsList = scanNode.getScanRangeLocations(0);
+            Assert.assertEquals(5, locationsList.size());
+            Map<Long, Long> backendToBytes = Maps.newHashMap();
+            long gzBackendId = -1;
+            for (TScanRangeLocations locations : locationsList) {
+                List<TBrokerRangeDesc> rangeDescs = locations.scan_range.broker_scan_range.ranges;
+                Assert.assertEquals(1, rangeDescs.size());
+                long backendId = locations.locations.get(0).backend_id;
+                backendToBytes.merge(backendId, rangeDescs.get(0).size, Long::sum);
+                if (rangeDescs.get(0).path.endsWith("file2.gz")) {
+                    Assert.assertEquals(300L << 20, rangeDescs.get(0).size);
+                    gzBackendId = backendId;
+                }
+            }
+            Assert.assertEquals(3, backendToBytes.size());
+            Assert.assertEquals(300L << 20, (long) backendToBytes.get(gzBackendId));
+            Assert.assertEquals(3, scanNode.getScanRangeAssignment().split("; ").length);
+        } finally {
+            Config.enable_load_dynamic_split = oldEnableDynamicSplit;
+            Config.load_dynamic_split_bytes = oldSplitBytes;
+        }
+    }
 }
@@ -20,8 +20,17 @@ package com.starrocks.planner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Range;
+import com.starrocks.analysis.BinaryPredicate;
+import com.starrocks.analysis.BinaryType;
+import com.starrocks.analysis.CompoundPredicate;
 import com.starrocks.analysis.DescriptorTable;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.InPredicate;
+import com.starrocks.analysis.IntLiteral;
 import com.starrocks.analysis.SlotDescriptor;
+import com.starrocks.analysis.SlotRef;
+import com.starrocks.analysis.StringLiteral;
 import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.catalog.AggregateType;
 import com.starrocks.catalog.Column;
@@ -67,6 +76,7 @@ import com.starrocks.thrift.TUniqueId;
 import com.starrocks.thrift.TWriteQuorumType;
 import com.starrocks.warehouse.DefaultWarehouse;
 import com.starrocks.warehouse.Warehouse;
+import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Injectable;
 import mockit.Mock;
@@ -82,6 +92,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class OlapTableSinkTest {
     private static final Logger LOG = LogManager.getLogger(OlapTableSinkTest.class);
@@ -486,4 +497,94 @@ public class OlapTableSinkTest {
         LOG.info("sink is {}", sink.toThrift());
         LOG.info("{}", sink.getExplainString("", TExplainLevel.NORMAL));
     }
+
+    @Test
+    public void testPrunePartitionsByPredicates(@Injectable MaterializedIndex index) throws Exception {
+        Column partKey = new Column("k1", Type.BIGINT);
+        RangePartitionInfo partInfo = new RangePartitionInfo(Lists.newArrayList(partKey));
+        HashDistributionInfo distInfo = new HashDistributionInfo(2, Lists.newArrayList(partKey));
+        Map<Long, Partition> partitions = new HashMap<>();
+        List<Long> partitionIds = new ArrayList<>();
+        // p1: [10, 20), p2: [20, 30) ... p10: [100, 110)
+        for (long id = 1; id <= 10; id++) {
+            PartitionKey lower = PartitionKey.createPartitionKey(
+                    Lists.newArrayList(new PartitionValue(String.valueOf(id * 10))), Lists.newArrayList(partKey));
+            PartitionKey upper = PartitionKey.createPartitionKey(
+                    Lists.newArrayList(new PartitionValue(String.valueOf(id * 10 + 10))), Lists.newArrayList(partKey));
+            partInfo.addPartition(id, false, Range.closedOpen(lower, upper), new DataProperty(TStorageMedium.HDD),
+                    (short) 3, false);
+            partitions.put(id, new Partition(id, "p" + id, index, distInfo));
+            partitionIds.add(id);
+        }
+        new Expectations() {
+            {
+                dstTable.getPartitionInfo();
+                result = partInfo;
+                dstTable.getPartition(anyLong);
+                result = new Delegate<Partition>() {
+                    Partition getPartition(long id) {
+                        return partitions.get(id);
+                    }
+                };
+            }
+        };
+
+        SlotRef k1 = new SlotRef(null, "k1");
+        Expr range = new CompoundPredicate(CompoundPredicate.Operator.AND,
+                new BinaryPredicate(BinaryType.GE, k1, new IntLiteral(35)),
+                new BinaryPredicate(BinaryType.LT, k1, new StringLiteral("60")));
+        Assert.assertEquals(Lists.newArrayList(3L, 4L, 5L),
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(range)));
+
+        Expr in = new InPredicate(k1, Lists.newArrayList(new IntLiteral(12), new IntLiteral(95)), false);
+        Assert.assertEquals(Lists.newArrayList(1L, 9L),
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(in)));
+
+        // rows satisfy any of the predicates of file groups
+        Expr eq = new BinaryPredicate(BinaryType.EQ, k1, new IntLiteral(105));
+        Assert.assertEquals(Lists.newArrayList(3L, 4L, 5L, 10L),
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(range, eq)));
+
+        // all partitions are carried if any predicate can not prune partitions
+        Expr other = new BinaryPredicate(BinaryType.EQ, new SlotRef(null, "v1"), new StringLiteral("a"));
+        Assert.assertEquals(partitionIds,
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(eq, other)));
+        Expr notIn = new InPredicate(k1, Lists.newArrayList(new IntLiteral(12)), true);
+        Assert.assertEquals(partitionIds,
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(notIn)));
+        // no partition contains the rows
+        Expr outOfRange = new BinaryPredicate(BinaryType.GT, k1, new IntLiteral(1000));
+        Assert.assertEquals(partitionIds,
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(outOfRange)));
+    }
+
+    @Test
+    public void testPruneListPartitionsByPredicates(@Injectable MaterializedIndex index) throws Exception {
+        ListPartitionInfo listPartitionInfo = new ListPartitionInfo(PartitionType.LIST,
+                Lists.newArrayList(new Column("k1", Type.INT)));
+        listPartitionInfo.setLiteralExprValues(1, Lists.newArrayList("1", "2"));
+        listPartitionInfo.setLiteralExprValues(2, Lists.newArrayList("3"));
+        listPartitionInfo.setLiteralExprValues(3, Lists.newArrayList("4", "5"));
+        new Expectations() {
+            {
+                dstTable.getPartitionInfo();
+                result = listPartitionInfo;
+                dstTable.getPartition(anyLong);
+                result = null;
+            }
+        };
+
+        List<Long> partitionIds = Lists.newArrayList(1L, 2L, 3L);
+        SlotRef k1 = new SlotRef(null, "k1");
+        // values are compared after they are casted to the type of the partition column
+        Expr in = new InPredicate(k1, Lists.newArrayList(new StringLiteral("02"), new IntLiteral(5)), false);
+        Assert.assertEquals(Lists.newArrayList(1L, 3L),
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(in)));
+        Expr eq = new BinaryPredicate(BinaryType.EQ, k1, new IntLiteral(3));
+        Assert.assertEquals(Lists.newArrayList(2L),
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(eq)));
+        Expr gt = new BinaryPredicate(BinaryType.GT, k1, new IntLiteral(3));
+        Assert.assertEquals(partitionIds,
+                OlapTableSink.prunePartitionsByPredicates(dstTable, partitionIds, Lists.newArrayList(gt)));
+    }
 }
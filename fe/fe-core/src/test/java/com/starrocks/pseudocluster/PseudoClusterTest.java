@@ -262,8 +262,8 @@ public class PseudoClusterTest {
 
         new MockUp<LocalMetastore>() {
             @Mock
-            void buildPartitions(Database db, OlapTable table, List<PhysicalPartition> partitions, long warehouseId)
-                    throws DdlException {
+            void buildPartitions(Database db, OlapTable table, List<PhysicalPartition> partitions, long warehouseId,
+                                 int replicaTasksBatchSize) throws DdlException {
                 return;
             }
         };
@@ -161,6 +161,59 @@ public class HDFSBackendSelectorTest {
         }
     }
 
+    @Test
+    public void testHdfsScanNodeLoadAware() throws Exception {
+        SessionVariable sessionVariable = new SessionVariable();
+        sessionVariable.setHdfsBackendSelectorLoadAware(true);
+        new Expectations() {
+            {
+                hdfsScanNode.getId();
+                result = scanNodeId;
+
+                hdfsScanNode.getTableName();
+                result = "hive_tbl";
+
+                hiveTable.getTableLocation();
+                result = "hdfs://dfs00/dataset/";
+
+                ConnectContext.get();
+                result = context;
+
+                context.getSessionVariable();
+                result = sessionVariable;
+            }
+        };
+
+        int scanRangeNumber = 10000;
+        int scanRangeSize = 10000;
+        int hostNumber = 3;
+        List<TScanRangeLocations> locations = createScanRanges(scanRangeNumber, scanRangeSize);
+        FragmentScanRangeAssignment assignment = new FragmentScanRangeAssignment();
+        ImmutableMap<Long, ComputeNode> computeNodes = createComputeNodes(hostNumber);
+        // node 0 is busy
+        computeNodes.get(0L).updateResourceUsage(10, 0, 0, 0);
+        Assert.assertEquals(10, HDFSBackendSelector.getComputeNodeLoad(computeNodes.get(0L)), 0.001);
+        DefaultWorkerProvider workerProvider = new DefaultWorkerProvider(
+                ImmutableMap.of(),
+                computeNodes,
+                ImmutableMap.of(),
+                computeNodes,
+                true
+        );
+
+        HDFSBackendSelector selector =
+                new HDFSBackendSelector(hdfsScanNode, locations, assignment, workerProvider, false, false);
+        selector.computeScanRangeAssignment();
+
+        // the weights of the nodes are 0.5, 2 and 2, and each node gets at most 1.1 times of its share
+        long totalSize = (long) scanRangeNumber * scanRangeSize;
+        Map<Long, Long> stats = computeWorkerIdToReadBytes(assignment, scanNodeId);
+        Assert.assertTrue(stats.get(0L) <= totalSize * 0.5 / 4.5 * 1.1 + scanRangeSize);
+        Assert.assertTrue(stats.get(0L) >= totalSize * 0.5 / 4.5 * 0.5);
+        Assert.assertTrue(stats.get(1L) <= totalSize * 2 / 4.5 * 1.1 + scanRangeSize);
+        Assert.assertTrue(stats.get(2L) <= totalSize * 2 / 4.5 * 1.1 + scanRangeSize);
+    }
+
     @Test
     public void testHdfsScanNodeScanRangeReBalance() throws Exception {
         SessionVariable sessionVariable = new SessionVariable();
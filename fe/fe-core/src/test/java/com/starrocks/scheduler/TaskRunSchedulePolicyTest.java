@@ -0,0 +1,146 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.scheduler;
+
+import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.ResourceGroup;
+import com.starrocks.common.Config;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TaskRunSchedulePolicyTest extends MVRefreshTestBase {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        MVRefreshTestBase.beforeClass();
+        starRocksAssert.withTable("CREATE TABLE sched_t1 (k1 int, v1 int) DUPLICATE KEY(k1) " +
+                        "DISTRIBUTED BY HASH(k1) BUCKETS 3 PROPERTIES('replication_num' = '1')")
+                .withMaterializedView("CREATE MATERIALIZED VIEW sched_mv1 DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS SELECT k1, sum(v1) AS s FROM sched_t1 GROUP BY k1")
+                .withMaterializedView("CREATE MATERIALIZED VIEW sched_mv2 DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS SELECT k1, s FROM sched_mv1 WHERE s > 10")
+                .withMaterializedView("CREATE MATERIALIZED VIEW sched_mv3 DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS SELECT k1, s FROM sched_mv2")
+                .withMaterializedView("CREATE MATERIALIZED VIEW sched_mv4 DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS SELECT k1, count(*) AS c FROM sched_t1 GROUP BY k1");
+    }
+
+    private TaskRun newMVTaskRun(String mvName, long createTime) {
+        TaskRun taskRun = buildMVTaskRun(getMv(TEST_DB_NAME, mvName), TEST_DB_NAME);
+        taskRun.initStatus(mvName, createTime);
+        return taskRun;
+    }
+
+    @Test
+    public void testWaitForBaseMvs() {
+        long now = System.currentTimeMillis();
+        TaskRun mv1Run = newMVTaskRun("sched_mv1", now);
+        TaskRun mv3Run = newMVTaskRun("sched_mv3", now);
+        TaskRun mv4Run = newMVTaskRun("sched_mv4", now);
+
+        // sched_mv3 depends on sched_mv1 indirectly
+        TaskRunSchedulePolicy policy = new TaskRunSchedulePolicy(now, Arrays.asList(mv3Run, mv4Run),
+                Collections.singletonList(mv1Run));
+        Assert.assertTrue(policy.isWaitingForBaseMvs(mv3Run));
+        Assert.assertFalse(policy.isWaitingForBaseMvs(mv4Run));
+
+        policy = new TaskRunSchedulePolicy(now, Arrays.asList(mv3Run, mv4Run), Collections.emptyList());
+        Assert.assertFalse(policy.isWaitingForBaseMvs(mv3Run));
+
+        // wait too long
+        policy = new TaskRunSchedulePolicy(now + (Config.task_runs_dependency_wait_timeout_second + 1) * 1000L,
+                Arrays.asList(mv3Run, mv4Run), Collections.singletonList(mv1Run));
+        Assert.assertFalse(policy.isWaitingForBaseMvs(mv3Run));
+
+        int oldTimeout = Config.task_runs_dependency_wait_timeout_second;
+        try {
+            Config.task_runs_dependency_wait_timeout_second = 0;
+            policy = new TaskRunSchedulePolicy(now, Arrays.asList(mv3Run, mv4Run), Collections.singletonList(mv1Run));
+            Assert.assertFalse(policy.isWaitingForBaseMvs(mv3Run));
+        } finally {
+            Config.task_runs_dependency_wait_timeout_second = oldTimeout;
+        }
+    }
+
+    @Test
+    public void testSort() {
+        long now = System.currentTimeMillis();
+        TaskRun mv1Run = newMVTaskRun("sched_mv1", now - 10000);
+        TaskRun mv4Run = newMVTaskRun("sched_mv4", now - 10000);
+        TaskRun mv2Run = newMVTaskRun("sched_mv2", now - 1000);
+
+        // sched_mv4 is queried frequently
+        MaterializedView mv4 = getMv(TEST_DB_NAME, "sched_mv4");
+        try {
+            for (int i = 0; i < 100; i++) {
+                MvQueryUsage.getInstance().recordQuery(mv4.getMvId(), now);
+            }
+
+            List<TaskRun> candidates = Arrays.asList(mv2Run, mv1Run, mv4Run);
+            TaskRunSchedulePolicy policy = new TaskRunSchedulePolicy(now, candidates, Collections.emptyList());
+            List<TaskRun> sorted = policy.sort(candidates);
+            Assert.assertEquals(Arrays.asList(mv4Run, mv1Run, mv2Run), sorted);
+            Assert.assertTrue(policy.computeScore(mv4Run) > policy.computeScore(mv1Run));
+
+            // priority always comes first
+            mv2Run.getStatus().setPriority(10);
+            policy = new TaskRunSchedulePolicy(now, candidates, Collections.emptyList());
+            Assert.assertEquals(mv2Run, policy.sort(candidates).get(0));
+        } finally {
+            MvQueryUsage.getInstance().clear();
+        }
+    }
+
+    @Test
+    public void testQueryUsageDecay() {
+        MvQueryUsage usage = new MvQueryUsage();
+        MaterializedView mv1 = getMv(TEST_DB_NAME, "sched_mv1");
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 8; i++) {
+            usage.recordQuery(mv1.getMvId(), now);
+        }
+        Assert.assertEquals(8, usage.getUsage(mv1.getMvId(), now), 0.001);
+        Assert.assertEquals(4, usage.getUsage(mv1.getMvId(), now + MvQueryUsage.HALF_LIFE_MS), 0.001);
+
+        // not pruned until the usage decays away
+        usage.pruneIfNeeded(now + MvQueryUsage.HALF_LIFE_MS);
+        Assert.assertEquals(4, usage.getUsage(mv1.getMvId(), now + MvQueryUsage.HALF_LIFE_MS), 0.001);
+        long later = now + 20 * MvQueryUsage.HALF_LIFE_MS;
+        usage.pruneIfNeeded(later);
+        Assert.assertEquals(0, usage.getUsage(mv1.getMvId(), later), 0);
+    }
+
+    @Test
+    public void testConcurrencyGroup() {
+        long now = System.currentTimeMillis();
+        TaskRun mv1Run = newMVTaskRun("sched_mv1", now);
+        TaskRunSchedulePolicy policy = new TaskRunSchedulePolicy(now, Collections.singletonList(mv1Run),
+                Collections.emptyList());
+        MaterializedView mv1 = getMv(TEST_DB_NAME, "sched_mv1");
+        Assert.assertEquals(mv1.getWarehouseId() + "/" + ResourceGroup.DEFAULT_MV_RESOURCE_GROUP_NAME,
+                policy.getConcurrencyGroup(mv1Run));
+
+        Task task = new Task("test");
+        TaskRun taskRun = TaskRunBuilder.newBuilder(task).build();
+        taskRun.initStatus("1", now);
+        Assert.assertEquals("", policy.getConcurrencyGroup(taskRun));
+        Assert.assertFalse(policy.isWaitingForBaseMvs(taskRun));
+    }
+}
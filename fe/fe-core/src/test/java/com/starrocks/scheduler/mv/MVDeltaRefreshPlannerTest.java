@@ -0,0 +1,193 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.scheduler.mv;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.BaseTableInfo;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.TableProperty;
+import com.starrocks.common.util.UUIDUtil;
+import com.starrocks.scheduler.MVRefreshTestBase;
+import com.starrocks.scheduler.TableSnapshotInfo;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.StatementPlanner;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.ast.InsertStmt;
+import com.starrocks.sql.ast.StatementBase;
+import com.starrocks.sql.plan.ExecPlan;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class MVDeltaRefreshPlannerTest extends MVRefreshTestBase {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        MVRefreshTestBase.beforeClass();
+        starRocksAssert.withTable("CREATE TABLE delta_t1 (k1 int, k2 int, v1 int) DUPLICATE KEY(k1) " +
+                        "DISTRIBUTED BY HASH(k1) BUCKETS 3 " +
+                        "PROPERTIES('replication_num' = '1', 'binlog_enable' = 'true', 'binlog_max_size' = '100')")
+                .withTable("CREATE TABLE delta_t2 (k1 int, v2 int) DUPLICATE KEY(k1) " +
+                        "DISTRIBUTED BY HASH(k1) BUCKETS 3 PROPERTIES('replication_num' = '1')")
+                .withTable("CREATE TABLE delta_pk (k1 int, v1 int) PRIMARY KEY(k1) " +
+                        "DISTRIBUTED BY HASH(k1) BUCKETS 3 PROPERTIES('replication_num' = '1')")
+                .withMaterializedView("CREATE MATERIALIZED VIEW delta_agg_mv DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS " +
+                        "SELECT k1, sum(v1) AS s, count(*) AS c, max(v1) AS m FROM delta_t1 GROUP BY k1")
+                .withMaterializedView("CREATE MATERIALIZED VIEW delta_join_mv DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS " +
+                        "SELECT delta_t1.k1, delta_t1.v1, delta_t2.v2 FROM delta_t1 JOIN delta_t2 " +
+                        "ON delta_t1.k1 = delta_t2.k1")
+                .withMaterializedView("CREATE MATERIALIZED VIEW delta_pk_mv DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS SELECT k1, sum(v1) AS s FROM delta_pk GROUP BY k1")
+                .withMaterializedView("CREATE MATERIALIZED VIEW delta_avg_mv DISTRIBUTED BY HASH(k1) " +
+                        "REFRESH DEFERRED MANUAL AS SELECT k1, avg(v1) AS a FROM delta_t1 GROUP BY k1");
+    }
+
+    /**
+     * Mock that all base tables have been refreshed at version 2, and the given tables have been loaded to
+     * version 5 since then.
+     */
+    private Map<Long, TableSnapshotInfo> mockSnapshots(MaterializedView mv, List<String> changedTables) {
+        Map<Long, TableSnapshotInfo> snapshots = Maps.newHashMap();
+        Map<Long, Map<String, MaterializedView.BasePartitionInfo>> versionMap =
+                mv.getRefreshScheme().getAsyncRefreshContext().getBaseTableVisibleVersionMap();
+        for (BaseTableInfo baseTableInfo : mv.getBaseTableInfos()) {
+            OlapTable table = (OlapTable) baseTableInfo.getTable();
+            Partition partition = table.getPartitions().iterator().next();
+            Map<String, MaterializedView.BasePartitionInfo> refreshed = Maps.newHashMap();
+            refreshed.put(partition.getName(), new MaterializedView.BasePartitionInfo(partition.getId(), 2, 0));
+            versionMap.put(table.getId(), refreshed);
+
+            long version = changedTables.contains(table.getName()) ? 5 : 2;
+            Map<String, MaterializedView.BasePartitionInfo> snapshot = Maps.newHashMap();
+            snapshot.put(partition.getName(), new MaterializedView.BasePartitionInfo(partition.getId(), version, 0));
+            TableSnapshotInfo snapshotInfo = new TableSnapshotInfo(baseTableInfo, table);
+            snapshotInfo.setRefreshedPartitionInfos(snapshot);
+            snapshots.put(table.getId(), snapshotInfo);
+
+            Map<String, String> availableVersions = Maps.newHashMap();
+            availableVersions.put(TableProperty.BINLOG_PARTITION + partition.getId(), "1");
+            table.setBinlogAvailableVersion(availableVersions);
+        }
+        return snapshots;
+    }
+
+    private ExecPlan plan(InsertStmt insertStmt) throws Exception {
+        Analyzer.analyze(insertStmt, connectContext);
+        connectContext.setQueryId(UUIDUtil.genUUID());
+        connectContext.setExecutionId(UUIDUtil.toTUniqueId(connectContext.getQueryId()));
+        connectContext.getSessionVariable().setEnableBinlogBatchScan(true);
+        try {
+            return StatementPlanner.plan(insertStmt, connectContext);
+        } finally {
+            connectContext.getSessionVariable().setEnableBinlogBatchScan(false);
+        }
+    }
+
+    @Test
+    public void testAggregateMV() throws Exception {
+        Database db = GlobalStateMgr.getCurrentState().getDb(TEST_DB_NAME);
+        MaterializedView mv = getMv(TEST_DB_NAME, "delta_agg_mv");
+        Map<Long, TableSnapshotInfo> snapshots = mockSnapshots(mv, Arrays.asList("delta_t1"));
+
+        MVDeltaRefreshPlanner planner = new MVDeltaRefreshPlanner(mv, db, snapshots, connectContext);
+        InsertStmt insertStmt = planner.plan(Sets.newHashSet(mv.getName()));
+        Assert.assertNotNull(planner.getNotApplicableReason(), insertStmt);
+        Assert.assertTrue(insertStmt.isOverwrite());
+
+        String explain = plan(insertStmt).getExplainString(StatementBase.ExplainLevel.NORMAL);
+        Assert.assertTrue(explain, explain.contains("BinlogScanNode"));
+        Assert.assertTrue(explain, explain.contains("startVersion: 3"));
+        Assert.assertTrue(explain, explain.contains("TABLE: delta_agg_mv"));
+        // count(*) is merged by sum
+        Assert.assertTrue(explain, explain.contains("sum("));
+        Assert.assertTrue(explain, explain.contains("max("));
+    }
+
+    @Test
+    public void testJoinMV() throws Exception {
+        Database db = GlobalStateMgr.getCurrentState().getDb(TEST_DB_NAME);
+        MaterializedView mv = getMv(TEST_DB_NAME, "delta_join_mv");
+        Map<Long, TableSnapshotInfo> snapshots = mockSnapshots(mv, Arrays.asList("delta_t1"));
+
+        MVDeltaRefreshPlanner planner = new MVDeltaRefreshPlanner(mv, db, snapshots, connectContext);
+        InsertStmt insertStmt = planner.plan(Sets.newHashSet(mv.getName()));
+        Assert.assertNotNull(planner.getNotApplicableReason(), insertStmt);
+        // the delta is merged with the existing rows by overwriting, so that a replayed refresh is idempotent
+        Assert.assertTrue(insertStmt.isOverwrite());
+        Assert.assertEquals(Arrays.asList(mv.getName()), insertStmt.getTargetPartitionNames().getPartitionNames());
+
+        String explain = plan(insertStmt).getExplainString(StatementBase.ExplainLevel.NORMAL);
+        Assert.assertTrue(explain, explain.contains("BinlogScanNode"));
+        Assert.assertTrue(explain, explain.contains("TABLE: delta_t2"));
+        Assert.assertTrue(explain, explain.contains("TABLE: delta_join_mv"));
+        // the rows of a select-project-join materialized view are not aggregated
+        Assert.assertFalse(explain, explain.contains("AGGREGATE"));
+
+        // the binlog hint of a normal query doesn't plan binlog scan
+        explain = UtFrameUtils.getFragmentPlan(connectContext, "SELECT k1 FROM delta_t1 [_BINLOG_]");
+        Assert.assertFalse(explain, explain.contains("BinlogScanNode"));
+
+        // binlog of delta_t2 is not enabled
+        snapshots = mockSnapshots(mv, Arrays.asList("delta_t2"));
+        planner = new MVDeltaRefreshPlanner(mv, db, snapshots, connectContext);
+        Assert.assertNull(planner.plan(Sets.newHashSet(mv.getName())));
+        Assert.assertTrue(planner.getNotApplicableReason().contains("binlog"));
+
+        // more than one table changed
+        snapshots = mockSnapshots(mv, Arrays.asList("delta_t1", "delta_t2"));
+        planner = new MVDeltaRefreshPlanner(mv, db, snapshots, connectContext);
+        Assert.assertNull(planner.plan(Sets.newHashSet(mv.getName())));
+        Assert.assertTrue(planner.getNotApplicableReason().contains("more than one"));
+    }
+
+    @Test
+    public void testNotApplicable() throws Exception {
+        Database db = GlobalStateMgr.getCurrentState().getDb(TEST_DB_NAME);
+
+        MaterializedView pkMv = getMv(TEST_DB_NAME, "delta_pk_mv");
+        MVDeltaRefreshPlanner planner = new MVDeltaRefreshPlanner(pkMv, db,
+                mockSnapshots(pkMv, Arrays.asList("delta_pk")), connectContext);
+        Assert.assertNull(planner.plan(Sets.newHashSet(pkMv.getName())));
+        Assert.assertTrue(planner.getNotApplicableReason().contains("duplicate key"));
+
+        MaterializedView avgMv = getMv(TEST_DB_NAME, "delta_avg_mv");
+        planner = new MVDeltaRefreshPlanner(avgMv, db, mockSnapshots(avgMv, Arrays.asList("delta_t1")),
+                connectContext);
+        Assert.assertNull(planner.plan(Sets.newHashSet(avgMv.getName())));
+        Assert.assertTrue(planner.getNotApplicableReason().contains("avg"));
+
+        // binlog of the refreshed version has been deleted
+        Map<Long, TableSnapshotInfo> snapshots = mockSnapshots(avgMv, Arrays.asList("delta_t1"));
+        OlapTable table = (OlapTable) getTable(TEST_DB_NAME, "delta_t1");
+        Partition partition = table.getPartitions().iterator().next();
+        Map<String, String> availableVersions = Maps.newHashMap();
+        availableVersions.put(TableProperty.BINLOG_PARTITION + partition.getId(), "3");
+        table.setBinlogAvailableVersion(availableVersions);
+        planner = new MVDeltaRefreshPlanner(avgMv, db, snapshots, connectContext);
+        Assert.assertNull(planner.plan(Sets.newHashSet(avgMv.getName())));
+        Assert.assertTrue(planner.getNotApplicableReason().contains("available since 3"));
+    }
+}
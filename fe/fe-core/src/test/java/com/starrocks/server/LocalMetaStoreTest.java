@@ -24,6 +24,7 @@ import com.starrocks.catalog.MaterializedIndex;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.PartitionInfo;
+import com.starrocks.catalog.PhysicalPartition;
 import com.starrocks.catalog.PhysicalPartitionImpl;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.TabletMeta;
@@ -48,6 +49,7 @@ import com.starrocks.thrift.TStorageMedium;
 import com.starrocks.utframe.StarRocksAssert;
 import com.starrocks.utframe.UtFrameUtils;
 import mockit.Expectations;
+import mockit.Injectable;
 import mockit.Mock;
 import mockit.MockUp;
 import org.junit.Assert;
@@ -257,4 +259,38 @@ public class LocalMetaStoreTest {
             Assert.assertEquals("Cannot parse text to Duration", e.getMessage());
         }
     }
+
+    @Test
+    public void testGroupPartitionsByReplicaCount(@Injectable PhysicalPartition p1, @Injectable PhysicalPartition p2,
+                                                  @Injectable PhysicalPartition p3, @Injectable PhysicalPartition p4) {
+        new Expectations() {
+            {
+                p1.storageReplicaCount();
+                result = 3;
+                minTimes = 0;
+                p2.storageReplicaCount();
+                result = 3;
+                minTimes = 0;
+                p3.storageReplicaCount();
+                result = 8;
+                minTimes = 0;
+                p4.storageReplicaCount();
+                result = 1;
+                minTimes = 0;
+            }
+        };
+        List<PhysicalPartition> partitions = Lists.newArrayList(p1, p2, p3, p4);
+
+        // the tasks of each partition are sent separately
+        Assert.assertEquals(4, LocalMetastore.groupPartitionsByReplicaCount(partitions, 1).size());
+
+        // a partition with more replicas than the batch size is sent alone
+        List<List<PhysicalPartition>> groups = LocalMetastore.groupPartitionsByReplicaCount(partitions, 6);
+        Assert.assertEquals(3, groups.size());
+        Assert.assertEquals(2, groups.get(0).size());
+        Assert.assertSame(p3, groups.get(1).get(0));
+        Assert.assertSame(p4, groups.get(2).get(0));
+
+        Assert.assertEquals(1, LocalMetastore.groupPartitionsByReplicaCount(partitions, 100).size());
+    }
 }
@@ -16,6 +16,7 @@ package com.starrocks.sql.optimizer.rule.transformation.materialization;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.MvPlanContext;
@@ -62,6 +63,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
@@ -704,4 +706,90 @@ public class MvRewritePreprocessorTest extends MvRewriteTestBase {
             Assert.assertTrue(mvWithPlanContexts.size() == 1);
         });
     }
+
+    @Test
+    public void testPruneMvsBySignature() {
+        List<String> mvs = ImmutableList.of(
+                "create materialized view mv_sig_1 distributed by random as select k1, v1, v2 from t1;",
+                "create materialized view mv_sig_2 distributed by random as select k1, sum(v1) as s from t1 group by k1;",
+                "create materialized view mv_sig_3 distributed by random as select k1, v2, sum(v1) as s from t1 " +
+                        "group by k1, v2;"
+        );
+        starRocksAssert.withMaterializedViews(mvs, (obj) -> {
+            // spj query can not be rewritten by aggregate mvs
+            {
+                Set<MvRewritePreprocessor.MvWithPlanContext> result =
+                        pruneBySignature("select k1, v1 from t1 where v2 > 1");
+                Assert.assertEquals(1, result.size());
+                Assert.assertEquals("mv_sig_1", result.iterator().next().getMv().getName());
+            }
+            // v2 is not contained by mv_sig_2
+            {
+                Set<MvRewritePreprocessor.MvWithPlanContext> result =
+                        pruneBySignature("select k1, sum(v1) from t1 where v2 > 1 group by k1");
+                Set<MaterializedView> mvSet = result.stream()
+                        .map(MvRewritePreprocessor.MvWithPlanContext::getMv).collect(Collectors.toSet());
+                Assert.assertTrue(containsMV(mvSet, "mv_sig_1", "mv_sig_3"));
+            }
+            {
+                Set<MvRewritePreprocessor.MvWithPlanContext> result =
+                        pruneBySignature("select k1, sum(v1) from t1 group by k1");
+                Assert.assertEquals(3, result.size());
+            }
+            // each stage prunes the mvs
+            {
+                Map<String, MvPlanSignature.PruneStage> stages = getPruneStages("select k1, v1 from t1 where v2 > 1");
+                Assert.assertNull(stages.get("mv_sig_1"));
+                Assert.assertEquals(MvPlanSignature.PruneStage.AGGREGATE, stages.get("mv_sig_2"));
+                Assert.assertEquals(MvPlanSignature.PruneStage.AGGREGATE, stages.get("mv_sig_3"));
+
+                stages = getPruneStages("select k1, sum(v1) from t1 where v2 > 1 group by k1");
+                Assert.assertNull(stages.get("mv_sig_1"));
+                Assert.assertEquals(MvPlanSignature.PruneStage.COLUMN, stages.get("mv_sig_2"));
+                Assert.assertNull(stages.get("mv_sig_3"));
+
+                // columns are not checked if the tables of mv and query are different
+                stages = getPruneStages("select t1.k1, sum(t1.v1) from t1 join t0 on t1.k1 = t0.v1 " +
+                        "where t1.v2 > 1 group by t1.k1");
+                Assert.assertNull(stages.get("mv_sig_2"));
+            }
+            // disable signature prune
+            connectContext.getSessionVariable().setEnableMaterializedViewRewriteSignaturePrune(false);
+            try {
+                Set<MvRewritePreprocessor.MvWithPlanContext> result =
+                        pruneBySignature("select k1, v1 from t1 where v2 > 1");
+                Assert.assertEquals(3, result.size());
+            } finally {
+                connectContext.getSessionVariable().setEnableMaterializedViewRewriteSignaturePrune(true);
+            }
+        });
+    }
+
+    private Set<MvRewritePreprocessor.MvWithPlanContext> pruneBySignature(String query) {
+        Pair<MvRewritePreprocessor, OptExpression> result = buildMvProcessor(query);
+        MvRewritePreprocessor preprocessor = result.first;
+        OptExpression logicalTree = result.second;
+        Set<Table> queryTables = MvUtils.getAllTables(logicalTree).stream().collect(Collectors.toSet());
+        Set<MaterializedView> relatedMVs = preprocessor.getRelatedMVs(queryTables, false).stream()
+                .filter(mv -> mv.getName().startsWith("mv_sig_"))
+                .collect(Collectors.toSet());
+        Set<MvRewritePreprocessor.MvWithPlanContext> mvWithPlanContexts = preprocessor.getMvWithPlanContext(relatedMVs);
+        Assert.assertEquals(3, mvWithPlanContexts.size());
+        return preprocessor.pruneMvsBySignature(logicalTree, mvWithPlanContexts);
+    }
+
+    private Map<String, MvPlanSignature.PruneStage> getPruneStages(String query) {
+        Pair<MvRewritePreprocessor, OptExpression> result = buildMvProcessor(query);
+        MvPlanSignature querySignature = MvPlanSignature.build(result.second);
+        Set<Table> queryTables = MvUtils.getAllTables(result.second).stream().collect(Collectors.toSet());
+        Set<MaterializedView> relatedMVs = result.first.getRelatedMVs(queryTables, false).stream()
+                .filter(mv -> mv.getName().startsWith("mv_sig_"))
+                .collect(Collectors.toSet());
+        Map<String, MvPlanSignature.PruneStage> stages = Maps.newHashMap();
+        for (MvRewritePreprocessor.MvWithPlanContext mvWithPlanContext : result.first.getMvWithPlanContext(relatedMVs)) {
+            stages.put(mvWithPlanContext.getMv().getName(),
+                    mvWithPlanContext.getMvPlanContext().getSignature().prune(querySignature));
+        }
+        return stages;
+    }
 }
@@ -20,6 +20,8 @@ import com.google.common.collect.Range;
 import com.starrocks.catalog.BaseTableInfo;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.ForeignKeyConstraint;
+import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.MaterializedIndexMeta;
 import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.MvPlanContext;
 import com.starrocks.catalog.OlapTable;
@@ -33,9 +35,13 @@ import com.starrocks.qe.ShowResultSet;
 import com.starrocks.schema.MSchema;
 import com.starrocks.schema.MTable;
 import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
+import com.starrocks.sql.optimizer.MvPlanContextBuilder;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.operator.physical.PhysicalScanOperator;
 import com.starrocks.sql.plan.PlanTestBase;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.FixMethodOrder;
@@ -45,6 +51,7 @@ import org.junit.runners.MethodSorters;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -1807,6 +1814,87 @@ public class MvRewriteTest extends MvRewriteTestBase {
         }
     }
 
+    @Test
+    public void testVersionedPlanCache() throws Exception {
+        starRocksAssert.withTable("create table plan_cache_base (k1 int, v1 int) duplicate key(k1) " +
+                "distributed by hash(k1) buckets 3 properties('replication_num' = '1')");
+        starRocksAssert.withMaterializedView("create materialized view plan_cache_versioned_mv " +
+                "distributed by hash(k1) as select k1, sum(v1) as s from plan_cache_base group by k1");
+        CachingMvPlanContextBuilder builder = CachingMvPlanContextBuilder.getInstance();
+        MaterializedView mv = getMv("test", "plan_cache_versioned_mv");
+        OlapTable baseTable = (OlapTable) getTable("test", "plan_cache_base");
+
+        List<MvPlanContext> planContexts = builder.getPlanContext(mv, true);
+        Assert.assertNotNull(planContexts);
+        Assert.assertSame(planContexts, builder.getPlanContextFromCacheIfPresent(mv));
+        Assert.assertSame(planContexts, builder.getPlanContext(mv, true));
+
+        // base table's schema is changed, the plan is rebuilt
+        long version = CachingMvPlanContextBuilder.getPlanVersion(mv);
+        MaterializedIndexMeta indexMeta = baseTable.getIndexMetaByIndexId(baseTable.getBaseIndexId());
+        int schemaVersion = indexMeta.getSchemaVersion();
+        indexMeta.setSchemaVersion(schemaVersion + 1);
+        try {
+            Assert.assertNotEquals(version, CachingMvPlanContextBuilder.getPlanVersion(mv));
+            Assert.assertNull(builder.getPlanContextFromCacheIfPresent(mv));
+            List<MvPlanContext> newPlanContexts = builder.getPlanContext(mv, true);
+            Assert.assertNotNull(newPlanContexts);
+            Assert.assertNotSame(planContexts, newPlanContexts);
+        } finally {
+            indexMeta.setSchemaVersion(schemaVersion);
+        }
+
+        // the mv is replaced by another instance with the same id, the plan is rebuilt
+        MaterializedView copied = mv.selectiveCopy(null, false, MaterializedIndex.IndexExtState.VISIBLE);
+        Assert.assertEquals(version, CachingMvPlanContextBuilder.getPlanVersion(copied));
+        Assert.assertNull(builder.getPlanContextFromCacheIfPresent(copied));
+        Assert.assertNotNull(builder.getPlanContext(copied, true));
+        Assert.assertNull(builder.getPlanContextFromCacheIfPresent(mv));
+        Assert.assertNotNull(builder.getPlanContext(mv, true));
+
+        // concurrent loads of the same mv build the plan once
+        builder.invalidateFromCache(mv, true);
+        AtomicInteger loadCount = new AtomicInteger(0);
+        new MockUp<MvPlanContextBuilder>() {
+            @Mock
+            public List<MvPlanContext> getPlanContext(Invocation invocation, MaterializedView materializedView) {
+                loadCount.incrementAndGet();
+                return invocation.proceed(materializedView);
+            }
+        };
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> builder.getPlanContext(mv, true)));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertTrue(builder.contains(mv));
+
+        // invalidate mvs related to the base table only
+        builder.invalidateRelatedMvsFromCache(baseTable);
+        Assert.assertFalse(builder.contains(mv));
+
+        // persist hot mvs and warm up
+        String metaDir = Config.meta_dir;
+        Config.meta_dir = temp.newFolder().getAbsolutePath();
+        try {
+            builder.getPlanContext(mv, true);
+            builder.persistHotMvs();
+            Assert.assertTrue(builder.loadHotMvs().contains(mv.getId()));
+            builder.invalidateFromCache(mv, true);
+            Assert.assertFalse(builder.contains(mv));
+            Assert.assertTrue(builder.warmUp() > 0);
+            Assert.assertTrue(builder.contains(mv));
+        } finally {
+            Config.meta_dir = metaDir;
+        }
+        starRocksAssert.dropMaterializedView("plan_cache_versioned_mv");
+        starRocksAssert.dropTable("plan_cache_base");
+    }
+
     @Test
     public void testWithSqlSelectLimit() throws Exception {
         starRocksAssert.getCtx().getSessionVariable().setSqlSelectLimit(1000);
@@ -22,6 +22,8 @@ import com.starrocks.catalog.Type;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.util.UUIDUtil;
+import com.starrocks.planner.OlapTableSink;
+import com.starrocks.planner.PlanFragment;
 import com.starrocks.qe.SessionVariable;
 import com.starrocks.server.MetadataMgr;
 import com.starrocks.sql.InsertPlanner;
@@ -371,6 +373,10 @@ public class InsertPlanTest extends PlanTestBase {
     }
 
     public static String getInsertExecPlan(String originStmt) throws Exception {
+        return planInsert(originStmt).getExplainString(TExplainLevel.NORMAL);
+    }
+
+    private static ExecPlan planInsert(String originStmt) throws Exception {
         connectContext.setQueryId(UUIDUtil.genUUID());
         connectContext.setExecutionId(UUIDUtil.toTUniqueId(connectContext.getQueryId()));
         connectContext.setDumpInfo(new QueryDumpInfo(connectContext));
@@ -378,16 +384,64 @@ public class InsertPlanTest extends PlanTestBase {
                 com.starrocks.sql.parser.SqlParser.parse(originStmt, connectContext.getSessionVariable().getSqlMode())
                         .get(0);
         connectContext.getDumpInfo().setOriginStmt(originStmt);
-        ExecPlan execPlan = new StatementPlanner().plan(statementBase, connectContext);
-
-        String ret = execPlan.getExplainString(TExplainLevel.NORMAL);
-        return ret;
+        return new StatementPlanner().plan(statementBase, connectContext);
     }
 
     public static void containsKeywords(String plan, String... keywords) throws Exception {
         Assert.assertTrue(Stream.of(keywords).allMatch(plan::contains));
     }
 
+    @Test
+    public void testInsertValuesSinkPartitions() throws Exception {
+        starRocksAssert.withTable("CREATE TABLE test_insert_values_partitions (\n" +
+                "  `k1` date NULL,\n" +
+                "  `v1` bigint NULL\n" +
+                ") ENGINE=OLAP\n" +
+                "DUPLICATE KEY(`k1`)\n" +
+                "PARTITION BY RANGE(`k1`) (\n" +
+                "  PARTITION p1 VALUES [('2024-01-01'), ('2024-01-02')),\n" +
+                "  PARTITION p2 VALUES [('2024-01-02'), ('2024-01-03')),\n" +
+                "  PARTITION p3 VALUES [('2024-01-03'), ('2024-01-04')),\n" +
+                "  PARTITION p4 VALUES [('2024-01-04'), ('2024-01-05'))\n" +
+                ")\n" +
+                "DISTRIBUTED BY HASH(`k1`) BUCKETS 1\n" +
+                "PROPERTIES (\n" +
+                "\"replication_num\" = \"1\"\n" +
+                ");");
+        boolean oldPrune = Config.enable_olap_table_sink_partition_prune;
+        int oldThreshold = Config.olap_table_sink_partition_prune_threshold;
+        Config.enable_olap_table_sink_partition_prune = true;
+        Config.olap_table_sink_partition_prune_threshold = 0;
+        try {
+            // only the partitions of the rows are carried by the sink
+            Assert.assertEquals(1, getSinkPartitionNum(
+                    "insert into test_insert_values_partitions values('2024-01-02', 1)"));
+            Assert.assertEquals(2, getSinkPartitionNum(
+                    "insert into test_insert_values_partitions(v1, k1) values(1, '2024-01-01'), (2, '2024-01-04')"));
+
+            // all the partitions are carried if any partition value is not constant or not given
+            Assert.assertEquals(4, getSinkPartitionNum(
+                    "insert into test_insert_values_partitions values(cast(now() as date), 1)"));
+            Assert.assertEquals(4, getSinkPartitionNum(
+                    "insert into test_insert_values_partitions values('2024-01-02', 1), (NULL, 2)"));
+            Assert.assertEquals(4, getSinkPartitionNum("insert into test_insert_values_partitions(v1) values(1)"));
+        } finally {
+            Config.enable_olap_table_sink_partition_prune = oldPrune;
+            Config.olap_table_sink_partition_prune_threshold = oldThreshold;
+            starRocksAssert.dropTable("test_insert_values_partitions");
+        }
+    }
+
+    private static int getSinkPartitionNum(String sql) throws Exception {
+        ExecPlan execPlan = planInsert(sql);
+        for (PlanFragment fragment : execPlan.getFragments()) {
+            if (fragment.getSink() instanceof OlapTableSink) {
+                return fragment.getSink().toThrift().getOlap_table_sink().getPartition().getPartitionsSize();
+            }
+        }
+        throw new IllegalStateException("no olap table sink in the plan of " + sql);
+    }
+
     @Test
     public void testBitmapInsertInto() throws Exception {
         String sql = "INSERT INTO test.bitmap_table (id, id2) VALUES (1001, to_bitmap(1000)), (1001, to_bitmap(2000));";
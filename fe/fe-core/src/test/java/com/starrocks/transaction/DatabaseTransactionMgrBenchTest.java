@@ -0,0 +1,147 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.transaction;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.FakeEditLog;
+import com.starrocks.catalog.FakeGlobalStateMgr;
+import com.starrocks.catalog.GlobalStateMgrTestUtil;
+import com.starrocks.common.Config;
+import com.starrocks.server.GlobalStateMgr;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark the throughput of concurrent loads on many tables of one database, to compare the transaction
+ * manager locked by table stripes with the one locked globally, i.e. with a single stripe. The correctness of
+ * concurrent transactions is covered by {@link DatabaseTransactionMgrTest}.
+ * <p>
+ * Note that finishing a transaction also holds the database lock unless lock_manager_enabled is set.
+ */
+public class DatabaseTransactionMgrBenchTest {
+    private static final Logger LOG = LogManager.getLogger(DatabaseTransactionMgrBenchTest.class);
+
+    private static final int THREAD_NUM = 16;
+    private static final int TABLE_NUM = 300;
+    private static final int TXN_NUM_PER_THREAD = 500;
+
+    @Rule
+    public TestRule benchRun = new BenchmarkRule();
+
+    private final TransactionState.TxnCoordinator transactionSource =
+            new TransactionState.TxnCoordinator(TransactionState.TxnSourceType.FE, "localfe");
+
+    private GlobalStateMgr globalStateMgr;
+    private int oldStripeNum;
+
+    @Before
+    public void setUp() throws Exception {
+        oldStripeNum = Config.transaction_lock_stripe_num;
+
+        new FakeEditLog();
+        new FakeGlobalStateMgr();
+        // the fake id generator in the other tests prints every id, which should not be measured
+        AtomicLong nextId = new AtomicLong(1000L);
+        new MockUp<TransactionIdGenerator>() {
+            @Mock
+            public long getNextTransactionId() {
+                return nextId.getAndIncrement();
+            }
+        };
+        globalStateMgr = GlobalStateMgrTestUtil.createTestState();
+    }
+
+    @After
+    public void tearDown() {
+        Config.transaction_lock_stripe_num = oldStripeNum;
+    }
+
+    /**
+     * Each thread begins, prepares, commits and finishes transactions on the tables in turn.
+     */
+    private void runLoads(int stripeNum) throws Exception {
+        Config.transaction_lock_stripe_num = stripeNum;
+        DatabaseTransactionMgr dbTransMgr = new DatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1,
+                globalStateMgr);
+        String labelPrefix = "bench_" + stripeNum + "_" + System.nanoTime() + "_";
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_NUM);
+        long startNs = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_NUM; i++) {
+                int threadId = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < TXN_NUM_PER_THREAD; j++) {
+                        long tableId = 100000L + (threadId + (long) j * THREAD_NUM) % TABLE_NUM;
+                        long txnId = dbTransMgr.beginTransaction(Lists.newArrayList(tableId),
+                                labelPrefix + threadId + "_" + j, null, transactionSource,
+                                TransactionState.LoadJobSourceType.INSERT_STREAMING, -1,
+                                Config.stream_load_default_timeout_second, 0);
+                        dbTransMgr.prepareTransaction(txnId, Collections.emptyList(), Collections.emptyList(),
+                                null, true);
+                        dbTransMgr.commitPreparedTransaction(txnId);
+                        dbTransMgr.finishTransactionNew(dbTransMgr.getTransactionState(txnId),
+                                Sets.newHashSet());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long costNs = System.nanoTime() - startNs;
+
+        int txnNum = THREAD_NUM * TXN_NUM_PER_THREAD;
+        Assert.assertEquals(0, dbTransMgr.getRunningTxnNums());
+        Assert.assertEquals(TransactionStatus.VISIBLE, dbTransMgr.getLabelState(labelPrefix + "0_0"));
+        LOG.info("{} loads on {} tables with {} stripes cost {} ms, throughput: {} txn/s", txnNum, TABLE_NUM,
+                stripeNum, costNs / 1000000, txnNum * 1000000000L / costNs);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 5)
+    public void testStripedLock() throws Exception {
+        runLoads(64);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 5)
+    public void testGlobalLock() throws Exception {
+        runLoads(1);
+    }
+}
@@ -43,6 +43,7 @@ import com.starrocks.catalog.Table;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.ExceptionChecker;
+import com.starrocks.common.LabelAlreadyUsedException;
 import com.starrocks.common.Pair;
 import com.starrocks.common.UserException;
 import com.starrocks.common.jmockit.Deencapsulation;
@@ -62,6 +63,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -510,4 +515,101 @@ public class DatabaseTransactionMgrTest {
                 Lists.newArrayList(), null);
         masterTransMgr.finishTransaction(GlobalStateMgrTestUtil.testDbId1, transactionId1, null);
     }
+
+    @Test
+    public void testConcurrentTransactionsOnManyTables() throws Exception {
+        DatabaseTransactionMgr masterDbTransMgr =
+                masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        int runningTxnNums = masterDbTransMgr.getRunningTxnNums();
+        int finishedTxnNums = masterDbTransMgr.getFinishedTxnNums();
+        int oldMaxRunningTxnNum = Config.max_running_txn_num_per_db;
+        Config.max_running_txn_num_per_db = 100000;
+
+        // simulate continuous loads on 300 tables, each thread begins and aborts transactions on its own tables
+        int threadNum = 16;
+        int tableNum = 300;
+        int txnNumPerThread = 200;
+        AtomicInteger failedNum = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadNum; i++) {
+                int threadId = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < txnNumPerThread; j++) {
+                        long tableId = 100000L + (threadId + (long) j * threadNum) % tableNum;
+                        try {
+                            long txnId = masterDbTransMgr.beginTransaction(Lists.newArrayList(tableId),
+                                    "concurrent_label_" + threadId + "_" + j, null, transactionSource,
+                                    TransactionState.LoadJobSourceType.BACKEND_STREAMING, -1,
+                                    Config.stream_load_default_timeout_second, 0);
+                            masterDbTransMgr.abortTransaction(txnId, "test", null);
+                        } catch (Exception e) {
+                            failedNum.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            Config.max_running_txn_num_per_db = oldMaxRunningTxnNum;
+        }
+
+        assertEquals(0, failedNum.get());
+        assertEquals(runningTxnNums, masterDbTransMgr.getRunningTxnNums());
+        assertEquals(finishedTxnNums + threadNum * txnNumPerThread, masterDbTransMgr.getFinishedTxnNums());
+        assertEquals(TransactionStatus.ABORTED, masterDbTransMgr.getLabelState("concurrent_label_0_0"));
+    }
+
+    @Test
+    public void testConcurrentBeginWithSameLabel() throws Exception {
+        DatabaseTransactionMgr masterDbTransMgr =
+                masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        int threadNum = 8;
+        AtomicInteger succeedNum = new AtomicInteger(0);
+        AtomicInteger labelUsedNum = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadNum; i++) {
+                // transactions on different tables hold different stripe locks
+                long tableId = 200000L + i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        masterDbTransMgr.beginTransaction(Lists.newArrayList(tableId), "same_label", null,
+                                transactionSource, TransactionState.LoadJobSourceType.BACKEND_STREAMING, -1,
+                                Config.stream_load_default_timeout_second, 0);
+                        succeedNum.incrementAndGet();
+                    } catch (LabelAlreadyUsedException e) {
+                        labelUsedNum.incrementAndGet();
+                    } catch (Exception e) {
+                        Assert.fail(e.getMessage());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, succeedNum.get());
+        assertEquals(threadNum - 1, labelUsedNum.get());
+        assertEquals(TransactionStatus.PREPARE, masterDbTransMgr.getLabelState("same_label"));
+    }
+
+    @Test
+    public void testGetTableStripes() {
+        DatabaseTransactionMgr masterDbTransMgr =
+                masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        Assert.assertArrayEquals(new int[] {0}, masterDbTransMgr.getTableStripes(Lists.newArrayList()));
+        Assert.assertArrayEquals(new int[] {0}, masterDbTransMgr.getTableStripes(null));
+        int stripeNum = Config.transaction_lock_stripe_num;
+        // stripes are distinct and sorted to avoid deadlock
+        Assert.assertArrayEquals(new int[] {1, 2},
+                masterDbTransMgr.getTableStripes(Lists.newArrayList(stripeNum + 2L, 1L, 2L)));
+    }
 }
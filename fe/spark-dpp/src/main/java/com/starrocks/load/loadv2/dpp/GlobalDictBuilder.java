@@ -21,14 +21,17 @@ import org.apache.commons.collections.map.MultiValueMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.sql.AnalysisException;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
 import org.apache.spark.sql.SparkSession;
 import org.apache.spark.sql.catalog.Column;
 import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
+import org.apache.spark.storage.StorageLevel;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -65,6 +68,12 @@ public class GlobalDictBuilder {
 
     protected static final Logger LOG = LogManager.getLogger(GlobalDictBuilder.class);
 
+    // spark configs of the global dict build, they can be set in the properties of the spark resource
+    public static final String DISTRIBUTED_BUILD_CONF = "spark.starrocks.global.dict.distributed.build";
+    public static final String SKEW_ROW_THRESHOLD_CONF = "spark.starrocks.global.dict.skew.row.threshold";
+    public static final String SKEW_SALT_NUM_CONF = "spark.starrocks.global.dict.skew.salt.num";
+    public static final int DEFAULT_SKEW_SALT_NUM = 16;
+
     // name of the column in starrocks table which need to build global dict
     // for example: some dict columns a,b,c
     // case 1: all dict columns has no relation, then the map is as below
@@ -101,9 +110,19 @@ public class GlobalDictBuilder {
     // determine the split num of new distinct value,better can be divisible by 1
     private int veryHighCardinalityColumnSplitNum;
 
+    // assign the dict values of new distinct values by zipWithIndex instead of a global row_number() window,
+    // so that they are numbered by all the tasks instead of a single one
+    private boolean distributedBuild = false;
+    // values of a dict column appearing in more rows than the threshold are salted when encoding
+    // the intermediate table, 0 means no salting
+    private long skewRowThreshold = 0;
+    // a skewed value is joined by skewSaltNum tasks
+    private int skewSaltNum = DEFAULT_SKEW_SALT_NUM;
+
     private ExecutorService pool;
 
     private StructType distinctValueSchema;
+    private StructType dictSchema;
 
     public GlobalDictBuilder(MultiValueMap dictColumn,
                              List<String> intermediateTableColumnList,
@@ -134,6 +153,15 @@ public class GlobalDictBuilder {
         spark.sql("use " + starrocksHiveDB);
     }
 
+    public void setDistributedBuild(boolean distributedBuild) {
+        this.distributedBuild = distributedBuild;
+    }
+
+    public void setSkewSalting(long skewRowThreshold, int skewSaltNum) {
+        this.skewRowThreshold = skewRowThreshold;
+        this.skewSaltNum = skewSaltNum;
+    }
+
     /**
      * Check if doris global dict table already exist.
      * If exist, use old name for compatibility.
@@ -223,7 +251,9 @@ public class GlobalDictBuilder {
                             distinctColumnNameTmp));
                 }
 
-                if (veryHighCardinalityColumn.contains(distinctColumnNameTmp) &&
+                if (distributedBuild) {
+                    buildGlobalDictByIndex(maxDictValue, distinctColumnNameTmp);
+                } else if (veryHighCardinalityColumn.contains(distinctColumnNameTmp) &&
                         veryHighCardinalityColumnSplitNum > 1) {
                     // split distinct key first and then encode with count
                     buildGlobalDictBySplit(maxDictValue, distinctColumnNameTmp);
@@ -240,9 +270,35 @@ public class GlobalDictBuilder {
     // encode starrocksIntermediateHiveTable's distinct column
     public void encodeStarRocksIntermediateHiveTable() {
         for (Object distinctColumnObj : dictColumn.keySet()) {
+            String skewValueView = createSkewValueView(distinctColumnObj.toString());
             spark.sql(getEncodeStarRocksIntermediateHiveTableSql(distinctColumnObj.toString(),
-                    (ArrayList) dictColumn.get(distinctColumnObj.toString())));
+                    (ArrayList) dictColumn.get(distinctColumnObj.toString()), skewValueView));
+        }
+    }
+
+    // create a temp view of the values appearing in more than skewRowThreshold rows,
+    // return null if salting is disabled or there is no skewed value
+    private String createSkewValueView(String dictColumn) {
+        if (skewRowThreshold <= 0 || skewSaltNum <= 1) {
+            return null;
+        }
+        Dataset<Row> skewValues = spark.sql(getSkewValueSql(dictColumn)).cache();
+        long skewValueNum = skewValues.count();
+        LOG.info("column " + dictColumn + " has " + skewValueNum + " values in more than " + skewRowThreshold +
+                " rows");
+        if (skewValueNum == 0) {
+            skewValues.unpersist();
+            return null;
         }
+        String skewValueView = String.format("skew_value_%s", dictColumn);
+        skewValues.createOrReplaceTempView(skewValueView);
+        return skewValueView;
+    }
+
+    String getSkewValueSql(String dictColumn) {
+        return "select " + dictColumn + " as skew_key from " + starrocksIntermediateHiveTable +
+                " where " + dictColumn + " is not null group by " + dictColumn +
+                " having count(*) > " + skewRowThreshold;
     }
 
     private String getCreateIntermediateHiveTableSql() {
@@ -340,6 +396,41 @@ public class GlobalDictBuilder {
         return sql.toString();
     }
 
+    private void buildGlobalDictByIndex(long maxGlobalDictValue, String distinctColumnName) {
+        // zipWithIndex numbers the rows of a partition from the row count of the previous partitions,
+        // the new values are computed twice, once for the counting
+        JavaRDD<Row> newDistinctValue = spark.sql(getNewDistinctValue(distinctColumnName)).toJavaRDD()
+                .persist(StorageLevel.MEMORY_AND_DISK());
+        String tmpDictTableName = String.format("%s_tmp_index_dict_%s", maxGlobalDictValue, distinctColumnName);
+        createIndexDict(newDistinctValue, maxGlobalDictValue).createOrReplaceTempView(tmpDictTableName);
+        spark.sql(getIndexBuildGlobalDictSql(tmpDictTableName, distinctColumnName));
+        newDistinctValue.unpersist();
+    }
+
+    // number the new distinct values from maxGlobalDictValue + 1 without gaps
+    Dataset<Row> createIndexDict(JavaRDD<Row> newDistinctValue, long maxGlobalDictValue) {
+        JavaRDD<Row> newDict = newDistinctValue.zipWithIndex()
+                .map(t -> RowFactory.create(t._1().getString(0), t._2() + maxGlobalDictValue + 1));
+        return spark.createDataFrame(newDict, getDictSchema());
+    }
+
+    String getIndexBuildGlobalDictSql(String tmpDictTableName, String distinctColumnName) {
+        return "insert overwrite table " + globalDictTableName + " partition(dict_column='" + distinctColumnName + "') "
+                + " select dict_key,dict_value from " + globalDictTableName + " where dict_column='" +
+                distinctColumnName + "' "
+                + " union all select dict_key,dict_value from " + tmpDictTableName;
+    }
+
+    private StructType getDictSchema() {
+        if (dictSchema == null) {
+            List<StructField> fieldList = new ArrayList<>();
+            fieldList.add(DataTypes.createStructField("dict_key", DataTypes.StringType, false));
+            fieldList.add(DataTypes.createStructField("dict_value", DataTypes.LongType, false));
+            dictSchema = DataTypes.createStructType(fieldList);
+        }
+        return dictSchema;
+    }
+
     private StructType getDistinctValueSchema() {
         if (distinctValueSchema == null) {
             List<StructField> fieldList = new ArrayList<>();
@@ -369,7 +460,7 @@ public class GlobalDictBuilder {
                 "on t1.dict_key = t2.dict_key where t2.dict_value is null";
     }
 
-    private String getNewDistinctValue(String distinctColumnName) {
+    String getNewDistinctValue(String distinctColumnName) {
         return "select t1.dict_key from " +
                 " (select dict_key from " + distinctKeyTableName + " where dict_column='" + distinctColumnName +
                 "' and dict_key is not null)t1 left join " +
@@ -379,9 +470,15 @@ public class GlobalDictBuilder {
 
     }
 
-    private String getEncodeStarRocksIntermediateHiveTableSql(String dictColumn, List<String> childColumn) {
+    String getEncodeStarRocksIntermediateHiveTableSql(String dictColumn, List<String> childColumn,
+                                                      String skewValueView) {
+        return "insert overwrite table " + starrocksIntermediateHiveTable + " " +
+                getEncodeSelectSql(dictColumn, childColumn, skewValueView);
+    }
+
+    String getEncodeSelectSql(String dictColumn, List<String> childColumn, String skewValueView) {
         StringBuilder sql = new StringBuilder();
-        sql.append("insert overwrite table ").append(starrocksIntermediateHiveTable).append(" select ");
+        sql.append("select ");
         // using map join to solve distinct column data skew
         // here is a spark sql hint
         if (mapSideJoinColumns.size() != 0 && mapSideJoinColumns.contains(dictColumn)) {
@@ -397,13 +494,34 @@ public class GlobalDictBuilder {
                 sql.append(starrocksIntermediateHiveTable).append(".").append(columnName).append(" ,");
             }
         });
-        sql.deleteCharAt(sql.length() - 1)
-                .append(" from ")
+        sql.deleteCharAt(sql.length() - 1);
+        if (skewValueView == null) {
+            sql.append(" from ")
+                    .append(starrocksIntermediateHiveTable)
+                    .append(" LEFT OUTER JOIN ( select dict_key,dict_value from ").append(globalDictTableName)
+                    .append(" where dict_column='").append(dictColumn).append("' ) t on ")
+                    .append(starrocksIntermediateHiveTable).append(".").append(dictColumn)
+                    .append(" = t.dict_key ");
+            return sql.toString();
+        }
+
+        // a skewed value gets a random salt in [0, skewSaltNum) and its dict entry is copied for every salt,
+        // so its rows are joined by skewSaltNum tasks. Other values always get salt 0.
+        sql.append(" from ( select /*+ BROADCAST (s) */ ").append(starrocksIntermediateHiveTable).append(".*,")
+                .append(" if(s.skew_key is null, 0, cast(floor(rand() * ").append(skewSaltNum)
+                .append(") as int)) as dict_salt from ").append(starrocksIntermediateHiveTable)
+                .append(" LEFT OUTER JOIN ").append(skewValueView).append(" s on ")
+                .append(starrocksIntermediateHiveTable).append(".").append(dictColumn).append(" = s.skew_key ) ")
                 .append(starrocksIntermediateHiveTable)
-                .append(" LEFT OUTER JOIN ( select dict_key,dict_value from ").append(globalDictTableName)
-                .append(" where dict_column='").append(dictColumn).append("' ) t on ")
+                .append(" LEFT OUTER JOIN ( select dict_key,dict_value,0 as dict_salt from ").append(globalDictTableName)
+                .append(" where dict_column='").append(dictColumn).append("'")
+                .append(" union all select /*+ BROADCAST (s) */ d.dict_key,d.dict_value,salt as dict_salt from")
+                .append(" ( select dict_key,dict_value from ").append(globalDictTableName)
+                .append(" where dict_column='").append(dictColumn).append("' ) d JOIN ").append(skewValueView)
+                .append(" s on d.dict_key = s.skew_key lateral view explode(sequence(1, ").append(skewSaltNum - 1)
+                .append(")) x as salt ) t on ")
                 .append(starrocksIntermediateHiveTable).append(".").append(dictColumn)
-                .append(" = t.dict_key ");
+                .append(" = t.dict_key and ").append(starrocksIntermediateHiveTable).append(".dict_salt = t.dict_salt ");
         return sql.toString();
     }
 
@@ -194,6 +194,12 @@ public class SparkEtlJob {
                     sourceHiveFilter, starrocksHiveDB, distinctKeyTableName, globalDictTableName,
                     starrocksIntermediateHiveTable,
                     buildConcurrency, veryHighCardinalityColumn, veryHighCardinalityColumnSplitNum, spark);
+            globalDictBuilder.setDistributedBuild(
+                    Boolean.parseBoolean(spark.conf().get(GlobalDictBuilder.DISTRIBUTED_BUILD_CONF, "false")));
+            globalDictBuilder.setSkewSalting(
+                    Long.parseLong(spark.conf().get(GlobalDictBuilder.SKEW_ROW_THRESHOLD_CONF, "0")),
+                    Integer.parseInt(spark.conf().get(GlobalDictBuilder.SKEW_SALT_NUM_CONF,
+                            String.valueOf(GlobalDictBuilder.DEFAULT_SKEW_SALT_NUM))));
             globalDictBuilder.checkGlobalDictTableName(dorisGlobalDictTableName);
             globalDictBuilder.createHiveIntermediateTable();
             globalDictBuilder.extractDistinctColumn();
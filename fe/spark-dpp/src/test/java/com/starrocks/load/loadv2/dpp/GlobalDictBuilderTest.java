@@ -0,0 +1,152 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.load.loadv2.dpp;
+
+import com.google.common.collect.Lists;
+import mockit.Mocked;
+import org.apache.commons.collections.map.MultiValueMap;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class GlobalDictBuilderTest {
+
+    private GlobalDictBuilder createBuilder(SparkSession spark) {
+        MultiValueMap dictColumn = new MultiValueMap();
+        // c2 reuses the dict of c1
+        dictColumn.put("c1", "c2");
+        return new GlobalDictBuilder(dictColumn, Lists.newArrayList("c1", "c2", "c3"), Lists.newArrayList(),
+                "db.src", null, "db", "distinct_key", "global_dict", "inter", 1, Lists.newArrayList(), 1, spark);
+    }
+
+    @Test
+    public void testEncodeSql(@Mocked SparkSession spark) {
+        GlobalDictBuilder builder = createBuilder(spark);
+        List<String> childColumns = Lists.newArrayList("c2");
+
+        String sql = builder.getEncodeStarRocksIntermediateHiveTableSql("c1", childColumns, null);
+        Assert.assertEquals("insert overwrite table inter select t.dict_value , " +
+                "if(c2 is null, null, t.dict_value)  ,inter.c3  from inter LEFT OUTER JOIN " +
+                "( select dict_key,dict_value from global_dict where dict_column='c1' ) t on inter.c1 = t.dict_key ",
+                sql);
+
+        builder.setSkewSalting(1000, 8);
+        Assert.assertEquals("select c1 as skew_key from inter where c1 is not null group by c1 " +
+                "having count(*) > 1000", builder.getSkewValueSql("c1"));
+        sql = builder.getEncodeStarRocksIntermediateHiveTableSql("c1", childColumns, "skew_value_c1");
+        Assert.assertTrue(sql, sql.contains("if(s.skew_key is null, 0, cast(floor(rand() * 8) as int)) as dict_salt"));
+        Assert.assertTrue(sql, sql.contains("LEFT OUTER JOIN skew_value_c1 s on inter.c1 = s.skew_key ) inter"));
+        Assert.assertTrue(sql, sql.contains("lateral view explode(sequence(1, 7)) x as salt"));
+        Assert.assertTrue(sql, sql.endsWith("on inter.c1 = t.dict_key and inter.dict_salt = t.dict_salt "));
+    }
+
+    @Test
+    public void testIndexBuildSql(@Mocked SparkSession spark) {
+        GlobalDictBuilder builder = createBuilder(spark);
+        Assert.assertEquals("insert overwrite table global_dict partition(dict_column='c1')  " +
+                        "select dict_key,dict_value from global_dict where dict_column='c1'  " +
+                        "union all select dict_key,dict_value from tmp_dict",
+                builder.getIndexBuildGlobalDictSql("tmp_dict", "c1"));
+    }
+
+    @Test
+    public void testBuildAndEncodeSkewedData() {
+        SparkSession spark = SparkSession.builder()
+                .master("local[2]")
+                .appName("GlobalDictBuilderTest")
+                .config("spark.ui.enabled", "false")
+                .config("spark.sql.shuffle.partitions", "4")
+                .getOrCreate();
+        try {
+            spark.sql("create database if not exists db");
+            GlobalDictBuilder builder = createBuilder(spark);
+
+            // c1 is skewed: 2000 rows of a hot value, 200 values of one row each and some nulls,
+            // c2 reuses the dict of c1 and c3 identifies the row
+            List<Row> rows = new ArrayList<>();
+            Map<Integer, String> c1OfRow = new HashMap<>();
+            for (int i = 0; i < 2300; i++) {
+                String c1 = i < 2000 ? "hot" : (i < 2200 ? "v_" + (i - 2000) : null);
+                rows.add(RowFactory.create(c1, i % 2 == 0 ? c1 : null, i));
+                c1OfRow.put(i, c1);
+            }
+            StructType schema = DataTypes.createStructType(Lists.newArrayList(
+                    DataTypes.createStructField("c1", DataTypes.StringType, true),
+                    DataTypes.createStructField("c2", DataTypes.StringType, true),
+                    DataTypes.createStructField("c3", DataTypes.IntegerType, false)));
+            spark.createDataFrame(rows, schema).repartition(4).createOrReplaceTempView("inter");
+            spark.sql("select c1 as dict_key, 'c1' as dict_column from inter group by c1")
+                    .createOrReplaceTempView("distinct_key");
+
+            // v_0 ~ v_49 have been encoded as 1 ~ 50 by the previous loads
+            List<Row> oldDictRows = new ArrayList<>();
+            Map<String, Long> dict = new HashMap<>();
+            for (int i = 0; i < 50; i++) {
+                oldDictRows.add(RowFactory.create("v_" + i, (long) i + 1, "c1"));
+                dict.put("v_" + i, (long) i + 1);
+            }
+            StructType dictSchema = DataTypes.createStructType(Lists.newArrayList(
+                    DataTypes.createStructField("dict_key", DataTypes.StringType, false),
+                    DataTypes.createStructField("dict_value", DataTypes.LongType, false),
+                    DataTypes.createStructField("dict_column", DataTypes.StringType, false)));
+            spark.createDataFrame(oldDictRows, dictSchema).createOrReplaceTempView("global_dict");
+
+            // the new values are numbered densely after the max value of the dict
+            Dataset<Row> newDistinctValue = spark.sql(builder.getNewDistinctValue("c1")).repartition(4);
+            List<Row> newDict = builder.createIndexDict(newDistinctValue.toJavaRDD(), 50).collectAsList();
+            Assert.assertEquals(151, newDict.size());
+            List<Long> newValues = newDict.stream().map(row -> row.getLong(1)).sorted().collect(Collectors.toList());
+            for (int i = 0; i < newValues.size(); i++) {
+                Assert.assertEquals(51L + i, (long) newValues.get(i));
+            }
+            for (Row row : newDict) {
+                Assert.assertNull(row.getString(0), dict.put(row.getString(0), row.getLong(1)));
+            }
+            List<Row> allDictRows = new ArrayList<>(oldDictRows);
+            newDict.forEach(row -> allDictRows.add(RowFactory.create(row.getString(0), row.getLong(1), "c1")));
+            spark.createDataFrame(allDictRows, dictSchema).createOrReplaceTempView("global_dict");
+
+            // only the hot value is salted, and every row is encoded exactly once by its own value
+            builder.setSkewSalting(100, 4);
+            List<Row> skewValues = spark.sql(builder.getSkewValueSql("c1")).collectAsList();
+            Assert.assertEquals(1, skewValues.size());
+            Assert.assertEquals("hot", skewValues.get(0).getString(0));
+            spark.sql(builder.getSkewValueSql("c1")).createOrReplaceTempView("skew_value_c1");
+            List<Row> encoded = spark.sql(builder.getEncodeSelectSql("c1", Lists.newArrayList("c2"),
+                    "skew_value_c1")).collectAsList();
+            Assert.assertEquals(rows.size(), encoded.size());
+            for (Row row : encoded) {
+                int rowId = row.getInt(2);
+                String c1 = c1OfRow.get(rowId);
+                Long expected = c1 == null ? null : dict.get(c1);
+                Assert.assertEquals(c1, expected, row.get(0));
+                Assert.assertEquals(c1, rowId % 2 == 0 ? expected : null, row.get(1));
+            }
+        } finally {
+            spark.stop();
+        }
+    }
+}
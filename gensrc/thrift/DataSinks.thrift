@@ -183,6 +183,8 @@ struct TExportSink {
     8: optional i32 hdfs_write_buffer_size_kb = 0
     // properties from hdfs-site.xml, core-site.xml and load_properties
     9: optional PlanNodes.THdfsProperties hdfs_properties
+    // roll to a new file once the current file reaches this size, 0 means no limit
+    10: optional i64 max_file_size_bytes
 
     // export file name prefix
     30: optional string file_name_prefix
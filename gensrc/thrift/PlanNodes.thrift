@@ -287,6 +287,9 @@ struct TEsScanRange {
   2: required string index
   3: optional string type
   4: required i32 shard_id
+  // set if the shard is split into sliced scroll requests
+  5: optional i32 slice_id
+  6: optional i32 slice_max
 }
 
 enum TIcebergFileContent {
@@ -375,6 +378,12 @@ struct TBinlogScanRange {
   11: optional Types.TBinlogOffset offset
 }
 
+// A part of the jdbc table which is scanned by its own query
+struct TJDBCScanRange {
+  // the predicate appended to the filters of the jdbc scan node to select the part of the table
+  1: optional string filter
+}
+
 // Specification of an individual data range which is held in its entirety
 // by a storage server
 struct TScanRange {
@@ -388,6 +397,8 @@ struct TScanRange {
   20: optional THdfsScanRange hdfs_scan_range
   
   30: optional TBinlogScanRange binlog_scan_range
+
+  31: optional TJDBCScanRange jdbc_scan_range
 }
 
 struct TMySQLScanNode {
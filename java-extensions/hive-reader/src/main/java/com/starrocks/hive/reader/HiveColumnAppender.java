@@ -0,0 +1,91 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.hive.reader;
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.BooleanObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.ByteObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.DoubleObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.FloatObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.IntObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.LongObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.ShortObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.StringObjectInspector;
+import org.apache.hadoop.io.Text;
+
+/**
+ * Appends a non-null field to the off-heap column vector with the typed getter of its object inspector,
+ * which avoids boxing the field and wrapping it into {@link HiveColumnValue} for each row.
+ */
+public interface HiveColumnAppender {
+    void append(Object fieldData, OffHeapColumnVector vector);
+
+    /**
+     * Returns null if the inspector has no specialized appender for the column type, the field should be
+     * appended by {@link HiveColumnValue} then.
+     */
+    static HiveColumnAppender create(ObjectInspector inspector, ColumnType columnType) {
+        if (inspector.getCategory() != ObjectInspector.Category.PRIMITIVE) {
+            return null;
+        }
+        ColumnType.TypeValue typeValue = columnType.getTypeValue();
+        switch (((PrimitiveObjectInspector) inspector).getPrimitiveCategory()) {
+            case BOOLEAN: {
+                BooleanObjectInspector oi = (BooleanObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.BOOLEAN ? (data, vector) -> vector.appendBoolean(oi.get(data)) : null;
+            }
+            case BYTE: {
+                ByteObjectInspector oi = (ByteObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.TINYINT ? (data, vector) -> vector.appendByte(oi.get(data)) : null;
+            }
+            case SHORT: {
+                ShortObjectInspector oi = (ShortObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.SHORT ? (data, vector) -> vector.appendShort(oi.get(data)) : null;
+            }
+            case INT: {
+                IntObjectInspector oi = (IntObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.INT ? (data, vector) -> vector.appendInt(oi.get(data)) : null;
+            }
+            case LONG: {
+                LongObjectInspector oi = (LongObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.LONG ? (data, vector) -> vector.appendLong(oi.get(data)) : null;
+            }
+            case FLOAT: {
+                FloatObjectInspector oi = (FloatObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.FLOAT ? (data, vector) -> vector.appendFloat(oi.get(data)) : null;
+            }
+            case DOUBLE: {
+                DoubleObjectInspector oi = (DoubleObjectInspector) inspector;
+                return typeValue == ColumnType.TypeValue.DOUBLE ? (data, vector) -> vector.appendDouble(oi.get(data)) : null;
+            }
+            case STRING: {
+                StringObjectInspector oi = (StringObjectInspector) inspector;
+                if (typeValue != ColumnType.TypeValue.STRING) {
+                    return null;
+                }
+                // the utf-8 bytes of the text are copied without decoding it
+                return (data, vector) -> {
+                    Text text = oi.getPrimitiveWritableObject(data);
+                    vector.appendBinary(text.getBytes(), 0, text.getLength());
+                };
+            }
+            default:
+                return null;
+        }
+    }
+}
@@ -75,6 +75,7 @@ public class HiveScanner extends ConnectorScanner {
     private RecordReader<Writable, Writable> reader;
     private StructObjectInspector rowInspector;
     private ObjectInspector[] fieldInspectors;
+    private HiveColumnAppender[] appenders;
     private StructField[] structFields;
     private Deserializer deserializer;
     private final int fetchSize;
@@ -100,6 +101,7 @@ public class HiveScanner extends ConnectorScanner {
         this.serde = params.get("serde");
         this.inputFormat = params.get("input_format");
         this.fieldInspectors = new ObjectInspector[requiredFields.length];
+        this.appenders = new HiveColumnAppender[requiredFields.length];
         this.structFields = new StructField[requiredFields.length];
         this.classLoader = this.getClass().getClassLoader();
         this.fsOptionsProps = params.get("fs_options_props");
@@ -199,6 +201,7 @@ public class HiveScanner extends ConnectorScanner {
             StructField field = rowInspector.getStructFieldRef(requiredFields[i]);
             structFields[i] = field;
             fieldInspectors[i] = field.getFieldObjectInspector();
+            appenders[i] = HiveColumnAppender.create(fieldInspectors[i], requiredTypes[i]);
         }
         key = (Writable) reader.createKey();
         value = (Writable) reader.createValue();
@@ -244,6 +247,8 @@ public class HiveScanner extends ConnectorScanner {
                     Object fieldData = rowInspector.getStructFieldData(rowData, structFields[i]);
                     if (fieldData == null) {
                         appendData(i, null);
+                    } else if (appenders[i] != null) {
+                        appenders[i].append(fieldData, getColumnVector(i));
                     } else {
                         ColumnValue fieldValue = new HiveColumnValue(fieldInspectors[i], fieldData, timeZone);
                         appendData(i, fieldValue);
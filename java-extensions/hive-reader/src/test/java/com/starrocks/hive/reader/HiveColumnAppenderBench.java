@@ -0,0 +1,112 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.hive.reader;
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark filling a batch of the off-heap column vector with the fields read by the hive scanner, by the type
+ * specialized {@link HiveColumnAppender} and by wrapping every field into a {@link HiveColumnValue}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class HiveColumnAppenderBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HiveColumnAppenderBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    // the rows of a batch fetched by the scanner
+    private static final int BATCH_SIZE = 4096;
+
+    @Param({"int", "string"})
+    public String type;
+
+    private ColumnType columnType;
+    private ObjectInspector inspector;
+    private HiveColumnAppender appender;
+    private Object[] fields;
+
+    @Setup
+    public void setUp() {
+        columnType = new ColumnType(type);
+        fields = new Object[BATCH_SIZE];
+        if (type.equals("int")) {
+            inspector = PrimitiveObjectInspectorFactory.writableIntObjectInspector;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                fields[i] = new IntWritable(i);
+            }
+        } else {
+            inspector = PrimitiveObjectInspectorFactory.writableStringObjectInspector;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                fields[i] = new Text("starrocks_hive_reader_" + i);
+            }
+        }
+        appender = HiveColumnAppender.create(inspector, columnType);
+    }
+
+    @Benchmark
+    public void appendByAppender() {
+        OffHeapColumnVector vector = new OffHeapColumnVector(BATCH_SIZE, columnType);
+        try {
+            for (Object field : fields) {
+                appender.append(field, vector);
+            }
+        } finally {
+            vector.close();
+        }
+    }
+
+    @Benchmark
+    public void appendByColumnValue() {
+        OffHeapColumnVector vector = new OffHeapColumnVector(BATCH_SIZE, columnType);
+        try {
+            for (Object field : fields) {
+                vector.appendValue(new HiveColumnValue(inspector, field, "UTC"));
+            }
+        } finally {
+            vector.close();
+        }
+    }
+}
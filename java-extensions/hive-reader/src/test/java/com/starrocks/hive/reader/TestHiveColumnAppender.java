@@ -0,0 +1,51 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.hive.reader;
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.Text;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestHiveColumnAppender {
+
+    @Test
+    public void appendPrimitiveFields() {
+        OffHeapColumnVector ints = new OffHeapColumnVector(4, new ColumnType("int"));
+        OffHeapColumnVector strings = new OffHeapColumnVector(4, new ColumnType("string"));
+        try {
+            HiveColumnAppender.create(PrimitiveObjectInspectorFactory.javaIntObjectInspector, new ColumnType("int"))
+                    .append(5, ints);
+            HiveColumnAppender.create(PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                    new ColumnType("string")).append(new Text("hive"), strings);
+            Assert.assertEquals(5, ints.getInt(0));
+            Assert.assertEquals("hive", strings.getUTF8String(0));
+        } finally {
+            ints.close();
+            strings.close();
+        }
+    }
+
+    @Test
+    public void noAppenderForMismatchedType() {
+        // an int field read into a short column is converted by HiveColumnValue
+        Assert.assertNull(HiveColumnAppender.create(PrimitiveObjectInspectorFactory.javaIntObjectInspector,
+                new ColumnType("short")));
+        Assert.assertNull(HiveColumnAppender.create(PrimitiveObjectInspectorFactory.javaTimestampObjectInspector,
+                new ColumnType("timestamp")));
+    }
+}
@@ -73,6 +73,7 @@ public class HudiSliceScanner extends ConnectorScanner {
     private RecordReader<NullWritable, ArrayWritable> reader;
     private StructObjectInspector rowInspector;
     private ObjectInspector[] fieldInspectors;
+    private HudiColumnAppender[] appenders;
     private StructField[] structFields;
     private Deserializer deserializer;
     private final int fetchSize;
@@ -98,6 +99,7 @@ public class HudiSliceScanner extends ConnectorScanner {
         this.serde = params.get("serde");
         this.inputFormat = params.get("input_format");
         this.fieldInspectors = new ObjectInspector[requiredFields.length];
+        this.appenders = new HudiColumnAppender[requiredFields.length];
         this.structFields = new StructField[requiredFields.length];
         this.classLoader = this.getClass().getClassLoader();
         this.fsOptionsProps = params.get("fs_options_props");
@@ -204,6 +206,7 @@ public class HudiSliceScanner extends ConnectorScanner {
             StructField field = rowInspector.getStructFieldRef(requiredFields[i]);
             structFields[i] = field;
             fieldInspectors[i] = field.getFieldObjectInspector();
+            appenders[i] = HudiColumnAppender.create(fieldInspectors[i], requiredTypes[i]);
         }
     }
 
@@ -249,6 +252,8 @@ public class HudiSliceScanner extends ConnectorScanner {
                     Object fieldData = rowInspector.getStructFieldData(rowData, structFields[i]);
                     if (fieldData == null) {
                         appendData(i, null);
+                    } else if (appenders[i] != null) {
+                        appenders[i].append(fieldData, getColumnVector(i));
                     } else {
                         ColumnValue fieldValue = new HudiColumnValue(fieldInspectors[i], fieldData, timeZone);
                         appendData(i, fieldValue);
@@ -86,6 +86,14 @@ public abstract class ConnectorScanner {
         offHeapTable.appendData(index, value);
     }
 
+    /**
+     * The column vector of the current off-heap table, the readers can append values to it directly
+     * without wrapping them into {@link ColumnValue}.
+     */
+    protected OffHeapColumnVector getColumnVector(int index) {
+        return offHeapTable.vectors[index];
+    }
+
     protected int getTableSize() {
         return tableSize;
     }
@@ -372,6 +372,10 @@ public class OffHeapColumnVector {
         return appendByteArray(binary, 0, binary.length);
     }
 
+    public int appendBinary(byte[] binary, int offset, int length) {
+        return appendByteArray(binary, offset, length);
+    }
+
     private int appendByteArray(byte[] value, int offset, int length) {
         int copiedOffset = arrayData().appendBytes(length, value, offset);
         reserve(elementsAppended + 1);
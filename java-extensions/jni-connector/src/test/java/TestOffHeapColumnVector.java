@@ -0,0 +1,35 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestOffHeapColumnVector {
+
+    @Test
+    public void appendBinaryRange() {
+        OffHeapColumnVector vector = new OffHeapColumnVector(4, new ColumnType("c0", ColumnType.TypeValue.STRING));
+        try {
+            byte[] bytes = "abcdef".getBytes();
+            vector.appendBinary(bytes, 1, 3);
+            vector.appendNull();
+            Assert.assertEquals("bcd", vector.getUTF8String(0));
+            Assert.assertNull(vector.getUTF8String(1));
+        } finally {
+            vector.close();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.paimon.reader;
+
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.DecimalType;
+
+import java.time.LocalDate;
+
+/**
+ * Appends a field of the paimon row to the off-heap column vector with the typed getter of the row,
+ * which avoids boxing the field and wrapping it into {@link PaimonColumnValue} for each row.
+ */
+public interface PaimonColumnAppender {
+    void append(InternalRow row, int pos, OffHeapColumnVector vector);
+
+    /**
+     * Returns null if the type has no specialized appender, the field should be appended by
+     * {@link PaimonColumnValue} then.
+     */
+    static PaimonColumnAppender create(DataType dataType) {
+        switch (dataType.getTypeRoot()) {
+            case BOOLEAN:
+                return (row, pos, vector) -> vector.appendBoolean(row.getBoolean(pos));
+            case TINYINT:
+                return (row, pos, vector) -> vector.appendByte(row.getByte(pos));
+            case SMALLINT:
+                return (row, pos, vector) -> vector.appendShort(row.getShort(pos));
+            case INTEGER:
+                return (row, pos, vector) -> vector.appendInt(row.getInt(pos));
+            case BIGINT:
+                return (row, pos, vector) -> vector.appendLong(row.getLong(pos));
+            case FLOAT:
+                return (row, pos, vector) -> vector.appendFloat(row.getFloat(pos));
+            case DOUBLE:
+                return (row, pos, vector) -> vector.appendDouble(row.getDouble(pos));
+            case CHAR:
+            case VARCHAR:
+                // the utf-8 bytes of the string are copied without decoding it
+                return (row, pos, vector) -> vector.appendBinary(row.getString(pos).toBytes());
+            case BINARY:
+            case VARBINARY:
+                return (row, pos, vector) -> vector.appendBinary(row.getBinary(pos));
+            case DATE:
+                return (row, pos, vector) -> vector.appendDate(LocalDate.ofEpochDay(row.getInt(pos)));
+            case DECIMAL: {
+                DecimalType decimalType = (DecimalType) dataType;
+                int precision = decimalType.getPrecision();
+                int scale = decimalType.getScale();
+                return (row, pos, vector) -> vector.appendDecimal(row.getDecimal(pos, precision, scale).toBigDecimal());
+            }
+            default:
+                return null;
+        }
+    }
+}
@@ -46,6 +46,7 @@ public class PaimonSplitScanner extends ConnectorScanner {
     private final String encodedTable;
     private ColumnType[] requiredTypes;
     private DataType[] logicalTypes;
+    private PaimonColumnAppender[] appenders;
     private Table table;
     private RecordReaderIterator<InternalRow> iterator;
     private final int fetchSize;
@@ -69,6 +70,7 @@ public class PaimonSplitScanner extends ConnectorScanner {
         List<String> fieldNames = PaimonScannerUtils.fieldNames(table.rowType());
         requiredTypes = new ColumnType[requiredFields.length];
         logicalTypes = new DataType[requiredFields.length];
+        appenders = new PaimonColumnAppender[requiredFields.length];
         for (int i = 0; i < requiredFields.length; i++) {
             int index = fieldNames.indexOf(requiredFields[i]);
             if (index == -1) {
@@ -79,6 +81,7 @@ public class PaimonSplitScanner extends ConnectorScanner {
             String type = PaimonTypeUtils.fromPaimonType(dataType);
             requiredTypes[i] = new ColumnType(type);
             logicalTypes[i] = dataType;
+            appenders[i] = PaimonColumnAppender.create(dataType);
         }
 
         // prune fields
@@ -144,6 +147,14 @@ public class PaimonSplitScanner extends ConnectorScanner {
                     break;
                 }
                 for (int i = 0; i < requiredFields.length; i++) {
+                    if (appenders[i] != null) {
+                        if (row.isNullAt(i)) {
+                            appendData(i, null);
+                        } else {
+                            appenders[i].append(row, i, getColumnVector(i));
+                        }
+                        continue;
+                    }
                     Object fieldData = InternalRowUtils.get(row, i, logicalTypes[i]);
                     if (fieldData == null) {
                         appendData(i, null);
@@ -0,0 +1,60 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.paimon.reader;
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.types.DataTypes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+public class TestPaimonColumnAppender {
+
+    @Test
+    public void appendPrimitiveFields() {
+        GenericRow row = GenericRow.of(7, 8L, BinaryString.fromString("paimon"), 19000);
+        OffHeapColumnVector ints = new OffHeapColumnVector(4, new ColumnType("int"));
+        OffHeapColumnVector longs = new OffHeapColumnVector(4, new ColumnType("bigint"));
+        OffHeapColumnVector strings = new OffHeapColumnVector(4, new ColumnType("string"));
+        OffHeapColumnVector dates = new OffHeapColumnVector(4, new ColumnType("date"));
+        try {
+            PaimonColumnAppender.create(DataTypes.INT()).append(row, 0, ints);
+            PaimonColumnAppender.create(DataTypes.BIGINT()).append(row, 1, longs);
+            PaimonColumnAppender.create(DataTypes.STRING()).append(row, 2, strings);
+            PaimonColumnAppender.create(DataTypes.DATE()).append(row, 3, dates);
+            Assert.assertEquals(7, ints.getInt(0));
+            Assert.assertEquals(8L, longs.getLong(0));
+            Assert.assertEquals("paimon", strings.getUTF8String(0));
+            // the days since epoch are converted to the julian date of the column
+            dates.appendDate(LocalDate.ofEpochDay(19000));
+            Assert.assertEquals(dates.getInt(1), dates.getInt(0));
+        } finally {
+            ints.close();
+            longs.close();
+            strings.close();
+            dates.close();
+        }
+    }
+
+    @Test
+    public void noAppenderForNestedTypes() {
+        Assert.assertNull(PaimonColumnAppender.create(DataTypes.ARRAY(DataTypes.INT())));
+        Assert.assertNull(PaimonColumnAppender.create(DataTypes.TIMESTAMP()));
+    }
+}